@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmark;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.apache.carbondata.core.constants.CarbonV3DataFormatConstants;
+import org.apache.carbondata.core.datastore.ColumnType;
+import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.compression.Compressor;
+import org.apache.carbondata.core.datastore.compression.CompressorFactory;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageDecoder;
+import org.apache.carbondata.core.datastore.page.encoding.DefaultEncodingFactory;
+import org.apache.carbondata.core.datastore.page.encoding.EncodedColumnPage;
+import org.apache.carbondata.core.datastore.page.statistics.PrimitivePageStatsCollector;
+import org.apache.carbondata.core.memory.MemoryException;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.CarbonMetadataUtil;
+import org.apache.carbondata.format.DataChunk2;
+
+/**
+ * Generates measure column pages with the value distributions seen in real tables, all the
+ * benchmarks use a fixed seed so that the results of different runs can be compared
+ */
+public final class SyntheticPages {
+
+  /**
+   * default number of rows in a page
+   */
+  public static final int PAGE_SIZE =
+      CarbonV3DataFormatConstants.NUMBER_OF_ROWS_PER_BLOCKLET_COLUMN_PAGE_DEFAULT;
+
+  public static final long SEED = 42L;
+
+  private static final int DECIMAL_PRECISION = 18;
+
+  private static final int DECIMAL_SCALE = 2;
+
+  public enum Distribution {
+    /**
+     * increasing values with repeats and a large base, like a sort column or a timestamp,
+     * encoded by the adaptive delta codec
+     */
+    SORTED,
+    /**
+     * uniformly distributed int values, encoded by the adaptive codec
+     */
+    RANDOM,
+    /**
+     * 16 distinct small values, like a status column
+     */
+    LOW_CARDINALITY,
+    /**
+     * random values where one fifth of the rows are null
+     */
+    NULLABLE,
+    /**
+     * decimal(18, 2) values, like an amount column
+     */
+    DECIMAL;
+
+    public DataType getDataType() {
+      if (this == DECIMAL) {
+        return DataTypes.createDecimalType(DECIMAL_PRECISION, DECIMAL_SCALE);
+      }
+      return DataTypes.LONG;
+    }
+  }
+
+  private SyntheticPages() {
+  }
+
+  /**
+   * Returns the values of a page with the given distribution
+   */
+  public static Object[] newValues(Distribution distribution, int pageSize, long seed) {
+    Random random = new Random(seed);
+    Object[] values = new Object[pageSize];
+    for (int i = 0; i < pageSize; i++) {
+      switch (distribution) {
+        case SORTED:
+          values[i] = 1500000000000L + i / 4;
+          break;
+        case RANDOM:
+          values[i] = (long) random.nextInt();
+          break;
+        case LOW_CARDINALITY:
+          values[i] = 100L + random.nextInt(16);
+          break;
+        case NULLABLE:
+          values[i] = random.nextInt(5) == 0 ? null : (long) random.nextInt(100000);
+          break;
+        case DECIMAL:
+          values[i] = BigDecimal.valueOf(random.nextInt(10000000), DECIMAL_SCALE);
+          break;
+        default:
+          throw new IllegalArgumentException("unsupported distribution: " + distribution);
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Creates a measure page holding the values and the statistics used to select the codec
+   */
+  public static ColumnPage newPage(Distribution distribution, Object[] values)
+      throws MemoryException {
+    DataType dataType = distribution.getDataType();
+    TableSpec.ColumnSpec spec =
+        TableSpec.ColumnSpec.newInstance(distribution.name(), dataType, ColumnType.MEASURE);
+    ColumnPage page;
+    if (DataTypes.isDecimal(dataType)) {
+      page = ColumnPage.newDecimalPage(spec, dataType, values.length);
+    } else {
+      page = ColumnPage.newPage(spec, dataType, values.length);
+    }
+    page.setStatsCollector(PrimitivePageStatsCollector.newInstance(dataType));
+    for (int i = 0; i < values.length; i++) {
+      page.putData(i, values[i]);
+    }
+    return page;
+  }
+
+  /**
+   * Schema of the measure column holding the values of the distribution
+   */
+  public static ColumnSchema newMeasureSchema(Distribution distribution) {
+    ColumnSchema schema = new ColumnSchema();
+    schema.setColumnName(distribution.name().toLowerCase());
+    schema.setColumnUniqueId(UUID.randomUUID().toString());
+    schema.setDataType(distribution.getDataType());
+    schema.setDimensionColumn(false);
+    schema.setColumnar(true);
+    schema.setEncodingList(new ArrayList<Encoding>());
+    if (distribution == Distribution.DECIMAL) {
+      schema.setPrecision(DECIMAL_PRECISION);
+      schema.setScale(DECIMAL_SCALE);
+    }
+    return schema;
+  }
+
+  /**
+   * Decodes the page the same way as the V3 measure chunk reader, including the null bits
+   */
+  public static ColumnPage decode(EncodedColumnPage encodedPage)
+      throws MemoryException, IOException {
+    DataChunk2 pageMetadata = encodedPage.getPageMetadata();
+    List<org.apache.carbondata.format.Encoding> encodings = pageMetadata.getEncoders();
+    ColumnPageDecoder decoder = DefaultEncodingFactory.getInstance()
+        .createDecoder(encodings, pageMetadata.getEncoder_meta());
+    byte[] data = encodedPage.getEncodedData().array();
+    ColumnPage page = decoder.decode(data, 0, pageMetadata.getData_page_length());
+    Compressor compressor = CompressorFactory.getInstance().getCompressor(
+        CarbonMetadataUtil.getCompressorNameFromChunkMeta(pageMetadata.getChunk_meta()));
+    page.setNullBits(BitSet.valueOf(
+        compressor.unCompressByte(pageMetadata.getPresence().getPresent_bit_stream())));
+    return page;
+  }
+}
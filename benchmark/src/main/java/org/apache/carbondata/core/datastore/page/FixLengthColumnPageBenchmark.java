@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.benchmark.SyntheticPages;
+import org.apache.carbondata.core.datastore.ColumnType;
+import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.memory.MemoryException;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Row by row and whole page access of a fixed length column page, on heap with
+ * SafeFixLengthColumnPage and off heap with UnsafeFixLengthColumnPage
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FixLengthColumnPageBenchmark {
+
+  @Param({"safe", "unsafe"})
+  public String pageType;
+
+  @Param({"LONG", "DOUBLE"})
+  public String dataType;
+
+  private ColumnPage page;
+
+  private long[] longValues;
+
+  private double[] doubleValues;
+
+  private boolean isLong;
+
+  @Setup(Level.Trial)
+  public void setUp() throws MemoryException {
+    int pageSize = SyntheticPages.PAGE_SIZE;
+    isLong = "LONG".equals(dataType);
+    DataType type = isLong ? DataTypes.LONG : DataTypes.DOUBLE;
+    TableSpec.ColumnSpec spec = TableSpec.ColumnSpec.newInstance("m", type, ColumnType.MEASURE);
+    if ("unsafe".equals(pageType)) {
+      page = new UnsafeFixLengthColumnPage(spec, type, pageSize);
+    } else {
+      page = new SafeFixLengthColumnPage(spec, type, pageSize);
+      if (isLong) {
+        page.setLongPage(new long[pageSize]);
+      } else {
+        page.setDoublePage(new double[pageSize]);
+      }
+    }
+    Random random = new Random(SyntheticPages.SEED);
+    longValues = new long[pageSize];
+    doubleValues = new double[pageSize];
+    for (int i = 0; i < pageSize; i++) {
+      longValues[i] = random.nextLong();
+      doubleValues[i] = random.nextDouble();
+    }
+    putValues();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    page.freeMemory();
+  }
+
+  @Benchmark
+  public ColumnPage putValues() {
+    int pageSize = page.getPageSize();
+    if (isLong) {
+      for (int i = 0; i < pageSize; i++) {
+        page.putLong(i, longValues[i]);
+      }
+    } else {
+      for (int i = 0; i < pageSize; i++) {
+        page.putDouble(i, doubleValues[i]);
+      }
+    }
+    return page;
+  }
+
+  @Benchmark
+  public double getValues() {
+    int pageSize = page.getPageSize();
+    if (isLong) {
+      long sum = 0;
+      for (int i = 0; i < pageSize; i++) {
+        sum += page.getLong(i);
+      }
+      return sum;
+    } else {
+      double sum = 0;
+      for (int i = 0; i < pageSize; i++) {
+        sum += page.getDouble(i);
+      }
+      return sum;
+    }
+  }
+
+  @Benchmark
+  public Object getPage() {
+    if (isLong) {
+      return page.getLongPage();
+    } else {
+      return page.getDoublePage();
+    }
+  }
+}
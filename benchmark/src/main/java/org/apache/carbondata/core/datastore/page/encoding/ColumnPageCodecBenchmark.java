@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.benchmark.SyntheticPages;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.memory.MemoryException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Codec selection, encoding and decoding of a measure page. Depending on the distribution the
+ * selected codec is AdaptiveDeltaIntegralCodec (SORTED), AdaptiveIntegralCodec (RANDOM,
+ * LOW_CARDINALITY, NULLABLE) or AdaptiveIntegralCodec over the unscaled decimal (DECIMAL).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ColumnPageCodecBenchmark {
+
+  @Param({"SORTED", "RANDOM", "LOW_CARDINALITY", "NULLABLE", "DECIMAL"})
+  public SyntheticPages.Distribution distribution;
+
+  private ColumnPage page;
+
+  private ColumnPageCodec codec;
+
+  private EncodedColumnPage encodedPage;
+
+  @Setup(Level.Trial)
+  public void setUp() throws MemoryException, IOException {
+    page = SyntheticPages.newPage(distribution,
+        SyntheticPages.newValues(distribution, SyntheticPages.PAGE_SIZE, SyntheticPages.SEED));
+    codec = MeasureCodecSelector.select(page);
+    encodedPage = codec.createEncoder(null).encode(page);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    page.freeMemory();
+  }
+
+  @Benchmark
+  public ColumnPageCodec selectCodec() {
+    return MeasureCodecSelector.select(page);
+  }
+
+  @Benchmark
+  public EncodedColumnPage encode() throws MemoryException, IOException {
+    return codec.createEncoder(null).encode(page);
+  }
+
+  @Benchmark
+  public void decode(Blackhole blackhole) throws MemoryException, IOException {
+    ColumnPage decodedPage = SyntheticPages.decode(encodedPage);
+    blackhole.consume(decodedPage);
+    decodedPage.freeMemory();
+  }
+}
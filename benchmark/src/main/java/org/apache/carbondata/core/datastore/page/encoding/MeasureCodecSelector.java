@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding;
+
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.DecimalColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.compress.DirectCompressCodec;
+import org.apache.carbondata.core.datastore.page.statistics.SimpleStatsResult;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.datatype.DecimalConverterFactory;
+
+/**
+ * Selects the codec of a measure page the same way as {@link DefaultEncodingFactory} does when
+ * loading, without the table spec which is needed to create the encoder from the factory
+ */
+public final class MeasureCodecSelector {
+
+  private MeasureCodecSelector() {
+  }
+
+  public static ColumnPageCodec select(ColumnPage page) {
+    SimpleStatsResult stats = page.getStatistics();
+    DataType dataType = stats.getDataType();
+    if (dataType == DataTypes.BYTE ||
+        dataType == DataTypes.SHORT ||
+        dataType == DataTypes.INT ||
+        dataType == DataTypes.LONG) {
+      return DefaultEncodingFactory.selectCodecByAlgorithmForIntegral(stats);
+    } else if (DataTypes.isDecimal(dataType)) {
+      DecimalConverterFactory.DecimalConverterType decimalConverterType =
+          ((DecimalColumnPage) page).getDecimalConverter().getDecimalConverterType();
+      switch (decimalConverterType) {
+        case DECIMAL_INT:
+        case DECIMAL_LONG:
+          return DefaultEncodingFactory
+              .selectCodecByAlgorithmForDecimal(stats, decimalConverterType);
+        default:
+          return new DirectCompressCodec(page.getDataType());
+      }
+    } else if (dataType == DataTypes.FLOAT || dataType == DataTypes.DOUBLE) {
+      return DefaultEncodingFactory.selectCodecByAlgorithmForFloating(stats);
+    } else {
+      return new DirectCompressCodec(page.getDataType());
+    }
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.indexstore.blockletindex;
+
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.benchmark.SyntheticPages;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.filter.executer.FilterExecuter;
+import org.apache.carbondata.core.scan.filter.intf.RowIntf;
+import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
+import org.apache.carbondata.core.util.BitSetGroup;
+import org.apache.carbondata.core.util.ByteUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Blocklet pruning of the blocklet datamap in LINEAR mode, which checks the min/max of every
+ * blocklet, and in MINMAX_TREE mode, which checks only the blocklets in the candidate ranges of
+ * BlockletMinMaxTree. Both return the number of blocklets to scan.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BlockletPruneBenchmark {
+
+  @Param({"1000", "100000"})
+  public int numberOfBlocklets;
+
+  /**
+   * SORT_COLUMN filters on the first sort column, which increases with the blocklet index.
+   * OTHER_COLUMN filters on a column whose values are spread over all the blocklets.
+   */
+  @Param({"SORT_COLUMN", "OTHER_COLUMN"})
+  public String filterColumn;
+
+  private byte[][][] minValues;
+
+  private byte[][][] maxValues;
+
+  private BlockletMinMaxTree tree;
+
+  private FilterExecuter filterExecuter;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(SyntheticPages.SEED);
+    minValues = new byte[numberOfBlocklets][][];
+    maxValues = new byte[numberOfBlocklets][][];
+    for (int i = 0; i < numberOfBlocklets; i++) {
+      int otherMin = random.nextInt(1000000);
+      long measureMin = random.nextInt(1000000);
+      minValues[i] = new byte[][] { toBytes(i * 10), toBytes(otherMin), toBytes(measureMin) };
+      maxValues[i] = new byte[][] { toBytes(i * 10 + 9),
+          toBytes(otherMin + random.nextInt(1000)),
+          toBytes(measureMin + random.nextInt(1000)) };
+    }
+    tree = new BlockletMinMaxTree(minValues, maxValues, new DataType[] { DataTypes.LONG },
+        BlockletMinMaxTree.DEFAULT_FANOUT);
+    if ("SORT_COLUMN".equals(filterColumn)) {
+      int low = numberOfBlocklets * 5;
+      filterExecuter = new RangeFilterExecuter(0, toBytes(low), toBytes(low + 100));
+    } else {
+      filterExecuter = new RangeFilterExecuter(1, toBytes(500000), toBytes(501000));
+    }
+  }
+
+  private static byte[] toBytes(int value) {
+    return ByteBuffer.allocate(4).putInt(value).array();
+  }
+
+  private static byte[] toBytes(long value) {
+    return ByteBuffer.allocate(8).putLong(value).array();
+  }
+
+  @Benchmark
+  public int linear() {
+    int selected = 0;
+    for (int i = 0; i < numberOfBlocklets; i++) {
+      if (!filterExecuter.isScanRequired(maxValues[i], minValues[i]).isEmpty()) {
+        selected++;
+      }
+    }
+    return selected;
+  }
+
+  @Benchmark
+  public int minMaxTree() {
+    int selected = 0;
+    for (int[] range : tree.getCandidateRanges(filterExecuter)) {
+      for (int i = range[0]; i < range[1]; i++) {
+        if (!filterExecuter.isScanRequired(maxValues[i], minValues[i]).isEmpty()) {
+          selected++;
+        }
+      }
+    }
+    return selected;
+  }
+
+  /**
+   * filter executer selecting the range [low, high] of a dimension
+   */
+  private static class RangeFilterExecuter implements FilterExecuter {
+
+    private int column;
+
+    private byte[] low;
+
+    private byte[] high;
+
+    RangeFilterExecuter(int column, byte[] low, byte[] high) {
+      this.column = column;
+      this.low = low;
+      this.high = high;
+    }
+
+    @Override
+    public BitSetGroup applyFilter(RawBlockletColumnChunks rawBlockletColumnChunks,
+        boolean useBitsetPipeLine) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean applyFilter(RowIntf value, int dimOrdinalMax) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public BitSet isScanRequired(byte[][] blockMaxValue, byte[][] blockMinValue) {
+      BitSet bitSet = new BitSet(1);
+      if (ByteUtil.UnsafeComparer.INSTANCE.compareTo(blockMinValue[column], high) <= 0
+          && ByteUtil.UnsafeComparer.INSTANCE.compareTo(blockMaxValue[column], low) >= 0) {
+        bitSet.set(0);
+      }
+      return bitSet;
+    }
+
+    @Override
+    public void readColumnChunks(RawBlockletColumnChunks rawBlockletColumnChunks) {
+    }
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.filter.executer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.benchmark.SyntheticPages;
+import org.apache.carbondata.core.datastore.FileReader;
+import org.apache.carbondata.core.datastore.block.SegmentProperties;
+import org.apache.carbondata.core.datastore.chunk.impl.MeasureRawColumnChunk;
+import org.apache.carbondata.core.datastore.chunk.reader.MeasureColumnChunkReader;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.EncodedColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.MeasureCodecSelector;
+import org.apache.carbondata.core.memory.MemoryException;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.scan.filter.ColumnFilterInfo;
+import org.apache.carbondata.core.scan.filter.resolver.resolverinfo.MeasureColumnResolvedFilterInfo;
+import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
+import org.apache.carbondata.core.util.BitSetGroup;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * IN filter on a measure page with IncludeFilterExecuterImpl, on a page which is already decoded
+ * and on a page which is decoded by the filter like in a scan. The page min/max is not set, so
+ * the page is never pruned.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IncludeFilterBenchmark {
+
+  @Param({"SORTED", "RANDOM", "LOW_CARDINALITY", "NULLABLE", "DECIMAL"})
+  public SyntheticPages.Distribution distribution;
+
+  @Param({"1", "10"})
+  public int numberOfFilterValues;
+
+  private IncludeFilterExecuterImpl filterExecuter;
+
+  private EncodedColumnPage encodedPage;
+
+  private MeasureColumnChunkReader chunkReader;
+
+  private RawBlockletColumnChunks decodedChunks;
+
+  @Setup(Level.Trial)
+  public void setUp() throws MemoryException, IOException {
+    Object[] values =
+        SyntheticPages.newValues(distribution, SyntheticPages.PAGE_SIZE, SyntheticPages.SEED);
+    ColumnPage page = SyntheticPages.newPage(distribution, values);
+    encodedPage = MeasureCodecSelector.select(page).createEncoder(null).encode(page);
+    page.freeMemory();
+    chunkReader = new EncodedPageReader();
+
+    List<ColumnSchema> columns = new ArrayList<>();
+    columns.add(newDictionaryDimensionSchema());
+    ColumnSchema measureSchema = SyntheticPages.newMeasureSchema(distribution);
+    columns.add(measureSchema);
+    SegmentProperties segmentProperties =
+        new SegmentProperties(columns, new int[] { 100 });
+
+    // filter on values which are present in the page
+    Random random = new Random(SyntheticPages.SEED);
+    List<Object> filterValues = new ArrayList<>();
+    while (filterValues.size() < numberOfFilterValues) {
+      Object value = values[random.nextInt(values.length)];
+      if (value != null) {
+        filterValues.add(value);
+      }
+    }
+    ColumnFilterInfo filterInfo = new ColumnFilterInfo();
+    filterInfo.setIncludeFilter(true);
+    filterInfo.setMeasuresFilterValuesList(filterValues);
+    MeasureColumnResolvedFilterInfo msrColumnInfo = new MeasureColumnResolvedFilterInfo();
+    msrColumnInfo.setColumnIndex(0);
+    msrColumnInfo.setType(distribution.getDataType());
+    msrColumnInfo.setMeasure(new CarbonMeasure(measureSchema, 0));
+    msrColumnInfo.setMeasureExistsInCurrentSilce(true);
+    msrColumnInfo.setFilterValues(filterInfo);
+    filterExecuter = new IncludeFilterExecuterImpl(null, msrColumnInfo, segmentProperties, true);
+
+    decodedChunks = newChunks();
+    decodedChunks.getMeasureRawColumnChunks()[0].decodeColumnPage(0);
+  }
+
+  private static ColumnSchema newDictionaryDimensionSchema() {
+    ColumnSchema schema = new ColumnSchema();
+    schema.setColumnName("dim");
+    schema.setColumnUniqueId(UUID.randomUUID().toString());
+    schema.setDataType(DataTypes.STRING);
+    schema.setDimensionColumn(true);
+    schema.setColumnar(true);
+    List<Encoding> encodings = new ArrayList<>();
+    encodings.add(Encoding.DICTIONARY);
+    schema.setEncodingList(encodings);
+    return schema;
+  }
+
+  private RawBlockletColumnChunks newChunks() {
+    MeasureRawColumnChunk rawColumnChunk = new MeasureRawColumnChunk(0, null, 0, 0, chunkReader);
+    rawColumnChunk.setPagesCount(1);
+    rawColumnChunk.setRowCount(new int[] { SyntheticPages.PAGE_SIZE });
+    RawBlockletColumnChunks chunks = RawBlockletColumnChunks.newInstance(1, 1, null, null);
+    chunks.getMeasureRawColumnChunks()[0] = rawColumnChunk;
+    return chunks;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    decodedChunks.getMeasureRawColumnChunks()[0].freeMemory();
+  }
+
+  @Benchmark
+  public BitSetGroup filterDecodedPage() throws IOException {
+    return filterExecuter.applyFilter(decodedChunks, false);
+  }
+
+  @Benchmark
+  public BitSetGroup decodeAndFilterPage() throws IOException {
+    RawBlockletColumnChunks chunks = newChunks();
+    BitSetGroup bitSetGroup = filterExecuter.applyFilter(chunks, false);
+    chunks.getMeasureRawColumnChunks()[0].freeMemory();
+    return bitSetGroup;
+  }
+
+  /**
+   * Serves the encoded page as the only page of the blocklet column
+   */
+  private class EncodedPageReader implements MeasureColumnChunkReader {
+
+    @Override
+    public MeasureRawColumnChunk[] readRawMeasureChunks(FileReader fileReader,
+        int[][] columnIndexRange) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public MeasureRawColumnChunk readRawMeasureChunk(FileReader fileReader, int columnIndex) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ColumnPage decodeColumnPage(MeasureRawColumnChunk measureRawColumnChunk,
+        int pageNumber) throws IOException, MemoryException {
+      return SyntheticPages.decode(encodedPage);
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.result.vector;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.benchmark.SyntheticPages;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.MeasureCodecSelector;
+import org.apache.carbondata.core.memory.MemoryException;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
+import org.apache.carbondata.core.scan.model.ProjectionMeasure;
+import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Filling the vector of a measure from a decoded page, for all the rows of the page and for the
+ * rows selected by a filter. The page is decoded from its encoded form, so the values are
+ * converted by the codec while filling like in the vectorized reader.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MeasureVectorFillBenchmark {
+
+  @Param({"SORTED", "RANDOM", "LOW_CARDINALITY", "NULLABLE", "DECIMAL"})
+  public SyntheticPages.Distribution distribution;
+
+  /**
+   * percentage of rows selected by the filter in fillFilteredRows
+   */
+  @Param({"10"})
+  public int selectivity;
+
+  private ColumnPage decodedPage;
+
+  private MeasureDataVectorProcessor.MeasureVectorFiller filler;
+
+  private ColumnVectorInfo allRowsInfo;
+
+  private ColumnVectorInfo filteredRowsInfo;
+
+  private int[] filteredRowIds;
+
+  @Setup(Level.Trial)
+  public void setUp() throws MemoryException, IOException {
+    ColumnPage page = SyntheticPages.newPage(distribution,
+        SyntheticPages.newValues(distribution, SyntheticPages.PAGE_SIZE, SyntheticPages.SEED));
+    decodedPage = SyntheticPages.decode(
+        MeasureCodecSelector.select(page).createEncoder(null).encode(page));
+    page.freeMemory();
+
+    Random random = new Random(SyntheticPages.SEED);
+    int[] rowIds = new int[SyntheticPages.PAGE_SIZE];
+    int numberOfFilteredRows = 0;
+    for (int i = 0; i < SyntheticPages.PAGE_SIZE; i++) {
+      if (random.nextInt(100) < selectivity) {
+        rowIds[numberOfFilteredRows++] = i;
+      }
+    }
+    filteredRowIds = new int[numberOfFilteredRows];
+    System.arraycopy(rowIds, 0, filteredRowIds, 0, numberOfFilteredRows);
+
+    ProjectionMeasure measure = new ProjectionMeasure(
+        new CarbonMeasure(SyntheticPages.newMeasureSchema(distribution), 0));
+    filler = MeasureDataVectorProcessor.MeasureVectorFillerFactory
+        .getMeasureVectorFiller(distribution.getDataType());
+    allRowsInfo = newVectorInfo(measure, SyntheticPages.PAGE_SIZE);
+    filteredRowsInfo = newVectorInfo(measure, numberOfFilteredRows);
+  }
+
+  private ColumnVectorInfo newVectorInfo(ProjectionMeasure measure, int size) {
+    ColumnVectorInfo info = new ColumnVectorInfo();
+    info.measure = measure;
+    info.measureVectorFiller = filler;
+    info.offset = 0;
+    info.size = size;
+    info.vectorOffset = 0;
+    info.vector = new CarbonColumnVectorImpl(SyntheticPages.PAGE_SIZE, distribution.getDataType());
+    return info;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    decodedPage.freeMemory();
+  }
+
+  @Benchmark
+  public CarbonColumnVector fillAllRows() {
+    filler.fillMeasureVector(decodedPage, allRowsInfo);
+    return allRowsInfo.vector;
+  }
+
+  @Benchmark
+  public CarbonColumnVector fillFilteredRows() {
+    filler.fillMeasureVector(filteredRowIds, decodedPage, filteredRowsInfo);
+    return filteredRowsInfo.vector;
+  }
+}
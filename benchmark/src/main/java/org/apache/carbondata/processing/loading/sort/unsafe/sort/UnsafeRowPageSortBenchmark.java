@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort.unsafe.sort;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.benchmark.SyntheticPages;
+import org.apache.carbondata.core.memory.IntPointerBuffer;
+import org.apache.carbondata.core.memory.MemoryBlock;
+import org.apache.carbondata.core.memory.MemoryException;
+import org.apache.carbondata.core.memory.UnsafeMemoryManager;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.util.ThreadLocalTaskInfo;
+import org.apache.carbondata.processing.loading.sort.unsafe.UnsafeCarbonRowPage;
+import org.apache.carbondata.processing.loading.sort.unsafe.comparator.UnsafeRowComparator;
+import org.apache.carbondata.processing.loading.sort.unsafe.comparator.UnsafeRowComparatorForNormalDims;
+import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeCarbonRow;
+import org.apache.carbondata.processing.sort.sortdata.SortParameters;
+import org.apache.carbondata.processing.sort.sortdata.TableFieldStat;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sorting an unsafe row page during data loading, with the TimSort over the row comparator which
+ * was used before and with UnsafeRadixSorter. Both benchmarks first restore the pointers to the
+ * insertion order, which costs the same in both.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UnsafeRowPageSortBenchmark {
+
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+
+  /**
+   * DICTIONARY sorts by two dictionary columns, the key covers both of them. NO_DICTIONARY sorts
+   * by a string column followed by a dictionary column, rows having the same first 8 bytes of
+   * the string are sorted by the comparator.
+   */
+  @Param({"DICTIONARY", "NO_DICTIONARY"})
+  public String sortColumns;
+
+  @Param({"100000"})
+  public int numberOfRows;
+
+  private UnsafeCarbonRowPage page;
+
+  private int[] insertionOrder;
+
+  private Comparator<UnsafeCarbonRow> comparator;
+
+  @Setup(Level.Trial)
+  public void setUp() throws MemoryException {
+    boolean isNoDictionary = "NO_DICTIONARY".equals(sortColumns);
+    boolean[] noDictionaryFlags = new boolean[] { isNoDictionary, false };
+    SortParameters parameters = new SortParameters();
+    parameters.setDimColCount(2);
+    parameters.setNoDictionaryCount(isNoDictionary ? 1 : 0);
+    parameters.setComplexDimColCount(0);
+    parameters.setMeasureColCount(1);
+    parameters.setMeasureDataType(new DataType[] { DataTypes.LONG });
+    parameters.setNoDictionaryDimnesionColumn(noDictionaryFlags);
+    parameters.setNoDictionarySortColumn(noDictionaryFlags);
+    parameters.setNumberOfSortColumns(2);
+    parameters.setNumberOfNoDictSortColumns(isNoDictionary ? 1 : 0);
+
+    long taskId = ThreadLocalTaskInfo.getCarbonTaskInfo().getTaskId();
+    MemoryBlock block = UnsafeMemoryManager.allocateMemoryWithRetry(taskId, numberOfRows * 64L);
+    page = new UnsafeCarbonRowPage(new TableFieldStat(parameters), block, false, taskId);
+    ByteBuffer rowBuffer = ByteBuffer.allocate(1024);
+    Random random = new Random(SyntheticPages.SEED);
+    for (int i = 0; i < numberOfRows; i++) {
+      Object firstColumn;
+      if (isNoDictionary) {
+        firstColumn = ("user_" + random.nextInt(numberOfRows)).getBytes(UTF8);
+      } else {
+        firstColumn = random.nextInt(10000) + 1;
+      }
+      page.addRow(new Object[] { firstColumn, random.nextInt(100) + 1, random.nextLong() },
+          rowBuffer);
+    }
+    insertionOrder = new int[numberOfRows];
+    System.arraycopy(page.getBuffer().getPointerBlock(), 0, insertionOrder, 0, numberOfRows);
+    if (isNoDictionary) {
+      comparator = new UnsafeRowComparator(page);
+    } else {
+      comparator = new UnsafeRowComparatorForNormalDims(page);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    page.freeMemory();
+  }
+
+  private IntPointerBuffer restoreInsertionOrder() {
+    IntPointerBuffer buffer = page.getBuffer();
+    System.arraycopy(insertionOrder, 0, buffer.getPointerBlock(), 0, numberOfRows);
+    return buffer;
+  }
+
+  @Benchmark
+  public IntPointerBuffer timSort() {
+    IntPointerBuffer buffer = restoreInsertionOrder();
+    new TimSort<UnsafeCarbonRow, IntPointerBuffer>(new UnsafeIntSortDataFormat(page))
+        .sort(buffer, 0, numberOfRows, comparator);
+    return buffer;
+  }
+
+  @Benchmark
+  public IntPointerBuffer radixSort() {
+    IntPointerBuffer buffer = restoreInsertionOrder();
+    new UnsafeRadixSorter(page).sort(buffer, numberOfRows, comparator);
+    return buffer;
+  }
+}
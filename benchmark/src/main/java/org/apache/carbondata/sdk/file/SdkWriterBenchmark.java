@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.sql.Timestamp;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.benchmark.SyntheticPages;
+import org.apache.carbondata.common.exceptions.sql.InvalidLoadOptionException;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rows per second written by the SDK writer for CSV input, where every value is formatted to
+ * string and parsed again by the converter step, and for typed Object[] input which skips it
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SdkWriterBenchmark {
+
+  private static final int ROWS = 100000;
+
+  private static final int TIME_RANGE_SECONDS = 10 * 365 * 24 * 3600;
+
+  public enum Input {
+    CSV, OBJECT_ARRAY
+  }
+
+  @Param({"CSV", "OBJECT_ARRAY"})
+  public Input input;
+
+  private Object[] rows;
+
+  private File outputDir;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(SyntheticPages.SEED);
+    long startTime = Timestamp.valueOf("2018-01-01 00:00:00").getTime();
+    rows = new Object[ROWS];
+    for (int i = 0; i < ROWS; i++) {
+      String name = "name" + random.nextInt(1000);
+      int intValue = random.nextInt();
+      long longValue = random.nextLong();
+      double doubleValue = random.nextDouble();
+      BigDecimal decimalValue = BigDecimal.valueOf(random.nextInt(1000000), 2);
+      Timestamp time = new Timestamp(startTime + random.nextInt(TIME_RANGE_SECONDS) * 1000L);
+      if (input == Input.CSV) {
+        // the row as the application would format it for CSV input
+        rows[i] = new String[]{name, String.valueOf(intValue), String.valueOf(longValue),
+            String.valueOf(doubleValue), decimalValue.toString(),
+            time.toString().substring(0, 19)};
+      } else {
+        rows[i] = new Object[]{name, intValue, longValue, doubleValue, decimalValue, time};
+      }
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void createOutputDir() throws IOException {
+    outputDir = Files.createTempDirectory("carbon-sdk-writer").toFile();
+  }
+
+  @TearDown(Level.Invocation)
+  public void deleteOutputDir() throws IOException {
+    FileUtils.deleteDirectory(outputDir);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public void write() throws IOException, InvalidLoadOptionException {
+    Field[] fields = new Field[6];
+    fields[0] = new Field("name", DataTypes.STRING);
+    fields[1] = new Field("intField", DataTypes.INT);
+    fields[2] = new Field("longField", DataTypes.LONG);
+    fields[3] = new Field("doubleField", DataTypes.DOUBLE);
+    fields[4] = new Field("decimalField", DataTypes.createDecimalType(10, 2));
+    fields[5] = new Field("timeField", DataTypes.TIMESTAMP);
+    CarbonWriterBuilder builder = CarbonWriter.builder()
+        .withSchema(new Schema(fields))
+        .outputPath(outputDir.getAbsolutePath());
+    CarbonWriter writer = input == Input.CSV ?
+        builder.buildWriterForCSVInput() : builder.buildWriterForObjectArrayInput();
+    for (Object row : rows) {
+      writer.write(row);
+    }
+    writer.close();
+  }
+}
@@ -21,7 +21,8 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
@@ -30,6 +31,12 @@ import org.apache.carbondata.core.util.CarbonProperties;
 
 /**
  * class which manages the lru cache
+ *
+ * Lookups do not take any lock, the entries are kept in a concurrent map and a lookup only
+ * marks the entry as recently used. Adding, removing and evicting entries are serialized on
+ * one lock. When the memory is not sufficient, entries are evicted in CLOCK order
+ * (an approximation of LRU): an entry used since the last sweep gets a second chance, and
+ * entries which are in use (access count > 0) are never evicted.
  */
 public final class CarbonLRUCache {
   /**
@@ -43,17 +50,32 @@ public final class CarbonLRUCache {
       LogServiceFactory.getLogService(CarbonLRUCache.class.getName());
   /**
    * Map that will contain key as table unique name and value as cache Holder
-   * object
+   * object, it is read without lock and modified only under the lock
+   */
+  private Map<String, CacheEntry> lruCacheMap;
+  /**
+   * entries in CLOCK order, first entry is the next one to be checked for eviction.
+   * Guarded by lock
+   */
+  private LinkedHashMap<String, CacheEntry> clockQueue;
+  /**
+   * lock for modifying the cache and its size
    */
-  private Map<String, Cacheable> lruCacheMap;
+  private final Object lock = new Object();
   /**
    * lruCacheSize
    */
   private long lruCacheMemorySize;
   /**
-   * totalSize size of the cache
+   * totalSize size of the cache, modified under lock
    */
-  private long currentSize;
+  private volatile long currentSize;
+
+  private final StripedCounter hitCount = new StripedCounter();
+
+  private final StripedCounter missCount = new StripedCounter();
+
+  private final StripedCounter evictionCount = new StripedCounter();
 
   /**
    * @param propertyName        property name to take the size configured
@@ -82,31 +104,48 @@ public final class CarbonLRUCache {
    */
   private void initCache() {
     lruCacheMap =
-        new LinkedHashMap<String, Cacheable>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE, 1.0f,
-            true);
+        new ConcurrentHashMap<String, CacheEntry>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
+    clockQueue =
+        new LinkedHashMap<String, CacheEntry>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
   }
 
   /**
    * This method will give the list of all the keys that can be deleted from
-   * the level LRU cache
+   * the level LRU cache. Entries used since the last sweep are moved to the end of the
+   * clock queue and are considered only if the other entries are not sufficient.
    */
   private List<String> getKeysToBeRemoved(long size) {
     List<String> toBeDeletedKeys =
         new ArrayList<String>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
+    List<CacheEntry> secondChanceEntries = new ArrayList<CacheEntry>();
+    List<CacheEntry> candidates = new ArrayList<CacheEntry>();
+    for (CacheEntry entry : clockQueue.values()) {
+      if (entry.referenced) {
+        entry.referenced = false;
+        secondChanceEntries.add(entry);
+      } else {
+        candidates.add(entry);
+      }
+    }
+    // give second chance to the recently used entries by moving them to the end
+    for (CacheEntry entry : secondChanceEntries) {
+      clockQueue.remove(entry.key);
+      clockQueue.put(entry.key, entry);
+    }
+    candidates.addAll(secondChanceEntries);
     long removedSize = 0;
-    for (Entry<String, Cacheable> entry : lruCacheMap.entrySet()) {
-      String key = entry.getKey();
-      Cacheable cacheInfo = entry.getValue();
+    for (CacheEntry entry : candidates) {
+      Cacheable cacheInfo = entry.cacheable;
       long memorySize = cacheInfo.getMemorySize();
       if (canBeRemoved(cacheInfo)) {
         removedSize = removedSize + memorySize;
-        toBeDeletedKeys.add(key);
+        toBeDeletedKeys.add(entry.key);
         // check if after removing the current file size, required
         // size when added to current size is sufficient to load a
         // level or not
         if (lruCacheMemorySize >= (currentSize - memorySize + size)) {
           toBeDeletedKeys.clear();
-          toBeDeletedKeys.add(key);
+          toBeDeletedKeys.add(entry.key);
           removedSize = memorySize;
           break;
         }
@@ -142,7 +181,7 @@ public final class CarbonLRUCache {
    * @param key
    */
   public void remove(String key) {
-    synchronized (lruCacheMap) {
+    synchronized (lock) {
       removeKey(key);
     }
   }
@@ -153,12 +192,10 @@ public final class CarbonLRUCache {
    * @param key
    */
   private void removeKey(String key) {
-    Cacheable cacheable = lruCacheMap.get(key);
-    if (null != cacheable) {
-      currentSize = currentSize - cacheable.getMemorySize();
-    }
-    Cacheable remove = lruCacheMap.remove(key);
+    CacheEntry remove = lruCacheMap.remove(key);
+    clockQueue.remove(key);
     if (null != remove) {
+      currentSize = currentSize - remove.cacheable.getMemorySize();
       LOGGER.info("Removed entry from InMemory lru cache :: " + key);
     }
   }
@@ -177,7 +214,7 @@ public final class CarbonLRUCache {
     }
     boolean columnKeyAddedSuccessfully = false;
     if (isLRUCacheSizeConfigured()) {
-      synchronized (lruCacheMap) {
+      synchronized (lock) {
         if (freeMemorySizeForAddingCache(requiredSize)) {
           currentSize = currentSize + requiredSize;
           addEntryToLRUCacheMap(columnIdentifier, cacheInfo);
@@ -190,7 +227,7 @@ public final class CarbonLRUCache {
         }
       }
     } else {
-      synchronized (lruCacheMap) {
+      synchronized (lock) {
         addEntryToLRUCacheMap(columnIdentifier, cacheInfo);
       }
       columnKeyAddedSuccessfully = true;
@@ -198,6 +235,22 @@ public final class CarbonLRUCache {
     return columnKeyAddedSuccessfully;
   }
 
+  /**
+   * Adds the memory allocated by an entry after it is added to the cache, like the min/max
+   * tree built on the cached blocklet datamaps, to the current size of the cache. The entry is
+   * not evicted for it, but it makes the following puts evict more entries.
+   *
+   * @param key key of the entry
+   * @param size size of the memory allocated after the entry is added
+   */
+  public void addMemorySize(String key, long size) {
+    synchronized (lock) {
+      if (null != lruCacheMap.get(key)) {
+        currentSize = currentSize + size;
+      }
+    }
+  }
+
   /**
    * This method will check if required size is available in the memory
    * @param columnIdentifier
@@ -211,7 +264,7 @@ public final class CarbonLRUCache {
     }
     boolean columnKeyCanBeAdded = false;
     if (isLRUCacheSizeConfigured()) {
-      synchronized (lruCacheMap) {
+      synchronized (lock) {
         if (freeMemorySizeForAddingCache(requiredSize)) {
           columnKeyCanBeAdded = true;
         } else {
@@ -235,7 +288,9 @@ public final class CarbonLRUCache {
    */
   private void addEntryToLRUCacheMap(String columnIdentifier, Cacheable cacheInfo) {
     if (null == lruCacheMap.get(columnIdentifier)) {
-      lruCacheMap.put(columnIdentifier, cacheInfo);
+      CacheEntry entry = new CacheEntry(columnIdentifier, cacheInfo);
+      lruCacheMap.put(columnIdentifier, entry);
+      clockQueue.put(columnIdentifier, entry);
     }
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug("Added entry to InMemory lru cache :: " + columnIdentifier);
@@ -267,6 +322,7 @@ public final class CarbonLRUCache {
       List<String> keysToBeRemoved = getKeysToBeRemoved(requiredSize);
       for (String cacheKey : keysToBeRemoved) {
         removeKey(cacheKey);
+        evictionCount.increment();
       }
       // after removing the keys check again if required size is available
       if (isSizeAvailableToLoadColumnDictionary(requiredSize)) {
@@ -291,17 +347,113 @@ public final class CarbonLRUCache {
    * @return
    */
   public Cacheable get(String key) {
-    synchronized (lruCacheMap) {
-      return lruCacheMap.get(key);
+    CacheEntry entry = lruCacheMap.get(key);
+    if (null == entry) {
+      missCount.increment();
+      return null;
     }
+    // avoid writing the shared flag when it is already set
+    if (!entry.referenced) {
+      entry.referenced = true;
+    }
+    hitCount.increment();
+    return entry.cacheable;
   }
 
   /**
    * This method will empty the level cache
    */
   public void clear() {
-    synchronized (lruCacheMap) {
+    synchronized (lock) {
       lruCacheMap.clear();
+      clockQueue.clear();
+      currentSize = 0;
+    }
+  }
+
+  /**
+   * @return number of lookups which found the entry in cache
+   */
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  /**
+   * @return number of lookups which did not find the entry in cache
+   */
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  /**
+   * @return number of entries removed from cache to free memory for new entries
+   */
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  /**
+   * @return memory size of the entries in cache in bytes
+   */
+  public long getCurrentSize() {
+    return currentSize;
+  }
+
+  /**
+   * entry of the cache
+   */
+  private static class CacheEntry {
+
+    private final String key;
+
+    private final Cacheable cacheable;
+
+    /**
+     * set when the entry is looked up, cleared by the eviction sweep
+     */
+    private volatile boolean referenced;
+
+    CacheEntry(String key, Cacheable cacheable) {
+      this.key = key;
+      this.cacheable = cacheable;
+    }
+  }
+
+  /**
+   * counter which spreads the updates of concurrent threads over several cells to avoid
+   * contention on a single memory location
+   */
+  private static class StripedCounter {
+
+    /**
+     * distance between two cells, so that cells are in different cache lines
+     */
+    private static final int PADDING = 8;
+
+    private final int mask;
+
+    private final AtomicLongArray cells;
+
+    StripedCounter() {
+      int numCells = 1;
+      while (numCells < Runtime.getRuntime().availableProcessors() * 2) {
+        numCells <<= 1;
+      }
+      this.mask = numCells - 1;
+      this.cells = new AtomicLongArray(numCells * PADDING);
+    }
+
+    void increment() {
+      int cell = (int) Thread.currentThread().getId() & mask;
+      cells.incrementAndGet(cell * PADDING);
+    }
+
+    long sum() {
+      long sum = 0;
+      for (int i = 0; i < cells.length(); i += PADDING) {
+        sum += cells.get(i);
+      }
+      return sum;
     }
   }
 }
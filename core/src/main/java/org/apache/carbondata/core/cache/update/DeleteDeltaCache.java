@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.cache.update;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.carbondata.core.cache.Cacheable;
+import org.apache.carbondata.core.cache.CarbonLRUCache;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.mutate.DeleteDeltaVo;
+import org.apache.carbondata.core.reader.CarbonDeleteFilesDataReader;
+import org.apache.carbondata.core.scan.executor.infos.DeleteDeltaInfo;
+import org.apache.carbondata.core.util.path.CarbonTablePath;
+
+/**
+ * Executor level cache of the deleted rows of the blocks which is shared by all the queries.
+ * Entries are keyed by block and latest delete delta timestamp, so after a delete or update on
+ * the block the old entry is not used anymore and it will be evicted by the LRU
+ */
+public final class DeleteDeltaCache {
+
+  private static final DeleteDeltaCache INSTANCE = new DeleteDeltaCache();
+
+  /**
+   * approximate memory size of the key and the map entry of each blocklet page
+   */
+  private static final int ENTRY_OVERHEAD = 64;
+
+  private final CarbonLRUCache lruCache;
+
+  /**
+   * lock of each key which is being loaded, so in case of concurrent queries only one task
+   * will read the delete delta files and other tasks will wait
+   */
+  private final ConcurrentMap<String, Object> loadLocks = new ConcurrentHashMap<>();
+
+  private DeleteDeltaCache() {
+    lruCache = new CarbonLRUCache(CarbonCommonConstants.CARBON_DELETE_DELTA_CACHE_SIZE,
+        CarbonCommonConstants.CARBON_DELETE_DELTA_CACHE_SIZE_DEFAULT);
+  }
+
+  public static DeleteDeltaCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Below method will be used to get the deleted rows of the block, delete delta files are
+   * read only if the rows are not present in cache
+   *
+   * @param deleteDeltaInfo delete delta files of the block
+   * @return blockletid_pageid to deleted rows mapping
+   */
+  public Map<String, DeleteDeltaVo> getDeletedRows(DeleteDeltaInfo deleteDeltaInfo) {
+    String key = getCacheKey(deleteDeltaInfo);
+    DeletedRows deletedRows = (DeletedRows) lruCache.get(key);
+    if (null != deletedRows) {
+      return deletedRows.deletedRowsMap;
+    }
+    Object lockObject = new Object();
+    Object existingLock = loadLocks.putIfAbsent(key, lockObject);
+    if (null != existingLock) {
+      lockObject = existingLock;
+    }
+    synchronized (lockObject) {
+      // double checking, other task might have loaded it while waiting for the lock
+      deletedRows = (DeletedRows) lruCache.get(key);
+      if (null != deletedRows) {
+        return deletedRows.deletedRowsMap;
+      }
+      try {
+        Map<String, DeleteDeltaVo> deletedRowsMap = new CarbonDeleteFilesDataReader()
+            .getDeletedRowsDataVo(deleteDeltaInfo.getDeleteDeltaFile());
+        deletedRows = new DeletedRows(deletedRowsMap,
+            deleteDeltaInfo.getLatestDeleteDeltaFileTimestamp());
+        // if there is no space in cache then the rows are used only by this query
+        lruCache.put(key, deletedRows, deletedRows.getMemorySize());
+        return deletedRowsMap;
+      } finally {
+        loadLocks.remove(key, lockObject);
+      }
+    }
+  }
+
+  /**
+   * @return memory size of the deleted rows in cache in bytes
+   */
+  public long getCurrentSize() {
+    return lruCache.getCurrentSize();
+  }
+
+  /**
+   * This method will empty the cache
+   */
+  public void clear() {
+    lruCache.clear();
+  }
+
+  private static String getCacheKey(DeleteDeltaInfo deleteDeltaInfo) {
+    // all the delete delta files of a block are named with the block path and timestamp
+    return CarbonTablePath.DataFileUtil
+        .getBlockNameFromDeleteDeltaFile(deleteDeltaInfo.getDeleteDeltaFile()[0])
+        + CarbonCommonConstants.HYPHEN + deleteDeltaInfo.getLatestDeleteDeltaFileTimestamp();
+  }
+
+  /**
+   * deleted rows of a block for the latest delete delta timestamp
+   */
+  private static class DeletedRows implements Cacheable {
+
+    private final Map<String, DeleteDeltaVo> deletedRowsMap;
+
+    private final long timestamp;
+
+    private final long memorySize;
+
+    DeletedRows(Map<String, DeleteDeltaVo> deletedRowsMap, long timestamp) {
+      this.deletedRowsMap = deletedRowsMap;
+      this.timestamp = timestamp;
+      long size = 0;
+      for (Map.Entry<String, DeleteDeltaVo> entry : deletedRowsMap.entrySet()) {
+        size += ENTRY_OVERHEAD + entry.getKey().length() * 2 + entry.getValue().getMemorySize();
+      }
+      this.memorySize = size;
+    }
+
+    @Override public long getFileTimeStamp() {
+      return timestamp;
+    }
+
+    @Override public int getAccessCount() {
+      // entries are read only, so they can be removed even while queries are using them
+      return 0;
+    }
+
+    @Override public long getMemorySize() {
+      return memorySize;
+    }
+  }
+}
@@ -1241,6 +1241,19 @@ public final class CarbonCommonConstants {
    */
   public static final String DICTIONARY_SERVER_PORT_DEFAULT = "2030";
 
+  /**
+   * max number of batch dictionary generation requests a dictionary client sends to the
+   * dictionary server without waiting for their response
+   */
+  @CarbonProperty
+  public static final String DICTIONARY_CLIENT_MAX_INFLIGHT_REQUESTS =
+      "carbon.dictionary.client.max.inflight.requests";
+
+  /**
+   * default max number of in flight batch dictionary generation requests
+   */
+  public static final String DICTIONARY_CLIENT_MAX_INFLIGHT_REQUESTS_DEFAULT = "4";
+
   /**
    * property to set is IS_DRIVER_INSTANCE
    */
@@ -1258,6 +1271,116 @@ public final class CarbonCommonConstants {
    */
   public static final String ENABLE_UNSAFE_IN_QUERY_EXECUTION_DEFAULTVALUE = "true";
 
+  /**
+   * property for enabling memory mapped reading of carbondata files on local file system
+   */
+  @CarbonProperty
+  public static final String ENABLE_MMAP_LOCAL_FILE_READER = "carbon.local.file.reader.mmap.enable";
+
+  /**
+   * default property of memory mapped local file reading
+   */
+  public static final String ENABLE_MMAP_LOCAL_FILE_READER_DEFAULT = "false";
+
+  /**
+   * property for enabling the incremental table status, where segment status changes are
+   * appended to a log next to the tablestatus file instead of rewriting the whole file
+   */
+  @CarbonProperty
+  public static final String ENABLE_INCREMENTAL_TABLE_STATUS =
+      "carbon.table.status.incremental.enable";
+
+  /**
+   * default property of incremental table status
+   */
+  public static final String ENABLE_INCREMENTAL_TABLE_STATUS_DEFAULT = "false";
+
+  /**
+   * number of records in the table status log after which the whole tablestatus file is
+   * rewritten and the log is removed
+   */
+  @CarbonProperty
+  public static final String TABLE_STATUS_LOG_MAX_RECORDS = "carbon.table.status.log.max.records";
+
+  /**
+   * default number of records in the table status log
+   */
+  public static final String TABLE_STATUS_LOG_MAX_RECORDS_DEFAULT = "100";
+
+  /**
+   * format of the delete delta files written by delete, update and horizontal compaction.
+   * json is readable by all the versions, bitmap writes the deleted rows of each page as a
+   * serialized roaring bitmap. Both formats are always readable
+   */
+  @CarbonProperty
+  public static final String CARBON_DELETE_DELTA_FORMAT = "carbon.delete.delta.format";
+
+  /**
+   * default format of the delete delta files
+   */
+  public static final String CARBON_DELETE_DELTA_FORMAT_DEFAULT = "json";
+
+  /**
+   * max size in MB of the executor cache of deleted rows which is shared by all the queries
+   */
+  @CarbonProperty
+  public static final String CARBON_DELETE_DELTA_CACHE_SIZE = "carbon.delete.delta.cache.size";
+
+  /**
+   * default max size in MB of the deleted rows cache
+   */
+  public static final String CARBON_DELETE_DELTA_CACHE_SIZE_DEFAULT = "64";
+
+  /**
+   * whether compaction can copy the encoded blocklets of the segments as is to the merged
+   * segment instead of decoding and re-encoding every row. It is used only when the rows need
+   * not be re-sorted and there is no deleted row to apply
+   */
+  @CarbonProperty
+  public static final String CARBON_COMPACTION_COPY_ENCODED_BLOCKLETS =
+      "carbon.compaction.copy.encoded.blocklets";
+
+  /**
+   * default value for copying the encoded blocklets during compaction
+   */
+  public static final String CARBON_COMPACTION_COPY_ENCODED_BLOCKLETS_DEFAULT = "false";
+
+  /**
+   * whether the query should read ahead the column chunks of the upcoming blocklets of a
+   * task with coalesced reads instead of reading each column chunk separately
+   */
+  @CarbonProperty
+  public static final String CARBON_QUERY_READ_AHEAD_ENABLE = "carbon.query.readahead.enable";
+
+  /**
+   * default value for query read ahead
+   */
+  public static final String CARBON_QUERY_READ_AHEAD_ENABLE_DEFAULT = "false";
+
+  /**
+   * number of upcoming blocklets for which the reads are planned ahead
+   */
+  @CarbonProperty
+  public static final String CARBON_QUERY_READ_AHEAD_BLOCKLETS =
+      "carbon.query.readahead.blocklets";
+
+  /**
+   * default number of blocklets to read ahead
+   */
+  public static final String CARBON_QUERY_READ_AHEAD_BLOCKLETS_DEFAULT = "3";
+
+  /**
+   * max size in MB of the read ahead data which can be in flight for a task
+   */
+  @CarbonProperty
+  public static final String CARBON_QUERY_READ_AHEAD_SIZE_IN_MB =
+      "carbon.query.readahead.size.inmb";
+
+  /**
+   * default max size in MB of the read ahead data
+   */
+  public static final String CARBON_QUERY_READ_AHEAD_SIZE_IN_MB_DEFAULT = "64";
+
   /**
    * whether to prefetch data while loading.
    */
@@ -1699,6 +1822,48 @@ public final class CarbonCommonConstants {
   public static final String CARBON_SEARCH_MODE_WORKER_WORKLOAD_LIMIT =
       "carbon.search.worker.workload.limit";
 
+  /**
+   * In search mode, a block is scanned by the Worker as a chain of tasks which scan this many
+   * blocklets each, so that the scan threads can switch to another query between the tasks
+   */
+  @CarbonProperty
+  @InterfaceStability.Unstable
+  public static final String CARBON_SEARCH_MODE_SCAN_BLOCKLETS_PER_TASK =
+      "carbon.search.scan.blocklets.per.task";
+
+  public static final String CARBON_SEARCH_MODE_SCAN_BLOCKLETS_PER_TASK_DEFAULT = "1";
+
+  /**
+   * Max number of scan threads of the Worker which can be used by a search request at a time.
+   * If user does not set this value, by default a request can use all the scan threads
+   */
+  @CarbonProperty
+  @InterfaceStability.Unstable
+  public static final String CARBON_SEARCH_MODE_REQUEST_MAX_CONCURRENCY =
+      "carbon.search.request.max.concurrency";
+
+  /**
+   * Search request which scans up to this many blocks is a short request, like a point lookup,
+   * other requests are long requests
+   */
+  @CarbonProperty
+  @InterfaceStability.Unstable
+  public static final String CARBON_SEARCH_MODE_SHORT_REQUEST_MAX_BLOCKS =
+      "carbon.search.short.request.max.blocks";
+
+  public static final String CARBON_SEARCH_MODE_SHORT_REQUEST_MAX_BLOCKS_DEFAULT = "2";
+
+  /**
+   * Share of the scan threads given to a short request relative to a long request, whose
+   * weight is 1
+   */
+  @CarbonProperty
+  @InterfaceStability.Unstable
+  public static final String CARBON_SEARCH_MODE_SHORT_REQUEST_WEIGHT =
+      "carbon.search.short.request.weight";
+
+  public static final String CARBON_SEARCH_MODE_SHORT_REQUEST_WEIGHT_DEFAULT = "4";
+
   /*
    * whether to enable prefetch for rowbatch to enhance row reconstruction during compaction
    */
@@ -1720,6 +1885,19 @@ public final class CarbonCommonConstants {
    */
   public static final String CARBON_LUCENE_COMPRESSION_MODE_DEFAULT = "speed";
 
+  /**
+   * number of threads used by a load task to add the rows of the pages to the lucene index,
+   * the rows are indexed in background while the load writes the next pages
+   */
+  @CarbonProperty
+  public static final String CARBON_LUCENE_INDEX_BUILD_THREADS =
+      "carbon.lucene.index.build.threads";
+
+  /**
+   * default number of threads to build the lucene index
+   */
+  public static final String CARBON_LUCENE_INDEX_BUILD_THREADS_DEFAULT = "2";
+
   /**
    * DMPROPERTY for Index DataMap, like lucene, bloomfilter DataMap,
    * to indicate a list of column name to be indexed
@@ -1742,6 +1920,46 @@ public final class CarbonCommonConstants {
    */
   public static final String CARBON_QUERY_DATAMAP_BLOOM_CACHE_SIZE_DEFAULT_VAL = "512";
 
+  /**
+   * Mode used by blocklet datamap to prune blocklets in driver.
+   * LINEAR: check min/max of every blocklet.
+   * MINMAX_TREE: build a tree over min/max of blocklets and check only the blocklets in the
+   * groups selected by the tree, it reduces pruning time for segments with many blocklets
+   * when the filter is on the first sort column.
+   */
+  @CarbonProperty
+  public static final String CARBON_BLOCKLET_DATAMAP_PRUNE_MODE =
+      "carbon.blocklet.datamap.prune.mode";
+
+  public static final String CARBON_BLOCKLET_DATAMAP_PRUNE_MODE_LINEAR = "LINEAR";
+
+  public static final String CARBON_BLOCKLET_DATAMAP_PRUNE_MODE_MINMAX_TREE = "MINMAX_TREE";
+
+  public static final String CARBON_BLOCKLET_DATAMAP_PRUNE_MODE_DEFAULT =
+      CARBON_BLOCKLET_DATAMAP_PRUNE_MODE_LINEAR;
+
+  /**
+   * Number of threads used in driver to prune the segments of a table in parallel with the
+   * datamaps. The threads are shared by all the queries of the driver. 1 means the segments
+   * are pruned one by one in the query thread.
+   */
+  @CarbonProperty
+  public static final String CARBON_MAX_DRIVER_THREADS_FOR_SEGMENT_PRUNING =
+      "carbon.max.driver.threads.for.segment.pruning";
+
+  public static final String CARBON_MAX_DRIVER_THREADS_FOR_SEGMENT_PRUNING_DEFAULT = "1";
+
+  /**
+   * Whether the no sort load keeps the converted rows of a page column by column and fills the
+   * column pages directly, instead of building a write step row for every input row. It applies
+   * to the no sort load of the converter step only, the input and converter steps still produce
+   * rows and the global sort load and the load without converter step are row based.
+   */
+  @CarbonProperty
+  public static final String CARBON_LOAD_COLUMNAR_NO_SORT = "carbon.load.columnar.nosort.enable";
+
+  public static final String CARBON_LOAD_COLUMNAR_NO_SORT_DEFAULT = "true";
+
   private CarbonCommonConstants() {
   }
 }
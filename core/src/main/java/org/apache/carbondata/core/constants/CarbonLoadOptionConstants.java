@@ -140,6 +140,32 @@ public final class CarbonLoadOptionConstants {
       = "carbon.load.directWriteHdfs.enabled";
   public static final String ENABLE_CARBON_LOAD_DIRECT_WRITE_HDFS_DEFAULT = "false";
 
+  /**
+   * when writing fact data directly to hdfs, the blocklets are collected in buffers of this size
+   * and written to the file system asynchronously while the next blocklet is encoded
+   */
+  @CarbonProperty
+  public static final String CARBON_LOAD_DIRECT_WRITE_BUFFER_SIZE_IN_MB
+      = "carbon.load.directWriteHdfs.buffer.size.mb";
+  public static final String CARBON_LOAD_DIRECT_WRITE_BUFFER_SIZE_IN_MB_DEFAULT = "4";
+
+  /**
+   * max size of fact data buffered but not yet written to hdfs by one data writer, the writer
+   * waits for the upload once it is reached
+   */
+  @CarbonProperty
+  public static final String CARBON_LOAD_DIRECT_WRITE_MAX_INFLIGHT_SIZE_IN_MB
+      = "carbon.load.directWriteHdfs.max.inflight.size.mb";
+  public static final String CARBON_LOAD_DIRECT_WRITE_MAX_INFLIGHT_SIZE_IN_MB_DEFAULT = "64";
+
+  /**
+   * number of carbondata files of one data writer which can be written to hdfs concurrently
+   */
+  @CarbonProperty
+  public static final String CARBON_LOAD_DIRECT_WRITE_THREADS
+      = "carbon.load.directWriteHdfs.threads";
+  public static final String CARBON_LOAD_DIRECT_WRITE_THREADS_DEFAULT = "2";
+
   /**
    * If the sort memory is insufficient, spill inmemory pages to disk.
    * The total amount of pages is at most the specified percentage of total sort memory. Default
@@ -151,4 +177,15 @@ public final class CarbonLoadOptionConstants {
   public static final String CARBON_LOAD_SORT_MEMORY_SPILL_PERCENTAGE
       = "carbon.load.sortMemory.spill.percentage";
   public static final String CARBON_LOAD_SORT_MEMORY_SPILL_PERCENTAGE_DEFAULT = "0";
+
+  /**
+   * If enabled, the final merge of the unsafe sort is split into sort key ranges using the sort
+   * keys sampled while sorting the pages. Every range is merged by its own thread and written by
+   * its own data writer. The number of ranges is the number of cores used by the sort step,
+   * which is half of carbon.number.of.cores.while.loading.
+   */
+  @CarbonProperty
+  public static final String CARBON_LOAD_SORT_PARALLEL_FINAL_MERGE
+      = "carbon.load.sort.parallel.final.merge";
+  public static final String CARBON_LOAD_SORT_PARALLEL_FINAL_MERGE_DEFAULT = "false";
 }
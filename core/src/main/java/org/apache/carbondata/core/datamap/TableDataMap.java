@@ -19,6 +19,9 @@ package org.apache.carbondata.core.datamap;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import org.apache.carbondata.common.annotations.InterfaceAudience;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
@@ -35,7 +38,13 @@ import org.apache.carbondata.core.indexstore.PartitionSpec;
 import org.apache.carbondata.core.indexstore.SegmentPropertiesFetcher;
 import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
 import org.apache.carbondata.core.metadata.schema.table.DataMapSchema;
+import org.apache.carbondata.core.profiler.ExplainCollector;
 import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonSessionInfo;
+import org.apache.carbondata.core.util.CarbonTaskInfo;
+import org.apache.carbondata.core.util.ThreadLocalSessionInfo;
+import org.apache.carbondata.core.util.ThreadLocalTaskInfo;
 import org.apache.carbondata.events.Event;
 import org.apache.carbondata.events.OperationContext;
 import org.apache.carbondata.events.OperationEventListener;
@@ -51,6 +60,12 @@ import org.apache.carbondata.events.OperationEventListener;
 @InterfaceAudience.Internal
 public final class TableDataMap extends OperationEventListener {
 
+  /**
+   * pool shared by all the tables to prune the segments in parallel, created on first use and
+   * created again when the configured number of pruning threads is changed
+   */
+  private static volatile ForkJoinPool pruningPool;
+
   private AbsoluteTableIdentifier identifier;
 
   private DataMapSchema dataMapSchema;
@@ -87,27 +102,149 @@ public final class TableDataMap extends OperationEventListener {
    */
   public List<ExtendedBlocklet> prune(List<Segment> segments, FilterResolverIntf filterExp,
       List<PartitionSpec> partitions) throws IOException {
+    int numOfThreads = CarbonProperties.getInstance().getMaxDriverThreadsForSegmentPruning();
+    if (numOfThreads > 1 && segments.size() > 1) {
+      return pruneInParallel(segments, filterExp, partitions, getPruningPool(numOfThreads));
+    }
     List<ExtendedBlocklet> blocklets = new ArrayList<>();
-    SegmentProperties segmentProperties;
     for (Segment segment : segments) {
-      List<Blocklet> pruneBlocklets = new ArrayList<>();
-      // if filter is not passed then return all the blocklets
-      if (filterExp == null) {
-        pruneBlocklets = blockletDetailsFetcher.getAllBlocklets(segment, partitions);
-      } else {
-        List<DataMap> dataMaps = dataMapFactory.getDataMaps(segment);
-        segmentProperties = segmentPropertiesFetcher.getSegmentProperties(segment);
-        for (DataMap dataMap : dataMaps) {
-          pruneBlocklets.addAll(dataMap.prune(filterExp, segmentProperties, partitions));
+      blocklets.addAll(prune(segment, filterExp, partitions));
+    }
+    return blocklets;
+  }
+
+  private List<ExtendedBlocklet> prune(Segment segment, FilterResolverIntf filterExp,
+      List<PartitionSpec> partitions) throws IOException {
+    List<Blocklet> pruneBlocklets = new ArrayList<>();
+    // if filter is not passed then return all the blocklets
+    if (filterExp == null) {
+      pruneBlocklets = blockletDetailsFetcher.getAllBlocklets(segment, partitions);
+    } else {
+      List<DataMap> dataMaps = dataMapFactory.getDataMaps(segment);
+      SegmentProperties segmentProperties =
+          segmentPropertiesFetcher.getSegmentProperties(segment);
+      for (DataMap dataMap : dataMaps) {
+        pruneBlocklets.addAll(dataMap.prune(filterExp, segmentProperties, partitions));
+      }
+    }
+    return addSegmentId(
+        blockletDetailsFetcher.getExtendedBlocklets(pruneBlocklets, segment),
+        segment.getSegmentNo());
+  }
+
+  /**
+   * Prune every segment in a task of the shared pool. The results are merged in the order of
+   * the segments so that the output is same as pruning them one by one. If pruning of any
+   * segment fails or the query thread is interrupted, the pending tasks are cancelled.
+   */
+  private List<ExtendedBlocklet> pruneInParallel(List<Segment> segments,
+      FilterResolverIntf filterExp, List<PartitionSpec> partitions, ForkJoinPool pool)
+      throws IOException {
+    List<SegmentPruneTask> tasks = new ArrayList<>(segments.size());
+    for (Segment segment : segments) {
+      SegmentPruneTask task = new SegmentPruneTask(segment, filterExp, partitions);
+      pool.execute(task);
+      tasks.add(task);
+    }
+    List<ExtendedBlocklet> blocklets = new ArrayList<>();
+    try {
+      for (SegmentPruneTask task : tasks) {
+        List<ExtendedBlocklet> segmentBlocklets = task.get();
+        if (task.exception != null) {
+          throw task.exception;
         }
+        ExplainCollector.recordSegmentPruningTime(
+            task.segment.getSegmentNo(), task.pruningTimeMillis);
+        blocklets.addAll(segmentBlocklets);
       }
-      blocklets.addAll(addSegmentId(
-          blockletDetailsFetcher.getExtendedBlocklets(pruneBlocklets, segment),
-          segment.getSegmentNo()));
+    } catch (InterruptedException e) {
+      cancel(tasks);
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while pruning the segments", e);
+    } catch (ExecutionException e) {
+      cancel(tasks);
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    } catch (IOException e) {
+      cancel(tasks);
+      throw e;
     }
     return blocklets;
   }
 
+  private void cancel(List<SegmentPruneTask> tasks) {
+    for (SegmentPruneTask task : tasks) {
+      task.cancel(true);
+    }
+  }
+
+  /**
+   * The pool is replaced when the number of threads is changed. The replaced pool is not shut
+   * down as queries may still submit to it, its workers exit once they are idle.
+   */
+  static ForkJoinPool getPruningPool(int numOfThreads) {
+    ForkJoinPool pool = pruningPool;
+    if (pool == null || pool.getParallelism() != numOfThreads) {
+      synchronized (TableDataMap.class) {
+        pool = pruningPool;
+        if (pool == null || pool.getParallelism() != numOfThreads) {
+          pool = new ForkJoinPool(numOfThreads);
+          pruningPool = pool;
+        }
+      }
+    }
+    return pool;
+  }
+
+  /**
+   * Prunes one segment in the pruning pool with the task and session info of the query thread
+   */
+  private final class SegmentPruneTask extends RecursiveTask<List<ExtendedBlocklet>> {
+
+    private final Segment segment;
+
+    private final FilterResolverIntf filterExp;
+
+    private final List<PartitionSpec> partitions;
+
+    private final CarbonTaskInfo taskInfo;
+
+    private final CarbonSessionInfo sessionInfo;
+
+    private IOException exception;
+
+    private long pruningTimeMillis;
+
+    private SegmentPruneTask(Segment segment, FilterResolverIntf filterExp,
+        List<PartitionSpec> partitions) {
+      this.segment = segment;
+      this.filterExp = filterExp;
+      this.partitions = partitions;
+      this.taskInfo = ThreadLocalTaskInfo.getCarbonTaskInfo();
+      this.sessionInfo = ThreadLocalSessionInfo.getCarbonSessionInfo();
+    }
+
+    @Override protected List<ExtendedBlocklet> compute() {
+      CarbonTaskInfo workerTaskInfo = ThreadLocalTaskInfo.getCarbonTaskInfo();
+      CarbonSessionInfo workerSessionInfo = ThreadLocalSessionInfo.getCarbonSessionInfo();
+      ThreadLocalTaskInfo.setCarbonTaskInfo(taskInfo);
+      ThreadLocalSessionInfo.setCarbonSessionInfo(sessionInfo);
+      long startTime = System.currentTimeMillis();
+      try {
+        return prune(segment, filterExp, partitions);
+      } catch (IOException e) {
+        exception = e;
+        return null;
+      } finally {
+        pruningTimeMillis = System.currentTimeMillis() - startTime;
+        ThreadLocalTaskInfo.setCarbonTaskInfo(workerTaskInfo);
+        ThreadLocalSessionInfo.setCarbonSessionInfo(workerSessionInfo);
+      }
+    }
+  }
+
   private List<ExtendedBlocklet> addSegmentId(List<ExtendedBlocklet> pruneBlocklets,
       String segmentId) {
     for (ExtendedBlocklet blocklet : pruneBlocklets) {
@@ -30,9 +30,11 @@ import org.apache.carbondata.core.util.CarbonProperties;
 public abstract class AbstractChunkReader implements DimensionColumnChunkReader {
 
   /**
-   * compressor will be used to uncompress the data
+   * compressor will be used to uncompress the data of V1 and V2 format,
+   * which are always compressed by snappy
    */
-  protected static final Compressor COMPRESSOR = CompressorFactory.getInstance().getCompressor();
+  protected static final Compressor COMPRESSOR = CompressorFactory.getInstance()
+      .getCompressor(CompressorFactory.SupportedCompressor.SNAPPY.getName());
 
   /**
    * size of the each column value
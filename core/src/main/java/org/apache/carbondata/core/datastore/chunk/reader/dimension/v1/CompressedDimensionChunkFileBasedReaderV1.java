@@ -108,7 +108,12 @@ public class CompressedDimensionChunkFileBasedReaderV1 extends AbstractChunkRead
     FileReader fileReader = dimensionRawColumnChunk.getFileReader();
 
     ByteBuffer rawData = dimensionRawColumnChunk.getRawData();
-    dataPage = COMPRESSOR.unCompressByte(rawData.array(), (int) dimensionRawColumnChunk.getOffSet(),
+    int offset = (int) dimensionRawColumnChunk.getOffSet();
+    if (!rawData.hasArray()) {
+      rawData = CarbonUtil.copyToHeapBuffer(rawData, offset, dimensionRawColumnChunk.getLength());
+      offset = 0;
+    }
+    dataPage = COMPRESSOR.unCompressByte(rawData.array(), offset,
         dimensionRawColumnChunk.getLength());
 
     // if row id block is present then read the row id chunk and uncompress it
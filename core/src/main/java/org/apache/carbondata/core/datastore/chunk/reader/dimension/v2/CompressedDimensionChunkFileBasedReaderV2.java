@@ -142,6 +142,13 @@ public class CompressedDimensionChunkFileBasedReaderV2 extends AbstractChunkRead
       copySourcePoint += dimensionChunksLength.get(blockIndex);
     }
 
+    if (!rawData.hasArray()) {
+      // copy only the page to heap from the memory mapped data
+      rawData = CarbonUtil.copyToHeapBuffer(rawData, copySourcePoint,
+          dimensionColumnChunk.data_page_length + dimensionColumnChunk.rowid_page_length
+              + dimensionColumnChunk.rle_page_length);
+      copySourcePoint = 0;
+    }
     // first read the data and uncompressed it
     dataPage = COMPRESSOR
         .unCompressByte(rawData.array(), copySourcePoint, dimensionColumnChunk.data_page_length);
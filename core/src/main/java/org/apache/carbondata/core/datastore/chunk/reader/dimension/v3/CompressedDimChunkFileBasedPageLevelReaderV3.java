@@ -16,7 +16,6 @@
  */
 package org.apache.carbondata.core.datastore.chunk.reader.dimension.v3;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 
@@ -93,7 +92,8 @@ public class CompressedDimChunkFileBasedPageLevelReaderV3
           dimensionChunksLength.get(blockletColumnIndex));
     }
     // get the data chunk which will have all the details about the data pages
-    DataChunk3 dataChunk = CarbonUtil.readDataChunk3(new ByteArrayInputStream(buffer.array()));
+    DataChunk3 dataChunk =
+        CarbonUtil.readDataChunk3(buffer, 0, dimensionChunksLength.get(blockletColumnIndex));
     DimensionRawColumnChunk rawColumnChunk =
         getDimensionRawColumnChunk(fileReader, blockletColumnIndex, currentDimensionOffset, length,
             null, dataChunk);
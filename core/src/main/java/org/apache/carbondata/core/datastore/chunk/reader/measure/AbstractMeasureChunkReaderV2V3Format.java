@@ -101,11 +101,12 @@ public abstract class AbstractMeasureChunkReaderV2V3Format extends AbstractMeasu
    * presence meta
    *
    * @param presentMetadataThrift
+   * @param compressorName compressor used to compress the presence bit stream
    * @return wrapper presence meta
    */
   protected BitSet getNullBitSet(
-      org.apache.carbondata.format.PresenceMeta presentMetadataThrift) {
-    Compressor compressor = CompressorFactory.getInstance().getCompressor();
+      org.apache.carbondata.format.PresenceMeta presentMetadataThrift, String compressorName) {
+    Compressor compressor = CompressorFactory.getInstance().getCompressor(compressorName);
     return BitSet.valueOf(
         compressor.unCompressByte(presentMetadataThrift.getPresent_bit_stream()));
   }
@@ -29,6 +29,7 @@ import org.apache.carbondata.core.memory.MemoryException;
 import org.apache.carbondata.core.metadata.ValueEncoderMeta;
 import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
 import org.apache.carbondata.core.metadata.blocklet.datachunk.DataChunk;
+import org.apache.carbondata.core.util.CarbonUtil;
 
 /**
  * Compressed measure chunk reader
@@ -97,8 +98,14 @@ public class CompressedMeasureChunkFileBasedReaderV1 extends AbstractMeasureChun
     DataChunk dataChunk = measureColumnChunks.get(blockIndex);
     ValueEncoderMeta meta = dataChunk.getValueEncoderMeta().get(0);
     ColumnPageDecoder codec = encodingFactory.createDecoderLegacy(meta);
-    ColumnPage decodedPage = codec.decode(measureRawColumnChunk.getRawData().array(),
-        (int) measureRawColumnChunk.getOffSet(), dataChunk.getDataPageLength());
+    ByteBuffer rawData = measureRawColumnChunk.getRawData();
+    int offset = (int) measureRawColumnChunk.getOffSet();
+    if (!rawData.hasArray()) {
+      rawData = CarbonUtil.copyToHeapBuffer(rawData, offset, dataChunk.getDataPageLength());
+      offset = 0;
+    }
+    ColumnPage decodedPage =
+        codec.decode(rawData.array(), offset, dataChunk.getDataPageLength());
     decodedPage.setNullBits(dataChunk.getNullValueIndexForColumn());
 
     return decodedPage;
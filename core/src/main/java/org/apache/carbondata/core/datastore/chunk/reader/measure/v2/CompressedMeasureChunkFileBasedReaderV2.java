@@ -28,6 +28,7 @@ import org.apache.carbondata.core.datastore.page.encoding.ColumnPageDecoder;
 import org.apache.carbondata.core.memory.MemoryException;
 import org.apache.carbondata.core.metadata.ValueEncoderMeta;
 import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
+import org.apache.carbondata.core.util.CarbonMetadataUtil;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.format.DataChunk2;
 
@@ -125,7 +126,8 @@ public class CompressedMeasureChunkFileBasedReaderV2 extends AbstractMeasureChun
     copyPoint += measureColumnChunkLength.get(blockIndex);
 
     ColumnPage page = decodeMeasure(measureRawColumnChunk, measureColumnChunk, copyPoint);
-    page.setNullBits(getNullBitSet(measureColumnChunk.presence));
+    page.setNullBits(getNullBitSet(measureColumnChunk.presence,
+        CarbonMetadataUtil.getCompressorNameFromChunkMeta(measureColumnChunk.getChunk_meta())));
     return page;
   }
 
@@ -137,7 +139,13 @@ public class CompressedMeasureChunkFileBasedReaderV2 extends AbstractMeasureChun
 
     ValueEncoderMeta meta = CarbonUtil.deserializeEncoderMetaV2(encodedMeta);
     ColumnPageDecoder codec = encodingFactory.createDecoderLegacy(meta);
-    byte[] rawData = measureRawColumnChunk.getRawData().array();
-    return codec.decode(rawData, copyPoint, measureColumnChunk.data_page_length);
+    ByteBuffer rawData = measureRawColumnChunk.getRawData();
+    if (!rawData.hasArray()) {
+      // copy only the page to heap from the memory mapped data
+      rawData = CarbonUtil.copyToHeapBuffer(rawData, copyPoint,
+          measureColumnChunk.data_page_length);
+      copyPoint = 0;
+    }
+    return codec.decode(rawData.array(), copyPoint, measureColumnChunk.data_page_length);
   }
 }
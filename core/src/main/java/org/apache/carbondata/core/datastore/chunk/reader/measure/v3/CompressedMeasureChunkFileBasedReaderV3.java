@@ -27,6 +27,7 @@ import org.apache.carbondata.core.datastore.page.ColumnPage;
 import org.apache.carbondata.core.datastore.page.encoding.ColumnPageDecoder;
 import org.apache.carbondata.core.memory.MemoryException;
 import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
+import org.apache.carbondata.core.util.CarbonMetadataUtil;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.format.DataChunk2;
 import org.apache.carbondata.format.DataChunk3;
@@ -198,7 +199,8 @@ public class CompressedMeasureChunkFileBasedReaderV3 extends AbstractMeasureChun
         measureColumnChunkLength.get(rawColumnChunk.getColumnIndex()) +
         dataChunk3.getPage_offset().get(pageNumber);
     ColumnPage decodedPage = decodeMeasure(pageMetadata, rawColumnChunk.getRawData(), offset);
-    decodedPage.setNullBits(getNullBitSet(pageMetadata.presence));
+    decodedPage.setNullBits(getNullBitSet(pageMetadata.presence,
+        CarbonMetadataUtil.getCompressorNameFromChunkMeta(pageMetadata.getChunk_meta())));
     return decodedPage;
   }
 
@@ -210,6 +212,11 @@ public class CompressedMeasureChunkFileBasedReaderV3 extends AbstractMeasureChun
     List<Encoding> encodings = pageMetadata.getEncoders();
     List<ByteBuffer> encoderMetas = pageMetadata.getEncoder_meta();
     ColumnPageDecoder codec = encodingFactory.createDecoder(encodings, encoderMetas);
+    if (!pageData.hasArray()) {
+      // copy only the page to heap from the memory mapped data
+      pageData = CarbonUtil.copyToHeapBuffer(pageData, offset, pageMetadata.data_page_length);
+      offset = 0;
+    }
     return codec.decode(pageData.array(), offset, pageMetadata.data_page_length);
   }
 
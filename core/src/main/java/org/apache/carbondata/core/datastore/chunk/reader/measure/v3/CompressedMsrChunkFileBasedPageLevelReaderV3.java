@@ -16,7 +16,6 @@
  */
 package org.apache.carbondata.core.datastore.chunk.reader.measure.v3;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 
@@ -25,6 +24,7 @@ import org.apache.carbondata.core.datastore.chunk.impl.MeasureRawColumnChunk;
 import org.apache.carbondata.core.datastore.page.ColumnPage;
 import org.apache.carbondata.core.memory.MemoryException;
 import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
+import org.apache.carbondata.core.util.CarbonMetadataUtil;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.format.DataChunk2;
 import org.apache.carbondata.format.DataChunk3;
@@ -89,7 +89,8 @@ public class CompressedMsrChunkFileBasedPageLevelReaderV3
               measureColumnChunkLength.get(blockletColumnIndex));
     }
     // get the data chunk which will have all the details about the data pages
-    DataChunk3 dataChunk = CarbonUtil.readDataChunk3(new ByteArrayInputStream(buffer.array()));
+    DataChunk3 dataChunk =
+        CarbonUtil.readDataChunk3(buffer, 0, measureColumnChunkLength.get(blockletColumnIndex));
     return getMeasureRawColumnChunk(fileReader, blockletColumnIndex,
         measureColumnChunkOffsets.get(blockletColumnIndex), dataLength, null, dataChunk);
   }
@@ -146,7 +147,8 @@ public class CompressedMsrChunkFileBasedPageLevelReaderV3
         .readByteBuffer(filePath, offset, pageMetadata.data_page_length);
 
     ColumnPage decodedPage = decodeMeasure(pageMetadata, buffer, 0);
-    decodedPage.setNullBits(getNullBitSet(pageMetadata.presence));
+    decodedPage.setNullBits(getNullBitSet(pageMetadata.presence,
+        CarbonMetadataUtil.getCompressorNameFromChunkMeta(pageMetadata.getChunk_meta())));
     return decodedPage;
   }
 
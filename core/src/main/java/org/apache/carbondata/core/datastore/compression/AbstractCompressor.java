@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.compression;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+
+/**
+ * Base class for compressors which only know how to compress byte arrays.
+ * Primitive arrays are converted to bytes before compression and converted
+ * back after decompression.
+ */
+public abstract class AbstractCompressor implements Compressor {
+
+  @Override public byte[] compressByte(byte[] unCompInput) {
+    return compressByte(unCompInput, unCompInput.length);
+  }
+
+  @Override public byte[] unCompressByte(byte[] compInput) {
+    return unCompressByte(compInput, 0, compInput.length);
+  }
+
+  @Override public byte[] compressShort(short[] unCompInput) {
+    ByteBuffer unCompBuffer = ByteBuffer.allocate(unCompInput.length * 2);
+    unCompBuffer.asShortBuffer().put(unCompInput);
+    return compressByte(unCompBuffer.array());
+  }
+
+  @Override public short[] unCompressShort(byte[] compInput) {
+    return unCompressShort(compInput, 0, compInput.length);
+  }
+
+  @Override public short[] unCompressShort(byte[] compInput, int offset, int length) {
+    ShortBuffer buffer = ByteBuffer.wrap(unCompressByte(compInput, offset, length)).asShortBuffer();
+    short[] result = new short[buffer.remaining()];
+    buffer.get(result);
+    return result;
+  }
+
+  @Override public byte[] compressInt(int[] unCompInput) {
+    ByteBuffer unCompBuffer = ByteBuffer.allocate(unCompInput.length * 4);
+    unCompBuffer.asIntBuffer().put(unCompInput);
+    return compressByte(unCompBuffer.array());
+  }
+
+  @Override public int[] unCompressInt(byte[] compInput) {
+    return unCompressInt(compInput, 0, compInput.length);
+  }
+
+  @Override public int[] unCompressInt(byte[] compInput, int offset, int length) {
+    IntBuffer buffer = ByteBuffer.wrap(unCompressByte(compInput, offset, length)).asIntBuffer();
+    int[] result = new int[buffer.remaining()];
+    buffer.get(result);
+    return result;
+  }
+
+  @Override public byte[] compressLong(long[] unCompInput) {
+    ByteBuffer unCompBuffer = ByteBuffer.allocate(unCompInput.length * 8);
+    unCompBuffer.asLongBuffer().put(unCompInput);
+    return compressByte(unCompBuffer.array());
+  }
+
+  @Override public long[] unCompressLong(byte[] compInput) {
+    return unCompressLong(compInput, 0, compInput.length);
+  }
+
+  @Override public long[] unCompressLong(byte[] compInput, int offset, int length) {
+    LongBuffer buffer = ByteBuffer.wrap(unCompressByte(compInput, offset, length)).asLongBuffer();
+    long[] result = new long[buffer.remaining()];
+    buffer.get(result);
+    return result;
+  }
+
+  @Override public byte[] compressFloat(float[] unCompInput) {
+    ByteBuffer unCompBuffer = ByteBuffer.allocate(unCompInput.length * 4);
+    unCompBuffer.asFloatBuffer().put(unCompInput);
+    return compressByte(unCompBuffer.array());
+  }
+
+  @Override public float[] unCompressFloat(byte[] compInput) {
+    return unCompressFloat(compInput, 0, compInput.length);
+  }
+
+  @Override public float[] unCompressFloat(byte[] compInput, int offset, int length) {
+    FloatBuffer buffer = ByteBuffer.wrap(unCompressByte(compInput, offset, length)).asFloatBuffer();
+    float[] result = new float[buffer.remaining()];
+    buffer.get(result);
+    return result;
+  }
+
+  @Override public byte[] compressDouble(double[] unCompInput) {
+    ByteBuffer unCompBuffer = ByteBuffer.allocate(unCompInput.length * 8);
+    unCompBuffer.asDoubleBuffer().put(unCompInput);
+    return compressByte(unCompBuffer.array());
+  }
+
+  @Override public double[] unCompressDouble(byte[] compInput) {
+    return unCompressDouble(compInput, 0, compInput.length);
+  }
+
+  @Override public double[] unCompressDouble(byte[] compInput, int offset, int length) {
+    DoubleBuffer buffer =
+        ByteBuffer.wrap(unCompressByte(compInput, offset, length)).asDoubleBuffer();
+    double[] result = new double[buffer.remaining()];
+    buffer.get(result);
+    return result;
+  }
+
+  @Override
+  public long rawCompress(long inputAddress, int inputSize, long outputAddress)
+      throws IOException {
+    throw new UnsupportedOperationException(getName() + " does not support raw compression");
+  }
+
+  @Override
+  public long rawUncompress(byte[] input, byte[] output) throws IOException {
+    byte[] uncompressed = unCompressByte(input);
+    System.arraycopy(uncompressed, 0, output, 0, uncompressed.length);
+    return uncompressed.length;
+  }
+
+  @Override
+  public boolean supportUnsafe() {
+    return false;
+  }
+}
@@ -66,4 +66,10 @@ public interface Compressor {
   long rawUncompress(byte[] input, byte[] output) throws IOException;
 
   int maxCompressedLength(int inputSize);
+
+  /**
+   * Whether this compressor can compress directly from off-heap memory,
+   * that is whether {@link #rawCompress(long, int, long)} is supported
+   */
+  boolean supportUnsafe();
 }
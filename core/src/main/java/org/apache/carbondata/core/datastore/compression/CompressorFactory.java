@@ -17,25 +17,68 @@
 
 package org.apache.carbondata.core.datastore.compression;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.util.CarbonProperties;
 
+/**
+ * Registry of all the compressors which can be used to compress column pages and
+ * stream blocklets. The compressor name is recorded in the file metadata, so a reader
+ * can always find the compressor which was used by the writer.
+ */
 public class CompressorFactory {
 
   private static final CompressorFactory COMPRESSOR_FACTORY = new CompressorFactory();
 
-  private final Compressor snappyCompressor;
+  private final Map<String, Compressor> compressors = new ConcurrentHashMap<>();
+
+  public enum SupportedCompressor {
+    SNAPPY("snappy", SnappyCompressor.class),
+    ZSTD("zstd", ZstdCompressor.class),
+    LZ4("lz4", Lz4Compressor.class);
+
+    private String name;
+    private Class<? extends Compressor> compressorClass;
+
+    SupportedCompressor(String name, Class<? extends Compressor> compressorClass) {
+      this.name = name;
+      this.compressorClass = compressorClass;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * Return the supported compressor by name, or null if the name is not supported
+     */
+    public static SupportedCompressor of(String name) {
+      for (SupportedCompressor supportedCompressor : values()) {
+        if (supportedCompressor.name.equalsIgnoreCase(name)) {
+          return supportedCompressor;
+        }
+      }
+      return null;
+    }
+
+    private Compressor newInstance() {
+      try {
+        return compressorClass.newInstance();
+      } catch (InstantiationException | IllegalAccessException e) {
+        throw new RuntimeException("Failed to create compressor " + name, e);
+      }
+    }
+  }
 
   private CompressorFactory() {
-    String compressorType = CarbonProperties.getInstance()
-        .getProperty(CarbonCommonConstants.COMPRESSOR, CarbonCommonConstants.DEFAULT_COMPRESSOR);
-    switch (compressorType) {
-      case "snappy":
-        snappyCompressor = new SnappyCompressor();
-        break;
-      default:
-        throw new RuntimeException(
-            "Invalid compressor type provided! Please provide valid compressor type");
+    // validate the system level compressor at startup so that a wrong configuration
+    // fails fast instead of failing in the middle of a data load
+    String compressorType = getSystemCompressorName();
+    if (SupportedCompressor.of(compressorType) == null) {
+      throw new RuntimeException(
+          "Invalid compressor type provided! Please provide valid compressor type");
     }
   }
 
@@ -43,16 +86,41 @@ public class CompressorFactory {
     return COMPRESSOR_FACTORY;
   }
 
+  /**
+   * Return the compressor configured by carbon.column.compressor, snappy by default
+   */
   public Compressor getCompressor() {
-    return getCompressor(CarbonCommonConstants.DEFAULT_COMPRESSOR);
+    return getCompressor(getSystemCompressorName());
   }
 
   public Compressor getCompressor(String name) {
-    if (name.equalsIgnoreCase("snappy")) {
-      return snappyCompressor;
-    } else {
+    SupportedCompressor supportedCompressor = SupportedCompressor.of(name);
+    if (supportedCompressor == null) {
       throw new UnsupportedOperationException(name + " compressor is not supported");
     }
+    Compressor compressor = compressors.get(supportedCompressor.getName());
+    if (compressor == null) {
+      // compressors are stateless, it does not matter if two threads create it concurrently
+      compressor = supportedCompressor.newInstance();
+      Compressor existing = compressors.putIfAbsent(supportedCompressor.getName(), compressor);
+      if (existing != null) {
+        compressor = existing;
+      }
+    }
+    return compressor;
+  }
+
+  /**
+   * Return true if the compressor name is supported
+   */
+  public boolean isSupported(String name) {
+    return SupportedCompressor.of(name) != null;
+  }
+
+  private String getSystemCompressorName() {
+    return CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.COMPRESSOR, CarbonCommonConstants.DEFAULT_COMPRESSOR)
+        .toLowerCase();
   }
 
 }
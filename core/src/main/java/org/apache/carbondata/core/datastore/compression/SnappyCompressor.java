@@ -245,4 +245,9 @@ public class SnappyCompressor implements Compressor {
   public int maxCompressedLength(int inputSize) {
     return snappyNative.maxCompressedLength(inputSize);
   }
+
+  @Override
+  public boolean supportUnsafe() {
+    return true;
+  }
 }
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.compression;
+
+import java.util.Arrays;
+
+import com.github.luben.zstd.Zstd;
+
+/**
+ * Compressor based on Zstandard, it gives a better compression ratio than snappy at
+ * the cost of more CPU on write, which suits tables that are loaded once and scanned often
+ */
+public class ZstdCompressor extends AbstractCompressor {
+
+  // default level of zstd, it is a good balance between ratio and speed
+  private static final int COMPRESS_LEVEL = 3;
+
+  public ZstdCompressor() {
+  }
+
+  @Override
+  public String getName() {
+    return "zstd";
+  }
+
+  @Override public byte[] compressByte(byte[] unCompInput, int byteSize) {
+    if (byteSize != unCompInput.length) {
+      unCompInput = Arrays.copyOf(unCompInput, byteSize);
+    }
+    return Zstd.compress(unCompInput, COMPRESS_LEVEL);
+  }
+
+  @Override public byte[] unCompressByte(byte[] compInput, int offset, int length) {
+    if (offset != 0 || length != compInput.length) {
+      compInput = Arrays.copyOfRange(compInput, offset, offset + length);
+    }
+    long decompressedSize = Zstd.decompressedSize(compInput);
+    return Zstd.decompress(compInput, (int) decompressedSize);
+  }
+
+  @Override
+  public int maxCompressedLength(int inputSize) {
+    return (int) Zstd.compressBound(inputSize);
+  }
+}
@@ -17,12 +17,14 @@
 
 package org.apache.carbondata.core.datastore.impl;
 
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.FileReader;
 import org.apache.carbondata.core.datastore.filesystem.AlluxioCarbonFile;
 import org.apache.carbondata.core.datastore.filesystem.CarbonFile;
 import org.apache.carbondata.core.datastore.filesystem.HDFSCarbonFile;
 import org.apache.carbondata.core.datastore.filesystem.LocalCarbonFile;
 import org.apache.carbondata.core.datastore.filesystem.ViewFSCarbonFile;
+import org.apache.carbondata.core.util.CarbonProperties;
 
 import org.apache.hadoop.conf.Configuration;
 
@@ -31,6 +33,9 @@ public class DefaultFileTypeProvider implements FileTypeInerface {
   public FileReader getFileHolder(FileFactory.FileType fileType) {
     switch (fileType) {
       case LOCAL:
+        if (isMmapLocalFileReaderEnabled()) {
+          return new MappedFileReaderImpl();
+        }
         return new FileReaderImpl();
       case HDFS:
       case ALLUXIO:
@@ -42,6 +47,12 @@ public class DefaultFileTypeProvider implements FileTypeInerface {
     }
   }
 
+  private boolean isMmapLocalFileReaderEnabled() {
+    return Boolean.parseBoolean(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.ENABLE_MMAP_LOCAL_FILE_READER,
+            CarbonCommonConstants.ENABLE_MMAP_LOCAL_FILE_READER_DEFAULT));
+  }
+
   public CarbonFile getCarbonFile(String path, FileFactory.FileType fileType) {
     switch (fileType) {
       case LOCAL:
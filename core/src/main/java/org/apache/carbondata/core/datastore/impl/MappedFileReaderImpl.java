@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.impl;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.FileReader;
+import org.apache.carbondata.core.memory.CarbonUnsafe;
+
+/**
+ * FileReader for files on local file system which reads through memory mapped regions of the
+ * files instead of positional channel reads, so reading a column chunk does not need a system
+ * call. {@link #readByteBuffer} returns a slice of the mapped region without copying, the other
+ * reads copy the data into heap arrays. The slices are valid until {@link #finish()}, which
+ * unmaps all the mappings, so the caller must not use them after it. A mapping from which
+ * slices are handed out is not unmapped when it is released from the cache of mapped files
+ * before that.
+ */
+public class MappedFileReaderImpl implements FileReader {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(MappedFileReaderImpl.class.getName());
+
+  /**
+   * default number of files mapped at the same time
+   */
+  private static final int DEFAULT_MAX_MAPPED_FILES = 16;
+
+  /**
+   * cache to hold filename and its mapping, least recently used mapping is released when the
+   * cache is full
+   */
+  private final Map<String, MappedFile> fileNameAndMappingCache;
+
+  /**
+   * mappings released from the cache while their slices may be in use, unmapped on finish
+   */
+  private final List<MappedByteBuffer> slicedBuffers = new ArrayList<>();
+
+  private boolean readPageByPage;
+
+  public MappedFileReaderImpl() {
+    this(DEFAULT_MAX_MAPPED_FILES);
+  }
+
+  /**
+   * @param maxMappedFiles maximum number of files mapped at the same time
+   */
+  public MappedFileReaderImpl(final int maxMappedFiles) {
+    this.fileNameAndMappingCache = new LinkedHashMap<String, MappedFile>(
+        CarbonCommonConstants.DEFAULT_COLLECTION_SIZE, 0.75f, true) {
+      @Override protected boolean removeEldestEntry(Map.Entry<String, MappedFile> eldest) {
+        if (size() > maxMappedFiles) {
+          try {
+            // slices of the mapping may still be in use until finish
+            MappedFile mappedFile = eldest.getValue();
+            if (mappedFile.isSliced) {
+              slicedBuffers.add(mappedFile.buffer);
+            }
+            mappedFile.close(false);
+          } catch (IOException e) {
+            LOGGER.error(e, "Failed to close file " + eldest.getKey());
+          }
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  @Override public ByteBuffer readByteBuffer(String filePath, long offset, int length)
+      throws IOException {
+    MappedFile mappedFile = updateCache(filePath);
+    if (mappedFile.isMapped(offset, length)) {
+      return mappedFile.slice(offset, length);
+    }
+    byte[] data = new byte[length];
+    mappedFile.read(offset, data);
+    return ByteBuffer.wrap(data);
+  }
+
+  @Override public byte[] readByteArray(String filePath, long offset, int length)
+      throws IOException {
+    byte[] data = new byte[length];
+    updateCache(filePath).read(offset, data);
+    return data;
+  }
+
+  @Override public byte[] readByteArray(String filePath, int length) throws IOException {
+    MappedFile mappedFile = updateCache(filePath);
+    byte[] data = new byte[length];
+    mappedFile.read(mappedFile.position, data);
+    return data;
+  }
+
+  @Override public int readInt(String filePath, long offset) throws IOException {
+    MappedFile mappedFile = updateCache(filePath);
+    if (mappedFile.isMapped(offset, CarbonCommonConstants.INT_SIZE_IN_BYTE)) {
+      mappedFile.position = offset + CarbonCommonConstants.INT_SIZE_IN_BYTE;
+      return mappedFile.buffer.getInt((int) offset);
+    }
+    byte[] data = new byte[CarbonCommonConstants.INT_SIZE_IN_BYTE];
+    mappedFile.read(offset, data);
+    return ByteBuffer.wrap(data).getInt();
+  }
+
+  @Override public int readInt(String filePath) throws IOException {
+    return readInt(filePath, updateCache(filePath).position);
+  }
+
+  @Override public long readLong(String filePath, long offset) throws IOException {
+    MappedFile mappedFile = updateCache(filePath);
+    if (mappedFile.isMapped(offset, CarbonCommonConstants.LONG_SIZE_IN_BYTE)) {
+      mappedFile.position = offset + CarbonCommonConstants.LONG_SIZE_IN_BYTE;
+      return mappedFile.buffer.getLong((int) offset);
+    }
+    byte[] data = new byte[CarbonCommonConstants.LONG_SIZE_IN_BYTE];
+    mappedFile.read(offset, data);
+    return ByteBuffer.wrap(data).getLong();
+  }
+
+  @Override public long readDouble(String filePath, long offset) throws IOException {
+    return readLong(filePath, offset);
+  }
+
+  /**
+   * This method will be used to unmap all the mappings and close the files currently present
+   * in the cache, and to unmap the mappings released from the cache whose slices were in use.
+   * The slices returned by {@link #readByteBuffer} are invalid afterwards.
+   */
+  @Override public void finish() throws IOException {
+    List<MappedFile> mappedFiles = new ArrayList<>(fileNameAndMappingCache.values());
+    fileNameAndMappingCache.clear();
+    for (MappedFile mappedFile : mappedFiles) {
+      mappedFile.close(true);
+    }
+    for (MappedByteBuffer buffer : slicedBuffers) {
+      unmap(buffer);
+    }
+    slicedBuffers.clear();
+  }
+
+  @Override public void setReadPageByPage(boolean isReadPageByPage) {
+    this.readPageByPage = isReadPageByPage;
+  }
+
+  @Override public boolean isReadPageByPage() {
+    return readPageByPage;
+  }
+
+  private MappedFile updateCache(String filePath) throws IOException {
+    MappedFile mappedFile = fileNameAndMappingCache.get(filePath);
+    if (null == mappedFile) {
+      mappedFile = new MappedFile(filePath);
+      fileNameAndMappingCache.put(filePath, mappedFile);
+    }
+    return mappedFile;
+  }
+
+  /**
+   * Unmap the buffer instead of waiting for it to be garbage collected. It is safe only if no
+   * slice of the buffer is used afterwards.
+   */
+  private static void unmap(MappedByteBuffer buffer) {
+    try {
+      try {
+        // java 9 and above
+        Method invokeCleaner =
+            CarbonUnsafe.getUnsafe().getClass().getMethod("invokeCleaner", ByteBuffer.class);
+        invokeCleaner.invoke(CarbonUnsafe.getUnsafe(), buffer);
+      } catch (NoSuchMethodException e) {
+        Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+        cleanerMethod.setAccessible(true);
+        Object cleaner = cleanerMethod.invoke(buffer);
+        if (null != cleaner) {
+          cleaner.getClass().getMethod("clean").invoke(cleaner);
+        }
+      }
+    } catch (Exception e) {
+      // mapping will be released when the buffer is garbage collected
+      LOGGER.debug("Failed to unmap buffer: " + e.getMessage());
+    }
+  }
+
+  /**
+   * A file opened for reading and its memory mapped region. Files larger than 2GB are not
+   * mapped and read through the channel.
+   */
+  private static class MappedFile {
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer buffer;
+
+    /**
+     * position after the last read, used by the reads without offset
+     */
+    private long position;
+
+    /**
+     * whether a slice of the mapped buffer is handed out, the buffer can be unmapped only on
+     * finish then
+     */
+    private boolean isSliced;
+
+    private MappedFile(String filePath) throws IOException {
+      FileInputStream stream = new FileInputStream(filePath);
+      this.channel = stream.getChannel();
+      long size = channel.size();
+      MappedByteBuffer mapped = null;
+      if (size <= Integer.MAX_VALUE) {
+        try {
+          mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+          LOGGER.warn("Failed to map file " + filePath + ", reading through channel: "
+              + e.getMessage());
+        }
+      }
+      this.buffer = mapped;
+    }
+
+    private boolean isMapped(long offset, int length) {
+      return null != buffer && offset >= 0 && offset + length <= buffer.capacity();
+    }
+
+    private void read(long offset, byte[] data) throws IOException {
+      if (isMapped(offset, data.length)) {
+        buffer.position((int) offset);
+        buffer.get(data);
+      } else {
+        // file grown after mapping or not mapped
+        channel.read(ByteBuffer.wrap(data), offset);
+      }
+      position = offset + data.length;
+    }
+
+    private ByteBuffer slice(long offset, int length) {
+      ByteBuffer slice = buffer.duplicate();
+      slice.limit((int) offset + length);
+      slice.position((int) offset);
+      position = offset + length;
+      isSliced = true;
+      return slice.slice();
+    }
+
+    /**
+     * @param unmapSliced whether to unmap the buffer also if a slice of it is handed out
+     */
+    private void close(boolean unmapSliced) throws IOException {
+      if (null != buffer && (unmapSliced || !isSliced)) {
+        unmap(buffer);
+      }
+      channel.close();
+    }
+  }
+}
@@ -61,6 +61,10 @@ public abstract class ColumnPage {
   // statistics collector for this column page
   private ColumnPageStatsCollector statsCollector;
 
+  // name of the compressor used to compress this page when it is encoded,
+  // if not set, the system level compressor is used
+  private String columnCompressorName;
+
   protected static final boolean unsafe = Boolean.parseBoolean(CarbonProperties.getInstance()
       .getProperty(CarbonCommonConstants.ENABLE_UNSAFE_COLUMN_PAGE,
           CarbonCommonConstants.ENABLE_UNSAFE_COLUMN_PAGE_DEFAULT));
@@ -115,6 +119,17 @@ public abstract class ColumnPage {
     this.statsCollector = statsCollector;
   }
 
+  public String getColumnCompressorName() {
+    if (columnCompressorName == null) {
+      return CompressorFactory.getInstance().getCompressor().getName();
+    }
+    return columnCompressorName;
+  }
+
+  public void setColumnCompressorName(String columnCompressorName) {
+    this.columnCompressorName = columnCompressorName;
+  }
+
   private static ColumnPage createDecimalPage(TableSpec.ColumnSpec columnSpec, DataType dataType,
       int pageSize) {
     if (unsafe) {
@@ -46,6 +46,17 @@ public class LazyColumnPage extends ColumnPage {
     return new LazyColumnPage(columnPage, codec);
   }
 
+  /**
+   * Returns the decorated page which holds the encoded values
+   */
+  public ColumnPage getEncodedPage() {
+    return columnPage;
+  }
+
+  public ColumnPageValueConverter getConverter() {
+    return converter;
+  }
+
   @Override
   public String toString() {
     return String.format("[converter: %s, data type: %s", converter, columnPage.getDataType());
@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page;
+
+/**
+ * Converter which decodes an integral encoded value as getBase() + getSign() * encoded value.
+ * A filter on a page of such a converter can be evaluated on the encoded values by mapping the
+ * filter values into the encoded domain once.
+ */
+public interface LinearColumnPageValueConverter extends ColumnPageValueConverter {
+
+  /**
+   * decoded value of the encoded value 0
+   */
+  long getBase();
+
+  /**
+   * 1 if the decoded value grows with the encoded value, -1 if it shrinks
+   */
+  int getSign();
+}
@@ -65,14 +65,15 @@ public class DefaultEncodingFactory extends EncodingFactory {
         return createEncoderForDimension((TableSpec.DimensionSpec) columnSpec, inputPage);
       } else {
         assert columnSpec instanceof TableSpec.DimensionSpec;
-        return createEncoderForDimensionLegacy((TableSpec.DimensionSpec) columnSpec);
+        return createEncoderForDimensionLegacy((TableSpec.DimensionSpec) columnSpec, inputPage);
       }
     }
   }
 
   private ColumnPageEncoder createEncoderForDimension(TableSpec.DimensionSpec columnSpec,
       ColumnPage inputPage) {
-    Compressor compressor = CompressorFactory.getInstance().getCompressor();
+    Compressor compressor =
+        CompressorFactory.getInstance().getCompressor(inputPage.getColumnCompressorName());
     switch (columnSpec.getColumnType()) {
       case GLOBAL_DICTIONARY:
       case DIRECT_DICTIONARY:
@@ -86,8 +87,10 @@ public class DefaultEncodingFactory extends EncodingFactory {
     }
   }
 
-  private ColumnPageEncoder createEncoderForDimensionLegacy(TableSpec.DimensionSpec dimensionSpec) {
-    Compressor compressor = CompressorFactory.getInstance().getCompressor();
+  private ColumnPageEncoder createEncoderForDimensionLegacy(TableSpec.DimensionSpec dimensionSpec,
+      ColumnPage inputPage) {
+    Compressor compressor =
+        CompressorFactory.getInstance().getCompressor(inputPage.getColumnCompressorName());
     switch (dimensionSpec.getColumnType()) {
       case GLOBAL_DICTIONARY:
         return new DictDimensionIndexCodec(
@@ -28,6 +28,7 @@ import org.apache.carbondata.core.datastore.compression.CompressorFactory;
 import org.apache.carbondata.core.datastore.page.ColumnPage;
 import org.apache.carbondata.core.datastore.page.ColumnPageValueConverter;
 import org.apache.carbondata.core.datastore.page.LazyColumnPage;
+import org.apache.carbondata.core.datastore.page.LinearColumnPageValueConverter;
 import org.apache.carbondata.core.datastore.page.encoding.ColumnPageDecoder;
 import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoder;
 import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
@@ -78,8 +79,6 @@ public class AdaptiveDeltaIntegralCodec extends AdaptiveCodec {
   @Override
   public ColumnPageEncoder createEncoder(Map<String, String> parameter) {
     return new ColumnPageEncoder() {
-      final Compressor compressor = CompressorFactory.getInstance().getCompressor();
-
       @Override
       protected byte[] encodeData(ColumnPage input) throws MemoryException, IOException {
         if (encodedPage != null) {
@@ -88,6 +87,8 @@ public class AdaptiveDeltaIntegralCodec extends AdaptiveCodec {
         encodedPage = ColumnPage.newPage(input.getColumnSpec(), targetDataType,
             input.getPageSize());
         input.convertValue(converter);
+        Compressor compressor =
+            CompressorFactory.getInstance().getCompressor(input.getColumnCompressorName());
         byte[] result = encodedPage.compress(compressor);
         encodedPage.freeMemory();
         return result;
@@ -96,7 +97,7 @@ public class AdaptiveDeltaIntegralCodec extends AdaptiveCodec {
       @Override
       protected ColumnPageEncoderMeta getEncoderMeta(ColumnPage inputPage) {
         return new ColumnPageEncoderMeta(inputPage.getColumnSpec(), targetDataType,
-            inputPage.getStatistics(), compressor.getName());
+            inputPage.getStatistics(), inputPage.getColumnCompressorName());
       }
 
       @Override
@@ -124,7 +125,7 @@ public class AdaptiveDeltaIntegralCodec extends AdaptiveCodec {
     };
   }
 
-  private ColumnPageValueConverter converter = new ColumnPageValueConverter() {
+  private ColumnPageValueConverter converter = new LinearColumnPageValueConverter() {
     @Override
     public void encode(int rowId, byte value) {
       if (targetDataType == DataTypes.BYTE) {
@@ -257,5 +258,15 @@ public class AdaptiveDeltaIntegralCodec extends AdaptiveCodec {
       // this codec is for integer type only
       throw new RuntimeException("internal error");
     }
+
+    @Override
+    public long getBase() {
+      return max;
+    }
+
+    @Override
+    public int getSign() {
+      return -1;
+    }
   };
 }
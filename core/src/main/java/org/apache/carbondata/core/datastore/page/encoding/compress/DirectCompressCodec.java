@@ -22,7 +22,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.compression.Compressor;
 import org.apache.carbondata.core.datastore.compression.CompressorFactory;
 import org.apache.carbondata.core.datastore.page.ColumnPage;
@@ -55,8 +54,7 @@ public class DirectCompressCodec implements ColumnPageCodec {
 
   @Override
   public ColumnPageEncoder createEncoder(Map<String, String> parameter) {
-    // TODO: make compressor configurable in create table
-    return new DirectCompressor(CarbonCommonConstants.DEFAULT_COMPRESSOR);
+    return new DirectCompressor();
   }
 
   @Override
@@ -66,14 +64,10 @@ public class DirectCompressCodec implements ColumnPageCodec {
 
   private static class DirectCompressor extends ColumnPageEncoder {
 
-    private Compressor compressor;
-
-    DirectCompressor(String compressorName) {
-      this.compressor = CompressorFactory.getInstance().getCompressor(compressorName);
-    }
-
     @Override
     protected byte[] encodeData(ColumnPage input) throws MemoryException, IOException {
+      Compressor compressor =
+          CompressorFactory.getInstance().getCompressor(input.getColumnCompressorName());
       return input.compress(compressor);
     }
 
@@ -87,7 +81,7 @@ public class DirectCompressCodec implements ColumnPageCodec {
     @Override
     protected ColumnPageEncoderMeta getEncoderMeta(ColumnPage inputPage) {
       return new ColumnPageEncoderMeta(inputPage.getColumnSpec(), inputPage.getDataType(),
-          inputPage.getStatistics(), compressor.getName());
+          inputPage.getStatistics(), inputPage.getColumnCompressorName());
     }
 
   }
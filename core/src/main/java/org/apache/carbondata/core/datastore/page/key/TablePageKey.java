@@ -60,8 +60,16 @@ public class TablePageKey {
 
   /** update all keys based on the input row */
   public void update(int rowId, CarbonRow row, byte[] mdk) {
+    update(rowId, WriteStepRowUtil.getNoDictAndComplexDimension(row), mdk);
+  }
+
+  /**
+   * update all keys based on the no dictionary and complex columns and the mdk of the input row,
+   * only the first and the last row of the page are used for the keys
+   */
+  public void update(int rowId, byte[][] noDictAndComplex, byte[] mdk) {
     if (hasNoDictionary) {
-      currentNoDictionaryKey = WriteStepRowUtil.getNoDictAndComplexDimension(row);
+      currentNoDictionaryKey = noDictAndComplex;
     }
     if (rowId == 0) {
       startKey = mdk;
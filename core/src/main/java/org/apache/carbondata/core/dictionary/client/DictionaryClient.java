@@ -17,6 +17,8 @@
 
 package org.apache.carbondata.core.dictionary.client;
 
+import java.util.List;
+
 import org.apache.carbondata.core.dictionary.generator.key.DictionaryMessage;
 
 public interface DictionaryClient {
@@ -26,4 +28,9 @@ public interface DictionaryClient {
   public void shutDown();
 
   public DictionaryMessage getDictionary(DictionaryMessage key);
+
+  /**
+   * send the batch messages and return their responses in the same order
+   */
+  public List<DictionaryMessage> getDictionaries(List<DictionaryMessage> keys);
 }
@@ -17,6 +17,7 @@
 package org.apache.carbondata.core.dictionary.client;
 
 import java.net.InetSocketAddress;
+import java.util.List;
 
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
@@ -83,6 +84,17 @@ public class NonSecureDictionaryClient implements DictionaryClient {
     return nonSecureDictionaryClientHandler.getDictionary(key);
   }
 
+  /**
+   * for client batch request
+   *
+   * @param keys
+   * @return
+   */
+  @Override
+  public List<DictionaryMessage> getDictionaries(List<DictionaryMessage> keys) {
+    return nonSecureDictionaryClientHandler.getDictionaries(keys);
+  }
+
   /**
    * shutdown dictionary client
    */
@@ -16,13 +16,21 @@
  */
 package org.apache.carbondata.core.dictionary.client;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.dictionary.generator.key.DictionaryMessage;
+import org.apache.carbondata.core.dictionary.generator.key.DictionaryMessageType;
+import org.apache.carbondata.core.util.CarbonProperties;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelFuture;
@@ -40,6 +48,17 @@ public class NonSecureDictionaryClientHandler extends ChannelInboundHandlerAdapt
 
   private final BlockingQueue<DictionaryMessage> responseMsgQueue = new LinkedBlockingQueue<>();
 
+  /**
+   * response queue of the batch requests waiting for response, by request id
+   */
+  private final Map<Integer, BlockingQueue<DictionaryMessage>> pendingBatchRequests =
+      new ConcurrentHashMap<>();
+
+  private final AtomicInteger requestIdGenerator = new AtomicInteger();
+
+  private final int maxInFlightRequests =
+      CarbonProperties.getInstance().getDictionaryClientMaxInFlightRequests();
+
   private ChannelHandlerContext ctx;
 
   private DictionaryChannelFutureListener channelFutureListener;
@@ -59,7 +78,17 @@ public class NonSecureDictionaryClientHandler extends ChannelInboundHandlerAdapt
       DictionaryMessage key = new DictionaryMessage();
       key.readSkipLength(data);
       data.release();
-      responseMsgQueue.add(key);
+      if (key.getType() == DictionaryMessageType.DICT_GENERATION_BATCH) {
+        BlockingQueue<DictionaryMessage> batchResponseQueue =
+            pendingBatchRequests.remove(key.getRequestId());
+        if (batchResponseQueue != null) {
+          batchResponseQueue.add(key);
+        } else {
+          LOGGER.error("No pending request for batch response " + key.getRequestId());
+        }
+      } else {
+        responseMsgQueue.add(key);
+      }
     } catch (Exception e) {
       LOGGER.error(e);
       throw e;
@@ -107,6 +136,57 @@ public class NonSecureDictionaryClientHandler extends ChannelInboundHandlerAdapt
     }
   }
 
+  /**
+   * client send batch requests to server, at most maxInFlightRequests requests are sent
+   * without waiting for their response
+   *
+   * @param keys batch DictionaryMessages
+   * @return response DictionaryMessages in the order of keys
+   */
+  public List<DictionaryMessage> getDictionaries(List<DictionaryMessage> keys) {
+    BlockingQueue<DictionaryMessage> batchResponseQueue = new LinkedBlockingQueue<>();
+    Map<Integer, Integer> requestIndex = new HashMap<>();
+    DictionaryMessage[] responses = new DictionaryMessage[keys.size()];
+    int numberOfRequestsSent = 0;
+    try {
+      while (numberOfRequestsSent < keys.size() && numberOfRequestsSent < maxInFlightRequests) {
+        sendBatchRequest(keys.get(numberOfRequestsSent), numberOfRequestsSent,
+            batchResponseQueue, requestIndex);
+        numberOfRequestsSent++;
+      }
+      for (int i = 0; i < responses.length; i++) {
+        DictionaryMessage response = batchResponseQueue.poll(100, TimeUnit.SECONDS);
+        if (response == null) {
+          throw new RuntimeException("Request timed out for batch of column : "
+              + keys.get(0).getColumnName());
+        }
+        responses[requestIndex.get(response.getRequestId())] = response;
+        if (numberOfRequestsSent < keys.size()) {
+          sendBatchRequest(keys.get(numberOfRequestsSent), numberOfRequestsSent,
+              batchResponseQueue, requestIndex);
+          numberOfRequestsSent++;
+        }
+      }
+      return Arrays.asList(responses);
+    } catch (Exception e) {
+      LOGGER.error(e);
+      throw new RuntimeException(e);
+    } finally {
+      pendingBatchRequests.keySet().removeAll(requestIndex.keySet());
+    }
+  }
+
+  private void sendBatchRequest(DictionaryMessage key, int index,
+      BlockingQueue<DictionaryMessage> batchResponseQueue, Map<Integer, Integer> requestIndex) {
+    int requestId = requestIdGenerator.incrementAndGet();
+    key.setRequestId(requestId);
+    requestIndex.put(requestId, index);
+    pendingBatchRequests.put(requestId, batchResponseQueue);
+    ByteBuf buffer = ctx.alloc().buffer();
+    key.writeData(buffer);
+    ctx.writeAndFlush(buffer).addListener(channelFutureListener);
+  }
+
   private static class DictionaryChannelFutureListener implements ChannelFutureListener {
 
     private ChannelHandlerContext ctx;
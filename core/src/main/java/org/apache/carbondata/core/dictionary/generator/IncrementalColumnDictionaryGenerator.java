@@ -112,6 +112,43 @@ public class IncrementalColumnDictionaryGenerator implements BiDictionary<Intege
     }
   }
 
+  /**
+   * Below method will be used to get or generate the dictionary keys of all the values taking
+   * the lock only once for the values which are not yet generated
+   *
+   * @param values values of the column
+   * @return dictionary keys in the order of values
+   */
+  public int[] getOrGenerateKeys(List<String> values) {
+    int[] keys = new int[values.size()];
+    boolean isNewValuePresent = false;
+    for (int i = 0; i < keys.length; i++) {
+      Integer dict = incrementalCache.get(values.get(i));
+      if (dict == null) {
+        isNewValuePresent = true;
+      } else {
+        keys[i] = dict;
+      }
+    }
+    if (isNewValuePresent) {
+      synchronized (lock) {
+        for (int i = 0; i < keys.length; i++) {
+          if (keys[i] == 0) {
+            String value = values.get(i);
+            Integer dict = incrementalCache.get(value);
+            if (dict == null) {
+              dict = ++currentDictionarySize;
+              incrementalCache.put(value, dict);
+              reverseIncrementalCache.put(dict, value);
+            }
+            keys[i] = dict;
+          }
+        }
+      }
+    }
+    return keys;
+  }
+
   @Override public void writeDictionaryData() throws IOException {
     // initialize params
     AbsoluteTableIdentifier absoluteTableIdentifier = carbonTable.getAbsoluteTableIdentifier();
@@ -18,7 +18,11 @@ package org.apache.carbondata.core.dictionary.generator;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.devapi.DictionaryGenerationException;
 import org.apache.carbondata.core.devapi.DictionaryGenerator;
 import org.apache.carbondata.core.dictionary.generator.key.DictionaryMessage;
@@ -30,17 +34,68 @@ import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
  */
 public class ServerDictionaryGenerator implements DictionaryGenerator<Integer, DictionaryMessage> {
 
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(ServerDictionaryGenerator.class.getName());
+
   /**
    * the map of tableName to TableDictionaryGenerator
    */
   private Map<String, TableDictionaryGenerator> tableMap = new ConcurrentHashMap<>();
 
+  /**
+   * number of dictionary generation requests processed
+   */
+  private AtomicLong numberOfRequests = new AtomicLong();
+
+  /**
+   * number of values for which dictionary is generated, a batch request has many values
+   */
+  private AtomicLong numberOfValues = new AtomicLong();
+
+  /**
+   * total time in nano seconds spent in generating the dictionary
+   */
+  private AtomicLong generationTimeInNanos = new AtomicLong();
+
   @Override
   public Integer generateKey(DictionaryMessage value)
       throws DictionaryGenerationException {
+    long startTime = System.nanoTime();
+    initializeGeneratorForColumn(value);
+    TableDictionaryGenerator generator = tableMap.get(value.getTableUniqueId());
+    Integer key = generator.generateKey(value);
+    recordRequest(1, startTime);
+    return key;
+  }
+
+  /**
+   * generate the dictionary keys of all the values of the batch message
+   */
+  public int[] generateKeys(DictionaryMessage value) {
+    long startTime = System.nanoTime();
     initializeGeneratorForColumn(value);
     TableDictionaryGenerator generator = tableMap.get(value.getTableUniqueId());
-    return generator.generateKey(value);
+    int[] keys = generator.generateKeys(value);
+    recordRequest(keys.length, startTime);
+    return keys;
+  }
+
+  private void recordRequest(int values, long startTime) {
+    numberOfRequests.incrementAndGet();
+    numberOfValues.addAndGet(values);
+    generationTimeInNanos.addAndGet(System.nanoTime() - startTime);
+  }
+
+  public long getNumberOfRequests() {
+    return numberOfRequests.get();
+  }
+
+  public long getNumberOfValues() {
+    return numberOfValues.get();
+  }
+
+  public long getGenerationTimeInNanos() {
+    return generationTimeInNanos.get();
   }
 
   public void initializeGeneratorForTable(CarbonTable carbonTable) {
@@ -71,6 +126,10 @@ public class ServerDictionaryGenerator implements DictionaryGenerator<Integer, D
     if (generator != null) {
       generator.writeDictionaryData();
     }
+    long generationTimeInMillis = TimeUnit.NANOSECONDS.toMillis(generationTimeInNanos.get());
+    LOGGER.info("Dictionary server processed " + numberOfRequests.get() + " requests for "
+        + numberOfValues.get() + " values in " + generationTimeInMillis + " ms, values per "
+        + "second: " + (numberOfValues.get() * 1000 / Math.max(generationTimeInMillis, 1)));
     // Remove dictionary generator after writing
     tableMap.remove(tableUniqueId);
   }
@@ -62,6 +62,18 @@ public class TableDictionaryGenerator
     return generator.generateKey(value.getData());
   }
 
+  /**
+   * generate the dictionary keys of all the values of the batch message
+   */
+  public int[] generateKeys(DictionaryMessage value) {
+    CarbonDimension dimension = carbonTable.getPrimitiveDimensionByName(value.getColumnName());
+
+    DictionaryGenerator<Integer, String> generator =
+            columnMap.get(dimension.getColumnId());
+    return ((IncrementalColumnDictionaryGenerator) generator)
+        .getOrGenerateKeys(value.getBatchData());
+  }
+
   public Integer size(DictionaryMessage key) {
     CarbonDimension dimension = carbonTable.getPrimitiveDimensionByName(key.getColumnName());
 
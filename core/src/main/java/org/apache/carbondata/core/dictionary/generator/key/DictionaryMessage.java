@@ -17,6 +17,8 @@
 package org.apache.carbondata.core.dictionary.generator.key;
 
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 
@@ -27,6 +29,12 @@ import io.netty.buffer.ByteBuf;
  */
 public class DictionaryMessage {
 
+  /**
+   * max size in bytes of the values of one batch message, the frame length of a message is
+   * written as unsigned short
+   */
+  public static final int MAX_BATCH_DATA_SIZE = 60000;
+
   /**
    * tableUniqueId
    */
@@ -52,32 +60,31 @@ public class DictionaryMessage {
    */
   private DictionaryMessageType type;
 
-  public void readSkipLength(ByteBuf byteBuf) {
-
-    byte[] tableBytes = new byte[byteBuf.readInt()];
-    byteBuf.readBytes(tableBytes);
-    tableUniqueId = new String(tableBytes, Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET));
+  /**
+   * id to match the response of a batch message with its request
+   */
+  private int requestId;
 
-    byte[] colBytes = new byte[byteBuf.readInt()];
-    byteBuf.readBytes(colBytes);
-    columnName = new String(colBytes, Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET));
+  /**
+   * values of batch message request
+   */
+  private List<String> batchData;
 
-    byte typeByte = byteBuf.readByte();
-    type = getKeyType(typeByte);
+  /**
+   * dictionary values of batch message response, in the order of batch data
+   */
+  private int[] batchDictionaryValues;
 
-    byte dataType = byteBuf.readByte();
-    if (dataType == 0) {
-      dictionaryValue = byteBuf.readInt();
-    } else {
-      byte[] dataBytes = new byte[byteBuf.readInt()];
-      byteBuf.readBytes(dataBytes);
-      data = new String(dataBytes, Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET));
-    }
+  public void readSkipLength(ByteBuf byteBuf) {
+    readMessage(byteBuf);
   }
 
   public void readFullLength(ByteBuf byteBuf) {
-
     byteBuf.readShort();
+    readMessage(byteBuf);
+  }
+
+  private void readMessage(ByteBuf byteBuf) {
     byte[] tableIdBytes = new byte[byteBuf.readInt()];
     byteBuf.readBytes(tableIdBytes);
     tableUniqueId =
@@ -93,10 +100,26 @@ public class DictionaryMessage {
     byte dataType = byteBuf.readByte();
     if (dataType == 0) {
       dictionaryValue = byteBuf.readInt();
-    } else {
+    } else if (dataType == 1) {
       byte[] dataBytes = new byte[byteBuf.readInt()];
       byteBuf.readBytes(dataBytes);
       data = new String(dataBytes, Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET));
+    } else if (dataType == 2) {
+      requestId = byteBuf.readInt();
+      int numberOfValues = byteBuf.readInt();
+      batchData = new ArrayList<>(numberOfValues);
+      for (int i = 0; i < numberOfValues; i++) {
+        byte[] dataBytes = new byte[byteBuf.readInt()];
+        byteBuf.readBytes(dataBytes);
+        batchData.add(
+            new String(dataBytes, Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET)));
+      }
+    } else {
+      requestId = byteBuf.readInt();
+      batchDictionaryValues = new int[byteBuf.readInt()];
+      for (int i = 0; i < batchDictionaryValues.length; i++) {
+        batchDictionaryValues[i] = byteBuf.readInt();
+      }
     }
   }
 
@@ -116,7 +139,9 @@ public class DictionaryMessage {
 
     byteBuf.writeByte(type.getType());
 
-    if (dictionaryValue > 0) {
+    if (type == DictionaryMessageType.DICT_GENERATION_BATCH) {
+      writeBatchData(byteBuf);
+    } else if (dictionaryValue > 0) {
       byteBuf.writeByte(0);
       byteBuf.writeInt(dictionaryValue);
     } else {
@@ -132,6 +157,68 @@ public class DictionaryMessage {
     byteBuf.setShort(startIndex, endIndex - startIndex - 2);
   }
 
+  private void writeBatchData(ByteBuf byteBuf) {
+    if (batchDictionaryValues != null) {
+      byteBuf.writeByte(3);
+      byteBuf.writeInt(requestId);
+      byteBuf.writeInt(batchDictionaryValues.length);
+      for (int batchDictionaryValue : batchDictionaryValues) {
+        byteBuf.writeInt(batchDictionaryValue);
+      }
+    } else {
+      byteBuf.writeByte(2);
+      byteBuf.writeInt(requestId);
+      byteBuf.writeInt(batchData.size());
+      for (String value : batchData) {
+        byte[] dataBytes = value.getBytes(Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET));
+        byteBuf.writeInt(dataBytes.length);
+        byteBuf.writeBytes(dataBytes);
+      }
+    }
+  }
+
+  /**
+   * Below method will be used to create the batch messages to generate the dictionary values
+   * of all the given values of a column. Values are split across messages so that the data of
+   * each message is within {@link #MAX_BATCH_DATA_SIZE}
+   *
+   * @param tableUniqueId table id
+   * @param columnName    column name
+   * @param values        values to generate dictionary
+   * @return batch messages
+   */
+  public static List<DictionaryMessage> createBatchMessages(String tableUniqueId,
+      String columnName, List<String> values) {
+    List<DictionaryMessage> messages = new ArrayList<>();
+    List<String> currentBatch = new ArrayList<>();
+    int currentBatchSize = 0;
+    for (String value : values) {
+      // length of the value and 3 bytes per char in the worst case
+      int valueSize = 4 + value.length() * 3;
+      if (currentBatchSize + valueSize > MAX_BATCH_DATA_SIZE && !currentBatch.isEmpty()) {
+        messages.add(createBatchMessage(tableUniqueId, columnName, currentBatch));
+        currentBatch = new ArrayList<>();
+        currentBatchSize = 0;
+      }
+      currentBatch.add(value);
+      currentBatchSize += valueSize;
+    }
+    if (!currentBatch.isEmpty()) {
+      messages.add(createBatchMessage(tableUniqueId, columnName, currentBatch));
+    }
+    return messages;
+  }
+
+  private static DictionaryMessage createBatchMessage(String tableUniqueId, String columnName,
+      List<String> values) {
+    DictionaryMessage message = new DictionaryMessage();
+    message.setTableUniqueId(tableUniqueId);
+    message.setColumnName(columnName);
+    message.setType(DictionaryMessageType.DICT_GENERATION_BATCH);
+    message.setBatchData(values);
+    return message;
+  }
+
 
   private DictionaryMessageType getKeyType(byte type) {
     switch (type) {
@@ -139,6 +226,8 @@ public class DictionaryMessage {
         return DictionaryMessageType.SIZE;
       case 3:
         return DictionaryMessageType.WRITE_TABLE_DICTIONARY;
+      case 4:
+        return DictionaryMessageType.DICT_GENERATION_BATCH;
       default:
         return DictionaryMessageType.DICT_GENERATION;
     }
@@ -184,6 +273,30 @@ public class DictionaryMessage {
     this.tableUniqueId = tableUniqueId;
   }
 
+  public int getRequestId() {
+    return requestId;
+  }
+
+  public void setRequestId(int requestId) {
+    this.requestId = requestId;
+  }
+
+  public List<String> getBatchData() {
+    return batchData;
+  }
+
+  public void setBatchData(List<String> batchData) {
+    this.batchData = batchData;
+  }
+
+  public int[] getBatchDictionaryValues() {
+    return batchDictionaryValues;
+  }
+
+  public void setBatchDictionaryValues(int[] batchDictionaryValues) {
+    this.batchDictionaryValues = batchDictionaryValues;
+  }
+
   @Override public String toString() {
     return "DictionaryKey{ columnName='" + columnName + '\'' + ", data='" + data + '\''
         + ", dictionaryValue=" + dictionaryValue + ", type=" + type + '}';
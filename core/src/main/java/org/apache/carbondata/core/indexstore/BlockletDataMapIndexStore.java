@@ -35,6 +35,7 @@ import org.apache.carbondata.core.indexstore.blockletindex.BlockletDataMapModel;
 import org.apache.carbondata.core.indexstore.blockletindex.SegmentIndexFileStore;
 import org.apache.carbondata.core.memory.MemoryException;
 import org.apache.carbondata.core.util.BlockletDataMapUtil;
+import org.apache.carbondata.core.util.CarbonProperties;
 
 /**
  * Class to handle loading, unloading,clearing,storing of the table
@@ -74,7 +75,10 @@ public class BlockletDataMapIndexStore
     BlockletDataMapIndexWrapper blockletDataMapIndexWrapper =
         (BlockletDataMapIndexWrapper) lruCache.get(lruCacheKey);
     List<BlockletDataMap> dataMaps = new ArrayList<>();
-    if (blockletDataMapIndexWrapper == null) {
+    boolean useMinMaxTree = isMinMaxTreePruneMode();
+    if (blockletDataMapIndexWrapper != null) {
+      buildMinMaxTrees(lruCacheKey, blockletDataMapIndexWrapper, useMinMaxTree);
+    } else {
       try {
         SegmentIndexFileStore indexFileStore = new SegmentIndexFileStore();
         Set<String> filesRead = new HashSet<>();
@@ -89,6 +93,9 @@ public class BlockletDataMapIndexStore
                   carbonDataFileBlockMetaInfoMapping);
           BlockletDataMap blockletDataMap =
               loadAndGetDataMap(identifier, indexFileStore, blockMetaInfoMap);
+          if (useMinMaxTree) {
+            blockletDataMap.buildMinMaxTree();
+          }
           memorySize += blockletDataMap.getMemorySize();
           dataMaps.add(blockletDataMap);
           blockletDataMapIndexWrapper = new BlockletDataMapIndexWrapper(dataMaps);
@@ -103,6 +110,9 @@ public class BlockletDataMapIndexStore
                     carbonDataFileBlockMetaInfoMapping);
             BlockletDataMap blockletDataMap =
                 loadAndGetDataMap(blockIndexUniqueIdentifier, indexFileStore, blockMetaInfoMap);
+            if (useMinMaxTree) {
+              blockletDataMap.buildMinMaxTree();
+            }
             memorySize += blockletDataMap.getMemorySize();
             dataMaps.add(blockletDataMap);
           }
@@ -129,11 +139,14 @@ public class BlockletDataMapIndexStore
         new ArrayList<>(tableSegmentUniqueIdentifiers.size());
     List<TableBlockIndexUniqueIdentifier> missedIdentifiers = new ArrayList<>();
     BlockletDataMapIndexWrapper blockletDataMapIndexWrapper = null;
+    boolean useMinMaxTree = isMinMaxTreePruneMode();
     // Get the datamaps for each indexfile from cache.
     try {
       for (TableBlockIndexUniqueIdentifier identifier : tableSegmentUniqueIdentifiers) {
         BlockletDataMapIndexWrapper dataMapIndexWrapper = getIfPresent(identifier);
         if (dataMapIndexWrapper != null) {
+          buildMinMaxTrees(identifier.getUniqueTableSegmentIdentifier(), dataMapIndexWrapper,
+              useMinMaxTree);
           blockletDataMapIndexWrappers.add(dataMapIndexWrapper);
         } else {
           missedIdentifiers.add(identifier);
@@ -198,9 +211,13 @@ public class BlockletDataMapIndexStore
       synchronized (lock) {
         if (null == getIfPresent(tableBlockIndexUniqueIdentifier)) {
           List<BlockletDataMap> dataMaps = wrapper.getDataMaps();
+          boolean useMinMaxTree = isMinMaxTreePruneMode();
           try {
             for (BlockletDataMap blockletDataMap: dataMaps) {
               blockletDataMap.convertToUnsafeDMStore();
+              if (useMinMaxTree) {
+                blockletDataMap.buildMinMaxTree();
+              }
               memorySize += blockletDataMap.getMemorySize();
             }
             lruCache.put(tableBlockIndexUniqueIdentifier.getUniqueTableSegmentIdentifier(), wrapper,
@@ -249,6 +266,33 @@ public class BlockletDataMapIndexStore
     return dataMap;
   }
 
+  /**
+   * Build the min/max trees of a cached entry which is loaded before the min/max tree prune
+   * mode is enabled. The memory used by the trees is added to the size of the entry in the
+   * cache, the trees of the entries loaded in this mode are counted when they are added.
+   */
+  private void buildMinMaxTrees(String lruCacheKey, BlockletDataMapIndexWrapper wrapper,
+      boolean useMinMaxTree) {
+    if (!useMinMaxTree) {
+      return;
+    }
+    long memorySize = 0L;
+    for (BlockletDataMap dataMap : wrapper.getDataMaps()) {
+      memorySize += dataMap.buildMinMaxTree();
+    }
+    if (memorySize > 0) {
+      lruCache.addMemorySize(lruCacheKey, memorySize);
+    }
+  }
+
+  private boolean isMinMaxTreePruneMode() {
+    String pruneMode = CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_BLOCKLET_DATAMAP_PRUNE_MODE,
+            CarbonCommonConstants.CARBON_BLOCKLET_DATAMAP_PRUNE_MODE_DEFAULT);
+    return CarbonCommonConstants.CARBON_BLOCKLET_DATAMAP_PRUNE_MODE_MINMAX_TREE
+        .equalsIgnoreCase(pruneMode.trim());
+  }
+
   /**
    * Below method will be used to get the segment level lock object
    *
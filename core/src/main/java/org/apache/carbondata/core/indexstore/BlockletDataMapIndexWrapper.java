@@ -43,7 +43,11 @@ public class BlockletDataMapIndexWrapper implements Cacheable, Serializable {
   }
 
   @Override public long getMemorySize() {
-    return 0;
+    long memorySize = 0L;
+    for (BlockletDataMap dataMap : dataMaps) {
+      memorySize += dataMap.getMemorySize();
+    }
+    return memorySize;
   }
 
   public List<BlockletDataMap> getDataMaps() {
@@ -135,6 +135,9 @@ public class BlockletDataMap extends CoarseGrainDataMap implements Serializable
 
   private long blockletSchemaTime;
 
+  // tree over min/max of blocklets, built on demand when min/max tree prune mode is enabled
+  private transient volatile BlockletMinMaxTree minMaxTree;
+
   @Override
   public void init(DataMapModel dataMapModel) throws IOException, MemoryException {
     long startTime = System.currentTimeMillis();
@@ -655,18 +658,19 @@ public class BlockletDataMap extends CoarseGrainDataMap implements Serializable
       numBlocklets = memoryDMStore.getRowCount();
       FilterExecuter filterExecuter =
           FilterUtil.getFilterExecuterTree(filterExp, segmentProperties, null);
-      while (startIndex < numBlocklets) {
-        DataMapRow safeRow = memoryDMStore.getDataMapRow(startIndex).convertToSafeRow();
-        int blockletId = safeRow.getShort(BLOCKLET_ID_INDEX);
-        String filePath = new String(safeRow.getByteArray(FILE_PATH_INDEX),
-            CarbonCommonConstants.DEFAULT_CHARSET_CLASS);
-        boolean isValid =
-            addBlockBasedOnMinMaxValue(filterExecuter, getMinMaxValue(safeRow, MAX_VALUES_INDEX),
-                getMinMaxValue(safeRow, MIN_VALUES_INDEX), filePath, blockletId);
-        if (isValid) {
-          blocklets.add(createBlocklet(safeRow, blockletId));
+      BlockletMinMaxTree tree = minMaxTree;
+      if (tree != null && tree.getNumBlocklets() == numBlocklets) {
+        // only check the blocklets in the groups selected by the min/max tree
+        for (int[] range : tree.getCandidateRanges(filterExecuter)) {
+          for (int index = range[0]; index < range[1]; index++) {
+            addBlockletIfRequired(filterExecuter, index, blocklets);
+          }
+        }
+      } else {
+        while (startIndex < numBlocklets) {
+          addBlockletIfRequired(filterExecuter, startIndex, blocklets);
+          startIndex++;
         }
-        startIndex++;
       }
     }
     ExplainCollector.addTotalBlocklets(numBlocklets);
@@ -705,6 +709,49 @@ public class BlockletDataMap extends CoarseGrainDataMap implements Serializable
     return prune(filterExp, this.segmentProperties);
   }
 
+  private void addBlockletIfRequired(FilterExecuter filterExecuter, int index,
+      List<Blocklet> blocklets) {
+    DataMapRow safeRow = memoryDMStore.getDataMapRow(index).convertToSafeRow();
+    int blockletId = safeRow.getShort(BLOCKLET_ID_INDEX);
+    String filePath = new String(safeRow.getByteArray(FILE_PATH_INDEX),
+        CarbonCommonConstants.DEFAULT_CHARSET_CLASS);
+    boolean isValid =
+        addBlockBasedOnMinMaxValue(filterExecuter, getMinMaxValue(safeRow, MAX_VALUES_INDEX),
+            getMinMaxValue(safeRow, MIN_VALUES_INDEX), filePath, blockletId);
+    if (isValid) {
+      blocklets.add(createBlocklet(safeRow, blockletId));
+    }
+  }
+
+  /**
+   * Build the min/max tree over the blocklets of this datamap if it is not built yet.
+   * Once built, prune checks only the blocklets in the groups selected by the tree.
+   *
+   * @return heap memory used by the tree if it is built by this call, else 0
+   */
+  public synchronized long buildMinMaxTree() {
+    if (minMaxTree != null || memoryDMStore == null || segmentProperties == null) {
+      return 0L;
+    }
+    int numBlocklets = memoryDMStore.getRowCount();
+    byte[][][] minValues = new byte[numBlocklets][][];
+    byte[][][] maxValues = new byte[numBlocklets][][];
+    for (int i = 0; i < numBlocklets; i++) {
+      DataMapRow row = memoryDMStore.getDataMapRow(i);
+      minValues[i] = getMinMaxValue(row, MIN_VALUES_INDEX);
+      maxValues[i] = getMinMaxValue(row, MAX_VALUES_INDEX);
+    }
+    List<CarbonMeasure> measures = segmentProperties.getMeasures();
+    DataType[] measureDataTypes = new DataType[measures.size()];
+    for (int i = 0; i < measureDataTypes.length; i++) {
+      measureDataTypes[i] = measures.get(i).getDataType();
+    }
+    BlockletMinMaxTree tree = new BlockletMinMaxTree(minValues, maxValues, measureDataTypes,
+        BlockletMinMaxTree.DEFAULT_FANOUT);
+    minMaxTree = tree;
+    return tree.getMemorySize();
+  }
+
   private boolean isCorrectUUID(String[] fileDetails, PartitionSpec spec) {
     boolean needToScan = false;
     if (spec.getUuid() != null) {
@@ -962,6 +1009,7 @@ public class BlockletDataMap extends CoarseGrainDataMap implements Serializable
       memoryDMStore = null;
       segmentProperties = null;
     }
+    minMaxTree = null;
     // clear task min/max unsafe memory
     if (null != summaryDMStore) {
       summaryDMStore.freeMemory();
@@ -977,6 +1025,10 @@ public class BlockletDataMap extends CoarseGrainDataMap implements Serializable
     if (null != summaryDMStore) {
       memoryUsed += summaryDMStore.getMemoryUsed();
     }
+    BlockletMinMaxTree tree = minMaxTree;
+    if (null != tree) {
+      memoryUsed += tree.getMemorySize();
+    }
     return memoryUsed;
   }
 
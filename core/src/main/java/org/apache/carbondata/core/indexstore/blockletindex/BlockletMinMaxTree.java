@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.indexstore.blockletindex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.filter.executer.FilterExecuter;
+import org.apache.carbondata.core.scan.filter.executer.ImplicitColumnFilterExecutor;
+import org.apache.carbondata.core.util.ByteUtil;
+import org.apache.carbondata.core.util.DataTypeUtil;
+import org.apache.carbondata.core.util.comparator.Comparator;
+import org.apache.carbondata.core.util.comparator.SerializableComparator;
+
+/**
+ * Tree over the min/max values of the blocklets in one {@link BlockletDataMap}.
+ *
+ * Blocklets are grouped in storage order, every node keeps the union of min/max of its children
+ * for all columns. As blocklets are written in the order of sort columns, the range of the first
+ * sort column in a node is narrow, so equality and range filters on it can skip whole groups of
+ * blocklets and find the candidate blocklets in logarithmic time instead of checking every
+ * blocklet. For filters on other columns it degrades to checking every node, which is only
+ * 1 / (fanout - 1) more work than the linear scan.
+ *
+ * Pruning a node is safe because a min/max filter which does not select the union range of a
+ * node does not select any range inside it. The candidates returned by the tree must still be
+ * checked against the min/max of each blocklet.
+ */
+public class BlockletMinMaxTree {
+
+  /**
+   * default number of children of each node
+   */
+  public static final int DEFAULT_FANOUT = 16;
+
+  /**
+   * estimated header size of an array object
+   */
+  private static final int ARRAY_OVERHEAD = 16;
+
+  /**
+   * estimated size of an object reference
+   */
+  private static final int REFERENCE_SIZE = 8;
+
+  private int fanout;
+
+  private int numBlocklets;
+
+  /**
+   * number of dimension columns in min/max, measures are stored after dimensions
+   */
+  private int numDimensions;
+
+  private DataType[] measureDataTypes;
+
+  private SerializableComparator[] measureComparators;
+
+  /**
+   * min/max of every node, indexed by [level][node][column]. Level 0 summarises groups of
+   * blocklets and the last level has a single root node. A null node means the union could not
+   * be computed (e.g. a measure without min/max), such node is always scanned.
+   */
+  private byte[][][][] minValues;
+
+  private byte[][][][] maxValues;
+
+  /**
+   * estimated heap memory used by the min/max values of the tree in bytes
+   */
+  private long memorySize;
+
+  /**
+   * Build the tree
+   *
+   * @param blockletMinValues min values of each blocklet in storage order
+   * @param blockletMaxValues max values of each blocklet in storage order
+   * @param measureDataTypes data type of the measures which are stored after dimensions
+   * @param fanout number of children of each node
+   */
+  public BlockletMinMaxTree(byte[][][] blockletMinValues, byte[][][] blockletMaxValues,
+      DataType[] measureDataTypes, int fanout) {
+    if (fanout < 2) {
+      throw new IllegalArgumentException("fanout of min max tree should be at least 2");
+    }
+    this.fanout = fanout;
+    this.numBlocklets = blockletMinValues.length;
+    this.measureDataTypes = measureDataTypes;
+    this.measureComparators = new SerializableComparator[measureDataTypes.length];
+    for (int i = 0; i < measureDataTypes.length; i++) {
+      measureComparators[i] = getMeasureComparator(measureDataTypes[i]);
+    }
+    int numColumns = numBlocklets > 0 ? blockletMinValues[0].length : 0;
+    this.numDimensions = numColumns - measureDataTypes.length;
+    List<byte[][][]> levelMin = new ArrayList<>();
+    List<byte[][][]> levelMax = new ArrayList<>();
+    byte[][][] childMin = blockletMinValues;
+    byte[][][] childMax = blockletMaxValues;
+    do {
+      int numNodes = (childMin.length + fanout - 1) / fanout;
+      byte[][][] nodeMin = new byte[numNodes][][];
+      byte[][][] nodeMax = new byte[numNodes][][];
+      for (int node = 0; node < numNodes; node++) {
+        int start = node * fanout;
+        int end = Math.min(start + fanout, childMin.length);
+        union(childMin, childMax, start, end, nodeMin, nodeMax, node);
+      }
+      levelMin.add(nodeMin);
+      levelMax.add(nodeMax);
+      childMin = nodeMin;
+      childMax = nodeMax;
+    } while (childMin.length > 1);
+    this.minValues = levelMin.toArray(new byte[levelMin.size()][][][]);
+    this.maxValues = levelMax.toArray(new byte[levelMax.size()][][][]);
+    this.memorySize = estimateMemorySize();
+  }
+
+  /**
+   * Estimate the heap memory of the min/max arrays of the nodes. A value array can be shared
+   * by the nodes of different levels, so each array is counted once.
+   */
+  private long estimateMemorySize() {
+    Set<byte[]> values = Collections.newSetFromMap(new IdentityHashMap<byte[], Boolean>());
+    long size = 0L;
+    for (byte[][][][] levels : new byte[][][][][] { minValues, maxValues }) {
+      size += ARRAY_OVERHEAD + REFERENCE_SIZE * levels.length;
+      for (byte[][][] level : levels) {
+        size += ARRAY_OVERHEAD + REFERENCE_SIZE * level.length;
+        for (byte[][] node : level) {
+          if (null == node) {
+            continue;
+          }
+          size += ARRAY_OVERHEAD + REFERENCE_SIZE * node.length;
+          for (byte[] value : node) {
+            if (null != value && values.add(value)) {
+              size += ARRAY_OVERHEAD + value.length;
+            }
+          }
+        }
+      }
+    }
+    return size;
+  }
+
+  private static SerializableComparator getMeasureComparator(DataType dataType) {
+    if (dataType == DataTypes.BOOLEAN || dataType == DataTypes.SHORT || dataType == DataTypes.INT
+        || dataType == DataTypes.LONG || DataTypes.isDecimal(dataType)) {
+      return Comparator.getComparatorByDataTypeForMeasure(dataType);
+    }
+    // other measure types are decoded as double by DataTypeUtil.getMeasureObjectFromDataType
+    return Comparator.getComparatorByDataTypeForMeasure(DataTypes.DOUBLE);
+  }
+
+  /**
+   * Compute the union of min/max of children in range [start, end) into the node
+   */
+  private void union(byte[][][] childMin, byte[][][] childMax, int start, int end,
+      byte[][][] nodeMin, byte[][][] nodeMax, int node) {
+    if (childMin[start] == null || childMin[start].length != numDimensions
+        + measureDataTypes.length) {
+      return;
+    }
+    byte[][] min = childMin[start].clone();
+    byte[][] max = childMax[start].clone();
+    for (int child = start + 1; child < end; child++) {
+      if (childMin[child] == null || childMin[child].length != min.length) {
+        return;
+      }
+      for (int column = 0; column < min.length; column++) {
+        int minCompare = compare(column, childMin[child][column], min[column]);
+        int maxCompare = compare(column, childMax[child][column], max[column]);
+        if (minCompare == Integer.MIN_VALUE || maxCompare == Integer.MIN_VALUE) {
+          return;
+        }
+        if (minCompare < 0) {
+          min[column] = childMin[child][column];
+        }
+        if (maxCompare > 0) {
+          max[column] = childMax[child][column];
+        }
+      }
+    }
+    nodeMin[node] = min;
+    nodeMax[node] = max;
+  }
+
+  /**
+   * Compare two min/max values of the column.
+   *
+   * @return Integer.MIN_VALUE if the values can not be compared
+   */
+  private int compare(int column, byte[] value1, byte[] value2) {
+    if (column < numDimensions) {
+      return ByteUtil.UnsafeComparer.INSTANCE.compareTo(value1, value2);
+    }
+    int measureIndex = column - numDimensions;
+    Object measure1 =
+        DataTypeUtil.getMeasureObjectFromDataType(value1, measureDataTypes[measureIndex]);
+    Object measure2 =
+        DataTypeUtil.getMeasureObjectFromDataType(value2, measureDataTypes[measureIndex]);
+    if (measure1 == null || measure2 == null) {
+      return Integer.MIN_VALUE;
+    }
+    return Integer.signum(measureComparators[measureIndex].compare(measure1, measure2));
+  }
+
+  /**
+   * Find the blocklets which may contain data selected by the filter
+   *
+   * @param filterExecuter filter executer of the query
+   * @return list of candidate ranges, each range is [start, end) of blocklet index in the order
+   * given while building the tree. Ranges are sorted and do not overlap.
+   */
+  public List<int[]> getCandidateRanges(FilterExecuter filterExecuter) {
+    List<int[]> ranges = new ArrayList<>();
+    if (numBlocklets == 0) {
+      return ranges;
+    }
+    int rootLevel = minValues.length - 1;
+    for (int node = 0; node < minValues[rootLevel].length; node++) {
+      collectCandidates(filterExecuter, rootLevel, node, ranges);
+    }
+    return ranges;
+  }
+
+  private void collectCandidates(FilterExecuter filterExecuter, int level, int node,
+      List<int[]> ranges) {
+    if (!isScanRequired(filterExecuter, level, node)) {
+      return;
+    }
+    int start = node * fanout;
+    if (level == 0) {
+      int end = Math.min(start + fanout, numBlocklets);
+      int[] last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+      if (last != null && last[1] == start) {
+        last[1] = end;
+      } else {
+        ranges.add(new int[] { start, end });
+      }
+      return;
+    }
+    int end = Math.min(start + fanout, minValues[level - 1].length);
+    for (int child = start; child < end; child++) {
+      collectCandidates(filterExecuter, level - 1, child, ranges);
+    }
+  }
+
+  private boolean isScanRequired(FilterExecuter filterExecuter, int level, int node) {
+    byte[][] min = minValues[level][node];
+    byte[][] max = maxValues[level][node];
+    if (min == null) {
+      return true;
+    }
+    if (filterExecuter instanceof ImplicitColumnFilterExecutor) {
+      // implicit column filter can only be applied on blocklet path, check the other columns
+      return ((ImplicitColumnFilterExecutor) filterExecuter)
+          .isFilterValuesPresentInAbstractIndex(max, min);
+    }
+    return !filterExecuter.isScanRequired(max, min).isEmpty();
+  }
+
+  public int getNumBlocklets() {
+    return numBlocklets;
+  }
+
+  /**
+   * @return estimated heap memory used by the tree in bytes
+   */
+  public long getMemorySize() {
+    return memorySize;
+  }
+}
@@ -53,6 +53,15 @@ public interface DirectDictionaryGenerator {
    */
   int generateDirectSurrogateKey(String memberStr, String format);
 
+  /**
+   * The method generate and returns the dictionary / surrogate key for the given time, it is
+   * used when the value is already typed and need not be parsed from string
+   *
+   * @param timeValue time in milliseconds since epoch
+   * @return returns dictionary/ surrogate value
+   */
+  int generateKey(long timeValue);
+
   void initialize();
 
   /**
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.memory;
+
+/**
+ * An operator which holds working memory of a task and is able to release part of it on
+ * demand, for example by writing the in-memory data to disk. Consumers are registered to
+ * {@link UnsafeMemoryManager}, which asks them to spill when an allocation of the same task
+ * can not be satisfied.
+ */
+public interface MemoryConsumer {
+
+  /**
+   * Release memory held by this consumer. The memory must be released to
+   * {@link UnsafeMemoryManager} for the task the consumer is registered with, releasing memory
+   * of another pool does not help the waiting allocation.
+   *
+   * @param required number of bytes the requester is waiting for
+   * @return true only if memory of the task was actually released
+   */
+  boolean spill(long required);
+}
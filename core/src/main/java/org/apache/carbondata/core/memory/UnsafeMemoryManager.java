@@ -17,11 +17,15 @@
 
 package org.apache.carbondata.core.memory;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
@@ -30,16 +34,32 @@ import org.apache.carbondata.core.util.CarbonProperties;
 
 /**
  * Manages memory for instance.
+ *
+ * Memory is accounted at two levels: the global budget of the executor, reserved with a CAS
+ * on the used counter so that allocation and free do not take a lock, and per task memory
+ * which keeps the allocated blocks of the task and the {@link MemoryConsumer}s which can
+ * spill on demand. When the global budget is exhausted, the requester first asks the consumers
+ * of its task to spill and then waits until memory is freed by any task.
  */
 public class UnsafeMemoryManager {
 
   private static final LogService LOGGER =
       LogServiceFactory.getLogService(UnsafeMemoryManager.class.getName());
 
+  /**
+   * maximum time an allocation waits for memory to be freed before failing
+   */
+  private static final long MAX_WAIT_MILLIS = 150 * 1000L;
+
+  /**
+   * interval after which a waiting allocation asks the consumers to spill again
+   */
+  private static final long SPILL_RETRY_INTERVAL_MILLIS = 500L;
+
   private static boolean offHeap = Boolean.parseBoolean(CarbonProperties.getInstance()
       .getProperty(CarbonCommonConstants.ENABLE_OFFHEAP_SORT,
           CarbonCommonConstants.ENABLE_OFFHEAP_SORT_DEFAULT));
-  private static Map<Long,Set<MemoryBlock>> taskIdToMemoryBlockMap;
+  private static Map<Long, TaskMemory> taskIdToMemoryMap;
   static {
     long size;
     try {
@@ -67,17 +87,25 @@ public class UnsafeMemoryManager {
       }
       allocator = MemoryAllocator.HEAP;
     }
+    taskIdToMemoryMap = new ConcurrentHashMap<>();
     INSTANCE = new UnsafeMemoryManager(takenSize, allocator);
-    taskIdToMemoryBlockMap = new HashMap<>();
   }
 
   public static final UnsafeMemoryManager INSTANCE;
 
-  private long totalMemory;
+  private final long totalMemory;
+
+  private final AtomicLong memoryUsed = new AtomicLong();
+
+  private final MemoryAllocator allocator;
 
-  private long memoryUsed;
+  /**
+   * allocations which are waiting for memory to be freed, free paths only notify when
+   * somebody is waiting
+   */
+  private final AtomicInteger waitingAllocations = new AtomicInteger();
 
-  private MemoryAllocator allocator;
+  private final Object memoryFreedMonitor = new Object();
 
   private UnsafeMemoryManager(long totalMemory, MemoryAllocator allocator) {
     this.totalMemory = totalMemory;
@@ -86,70 +114,170 @@ public class UnsafeMemoryManager {
         .info("Working Memory manager is created with size " + totalMemory + " with " + allocator);
   }
 
-  private synchronized MemoryBlock allocateMemory(long taskId, long memoryRequested) {
-    if (memoryUsed + memoryRequested <= totalMemory) {
-      MemoryBlock allocate = allocator.allocate(memoryRequested);
-      memoryUsed += allocate.size();
-      Set<MemoryBlock> listOfMemoryBlock = taskIdToMemoryBlockMap.get(taskId);
-      if (null == listOfMemoryBlock) {
-        listOfMemoryBlock = new HashSet<>();
-        taskIdToMemoryBlockMap.put(taskId, listOfMemoryBlock);
+  /**
+   * Memory held by one task
+   */
+  private static class TaskMemory {
+
+    private final Set<MemoryBlock> memoryBlocks =
+        Collections.newSetFromMap(new ConcurrentHashMap<MemoryBlock, Boolean>());
+
+    private final AtomicLong memoryUsed = new AtomicLong();
+
+    private final CopyOnWriteArrayList<MemoryConsumer> consumers =
+        new CopyOnWriteArrayList<>();
+  }
+
+  private static TaskMemory getOrCreateTaskMemory(long taskId) {
+    TaskMemory taskMemory = taskIdToMemoryMap.get(taskId);
+    if (null == taskMemory) {
+      taskMemory = new TaskMemory();
+      TaskMemory existing = taskIdToMemoryMap.putIfAbsent(taskId, taskMemory);
+      if (null != existing) {
+        taskMemory = existing;
       }
-      listOfMemoryBlock.add(allocate);
-      if (LOGGER.isDebugEnabled()) {
-        LOGGER.debug("Memory block (" + allocate + ") is created with size " + allocate.size()
-            + ". Total memory used " + memoryUsed + "Bytes, left " + (totalMemory - memoryUsed)
-            + "Bytes");
+    }
+    return taskMemory;
+  }
+
+  /**
+   * reserve memory from the global budget, returns false if it is exhausted
+   */
+  private boolean reserve(long size) {
+    while (true) {
+      long used = memoryUsed.get();
+      if (used + size > totalMemory) {
+        return false;
+      }
+      if (memoryUsed.compareAndSet(used, used + size)) {
+        return true;
       }
-      return allocate;
     }
-    return null;
   }
 
-  public synchronized void freeMemory(long taskId, MemoryBlock memoryBlock) {
-    if (taskIdToMemoryBlockMap.containsKey(taskId)) {
-      taskIdToMemoryBlockMap.get(taskId).remove(memoryBlock);
+  private void release(long size) {
+    memoryUsed.addAndGet(-size);
+    if (waitingAllocations.get() > 0) {
+      synchronized (memoryFreedMonitor) {
+        memoryFreedMonitor.notifyAll();
+      }
     }
-    if (!memoryBlock.isFreedStatus()) {
+  }
+
+  private MemoryBlock allocateMemory(long taskId, long memoryRequested) {
+    if (!reserve(memoryRequested)) {
+      return null;
+    }
+    MemoryBlock allocate;
+    try {
+      allocate = allocator.allocate(memoryRequested);
+    } catch (OutOfMemoryError e) {
+      release(memoryRequested);
+      throw e;
+    }
+    if (allocate.size() != memoryRequested) {
+      memoryUsed.addAndGet(allocate.size() - memoryRequested);
+    }
+    TaskMemory taskMemory = getOrCreateTaskMemory(taskId);
+    taskMemory.memoryBlocks.add(allocate);
+    taskMemory.memoryUsed.addAndGet(allocate.size());
+    if (LOGGER.isDebugEnabled()) {
+      long used = memoryUsed.get();
+      LOGGER.debug("Memory block (" + allocate + ") is created with size " + allocate.size()
+          + ". Total memory used " + used + "Bytes, left " + (totalMemory - used)
+          + "Bytes");
+    }
+    return allocate;
+  }
+
+  /**
+   * free the block, returns the size freed or 0 if the block was already freed
+   */
+  private long freeBlock(MemoryBlock memoryBlock) {
+    // the same block can be freed by the owner and by freeMemoryAll of the task at the same time
+    synchronized (memoryBlock) {
+      if (memoryBlock.isFreedStatus()) {
+        return 0;
+      }
       allocator.free(memoryBlock);
-      memoryUsed -= memoryBlock.size();
-      memoryUsed = memoryUsed < 0 ? 0 : memoryUsed;
+      return memoryBlock.size();
+    }
+  }
+
+  public void freeMemory(long taskId, MemoryBlock memoryBlock) {
+    TaskMemory taskMemory = taskIdToMemoryMap.get(taskId);
+    boolean removed = null != taskMemory && taskMemory.memoryBlocks.remove(memoryBlock);
+    long freed = freeBlock(memoryBlock);
+    if (freed > 0) {
+      if (removed) {
+        taskMemory.memoryUsed.addAndGet(-freed);
+      }
+      release(freed);
       if (LOGGER.isDebugEnabled()) {
-        LOGGER.debug(
-            "Freeing memory of size: " + memoryBlock.size() + "available memory:  " + (totalMemory
-                - memoryUsed));
+        LOGGER.debug("Freeing memory of size: " + freed + "available memory:  " + (totalMemory
+            - memoryUsed.get()));
       }
     }
   }
 
-  public synchronized void freeMemoryAll(long taskId) {
-    Set<MemoryBlock> memoryBlockSet = null;
-    memoryBlockSet = taskIdToMemoryBlockMap.remove(taskId);
+  public void freeMemoryAll(long taskId) {
+    TaskMemory taskMemory = taskIdToMemoryMap.remove(taskId);
     long occuppiedMemory = 0;
-    if (null != memoryBlockSet) {
-      Iterator<MemoryBlock> iterator = memoryBlockSet.iterator();
-      MemoryBlock memoryBlock = null;
+    if (null != taskMemory) {
+      Iterator<MemoryBlock> iterator = taskMemory.memoryBlocks.iterator();
       while (iterator.hasNext()) {
-        memoryBlock = iterator.next();
-        if (!memoryBlock.isFreedStatus()) {
-          occuppiedMemory += memoryBlock.size();
-          allocator.free(memoryBlock);
-        }
+        occuppiedMemory += freeBlock(iterator.next());
       }
+      taskMemory.memoryBlocks.clear();
+    }
+    if (occuppiedMemory > 0) {
+      release(occuppiedMemory);
     }
-    memoryUsed -= occuppiedMemory;
-    memoryUsed = memoryUsed < 0 ? 0 : memoryUsed;
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug(
           "Freeing memory of size: " + occuppiedMemory + ": Current available memory is: " + (
-              totalMemory - memoryUsed));
+              totalMemory - memoryUsed.get()));
     }
-    LOGGER.info("Total memory used after task " + taskId + " is " + memoryUsed
-        + " Current tasks running now are : " + taskIdToMemoryBlockMap.keySet());
+    LOGGER.info("Total memory used after task " + taskId + " is " + memoryUsed.get()
+        + " Current tasks running now are : " + taskIdToMemoryMap.keySet());
   }
 
-  public synchronized boolean isMemoryAvailable() {
-    return memoryUsed > totalMemory;
+  /**
+   * Register a consumer which can release memory of the task on demand. Consumers are
+   * unregistered by {@link #unregisterMemoryConsumer} or when all memory of the task is freed.
+   */
+  public void registerMemoryConsumer(long taskId, MemoryConsumer consumer) {
+    getOrCreateTaskMemory(taskId).consumers.addIfAbsent(consumer);
+  }
+
+  public void unregisterMemoryConsumer(long taskId, MemoryConsumer consumer) {
+    TaskMemory taskMemory = taskIdToMemoryMap.get(taskId);
+    if (null != taskMemory) {
+      taskMemory.consumers.remove(consumer);
+    }
+  }
+
+  /**
+   * ask the consumers of the task to release memory, returns true if any of them spilled
+   */
+  private boolean spill(long taskId, long required) {
+    TaskMemory taskMemory = taskIdToMemoryMap.get(taskId);
+    if (null == taskMemory) {
+      return false;
+    }
+    boolean spilled = false;
+    for (MemoryConsumer consumer : taskMemory.consumers) {
+      try {
+        spilled |= consumer.spill(required);
+      } catch (RuntimeException e) {
+        LOGGER.error(e, "Failed to spill memory consumer " + consumer);
+      }
+    }
+    return spilled;
+  }
+
+  public boolean isMemoryAvailable() {
+    return memoryUsed.get() > totalMemory;
   }
 
   public long getUsableMemory() {
@@ -157,28 +285,59 @@ public class UnsafeMemoryManager {
   }
 
   /**
-   * It tries to allocate memory of `size` bytes, keep retry until it allocates successfully.
+   * memory currently allocated from this manager
+   */
+  public long getMemoryUsed() {
+    return memoryUsed.get();
+  }
+
+  /**
+   * memory currently allocated by the task
+   */
+  public long getTaskMemoryUsed(long taskId) {
+    TaskMemory taskMemory = taskIdToMemoryMap.get(taskId);
+    return null == taskMemory ? 0 : taskMemory.memoryUsed.get();
+  }
+
+  /**
+   * It tries to allocate memory of `size` bytes. If memory is not available, it asks the
+   * memory consumers of the task to spill and waits until memory is freed.
    */
   public static MemoryBlock allocateMemoryWithRetry(long taskId, long size) throws MemoryException {
-    MemoryBlock baseBlock = null;
-    int tries = 0;
-    while (tries < 300) {
-      baseBlock = INSTANCE.allocateMemory(taskId, size);
-      if (baseBlock == null) {
-        try {
-          LOGGER.info("Memory is not available, retry after 500 millis");
-          Thread.sleep(500);
-        } catch (InterruptedException e) {
-          throw new MemoryException(e);
+    MemoryBlock baseBlock = INSTANCE.allocateMemory(taskId, size);
+    if (baseBlock != null) {
+      return baseBlock;
+    }
+    LOGGER.info("Memory is not available, waiting for " + size + " bytes to be freed");
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MAX_WAIT_MILLIS);
+    INSTANCE.waitingAllocations.incrementAndGet();
+    try {
+      while (true) {
+        INSTANCE.spill(taskId, size);
+        long waitUntil = Math.min(deadline,
+            System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SPILL_RETRY_INTERVAL_MILLIS));
+        synchronized (INSTANCE.memoryFreedMonitor) {
+          // memory freed after this attempt notifies the monitor, so no wake up is lost
+          while ((baseBlock = INSTANCE.allocateMemory(taskId, size)) == null) {
+            long waitMillis = TimeUnit.NANOSECONDS.toMillis(waitUntil - System.nanoTime());
+            if (waitMillis <= 0) {
+              break;
+            }
+            INSTANCE.memoryFreedMonitor.wait(waitMillis);
+          }
+        }
+        if (baseBlock != null || System.nanoTime() >= deadline) {
+          break;
         }
-      } else {
-        break;
       }
-      tries++;
+    } catch (InterruptedException e) {
+      throw new MemoryException(e);
+    } finally {
+      INSTANCE.waitingAllocations.decrementAndGet();
     }
     if (baseBlock == null) {
-      LOGGER.error(" Memory Used : " + INSTANCE.memoryUsed + " Tasks running : "
-          + taskIdToMemoryBlockMap.keySet());
+      LOGGER.error(" Memory Used : " + INSTANCE.memoryUsed.get() + " Tasks running : "
+          + taskIdToMemoryMap.keySet());
       throw new MemoryException("Not enough memory");
     }
     return baseBlock;
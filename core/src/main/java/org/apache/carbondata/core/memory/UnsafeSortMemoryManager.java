@@ -142,6 +142,16 @@ public class UnsafeSortMemoryManager {
     }
   }
 
+  /**
+   * Below method will be used to release dummy memory which will not be allocated lazily
+   *
+   * @param size
+   */
+  public synchronized void freeDummyMemory(long size) {
+    memoryUsed -= size;
+    memoryUsed = memoryUsed < 0 ? 0 : memoryUsed;
+  }
+
   public synchronized void freeMemory(long taskId, MemoryBlock memoryBlock) {
     if (taskIdToMemoryBlockMap.containsKey(taskId)) {
       taskIdToMemoryBlockMap.get(taskId).remove(memoryBlock);
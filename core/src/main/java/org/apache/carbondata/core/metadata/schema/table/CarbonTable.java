@@ -34,6 +34,7 @@ import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datamap.DataMapStoreManager;
 import org.apache.carbondata.core.datamap.TableDataMap;
 import org.apache.carbondata.core.datamap.dev.DataMapFactory;
+import org.apache.carbondata.core.datastore.compression.CompressorFactory;
 import org.apache.carbondata.core.features.TableOperation;
 import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
 import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
@@ -822,6 +823,20 @@ public class CarbonTable implements Serializable {
     return tableInfo;
   }
 
+  /**
+   * Return the name of the compressor used to compress column pages and stream blocklets
+   * of this table, it is specified by table property "carbon.column.compressor", if not
+   * specified, the system level compressor is used
+   */
+  public String getColumnCompressor() {
+    String compressor = getTableInfo().getFactTable().getTableProperties()
+        .get(CarbonCommonConstants.COMPRESSOR);
+    if (compressor == null) {
+      return CompressorFactory.getInstance().getCompressor().getName();
+    }
+    return CompressorFactory.getInstance().getCompressor(compressor).getName();
+  }
+
   /**
    * Return true if this is a streaming table (table with property "streaming"="true")
    */
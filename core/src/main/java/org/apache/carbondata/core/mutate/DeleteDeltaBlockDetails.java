@@ -17,6 +17,9 @@
 
 package org.apache.carbondata.core.mutate;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -35,6 +38,12 @@ public class DeleteDeltaBlockDetails implements Serializable {
 
   private static final long serialVersionUID = 1206104914918495724L;
 
+  /**
+   * magic number written at the start of the delete delta file in bitmap format, a json
+   * delete delta file can not start with these bytes
+   */
+  public static final int BITMAP_FORMAT_MAGIC = 0x43444401;
+
   private Map<String, DeleteDeltaBlockletDetails> blockletDetailsMap;
   private String blockName;
 
@@ -102,4 +111,36 @@ public class DeleteDeltaBlockDetails implements Serializable {
     }
 
   }
+
+  /**
+   * Below method will be used to write the block details in bitmap format
+   *
+   * @param out output to write
+   * @throws IOException if an I/O error occurs
+   */
+  public void write(DataOutput out) throws IOException {
+    out.writeInt(BITMAP_FORMAT_MAGIC);
+    out.writeUTF(null == blockName ? "" : blockName);
+    out.writeInt(blockletDetailsMap.size());
+    for (DeleteDeltaBlockletDetails blocklet : blockletDetailsMap.values()) {
+      blocklet.write(out);
+    }
+  }
+
+  /**
+   * Below method will be used to read the block details written in bitmap format. The magic
+   * number is expected to be already read by the caller to detect the format
+   *
+   * @param in input to read
+   * @return block details
+   * @throws IOException if an I/O error occurs
+   */
+  public static DeleteDeltaBlockDetails read(DataInput in) throws IOException {
+    DeleteDeltaBlockDetails blockDetails = new DeleteDeltaBlockDetails(in.readUTF());
+    int numberOfBlocklets = in.readInt();
+    for (int i = 0; i < numberOfBlocklets; i++) {
+      blockDetails.addBlockletDetails(DeleteDeltaBlockletDetails.read(in));
+    }
+    return blockDetails;
+  }
 }
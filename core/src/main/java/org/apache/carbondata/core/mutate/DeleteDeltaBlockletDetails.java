@@ -17,9 +17,12 @@
 
 package org.apache.carbondata.core.mutate;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
-import java.util.Set;
-import java.util.TreeSet;
+
+import org.roaringbitmap.RoaringBitmap;
 
 /**
  * This class stores the blocklet details of delete delta file
@@ -30,27 +33,36 @@ public class DeleteDeltaBlockletDetails implements Serializable {
   private String id;
   private Integer pageId;
 
-  private Set<Integer> deletedRows;
+  /**
+   * deleted row ids of the page, written as array of row ids in json format
+   */
+  private RoaringBitmap deletedRows;
 
   public DeleteDeltaBlockletDetails(String id, Integer pageId) {
     this.id = id;
-    deletedRows = new TreeSet<Integer>();
+    deletedRows = new RoaringBitmap();
     this.pageId = pageId;
   }
 
-  public boolean addDeletedRows(Set<Integer> rows) {
-    return deletedRows.addAll(rows);
+  public boolean addDeletedRows(RoaringBitmap rows) {
+    int oldCardinality = deletedRows.getCardinality();
+    deletedRows.or(rows);
+    return deletedRows.getCardinality() != oldCardinality;
   }
 
-  public boolean addDeletedRow(Integer row) {
-    return deletedRows.add(row);
+  public boolean addDeletedRow(int row) {
+    if (deletedRows.contains(row)) {
+      return false;
+    }
+    deletedRows.add(row);
+    return true;
   }
 
   public Integer getPageId() {
     return pageId;
   }
 
-  public Set<Integer> getDeletedRows() {
+  public RoaringBitmap getDeletedRows() {
     return deletedRows;
   }
 
@@ -76,4 +88,31 @@ public class DeleteDeltaBlockletDetails implements Serializable {
     return this.id + '_' + this.pageId;
   }
 
+  /**
+   * Below method will be used to write the blocklet details in bitmap format
+   *
+   * @param out output to write
+   * @throws IOException if an I/O error occurs
+   */
+  public void write(DataOutput out) throws IOException {
+    out.writeUTF(id);
+    out.writeInt(pageId);
+    deletedRows.runOptimize();
+    deletedRows.serialize(out);
+  }
+
+  /**
+   * Below method will be used to read the blocklet details written in bitmap format
+   *
+   * @param in input to read
+   * @return blocklet details
+   * @throws IOException if an I/O error occurs
+   */
+  public static DeleteDeltaBlockletDetails read(DataInput in) throws IOException {
+    String id = in.readUTF();
+    DeleteDeltaBlockletDetails blocklet = new DeleteDeltaBlockletDetails(id, in.readInt());
+    blocklet.deletedRows.deserialize(in);
+    return blocklet;
+  }
+
 }
@@ -17,8 +17,9 @@
 package org.apache.carbondata.core.mutate;
 
 import java.util.BitSet;
-import java.util.Iterator;
-import java.util.Set;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
 
 /**
  * Class which keep the information about the rows
@@ -27,12 +28,12 @@ import java.util.Set;
 public class DeleteDeltaVo {
 
   /**
-   * deleted rows bitset
+   * deleted rows bitmap
    */
-  private BitSet bitSet;
+  private RoaringBitmap bitmap;
 
   public DeleteDeltaVo() {
-    bitSet = new BitSet();
+    bitmap = new RoaringBitmap();
   }
 
   /**
@@ -41,11 +42,8 @@ public class DeleteDeltaVo {
    *
    * @param data
    */
-  public void insertData(Set<Integer> data) {
-    Iterator<Integer> iterator = data.iterator();
-    while (iterator.hasNext()) {
-      bitSet.set(iterator.next());
-    }
+  public void insertData(RoaringBitmap data) {
+    bitmap.or(data);
   }
 
   /**
@@ -55,6 +53,26 @@ public class DeleteDeltaVo {
    * @return
    */
   public boolean containsRow(int counter) {
-    return bitSet.get(counter);
+    return bitmap.contains(counter);
+  }
+
+  /**
+   * Below method will be used to clear the deleted rows from the rows selected
+   * by the filter of a page
+   *
+   * @param rows selected rows of the page
+   */
+  public void removeDeletedRows(BitSet rows) {
+    IntIterator iterator = bitmap.getIntIterator();
+    while (iterator.hasNext()) {
+      rows.clear(iterator.next());
+    }
+  }
+
+  /**
+   * @return approximate memory size of the deleted rows in bytes
+   */
+  public long getMemorySize() {
+    return bitmap.serializedSizeInBytes();
   }
 }
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.mutate;
+
+import java.io.IOException;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * This class is added to keep the json delete delta file compatible with older versions, where
+ * deleted rows of a page are written as array of row ids
+ */
+public class DeletedRowsAdapter extends TypeAdapter<RoaringBitmap> {
+
+  @Override public void write(JsonWriter jsonWriter, RoaringBitmap rows) throws IOException {
+    if (null == rows) {
+      jsonWriter.nullValue();
+      return;
+    }
+    jsonWriter.beginArray();
+    IntIterator iterator = rows.getIntIterator();
+    while (iterator.hasNext()) {
+      jsonWriter.value(iterator.next());
+    }
+    jsonWriter.endArray();
+  }
+
+  @Override public RoaringBitmap read(JsonReader jsonReader) throws IOException {
+    if (jsonReader.peek() == JsonToken.NULL) {
+      jsonReader.nextNull();
+      return new RoaringBitmap();
+    }
+    RoaringBitmap rows = new RoaringBitmap();
+    jsonReader.beginArray();
+    while (jsonReader.hasNext()) {
+      rows.add(jsonReader.nextInt());
+    }
+    jsonReader.endArray();
+    return rows;
+  }
+}
@@ -115,6 +115,16 @@ public class ExplainCollector {
     }
   }
 
+  /**
+   * Record the time taken to prune a segment, it is called in the query thread
+   */
+  public static void recordSegmentPruningTime(String segmentNo, long timeMillis) {
+    if (enabled() && get().scans.containsKey(Thread.currentThread().getName())) {
+      TablePruningInfo scan = getCurrentTablePruningInfo();
+      scan.addSegmentPruningTime(segmentNo, timeMillis);
+    }
+  }
+
   public static void addTotalBlocklets(int numBlocklets) {
     if (enabled()) {
       TablePruningInfo scan = getCurrentTablePruningInfo();
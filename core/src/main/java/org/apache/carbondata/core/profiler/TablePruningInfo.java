@@ -17,6 +17,9 @@
 
 package org.apache.carbondata.core.profiler;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.apache.carbondata.common.annotations.InterfaceAudience;
 import org.apache.carbondata.core.metadata.schema.table.DataMapSchema;
 
@@ -38,6 +41,9 @@ public class TablePruningInfo {
   private DataMapSchema fgDataMap;
   private int numBlockletsAfterFGPruning;
 
+  // segment number to its pruning time, recorded only when segments are pruned in parallel
+  private Map<String, Long> segmentPruningTimes = new LinkedHashMap<>();
+
   void addTotalBlocklets(int numBlocklets) {
     this.totalBlocklets += numBlocklets;
   }
@@ -46,6 +52,11 @@ public class TablePruningInfo {
     this.filterStatement = filterStatement;
   }
 
+  void addSegmentPruningTime(String segmentNo, long timeMillis) {
+    Long time = segmentPruningTimes.get(segmentNo);
+    segmentPruningTimes.put(segmentNo, time == null ? timeMillis : time + timeMillis);
+  }
+
   void setNumBlockletsAfterDefaultPruning(DataMapSchema dataMapSchema, int numBlocklets) {
     this.defaultDataMap = dataMapSchema;
     this.numBlockletsAfterDefaultPruning = numBlocklets;
@@ -67,6 +78,14 @@ public class TablePruningInfo {
     builder
         .append(" - total blocklets: ").append(totalBlocklets).append("\n")
         .append(" - filter: ").append(filterStatement).append("\n");
+    if (!segmentPruningTimes.isEmpty()) {
+      builder.append(" - segments pruned in parallel: ").append(segmentPruningTimes.size())
+          .append("\n");
+      for (Map.Entry<String, Long> entry : segmentPruningTimes.entrySet()) {
+        builder.append("    - segment ").append(entry.getKey()).append(": ")
+            .append(entry.getValue()).append(" ms").append("\n");
+      }
+    }
     if (defaultDataMap != null) {
       int skipBlocklets = totalBlocklets - numBlockletsAfterDefaultPruning;
       builder
@@ -37,6 +37,14 @@ public interface CarbonDeleteDeltaFileReader {
    * @throws IOException if an I/O error occurs
    */
   String read() throws IOException;
-  DeleteDeltaBlockDetails readJson() throws IOException;
+
+  /**
+   * Below method will be used to read the delete delta file written
+   * either in json or in bitmap format
+   *
+   * @return deleted rows of the block
+   * @throws IOException if an I/O error occurs
+   */
+  DeleteDeltaBlockDetails readDeleteDeltaBlockDetails() throws IOException;
 
 }
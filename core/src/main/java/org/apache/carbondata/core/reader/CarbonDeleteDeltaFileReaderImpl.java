@@ -17,6 +17,7 @@
 
 package org.apache.carbondata.core.reader;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.DataInputStream;
 import java.io.IOException;
@@ -30,9 +31,12 @@ import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.fileoperations.AtomicFileOperations;
 import org.apache.carbondata.core.fileoperations.AtomicFileOperationsImpl;
 import org.apache.carbondata.core.mutate.DeleteDeltaBlockDetails;
+import org.apache.carbondata.core.mutate.DeletedRowsAdapter;
 import org.apache.carbondata.core.util.CarbonUtil;
 
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.roaringbitmap.RoaringBitmap;
 
 /**
  * This class perform the functionality of reading the delete delta file
@@ -55,6 +59,8 @@ public class CarbonDeleteDeltaFileReaderImpl implements CarbonDeleteDeltaFileRea
 
   private static final int DEFAULT_BUFFER_SIZE = 258;
 
+  private static final int BITMAP_FORMAT_BUFFER_SIZE = 64 * 1024;
+
   /**
    * @param filePath
    * @param fileType
@@ -89,12 +95,14 @@ public class CarbonDeleteDeltaFileReaderImpl implements CarbonDeleteDeltaFileRea
   }
 
   /**
-   * Reads delete delta file (json file) and returns DeleteDeltaBlockDetails
+   * Reads delete delta file and returns DeleteDeltaBlockDetails. The format of the file is
+   * detected from the first bytes, so files written in json and bitmap format can be read
    * @return DeleteDeltaBlockDetails
    * @throws IOException
    */
-  @Override public DeleteDeltaBlockDetails readJson() throws IOException {
-    Gson gsonObjectToRead = new Gson();
+  @Override public DeleteDeltaBlockDetails readDeleteDeltaBlockDetails() throws IOException {
+    Gson gsonObjectToRead = new GsonBuilder()
+        .registerTypeAdapter(RoaringBitmap.class, new DeletedRowsAdapter()).create();
     DataInputStream dataInputStream = null;
     BufferedReader buffReader = null;
     InputStreamReader inStream = null;
@@ -106,7 +114,11 @@ public class CarbonDeleteDeltaFileReaderImpl implements CarbonDeleteDeltaFileRea
       if (!FileFactory.isFileExist(filePath, FileFactory.getFileType(filePath))) {
         return new DeleteDeltaBlockDetails("");
       }
-      dataInputStream = fileOperation.openForRead();
+      dataInputStream = new DataInputStream(
+          new BufferedInputStream(fileOperation.openForRead(), BITMAP_FORMAT_BUFFER_SIZE));
+      if (isBitmapFormat(dataInputStream)) {
+        return DeleteDeltaBlockDetails.read(dataInputStream);
+      }
       inStream = new InputStreamReader(dataInputStream,
           CarbonCommonConstants.DEFAULT_CHARSET);
       buffReader = new BufferedReader(inStream);
@@ -120,4 +132,30 @@ public class CarbonDeleteDeltaFileReaderImpl implements CarbonDeleteDeltaFileRea
 
     return deleteDeltaBlockDetails;
   }
+
+  /**
+   * Below method will be used to check whether the file starts with the bitmap format magic
+   * number. If not then stream is reset to the start of the file
+   *
+   * @param stream stream of the file
+   * @return true if file is written in bitmap format
+   * @throws IOException if an I/O error occurs
+   */
+  private static boolean isBitmapFormat(DataInputStream stream) throws IOException {
+    stream.mark(4);
+    int magic = 0;
+    for (int i = 0; i < 4; i++) {
+      int value = stream.read();
+      if (value < 0) {
+        stream.reset();
+        return false;
+      }
+      magic = (magic << 8) | value;
+    }
+    if (magic == DeleteDeltaBlockDetails.BITMAP_FORMAT_MAGIC) {
+      return true;
+    }
+    stream.reset();
+    return false;
+  }
 }
@@ -19,25 +19,25 @@ package org.apache.carbondata.core.reader;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
-import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.mutate.DeleteDeltaBlockDetails;
 import org.apache.carbondata.core.mutate.DeleteDeltaBlockletDetails;
 import org.apache.carbondata.core.mutate.DeleteDeltaVo;
 import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonThreadFactory;
 
 
 /**
@@ -52,64 +52,65 @@ public class CarbonDeleteFilesDataReader {
       LogServiceFactory.getLogService(CarbonDeleteFilesDataReader.class.getName());
 
   /**
-   * thread pool size to be used for reading delete delta files
+   * thread pool shared by all the readers for reading delete delta files, threads are
+   * released when the pool is idle
    */
-  protected int thread_pool_size;
-
-  public CarbonDeleteFilesDataReader() {
-    initThreadPoolSize();
-  }
+  private static volatile ThreadPoolExecutor readerPool;
 
   /**
-   * This method will initialize the thread pool size to be used for creating the
-   * max number of threads for a job
+   * Below method will be used to get the shared thread pool, it is created on first use
+   * with the number of cores configured
+   *
+   * @return thread pool for reading delete delta files
    */
-  private void initThreadPoolSize() {
-    thread_pool_size = CarbonProperties.getInstance().getNumberOfCores();
+  private static ThreadPoolExecutor getReaderPool() {
+    if (null == readerPool) {
+      synchronized (CarbonDeleteFilesDataReader.class) {
+        if (null == readerPool) {
+          int threadPoolSize = CarbonProperties.getInstance().getNumberOfCores();
+          ThreadPoolExecutor pool = new ThreadPoolExecutor(threadPoolSize, threadPoolSize, 60,
+              TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+              new CarbonThreadFactory("DeleteDeltaFileReaderPool"));
+          pool.allowCoreThreadTimeOut(true);
+          readerPool = pool;
+        }
+      }
+    }
+    return readerPool;
   }
 
   /**
-   * Returns all deleted records from all specified delta files
+   * Below method will be used to read all the delete delta files. Single file is read in the
+   * caller thread, multiple files are read in parallel using the shared thread pool
    *
-   * @param deltaFiles
-   * @return
-   * @throws Exception
+   * @param deltaFiles delete delta files
+   * @return block details of each delete delta file in the same order
+   * @throws IOException if reading of any file fails
    */
-  public Map<Integer, Integer[]> getDeleteDataFromAllFiles(List<String> deltaFiles,
-      String blockletId) throws Exception {
-
-    List<Future<DeleteDeltaBlockDetails>> taskSubmitList = new ArrayList<>();
-    ExecutorService executorService = Executors.newFixedThreadPool(thread_pool_size);
+  private List<DeleteDeltaBlockDetails> readDeleteDeltaFiles(List<String> deltaFiles)
+      throws IOException {
+    List<DeleteDeltaBlockDetails> blockDetails = new ArrayList<>(deltaFiles.size());
+    if (deltaFiles.size() == 1) {
+      blockDetails.add(new DeleteDeltaFileReaderCallable(deltaFiles.get(0)).call());
+      return blockDetails;
+    }
+    List<Future<DeleteDeltaBlockDetails>> taskSubmitList = new ArrayList<>(deltaFiles.size());
+    ThreadPoolExecutor executorService = getReaderPool();
     for (final String deltaFile : deltaFiles) {
       taskSubmitList.add(executorService.submit(new DeleteDeltaFileReaderCallable(deltaFile)));
     }
     try {
-      executorService.shutdown();
-      executorService.awaitTermination(30, TimeUnit.MINUTES);
-    } catch (InterruptedException e) {
-      LOGGER.error("Error while reading the delete delta files : " + e.getMessage());
-    }
-
-    Map<Integer, Integer[]> pageIdDeleteRowsMap =
-        new HashMap<>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
-    for (int i = 0; i < taskSubmitList.size(); i++) {
-      try {
-        List<DeleteDeltaBlockletDetails> blockletDetails =
-            taskSubmitList.get(i).get().getBlockletDetails();
-        for (DeleteDeltaBlockletDetails eachBlockletDetails : blockletDetails) {
-          Integer pageId = eachBlockletDetails.getPageId();
-          Set<Integer> rows = blockletDetails
-              .get(blockletDetails.indexOf(new DeleteDeltaBlockletDetails(blockletId, pageId)))
-              .getDeletedRows();
-          pageIdDeleteRowsMap.put(pageId, rows.toArray(new Integer[rows.size()]));
-        }
-
-      } catch (Throwable e) {
-        LOGGER.error(e.getMessage());
-        throw new Exception(e.getMessage());
+      for (Future<DeleteDeltaBlockDetails> future : taskSubmitList) {
+        blockDetails.add(future.get());
       }
+    } catch (InterruptedException | ExecutionException e) {
+      for (Future<DeleteDeltaBlockDetails> future : taskSubmitList) {
+        future.cancel(true);
+      }
+      LOGGER.error("Error while reading the delete delta files : " + e.getMessage());
+      throw new IOException(e);
     }
-    return pageIdDeleteRowsMap;
+    return blockDetails;
   }
 
   /**
@@ -121,26 +122,15 @@ public class CarbonDeleteFilesDataReader {
    * @return map of blockletid_pageid to deleted rows
    */
   public Map<String, DeleteDeltaVo> getDeletedRowsDataVo(String[] deltaFiles) {
-    List<Future<DeleteDeltaBlockDetails>> taskSubmitList = new ArrayList<>();
-    ExecutorService executorService = Executors.newFixedThreadPool(thread_pool_size);
-    for (final String deltaFile : deltaFiles) {
-      taskSubmitList.add(executorService.submit(new DeleteDeltaFileReaderCallable(deltaFile)));
-    }
+    List<DeleteDeltaBlockDetails> blockDetails;
     try {
-      executorService.shutdown();
-      executorService.awaitTermination(30, TimeUnit.MINUTES);
-    } catch (InterruptedException e) {
-      LOGGER.error("Error while reading the delete delta files : " + e.getMessage());
+      blockDetails = readDeleteDeltaFiles(Arrays.asList(deltaFiles));
+    } catch (IOException e) {
+      throw new RuntimeException(e);
     }
     Map<String, DeleteDeltaVo> pageIdToBlockLetVo = new HashMap<>();
-    List<DeleteDeltaBlockletDetails> blockletDetails = null;
-    for (int i = 0; i < taskSubmitList.size(); i++) {
-      try {
-        blockletDetails = taskSubmitList.get(i).get().getBlockletDetails();
-      } catch (InterruptedException | ExecutionException e) {
-        throw new RuntimeException(e);
-      }
-      for (DeleteDeltaBlockletDetails blockletDetail : blockletDetails) {
+    for (DeleteDeltaBlockDetails blockDetail : blockDetails) {
+      for (DeleteDeltaBlockletDetails blockletDetail : blockDetail.getBlockletDetails()) {
         DeleteDeltaVo deleteDeltaVo = pageIdToBlockLetVo.get(blockletDetail.getBlockletKey());
         if (null == deleteDeltaVo) {
           deleteDeltaVo = new DeleteDeltaVo();
@@ -161,37 +151,17 @@ public class CarbonDeleteFilesDataReader {
    */
   public DeleteDeltaBlockDetails getCompactedDeleteDeltaFileFromBlock(List<String> deltaFiles,
       String blockName) throws Exception {
-    // get the data.
-    List<Future<DeleteDeltaBlockDetails>> taskSubmitList = new ArrayList<>(deltaFiles.size());
-    ExecutorService executorService = Executors.newFixedThreadPool(thread_pool_size);
-    for (final String deltaFile : deltaFiles) {
-      taskSubmitList.add(executorService.submit(new DeleteDeltaFileReaderCallable(deltaFile)));
-    }
-    try {
-      executorService.shutdown();
-      executorService.awaitTermination(30, TimeUnit.MINUTES);
-    } catch (InterruptedException e) {
-      LOGGER.error("Error while reading the delete delta files : " + e.getMessage());
-    }
-
     // Get a new DeleteDeltaBlockDetails as result set where all the data will me merged
     // based on each Blocklet.
     DeleteDeltaBlockDetails deleteDeltaResultSet = new DeleteDeltaBlockDetails(blockName);
-
-    for (int i = 0; i < taskSubmitList.size(); i++) {
-      try {
-        List<DeleteDeltaBlockletDetails> blockletDetails =
-            taskSubmitList.get(i).get().getBlockletDetails();
-        for (DeleteDeltaBlockletDetails blocklet : blockletDetails) {
-          deleteDeltaResultSet.addBlockletDetails(blocklet);
-        }
-      } catch (Throwable e) {
-        LOGGER.error(e.getMessage());
-        throw new Exception(e.getMessage());
+    for (DeleteDeltaBlockDetails blockDetail : readDeleteDeltaFiles(deltaFiles)) {
+      for (DeleteDeltaBlockletDetails blocklet : blockDetail.getBlockletDetails()) {
+        deleteDeltaResultSet.addBlockletDetails(blocklet);
       }
     }
     return deleteDeltaResultSet;
   }
+
   private static class DeleteDeltaFileReaderCallable implements Callable<DeleteDeltaBlockDetails> {
     private String deltaFile;
     DeleteDeltaFileReaderCallable(String deltaFile) {
@@ -200,9 +170,7 @@ public class CarbonDeleteFilesDataReader {
     @Override public DeleteDeltaBlockDetails call() throws IOException {
       CarbonDeleteDeltaFileReaderImpl deltaFileReader =
           new CarbonDeleteDeltaFileReaderImpl(deltaFile, FileFactory.getFileType(deltaFile));
-      return deltaFileReader.readJson();
+      return deltaFileReader.readDeleteDeltaBlockDetails();
     }
   }
 }
-
-
@@ -0,0 +1,385 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.executor.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.stats.LatencyHistogram;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+/**
+ * Scan scheduler shared by all the search requests of a Worker.
+ *
+ * Every query gets its own task queue, see {@link #newQueryExecutor(String)}. The scan threads
+ * take the next task from the query which has received the least scan time relative to its
+ * weight, skipping the queries which already run as many tasks as their concurrency limit.
+ * As the blocks of a query are scanned as a chain of small tasks, a long running query gives
+ * the threads to the short queries between the tasks instead of holding them till it is done.
+ */
+@InterfaceAudience.Internal
+public class SearchModeScanScheduler {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(SearchModeScanScheduler.class.getName());
+
+  /**
+   * class of the search request, decides the weight of its query
+   */
+  public enum RequestClass {
+    SHORT, LONG
+  }
+
+  private static SearchModeScanScheduler instance;
+
+  /**
+   * whether the scheduler of the worker is shut down, it is not created again until the search
+   * service of a worker is started again
+   */
+  private static boolean isInstanceShutdown;
+
+  /**
+   * request class of the query which is executed by the current thread
+   */
+  private static final ThreadLocal<RequestClass> REQUEST_CLASS = new ThreadLocal<>();
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final Condition taskAvailable = lock.newCondition();
+
+  /**
+   * queues which have tasks waiting to run
+   */
+  private final List<QueryQueue> activeQueues = new ArrayList<>();
+
+  private final Thread[] scanThreads;
+
+  private final int maxConcurrencyPerQuery;
+
+  private final Map<RequestClass, Integer> weights = new EnumMap<>(RequestClass.class);
+
+  private final Map<RequestClass, LatencyHistogram> latencyHistograms =
+      new EnumMap<>(RequestClass.class);
+
+  /**
+   * least weighted scan time of the queries which got a thread, a query which becomes active
+   * starts from here so that it does not get the time it was idle as credit
+   */
+  private double virtualTime;
+
+  private volatile boolean shutdown;
+
+  SearchModeScanScheduler(int numberOfThreads, int maxConcurrencyPerQuery,
+      int shortRequestWeight) {
+    this.maxConcurrencyPerQuery = maxConcurrencyPerQuery;
+    weights.put(RequestClass.SHORT, shortRequestWeight);
+    weights.put(RequestClass.LONG, 1);
+    for (RequestClass requestClass : RequestClass.values()) {
+      latencyHistograms.put(requestClass, new LatencyHistogram());
+    }
+    scanThreads = new Thread[numberOfThreads];
+    for (int i = 0; i < numberOfThreads; i++) {
+      scanThreads[i] = new Thread(new ScanThread(), "SearchModeScanThread-" + i);
+      scanThreads[i].setDaemon(true);
+      scanThreads[i].start();
+    }
+  }
+
+  /**
+   * Get the scheduler of the worker, it is created on first use
+   *
+   * @throws IllegalStateException if the scheduler is shut down
+   */
+  public static synchronized SearchModeScanScheduler getInstance() {
+    if (isInstanceShutdown) {
+      throw new IllegalStateException("Search mode scan scheduler is shut down");
+    }
+    if (null == instance) {
+      int numberOfThreads = CarbonProperties.getSearchScanThreads();
+      instance = new SearchModeScanScheduler(numberOfThreads,
+          CarbonProperties.getSearchRequestMaxConcurrency(numberOfThreads),
+          CarbonProperties.getSearchShortRequestWeight());
+    }
+    return instance;
+  }
+
+  /**
+   * Shut down the scheduler of the worker, the requests and queries starting afterwards fail
+   * instead of creating a new scheduler
+   */
+  public static synchronized void shutdownInstance() {
+    isInstanceShutdown = true;
+    if (null != instance) {
+      instance.shutdown();
+      instance = null;
+    }
+  }
+
+  /**
+   * Allow the scheduler to be created again, called when the search service of a worker is
+   * started after a previous one in the same process was shut down
+   */
+  public static synchronized void startInstance() {
+    isInstanceShutdown = false;
+  }
+
+  /**
+   * Set the request class of the queries executed by the current thread
+   */
+  public static void setRequestClass(RequestClass requestClass) {
+    REQUEST_CLASS.set(requestClass);
+  }
+
+  public static void clearRequestClass() {
+    REQUEST_CLASS.remove();
+  }
+
+  /**
+   * Create the executor of a query, the tasks submitted to it are queued for the query and
+   * run by the scan threads of this scheduler. Shutting it down affects only the query.
+   */
+  public ExecutorService newQueryExecutor(String queryId) {
+    RequestClass requestClass = REQUEST_CLASS.get();
+    if (null == requestClass) {
+      requestClass = RequestClass.LONG;
+    }
+    return new QueryQueue(queryId, requestClass, weights.get(requestClass));
+  }
+
+  public void recordLatency(RequestClass requestClass, long latencyInNanos) {
+    latencyHistograms.get(requestClass).record(latencyInNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public LatencyHistogram getLatencyHistogram(RequestClass requestClass) {
+    return latencyHistograms.get(requestClass);
+  }
+
+  public int getNumberOfThreads() {
+    return scanThreads.length;
+  }
+
+  void shutdown() {
+    lock.lock();
+    try {
+      shutdown = true;
+      for (QueryQueue queue : activeQueues) {
+        queue.tasks.clear();
+      }
+      activeQueues.clear();
+      taskAvailable.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    for (Thread scanThread : scanThreads) {
+      scanThread.interrupt();
+    }
+    for (RequestClass requestClass : RequestClass.values()) {
+      LOGGER.info("Search request latency of " + requestClass + " requests: "
+          + latencyHistograms.get(requestClass));
+    }
+  }
+
+  /**
+   * Get the query having the least weighted scan time which can run one more task.
+   * Should be called with the lock held.
+   */
+  private QueryQueue pollQueue() {
+    QueryQueue selected = null;
+    for (QueryQueue queue : activeQueues) {
+      if (queue.running < maxConcurrencyPerQuery
+          && (null == selected || queue.weightedScanTime < selected.weightedScanTime)) {
+        selected = queue;
+      }
+    }
+    if (null != selected) {
+      virtualTime = Math.max(virtualTime, selected.weightedScanTime);
+    }
+    return selected;
+  }
+
+  private class ScanThread implements Runnable {
+
+    @Override public void run() {
+      while (!shutdown) {
+        QueryQueue queue;
+        Runnable task;
+        lock.lock();
+        try {
+          queue = pollQueue();
+          while (null == queue && !shutdown) {
+            taskAvailable.await();
+            queue = pollQueue();
+          }
+          if (shutdown) {
+            return;
+          }
+          task = queue.tasks.pollFirst();
+          queue.running++;
+          if (queue.tasks.isEmpty()) {
+            activeQueues.remove(queue);
+          }
+        } catch (InterruptedException e) {
+          return;
+        } finally {
+          lock.unlock();
+        }
+        long startTime = System.nanoTime();
+        try {
+          task.run();
+        } catch (Throwable e) {
+          LOGGER.error(e, "Scan task of query " + queue.queryId + " failed");
+        } finally {
+          queue.finishTask(System.nanoTime() - startTime);
+        }
+      }
+    }
+  }
+
+  /**
+   * Task queue of a query
+   */
+  private class QueryQueue extends AbstractExecutorService {
+
+    private String queryId;
+
+    private RequestClass requestClass;
+
+    private int weight;
+
+    private ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+    private int running;
+
+    /**
+     * scan time used by the query divided by its weight
+     */
+    private double weightedScanTime;
+
+    private boolean queryShutdown;
+
+    private Condition terminated = lock.newCondition();
+
+    QueryQueue(String queryId, RequestClass requestClass, int weight) {
+      this.queryId = queryId;
+      this.requestClass = requestClass;
+      this.weight = weight;
+    }
+
+    @Override public void execute(Runnable command) {
+      lock.lock();
+      try {
+        if (queryShutdown || shutdown) {
+          throw new RejectedExecutionException(
+              "Scan scheduler is shutdown for " + requestClass + " query " + queryId);
+        }
+        tasks.addLast(command);
+        if (tasks.size() == 1) {
+          weightedScanTime = Math.max(weightedScanTime, virtualTime);
+          activeQueues.add(this);
+        }
+        taskAvailable.signal();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void finishTask(long scanTimeInNanos) {
+      lock.lock();
+      try {
+        running--;
+        weightedScanTime += (double) scanTimeInNanos / weight;
+        taskAvailable.signalAll();
+        if (isTerminated()) {
+          terminated.signalAll();
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override public void shutdown() {
+      lock.lock();
+      try {
+        queryShutdown = true;
+        if (isTerminated()) {
+          terminated.signalAll();
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override public List<Runnable> shutdownNow() {
+      lock.lock();
+      try {
+        queryShutdown = true;
+        List<Runnable> pendingTasks = new ArrayList<>(tasks);
+        tasks.clear();
+        activeQueues.remove(this);
+        if (isTerminated()) {
+          terminated.signalAll();
+        }
+        return pendingTasks;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override public boolean isShutdown() {
+      return queryShutdown;
+    }
+
+    @Override public boolean isTerminated() {
+      lock.lock();
+      try {
+        return queryShutdown && tasks.isEmpty() && running == 0;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override public boolean awaitTermination(long timeout, TimeUnit unit)
+        throws InterruptedException {
+      long nanos = unit.toNanos(timeout);
+      lock.lock();
+      try {
+        while (!isTerminated()) {
+          if (nanos <= 0) {
+            return false;
+          }
+          nanos = terminated.awaitNanos(nanos);
+        }
+        return true;
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+}
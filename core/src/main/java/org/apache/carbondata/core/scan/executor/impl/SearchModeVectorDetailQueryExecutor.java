@@ -18,69 +18,34 @@ package org.apache.carbondata.core.scan.executor.impl;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import org.apache.carbondata.common.CarbonIterator;
-import org.apache.carbondata.common.logging.LogService;
-import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.scan.executor.exception.QueryExecutionException;
 import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
 import org.apache.carbondata.core.scan.model.QueryModel;
 import org.apache.carbondata.core.scan.result.iterator.SearchModeVectorResultIterator;
-import org.apache.carbondata.core.util.CarbonProperties;
-
-import static org.apache.carbondata.core.constants.CarbonCommonConstants.CARBON_SEARCH_MODE_SCAN_THREAD;
 
 /**
  * Below class will be used to execute the detail query and returns columnar vectors.
  */
 public class SearchModeVectorDetailQueryExecutor extends AbstractQueryExecutor<Object> {
-  private static final LogService LOGGER =
-          LogServiceFactory.getLogService(SearchModeVectorDetailQueryExecutor.class.getName());
-  private static ExecutorService executorService = null;
-
-  static {
-    initThreadPool();
-  }
-
-  private static synchronized void initThreadPool() {
-    int defaultValue = Runtime.getRuntime().availableProcessors();
-    int nThread;
-    try {
-      nThread = Integer.parseInt(CarbonProperties.getInstance()
-              .getProperty(CARBON_SEARCH_MODE_SCAN_THREAD, String.valueOf(defaultValue)));
-    } catch (NumberFormatException e) {
-      nThread = defaultValue;
-      LOGGER.warn("The " + CARBON_SEARCH_MODE_SCAN_THREAD + " is invalid. "
-          + "Using the default value " + nThread);
-    }
-    if (nThread > 0) {
-      executorService = Executors.newFixedThreadPool(nThread);
-    } else {
-      executorService = Executors.newCachedThreadPool();
-    }
-  }
 
+  /**
+   * The scan scheduler is shared by all the search mode executors, shutting it down stops the
+   * scan of all the queries
+   */
   public static synchronized void shutdownThreadPool() {
-    // shutdown all threads immediately
-    if (executorService != null) {
-      executorService.shutdownNow();
-      executorService = null;
-    }
+    SearchModeScanScheduler.shutdownInstance();
   }
 
   @Override
   public CarbonIterator<Object> execute(QueryModel queryModel)
       throws QueryExecutionException, IOException {
     List<BlockExecutionInfo> blockExecutionInfoList = getBlockExecutionInfos(queryModel);
-    if (executorService == null) {
-      initThreadPool();
-    }
     this.queryIterator = new SearchModeVectorResultIterator(
         blockExecutionInfoList,
         queryModel,
-        executorService
+        SearchModeScanScheduler.getInstance().newQueryExecutor(queryModel.getQueryId())
     );
     return this.queryIterator;
   }
@@ -39,6 +39,10 @@ public class NotEqualsExpression extends BinaryConditionalExpression {
     super(left, right);
   }
 
+  public boolean isNotNull() {
+    return isNotNull;
+  }
+
   @Override
   public ExpressionResult evaluate(RowIntf value)
       throws FilterUnsupportedException, FilterIllegalMemberException {
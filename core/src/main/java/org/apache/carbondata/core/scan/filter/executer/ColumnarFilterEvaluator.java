@@ -0,0 +1,745 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.filter.executer;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.ExpressionResult;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.conditional.EqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanEqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanExpression;
+import org.apache.carbondata.core.scan.expression.conditional.InExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanEqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanExpression;
+import org.apache.carbondata.core.scan.expression.conditional.ListExpression;
+import org.apache.carbondata.core.scan.expression.conditional.NotEqualsExpression;
+import org.apache.carbondata.core.scan.expression.conditional.NotInExpression;
+import org.apache.carbondata.core.scan.expression.logical.AndExpression;
+import org.apache.carbondata.core.scan.expression.logical.FalseExpression;
+import org.apache.carbondata.core.scan.expression.logical.OrExpression;
+import org.apache.carbondata.core.scan.expression.logical.TrueExpression;
+import org.apache.carbondata.core.scan.filter.resolver.resolverinfo.MeasureColumnResolvedFilterInfo;
+import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
+
+/**
+ * Evaluates a row level filter expression on whole decoded measure pages and produces the
+ * selected rows as a BitSet, instead of building a row and evaluating the expression for each
+ * row in {@link RowLevelFilterExecuterImpl}.
+ *
+ * Only comparisons, IN and NOT IN of measure columns with literals or other measure columns,
+ * combined with AND/OR, are supported. The result is the same as the row based evaluation of
+ * the expression. {@link #create} returns null for any other expression, in that case the
+ * caller should fall back to row based evaluation.
+ */
+public class ColumnarFilterEvaluator {
+
+  private static final int EQUALS = 0;
+  private static final int NOT_EQUALS = 1;
+  private static final int GREATER_THAN = 2;
+  private static final int GREATER_THAN_EQUALS = 3;
+  private static final int LESS_THAN = 4;
+  private static final int LESS_THAN_EQUALS = 5;
+
+  private PageFilter filter;
+
+  /**
+   * measure chunk index of each filter measure, it is indexed by the position of the measure in
+   * the filter measure list
+   */
+  private int[] measureChunkIndex;
+
+  /**
+   * whether the filter measure is used by the expression
+   */
+  private boolean[] isMeasureUsed;
+
+  private ColumnarFilterEvaluator(PageFilter filter, int[] measureChunkIndex,
+      boolean[] isMeasureUsed) {
+    this.filter = filter;
+    this.measureChunkIndex = measureChunkIndex;
+    this.isMeasureUsed = isMeasureUsed;
+  }
+
+  /**
+   * Create the evaluator for the expression
+   *
+   * @param exp filter expression
+   * @param msrColEvaluatorInfoList filter measures of the expression
+   * @param isMeasurePresentInCurrentBlock whether the filter measure is present in current block
+   * @param measureChunkIndex chunk index of each filter measure in the current block
+   * @return evaluator, or null if the expression can not be evaluated on pages
+   */
+  public static ColumnarFilterEvaluator create(Expression exp,
+      List<MeasureColumnResolvedFilterInfo> msrColEvaluatorInfoList,
+      boolean[] isMeasurePresentInCurrentBlock, int[] measureChunkIndex) {
+    boolean[] isMeasureUsed = new boolean[msrColEvaluatorInfoList.size()];
+    PageFilter filter = compile(exp, msrColEvaluatorInfoList, isMeasurePresentInCurrentBlock,
+        isMeasureUsed);
+    if (null == filter) {
+      return null;
+    }
+    return new ColumnarFilterEvaluator(filter, measureChunkIndex, isMeasureUsed);
+  }
+
+  /**
+   * Evaluate the filter on one page
+   *
+   * @param rawBlockletColumnChunks blocklet chunks, the filter measures should be read already
+   * @param pageIndex page to evaluate
+   * @param numberOfRows number of rows in the page
+   * @return selected rows
+   */
+  public BitSet evaluate(RawBlockletColumnChunks rawBlockletColumnChunks, int pageIndex,
+      int numberOfRows) {
+    ColumnPage[] pages = new ColumnPage[measureChunkIndex.length];
+    for (int i = 0; i < isMeasureUsed.length; i++) {
+      if (isMeasureUsed[i]) {
+        pages[i] = rawBlockletColumnChunks.getMeasureRawColumnChunks()[measureChunkIndex[i]]
+            .decodeColumnPage(pageIndex);
+      }
+    }
+    return filter.evaluate(pages, numberOfRows);
+  }
+
+  /**
+   * Evaluate the filter on the given pages, pages are indexed by the position of the measure in
+   * the filter measure list
+   */
+  BitSet evaluate(ColumnPage[] pages, int numberOfRows) {
+    return filter.evaluate(pages, numberOfRows);
+  }
+
+  private static PageFilter compile(Expression exp,
+      List<MeasureColumnResolvedFilterInfo> msrInfos, boolean[] isMeasurePresent,
+      boolean[] isMeasureUsed) {
+    if (exp instanceof AndExpression || exp instanceof OrExpression) {
+      PageFilter left = compile(exp.getChildren().get(0), msrInfos, isMeasurePresent,
+          isMeasureUsed);
+      PageFilter right = compile(exp.getChildren().get(1), msrInfos, isMeasurePresent,
+          isMeasureUsed);
+      if (null == left || null == right) {
+        return null;
+      }
+      return new LogicalFilter(left, right, exp instanceof AndExpression);
+    } else if (exp instanceof TrueExpression) {
+      return new ConstantFilter(true);
+    } else if (exp instanceof FalseExpression) {
+      return new ConstantFilter(false);
+    } else if (exp instanceof InExpression || exp instanceof NotInExpression) {
+      return compileIn(exp, msrInfos, isMeasurePresent, isMeasureUsed);
+    }
+    int operator;
+    if (exp instanceof EqualToExpression) {
+      operator = EQUALS;
+    } else if (exp instanceof NotEqualsExpression) {
+      operator = NOT_EQUALS;
+    } else if (exp instanceof GreaterThanExpression) {
+      operator = GREATER_THAN;
+    } else if (exp instanceof GreaterThanEqualToExpression) {
+      operator = GREATER_THAN_EQUALS;
+    } else if (exp instanceof LessThanExpression) {
+      operator = LESS_THAN;
+    } else if (exp instanceof LessThanEqualToExpression) {
+      operator = LESS_THAN_EQUALS;
+    } else {
+      return null;
+    }
+    Expression left = exp.getChildren().get(0);
+    Expression right = exp.getChildren().get(1);
+    if (left instanceof LiteralExpression && right instanceof ColumnExpression) {
+      Expression temp = left;
+      left = right;
+      right = temp;
+      operator = swapOperands(operator);
+    }
+    if (!(left instanceof ColumnExpression)) {
+      return null;
+    }
+    int leftSlot = getMeasureSlot((ColumnExpression) left, msrInfos, isMeasurePresent);
+    if (leftSlot < 0) {
+      return null;
+    }
+    DataType leftType = ((ColumnExpression) left).getDataType();
+    PageFilter filter;
+    if (right instanceof ColumnExpression) {
+      int rightSlot = getMeasureSlot((ColumnExpression) right, msrInfos, isMeasurePresent);
+      if (rightSlot < 0) {
+        return null;
+      }
+      DataType rightType = ((ColumnExpression) right).getDataType();
+      DataType compareType = getCompareType(leftType, rightType);
+      if (null == compareType) {
+        return null;
+      }
+      isMeasureUsed[rightSlot] = true;
+      filter =
+          new ColumnCompareFilter(leftSlot, leftType, rightSlot, rightType, compareType, operator);
+    } else if (right instanceof LiteralExpression) {
+      ExpressionResult literal = ((LiteralExpression) right).getExpressionResult();
+      if (literal.isNull()) {
+        filter = compileNullLiteral(exp, leftSlot);
+      } else {
+        DataType compareType = getCompareType(leftType, literal.getDataType());
+        if (null == compareType) {
+          return null;
+        }
+        filter = compileLiteralCompare(leftSlot, leftType, compareType, operator, literal);
+      }
+    } else {
+      return null;
+    }
+    if (null != filter) {
+      isMeasureUsed[leftSlot] = true;
+    }
+    return filter;
+  }
+
+  private static PageFilter compileNullLiteral(Expression exp, int slot) {
+    // comparison with null is false except for IS NULL and IS NOT NULL
+    if (exp instanceof EqualToExpression && ((EqualToExpression) exp).isNull) {
+      return new NullFilter(slot, true);
+    } else if (exp instanceof NotEqualsExpression && ((NotEqualsExpression) exp).isNotNull()) {
+      return new NullFilter(slot, false);
+    }
+    return new ConstantFilter(false);
+  }
+
+  private static PageFilter compileLiteralCompare(int slot, DataType columnType,
+      DataType compareType, int operator, ExpressionResult literal) {
+    try {
+      if (compareType == DataTypes.DOUBLE) {
+        return new DoubleCompareFilter(slot, columnType, operator, literal.getDouble());
+      } else if (DataTypes.isDecimal(compareType)) {
+        return new DecimalCompareFilter(slot, operator, literal.getDecimal());
+      } else if (compareType == DataTypes.SHORT) {
+        return new LongCompareFilter(slot, columnType, operator, literal.getShort());
+      } else if (compareType == DataTypes.INT) {
+        return new LongCompareFilter(slot, columnType, operator, literal.getInt());
+      } else {
+        return new LongCompareFilter(slot, columnType, operator, literal.getLong());
+      }
+    } catch (Exception e) {
+      // literal can not be converted, let row based evaluation handle it
+      return null;
+    }
+  }
+
+  private static PageFilter compileIn(Expression exp,
+      List<MeasureColumnResolvedFilterInfo> msrInfos, boolean[] isMeasurePresent,
+      boolean[] isMeasureUsed) {
+    boolean isNotIn = exp instanceof NotInExpression;
+    Expression left = exp.getChildren().get(0);
+    Expression right = exp.getChildren().get(1);
+    if (!(left instanceof ColumnExpression) || !(right instanceof ListExpression)) {
+      return null;
+    }
+    int slot = getMeasureSlot((ColumnExpression) left, msrInfos, isMeasurePresent);
+    if (slot < 0) {
+      return null;
+    }
+    DataType columnType = ((ColumnExpression) left).getDataType();
+    if (DataTypes.isDecimal(columnType)) {
+      return null;
+    }
+    List<Expression> values = right.getChildren();
+    long[] longValues = new long[values.size()];
+    double[] doubleValues = new double[values.size()];
+    int count = 0;
+    try {
+      for (Expression value : values) {
+        if (!(value instanceof LiteralExpression)) {
+          return null;
+        }
+        ExpressionResult literal = ((LiteralExpression) value).getExpressionResult();
+        if (literal.isNull()) {
+          if (isNotIn) {
+            // NOT IN with null in the list is false for every row
+            isMeasureUsed[slot] = true;
+            return new ConstantFilter(false);
+          }
+          // IN never matches null
+          continue;
+        }
+        if (literal.getDataType() != columnType) {
+          return null;
+        }
+        if (columnType == DataTypes.DOUBLE) {
+          doubleValues[count++] = literal.getDouble();
+        } else if (columnType == DataTypes.SHORT) {
+          longValues[count++] = literal.getShort();
+        } else if (columnType == DataTypes.INT) {
+          longValues[count++] = literal.getInt();
+        } else {
+          longValues[count++] = literal.getLong();
+        }
+      }
+    } catch (Exception e) {
+      return null;
+    }
+    isMeasureUsed[slot] = true;
+    if (columnType == DataTypes.DOUBLE) {
+      doubleValues = Arrays.copyOf(doubleValues, count);
+      Arrays.sort(doubleValues);
+      return new DoubleInFilter(slot, doubleValues, isNotIn);
+    }
+    longValues = Arrays.copyOf(longValues, count);
+    Arrays.sort(longValues);
+    return new LongInFilter(slot, columnType, longValues, isNotIn);
+  }
+
+  /**
+   * Find the position of the column in the filter measure list
+   *
+   * @return position, or -1 if column is not a supported measure present in current block
+   */
+  private static int getMeasureSlot(ColumnExpression column,
+      List<MeasureColumnResolvedFilterInfo> msrInfos, boolean[] isMeasurePresent) {
+    if (!column.isMeasure()) {
+      return -1;
+    }
+    for (int i = 0; i < msrInfos.size(); i++) {
+      MeasureColumnResolvedFilterInfo msrInfo = msrInfos.get(i);
+      if (msrInfo.getRowIndex() == column.getColIndex()) {
+        DataType dataType = msrInfo.getType();
+        DataType columnType = column.getDataType();
+        boolean isSupportedType = dataType == DataTypes.SHORT || dataType == DataTypes.INT
+            || dataType == DataTypes.LONG || dataType == DataTypes.DOUBLE
+            || DataTypes.isDecimal(dataType);
+        boolean isSameType = dataType == columnType
+            || (DataTypes.isDecimal(dataType) && DataTypes.isDecimal(columnType));
+        if (isSupportedType && isSameType && isMeasurePresent[i]) {
+          return i;
+        }
+        return -1;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Get the data type used to compare values of the two types, it is same as the type chosen by
+   * the row based evaluation of conditional expressions.
+   *
+   * @return data type, or null if the comparison is not supported on pages
+   */
+  private static DataType getCompareType(DataType type1, DataType type2) {
+    if (type1 == type2) {
+      return type1;
+    }
+    if (DataTypes.isDecimal(type1) && DataTypes.isDecimal(type2)) {
+      return type1;
+    }
+    boolean isNumeric1 = type1 == DataTypes.SHORT || type1 == DataTypes.INT
+        || type1 == DataTypes.LONG || type1 == DataTypes.DOUBLE;
+    boolean isNumeric2 = type2 == DataTypes.SHORT || type2 == DataTypes.INT
+        || type2 == DataTypes.LONG || type2 == DataTypes.DOUBLE;
+    // for different numeric types only comparison as double is same as row based evaluation
+    if (isNumeric1 && isNumeric2
+        && (type1 == DataTypes.DOUBLE || type2 == DataTypes.DOUBLE)) {
+      return DataTypes.DOUBLE;
+    }
+    return null;
+  }
+
+  private static int swapOperands(int operator) {
+    switch (operator) {
+      case GREATER_THAN:
+        return LESS_THAN;
+      case GREATER_THAN_EQUALS:
+        return LESS_THAN_EQUALS;
+      case LESS_THAN:
+        return GREATER_THAN;
+      case LESS_THAN_EQUALS:
+        return GREATER_THAN_EQUALS;
+      default:
+        return operator;
+    }
+  }
+
+  private static boolean compare(int operator, long value1, long value2) {
+    switch (operator) {
+      case EQUALS:
+        return value1 == value2;
+      case NOT_EQUALS:
+        return value1 != value2;
+      case GREATER_THAN:
+        return value1 > value2;
+      case GREATER_THAN_EQUALS:
+        return value1 >= value2;
+      case LESS_THAN:
+        return value1 < value2;
+      default:
+        return value1 <= value2;
+    }
+  }
+
+  private static boolean compare(int operator, double value1, double value2) {
+    switch (operator) {
+      case EQUALS:
+        return value1 == value2 || (Double.isNaN(value1) && Double.isNaN(value2));
+      case NOT_EQUALS:
+        return value1 != value2;
+      case GREATER_THAN:
+        return value1 > value2;
+      case GREATER_THAN_EQUALS:
+        return value1 >= value2;
+      case LESS_THAN:
+        return value1 < value2;
+      default:
+        return value1 <= value2;
+    }
+  }
+
+  private static boolean compare(int operator, int compareResult) {
+    switch (operator) {
+      case EQUALS:
+        return compareResult == 0;
+      case NOT_EQUALS:
+        return compareResult != 0;
+      case GREATER_THAN:
+        return compareResult > 0;
+      case GREATER_THAN_EQUALS:
+        return compareResult >= 0;
+      case LESS_THAN:
+        return compareResult < 0;
+      default:
+        return compareResult <= 0;
+    }
+  }
+
+  /**
+   * read the integral value same as the row based evaluation
+   */
+  private static long getLong(ColumnPage page, DataType dataType, int rowId) {
+    if (dataType == DataTypes.SHORT) {
+      return (short) page.getLong(rowId);
+    } else if (dataType == DataTypes.INT) {
+      return (int) page.getLong(rowId);
+    }
+    return page.getLong(rowId);
+  }
+
+  private static double getDouble(ColumnPage page, DataType dataType, int rowId) {
+    if (dataType == DataTypes.DOUBLE) {
+      return page.getDouble(rowId);
+    }
+    return getLong(page, dataType, rowId);
+  }
+
+  /**
+   * filter applied on a page
+   */
+  private interface PageFilter {
+    BitSet evaluate(ColumnPage[] pages, int numberOfRows);
+  }
+
+  private static class ConstantFilter implements PageFilter {
+
+    private boolean value;
+
+    ConstantFilter(boolean value) {
+      this.value = value;
+    }
+
+    @Override
+    public BitSet evaluate(ColumnPage[] pages, int numberOfRows) {
+      BitSet bitSet = new BitSet(numberOfRows);
+      if (value) {
+        bitSet.set(0, numberOfRows);
+      }
+      return bitSet;
+    }
+  }
+
+  private static class LogicalFilter implements PageFilter {
+
+    private PageFilter left;
+
+    private PageFilter right;
+
+    private boolean isAnd;
+
+    LogicalFilter(PageFilter left, PageFilter right, boolean isAnd) {
+      this.left = left;
+      this.right = right;
+      this.isAnd = isAnd;
+    }
+
+    @Override
+    public BitSet evaluate(ColumnPage[] pages, int numberOfRows) {
+      BitSet leftResult = left.evaluate(pages, numberOfRows);
+      if (isAnd) {
+        if (leftResult.isEmpty()) {
+          return leftResult;
+        }
+        leftResult.and(right.evaluate(pages, numberOfRows));
+      } else {
+        if (leftResult.cardinality() == numberOfRows) {
+          return leftResult;
+        }
+        leftResult.or(right.evaluate(pages, numberOfRows));
+      }
+      return leftResult;
+    }
+  }
+
+  private static class NullFilter implements PageFilter {
+
+    private int slot;
+
+    private boolean selectNull;
+
+    NullFilter(int slot, boolean selectNull) {
+      this.slot = slot;
+      this.selectNull = selectNull;
+    }
+
+    @Override
+    public BitSet evaluate(ColumnPage[] pages, int numberOfRows) {
+      BitSet bitSet = (BitSet) pages[slot].getNullBits().clone();
+      if (!selectNull) {
+        bitSet.flip(0, numberOfRows);
+      }
+      bitSet.clear(numberOfRows, Math.max(numberOfRows, bitSet.length()));
+      return bitSet;
+    }
+  }
+
+  private static class LongCompareFilter implements PageFilter {
+
+    private int slot;
+
+    private DataType dataType;
+
+    private int operator;
+
+    private long value;
+
+    LongCompareFilter(int slot, DataType dataType, int operator, long value) {
+      this.slot = slot;
+      this.dataType = dataType;
+      this.operator = operator;
+      this.value = value;
+    }
+
+    @Override
+    public BitSet evaluate(ColumnPage[] pages, int numberOfRows) {
+      ColumnPage page = pages[slot];
+      BitSet nullBits = page.getNullBits();
+      BitSet bitSet = new BitSet(numberOfRows);
+      for (int i = 0; i < numberOfRows; i++) {
+        if (compare(operator, getLong(page, dataType, i), value)) {
+          bitSet.set(i);
+        }
+      }
+      bitSet.andNot(nullBits);
+      return bitSet;
+    }
+  }
+
+  private static class DoubleCompareFilter implements PageFilter {
+
+    private int slot;
+
+    private DataType dataType;
+
+    private int operator;
+
+    private double value;
+
+    DoubleCompareFilter(int slot, DataType dataType, int operator, double value) {
+      this.slot = slot;
+      this.dataType = dataType;
+      this.operator = operator;
+      this.value = value;
+    }
+
+    @Override
+    public BitSet evaluate(ColumnPage[] pages, int numberOfRows) {
+      ColumnPage page = pages[slot];
+      BitSet nullBits = page.getNullBits();
+      BitSet bitSet = new BitSet(numberOfRows);
+      for (int i = 0; i < numberOfRows; i++) {
+        if (compare(operator, getDouble(page, dataType, i), value)) {
+          bitSet.set(i);
+        }
+      }
+      bitSet.andNot(nullBits);
+      return bitSet;
+    }
+  }
+
+  private static class DecimalCompareFilter implements PageFilter {
+
+    private int slot;
+
+    private int operator;
+
+    private BigDecimal value;
+
+    DecimalCompareFilter(int slot, int operator, BigDecimal value) {
+      this.slot = slot;
+      this.operator = operator;
+      this.value = value;
+    }
+
+    @Override
+    public BitSet evaluate(ColumnPage[] pages, int numberOfRows) {
+      ColumnPage page = pages[slot];
+      BitSet nullBits = page.getNullBits();
+      BitSet bitSet = new BitSet(numberOfRows);
+      for (int i = 0; i < numberOfRows; i++) {
+        if (nullBits.get(i)) {
+          continue;
+        }
+        BigDecimal decimal = page.getDecimal(i);
+        if (null != decimal && compare(operator, decimal.compareTo(value))) {
+          bitSet.set(i);
+        }
+      }
+      return bitSet;
+    }
+  }
+
+  private static class ColumnCompareFilter implements PageFilter {
+
+    private int leftSlot;
+
+    private DataType leftType;
+
+    private int rightSlot;
+
+    private DataType rightType;
+
+    private DataType compareType;
+
+    private int operator;
+
+    ColumnCompareFilter(int leftSlot, DataType leftType, int rightSlot, DataType rightType,
+        DataType compareType, int operator) {
+      this.leftSlot = leftSlot;
+      this.leftType = leftType;
+      this.rightSlot = rightSlot;
+      this.rightType = rightType;
+      this.compareType = compareType;
+      this.operator = operator;
+    }
+
+    @Override
+    public BitSet evaluate(ColumnPage[] pages, int numberOfRows) {
+      ColumnPage left = pages[leftSlot];
+      ColumnPage right = pages[rightSlot];
+      BitSet bitSet = new BitSet(numberOfRows);
+      if (compareType == DataTypes.DOUBLE) {
+        for (int i = 0; i < numberOfRows; i++) {
+          if (compare(operator, getDouble(left, leftType, i), getDouble(right, rightType, i))) {
+            bitSet.set(i);
+          }
+        }
+      } else if (DataTypes.isDecimal(compareType)) {
+        for (int i = 0; i < numberOfRows; i++) {
+          BigDecimal leftValue = left.getNullBits().get(i) ? null : left.getDecimal(i);
+          BigDecimal rightValue = right.getNullBits().get(i) ? null : right.getDecimal(i);
+          if (null != leftValue && null != rightValue
+              && compare(operator, leftValue.compareTo(rightValue))) {
+            bitSet.set(i);
+          }
+        }
+      } else {
+        for (int i = 0; i < numberOfRows; i++) {
+          if (compare(operator, getLong(left, leftType, i), getLong(right, rightType, i))) {
+            bitSet.set(i);
+          }
+        }
+      }
+      bitSet.andNot(left.getNullBits());
+      bitSet.andNot(right.getNullBits());
+      return bitSet;
+    }
+  }
+
+  private static class LongInFilter implements PageFilter {
+
+    private int slot;
+
+    private DataType dataType;
+
+    private long[] sortedValues;
+
+    private boolean isNotIn;
+
+    LongInFilter(int slot, DataType dataType, long[] sortedValues, boolean isNotIn) {
+      this.slot = slot;
+      this.dataType = dataType;
+      this.sortedValues = sortedValues;
+      this.isNotIn = isNotIn;
+    }
+
+    @Override
+    public BitSet evaluate(ColumnPage[] pages, int numberOfRows) {
+      ColumnPage page = pages[slot];
+      BitSet bitSet = new BitSet(numberOfRows);
+      for (int i = 0; i < numberOfRows; i++) {
+        boolean found = Arrays.binarySearch(sortedValues, getLong(page, dataType, i)) >= 0;
+        if (found != isNotIn) {
+          bitSet.set(i);
+        }
+      }
+      bitSet.andNot(page.getNullBits());
+      return bitSet;
+    }
+  }
+
+  private static class DoubleInFilter implements PageFilter {
+
+    private int slot;
+
+    private double[] sortedValues;
+
+    private boolean isNotIn;
+
+    DoubleInFilter(int slot, double[] sortedValues, boolean isNotIn) {
+      this.slot = slot;
+      this.sortedValues = sortedValues;
+      this.isNotIn = isNotIn;
+    }
+
+    @Override
+    public BitSet evaluate(ColumnPage[] pages, int numberOfRows) {
+      ColumnPage page = pages[slot];
+      BitSet bitSet = new BitSet(numberOfRows);
+      for (int i = 0; i < numberOfRows; i++) {
+        boolean found = Arrays.binarySearch(sortedValues, page.getDouble(i)) >= 0;
+        if (found != isNotIn) {
+          bitSet.set(i);
+        }
+      }
+      bitSet.andNot(page.getNullBits());
+      return bitSet;
+    }
+  }
+}
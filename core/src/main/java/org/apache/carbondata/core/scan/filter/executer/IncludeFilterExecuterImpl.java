@@ -133,10 +133,18 @@ public class IncludeFilterExecuterImpl implements FilterExecuter {
           if (isScanRequired(measureRawColumnChunk.getMaxValues()[i],
               measureRawColumnChunk.getMinValues()[i], msrColumnExecutorInfo.getFilterKeys(),
               msrColumnEvaluatorInfo.getType())) {
-            BitSet bitSet =
-                getFilteredIndexesForMeasure(measureRawColumnChunk.decodeColumnPage(i),
-                    measureRawColumnChunk.getRowCount()[i], useBitsetPipeLine,
-                    rawBlockletColumnChunks.getBitSetGroup(), i, msrType);
+            ColumnPage columnPage = measureRawColumnChunk.decodeColumnPage(i);
+            BitSet bitSet;
+            if (columnPage.getNullBits().isEmpty() && isAllRowsSelected(
+                measureRawColumnChunk.getMaxValues()[i], measureRawColumnChunk.getMinValues()[i],
+                msrColumnExecutorInfo.getFilterKeys(), msrColumnEvaluatorInfo.getType())) {
+              bitSet = new BitSet(measureRawColumnChunk.getRowCount()[i]);
+              bitSet.flip(0, measureRawColumnChunk.getRowCount()[i]);
+            } else {
+              bitSet = getFilteredIndexesForMeasure(columnPage,
+                  measureRawColumnChunk.getRowCount()[i], useBitsetPipeLine,
+                  rawBlockletColumnChunks.getBitSetGroup(), i, msrType);
+            }
             bitSetGroup.setBitSet(bitSet, i);
           }
         } else {
@@ -201,9 +209,13 @@ public class IncludeFilterExecuterImpl implements FilterExecuter {
     // Here the algorithm is
     // Get the measure values from the chunk. compare sequentially with the
     // the filter values. The one that matches sets it Bitset.
-    BitSet bitSet = new BitSet(rowsInPage);
     Object[] filterValues = msrColumnExecutorInfo.getFilterKeys();
-
+    BitSet bitSet = MeasureFilterKernels.applyInFilter(columnPage, rowsInPage, null,
+        msrColumnEvaluatorInfo.getMeasure(), msrType, filterValues);
+    if (bitSet != null) {
+      return bitSet;
+    }
+    bitSet = new BitSet(rowsInPage);
     SerializableComparator comparator = Comparator.getComparatorByDataTypeForMeasure(msrType);
     BitSet nullBitSet = columnPage.getNullBits();
     for (int i = 0; i < filterValues.length; i++) {
@@ -263,10 +275,15 @@ public class IncludeFilterExecuterImpl implements FilterExecuter {
    */
   private BitSet getFilteredIndexesForMsrUsingPrvBitSet(ColumnPage measureColumnPage,
       BitSetGroup prvBitSetGroup, int pageNumber, int numberOfRows, DataType msrDataType) {
-    BitSet bitSet = new BitSet(numberOfRows);
     Object[] filterValues = msrColumnExecutorInfo.getFilterKeys();
-    BitSet nullBitSet = measureColumnPage.getNullBits();
     BitSet prvPageBitSet = prvBitSetGroup.getBitSet(pageNumber);
+    BitSet bitSet = MeasureFilterKernels.applyInFilter(measureColumnPage, numberOfRows,
+        prvPageBitSet, msrColumnEvaluatorInfo.getMeasure(), msrDataType, filterValues);
+    if (bitSet != null) {
+      return bitSet;
+    }
+    bitSet = new BitSet(numberOfRows);
+    BitSet nullBitSet = measureColumnPage.getNullBits();
     SerializableComparator comparator = Comparator.getComparatorByDataTypeForMeasure(msrDataType);
     for (int i = 0; i < filterValues.length; i++) {
       if (filterValues[i] == null) {
@@ -496,6 +513,25 @@ public class IncludeFilterExecuterImpl implements FilterExecuter {
     return false;
   }
 
+  /**
+   * all the rows of the page are selected if the page has a single value, which is one of the
+   * filter values
+   */
+  private boolean isAllRowsSelected(byte[] maxValue, byte[] minValue, Object[] filterValue,
+      DataType dataType) {
+    Object maxObject = DataTypeUtil.getMeasureObjectFromDataType(maxValue, dataType);
+    Object minObject = DataTypeUtil.getMeasureObjectFromDataType(minValue, dataType);
+    if (maxObject == null || comparator.compare(maxObject, minObject) != 0) {
+      return false;
+    }
+    for (int i = 0; i < filterValue.length; i++) {
+      if (filterValue[i] != null && comparator.compare(filterValue[i], maxObject) == 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   @Override
   public void readColumnChunks(RawBlockletColumnChunks rawBlockletColumnChunks) throws IOException {
     if (isDimensionPresentInCurrentBlock) {
@@ -0,0 +1,387 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.filter.executer;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.LazyColumnPage;
+import org.apache.carbondata.core.datastore.page.LinearColumnPageValueConverter;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
+
+/**
+ * Primitive filter kernels for measure pages used by {@link IncludeFilterExecuterImpl} and the
+ * RowLevelRange*FilterExecuterImpl classes. The page values are read as long/double without
+ * boxing and compared with the filter values in a tight loop which writes the matching rows
+ * directly into the page BitSet.
+ *
+ * The pages of integral measures encoded by the adaptive integral codecs are evaluated on the
+ * encoded values, the filter values are mapped once into the encoded domain by the
+ * {@link LinearColumnPageValueConverter} of the page so that the rows are not decoded.
+ *
+ * The result is the same as comparing the objects returned by
+ * DataTypeUtil.getMeasureObjectBasedOnDataType with the measure comparator. The kernels return
+ * null when the data type or the filter values are not supported, in that case the caller
+ * should fall back to the object based comparison.
+ */
+final class MeasureFilterKernels {
+
+  static final int GREATER_THAN = 0;
+  static final int GREATER_THAN_EQUALS = 1;
+  static final int LESS_THAN = 2;
+  static final int LESS_THAN_EQUALS = 3;
+
+  private MeasureFilterKernels() {
+  }
+
+  /**
+   * Applies the range filter on the page, a row is selected if it satisfies the operator with
+   * any of the filter values. A null filter value selects the null rows.
+   *
+   * @param page decoded measure page
+   * @param numberOfRows number of rows in the page
+   * @param measure filter measure
+   * @param dataType data type used to read the page values
+   * @param operator one of the range operators of this class
+   * @param filterValues filter values
+   * @return selected rows, or null if the type or the filter values are not supported
+   */
+  static BitSet applyRangeFilter(ColumnPage page, int numberOfRows, CarbonMeasure measure,
+      DataType dataType, int operator, Object[] filterValues) {
+    if (!isSupportedFilterValues(dataType, filterValues)) {
+      return null;
+    }
+    BitSet bitSet = new BitSet(numberOfRows);
+    BitSet nullBits = page.getNullBits();
+    for (Object filterValue : filterValues) {
+      if (filterValue == null) {
+        bitSet.or(nullBits);
+      } else if (DataTypes.isDecimal(dataType)) {
+        BigDecimal value = (BigDecimal) filterValue;
+        for (int i = 0; i < numberOfRows; i++) {
+          if (!nullBits.get(i) && compare(operator, compareDecimal(page, i, measure, value))) {
+            bitSet.set(i);
+          }
+        }
+      } else if (dataType == DataTypes.DOUBLE) {
+        double value = ((Number) filterValue).doubleValue();
+        BitSet matched = new BitSet(numberOfRows);
+        for (int i = 0; i < numberOfRows; i++) {
+          if (compare(operator, Double.compare(page.getDouble(i), value))) {
+            matched.set(i);
+          }
+        }
+        matched.andNot(nullBits);
+        bitSet.or(matched);
+      } else {
+        long value = ((Number) filterValue).longValue();
+        BitSet matched = new BitSet(numberOfRows);
+        LazyColumnPage lazyPage = getLinearEncodedPage(page);
+        if (lazyPage != null) {
+          LinearColumnPageValueConverter converter =
+              (LinearColumnPageValueConverter) lazyPage.getConverter();
+          ColumnPage encodedPage = lazyPage.getEncodedPage();
+          DataType encodedType = encodedPage.getDataType();
+          long encodedValue = toEncodedValue(converter, value);
+          int encodedOperator = converter.getSign() > 0 ? operator : reverse(operator);
+          for (int i = 0; i < numberOfRows; i++) {
+            if (compare(encodedOperator, getEncodedLong(encodedPage, encodedType, i),
+                encodedValue)) {
+              matched.set(i);
+            }
+          }
+        } else {
+          for (int i = 0; i < numberOfRows; i++) {
+            if (compare(operator, getLong(page, dataType, i), value)) {
+              matched.set(i);
+            }
+          }
+        }
+        matched.andNot(nullBits);
+        bitSet.or(matched);
+      }
+    }
+    return bitSet;
+  }
+
+  /**
+   * Applies the IN filter on the page. The filter values are sorted once and every row is
+   * looked up with a binary search. A null filter value selects the null rows.
+   *
+   * @param page decoded measure page
+   * @param numberOfRows number of rows in the page
+   * @param rowsToScan rows to check, null to check all the rows of the page
+   * @param measure filter measure
+   * @param dataType data type used to read the page values
+   * @param filterValues filter values
+   * @return selected rows, or null if the type or the filter values are not supported
+   */
+  static BitSet applyInFilter(ColumnPage page, int numberOfRows, BitSet rowsToScan,
+      CarbonMeasure measure, DataType dataType, Object[] filterValues) {
+    if (!isSupportedFilterValues(dataType, filterValues)) {
+      return null;
+    }
+    BitSet bitSet = new BitSet(numberOfRows);
+    BitSet nullBits = page.getNullBits();
+    int count = 0;
+    for (Object filterValue : filterValues) {
+      if (filterValue == null) {
+        bitSet.or(nullBits);
+      } else {
+        count++;
+      }
+    }
+    if (count == 0) {
+      return bitSet;
+    }
+    BitSet matched = new BitSet(numberOfRows);
+    int start = rowsToScan == null ? 0 : rowsToScan.nextSetBit(0);
+    if (DataTypes.isDecimal(dataType)) {
+      BigDecimal[] sortedValues = new BigDecimal[count];
+      count = 0;
+      for (Object filterValue : filterValues) {
+        if (filterValue != null) {
+          sortedValues[count++] = (BigDecimal) filterValue;
+        }
+      }
+      Arrays.sort(sortedValues);
+      for (int i = start; i >= 0 && i < numberOfRows; i = nextRow(rowsToScan, i)) {
+        if (!nullBits.get(i)) {
+          BigDecimal decimal = getDecimal(page, i, measure);
+          if (decimal != null && Arrays.binarySearch(sortedValues, decimal) >= 0) {
+            matched.set(i);
+          }
+        }
+      }
+    } else if (dataType == DataTypes.DOUBLE) {
+      double[] sortedValues = new double[count];
+      count = 0;
+      for (Object filterValue : filterValues) {
+        if (filterValue != null) {
+          sortedValues[count++] = ((Number) filterValue).doubleValue();
+        }
+      }
+      Arrays.sort(sortedValues);
+      for (int i = start; i >= 0 && i < numberOfRows; i = nextRow(rowsToScan, i)) {
+        if (Arrays.binarySearch(sortedValues, page.getDouble(i)) >= 0) {
+          matched.set(i);
+        }
+      }
+    } else {
+      LazyColumnPage lazyPage = getLinearEncodedPage(page);
+      LinearColumnPageValueConverter converter = lazyPage == null ? null :
+          (LinearColumnPageValueConverter) lazyPage.getConverter();
+      long[] sortedValues = new long[count];
+      count = 0;
+      for (Object filterValue : filterValues) {
+        if (filterValue != null) {
+          long value = ((Number) filterValue).longValue();
+          sortedValues[count++] = converter == null ? value : toEncodedValue(converter, value);
+        }
+      }
+      Arrays.sort(sortedValues);
+      if (lazyPage != null) {
+        ColumnPage encodedPage = lazyPage.getEncodedPage();
+        DataType encodedType = encodedPage.getDataType();
+        for (int i = start; i >= 0 && i < numberOfRows; i = nextRow(rowsToScan, i)) {
+          if (Arrays.binarySearch(sortedValues, getEncodedLong(encodedPage, encodedType, i))
+              >= 0) {
+            matched.set(i);
+          }
+        }
+      } else {
+        for (int i = start; i >= 0 && i < numberOfRows; i = nextRow(rowsToScan, i)) {
+          if (Arrays.binarySearch(sortedValues, getLong(page, dataType, i)) >= 0) {
+            matched.set(i);
+          }
+        }
+      }
+    }
+    matched.andNot(nullBits);
+    bitSet.or(matched);
+    return bitSet;
+  }
+
+  /**
+   * check whether the page values of the data type can be compared with the filter values
+   * by the kernels
+   */
+  private static boolean isSupportedFilterValues(DataType dataType, Object[] filterValues) {
+    boolean isDecimal = DataTypes.isDecimal(dataType);
+    if (!isDecimal && dataType != DataTypes.SHORT && dataType != DataTypes.INT
+        && dataType != DataTypes.LONG && dataType != DataTypes.DOUBLE) {
+      return false;
+    }
+    for (Object filterValue : filterValues) {
+      if (filterValue == null) {
+        continue;
+      }
+      if (isDecimal) {
+        if (!(filterValue instanceof BigDecimal)) {
+          return false;
+        }
+      } else if (dataType == DataTypes.DOUBLE) {
+        if (!(filterValue instanceof Double)) {
+          return false;
+        }
+      } else if (!(filterValue instanceof Short || filterValue instanceof Integer
+          || filterValue instanceof Long)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the page if it decodes the values of an encoded page of at most 32 bits with a
+   * linear converter, otherwise null
+   */
+  private static LazyColumnPage getLinearEncodedPage(ColumnPage page) {
+    if (!(page instanceof LazyColumnPage)) {
+      return null;
+    }
+    LazyColumnPage lazyPage = (LazyColumnPage) page;
+    if (!(lazyPage.getConverter() instanceof LinearColumnPageValueConverter)) {
+      return null;
+    }
+    DataType encodedType = lazyPage.getEncodedPage().getDataType();
+    if (encodedType == DataTypes.BYTE || encodedType == DataTypes.SHORT
+        || encodedType == DataTypes.SHORT_INT || encodedType == DataTypes.INT) {
+      return lazyPage;
+    }
+    return null;
+  }
+
+  private static long getEncodedLong(ColumnPage encodedPage, DataType encodedType, int rowId) {
+    if (encodedType == DataTypes.BYTE) {
+      return encodedPage.getByte(rowId);
+    } else if (encodedType == DataTypes.SHORT) {
+      return encodedPage.getShort(rowId);
+    } else if (encodedType == DataTypes.SHORT_INT) {
+      return encodedPage.getShortInt(rowId);
+    }
+    return encodedPage.getInt(rowId);
+  }
+
+  /**
+   * Maps the filter value into the encoded domain. The encoded values have at most 32 bits, so
+   * a result which overflows is saturated to the long range without changing any comparison.
+   */
+  private static long toEncodedValue(LinearColumnPageValueConverter converter, long value) {
+    long base = converter.getBase();
+    return converter.getSign() > 0 ? subtractSaturated(value, base) :
+        subtractSaturated(base, value);
+  }
+
+  private static long subtractSaturated(long value1, long value2) {
+    long result = value1 - value2;
+    // overflow if the operands have different signs and the result has not the sign of value1
+    if (((value1 ^ value2) & (value1 ^ result)) < 0) {
+      return value1 < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+    }
+    return result;
+  }
+
+  /**
+   * Returns the operator for the swapped sides of the comparison
+   */
+  private static int reverse(int operator) {
+    switch (operator) {
+      case GREATER_THAN:
+        return LESS_THAN;
+      case GREATER_THAN_EQUALS:
+        return LESS_THAN_EQUALS;
+      case LESS_THAN:
+        return GREATER_THAN;
+      default:
+        return GREATER_THAN_EQUALS;
+    }
+  }
+
+  private static int nextRow(BitSet rowsToScan, int rowId) {
+    return rowsToScan == null ? rowId + 1 : rowsToScan.nextSetBit(rowId + 1);
+  }
+
+  /**
+   * read the integral value same as the row based evaluation
+   */
+  private static long getLong(ColumnPage page, DataType dataType, int rowId) {
+    if (dataType == DataTypes.SHORT) {
+      return (short) page.getLong(rowId);
+    } else if (dataType == DataTypes.INT) {
+      return (int) page.getLong(rowId);
+    }
+    return page.getLong(rowId);
+  }
+
+  /**
+   * read the decimal value same as DataTypeUtil.getMeasureObjectBasedOnDataType, it returns
+   * null if the value does not fit in the precision of the measure
+   */
+  private static BigDecimal getDecimal(ColumnPage page, int rowId, CarbonMeasure measure) {
+    BigDecimal decimal = page.getDecimal(rowId);
+    if (null == decimal) {
+      return null;
+    }
+    if (measure.getScale() > decimal.scale()) {
+      decimal = decimal.setScale(measure.getScale(), RoundingMode.HALF_UP);
+    }
+    return decimal.precision() > measure.getPrecision() ? null : decimal;
+  }
+
+  /**
+   * compare the page value with the filter value, a null page value is smaller than any
+   * filter value same as the measure comparator
+   */
+  private static int compareDecimal(ColumnPage page, int rowId, CarbonMeasure measure,
+      BigDecimal filterValue) {
+    BigDecimal decimal = getDecimal(page, rowId, measure);
+    return decimal == null ? -1 : decimal.compareTo(filterValue);
+  }
+
+  private static boolean compare(int operator, long value1, long value2) {
+    switch (operator) {
+      case GREATER_THAN:
+        return value1 > value2;
+      case GREATER_THAN_EQUALS:
+        return value1 >= value2;
+      case LESS_THAN:
+        return value1 < value2;
+      default:
+        return value1 <= value2;
+    }
+  }
+
+  private static boolean compare(int operator, int compareResult) {
+    switch (operator) {
+      case GREATER_THAN:
+        return compareResult > 0;
+      case GREATER_THAN_EQUALS:
+        return compareResult >= 0;
+      case LESS_THAN:
+        return compareResult < 0;
+      default:
+        return compareResult <= 0;
+    }
+  }
+}
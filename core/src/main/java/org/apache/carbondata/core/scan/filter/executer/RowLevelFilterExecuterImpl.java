@@ -113,6 +113,12 @@ public class RowLevelFilterExecuterImpl implements FilterExecuter {
    */
   private DirectDictionaryGenerator timestampDictionaryGenerator;
 
+  /**
+   * evaluator to apply the filter on whole measure pages, null if the expression can only be
+   * evaluated row by row
+   */
+  private ColumnarFilterEvaluator columnarFilterEvaluator;
+
   public RowLevelFilterExecuterImpl(List<DimColumnResolvedFilterInfo> dimColEvaluatorInfoList,
       List<MeasureColumnResolvedFilterInfo> msrColEvalutorInfoList, Expression exp,
       AbsoluteTableIdentifier tableIdentifier, SegmentProperties segmentProperties,
@@ -151,6 +157,10 @@ public class RowLevelFilterExecuterImpl implements FilterExecuter {
         DirectDictionaryKeyGeneratorFactory.getDirectDictionaryGenerator(DataTypes.TIMESTAMP);
     initDimensionChunkIndexes();
     initMeasureChunkIndexes();
+    if (!(exp instanceof MatchExpression)) {
+      this.columnarFilterEvaluator = ColumnarFilterEvaluator.create(exp,
+          this.msrColEvalutorInfoList, isMeasurePresentInCurrentBlock, measureChunkIndex);
+    }
   }
 
   /**
@@ -239,6 +249,11 @@ public class RowLevelFilterExecuterImpl implements FilterExecuter {
     }
     BitSetGroup bitSetGroup = new BitSetGroup(pageNumbers);
     for (int i = 0; i < pageNumbers; i++) {
+      if (null != columnarFilterEvaluator) {
+        bitSetGroup.setBitSet(
+            columnarFilterEvaluator.evaluate(rawBlockletColumnChunks, i, numberOfRows[i]), i);
+        continue;
+      }
       BitSet set = new BitSet(numberOfRows[i]);
       RowIntf row = new RowImpl();
       BitSet prvBitset = null;
@@ -483,7 +498,7 @@ public class RowLevelFilterExecuterImpl implements FilterExecuter {
 
       Object msrValue;
       ColumnPage columnPage =
-          blockChunkHolder.getMeasureRawColumnChunks()[measureChunkIndex[0]]
+          blockChunkHolder.getMeasureRawColumnChunks()[measureChunkIndex[i]]
               .decodeColumnPage(pageIndex);
       if (msrType == DataTypes.BOOLEAN) {
         msrValue = columnPage.getBoolean(index);
@@ -648,11 +663,14 @@ public class RowLevelFilterExecuterImpl implements FilterExecuter {
     }
 
     if (null != msrColEvalutorInfoList) {
-      for (MeasureColumnResolvedFilterInfo msrColumnEvalutorInfo : msrColEvalutorInfoList) {
-        if (null == rawBlockletColumnChunks.getMeasureRawColumnChunks()[measureChunkIndex[0]]) {
-          rawBlockletColumnChunks.getMeasureRawColumnChunks()[measureChunkIndex[0]] =
+      for (int i = 0; i < msrColEvalutorInfoList.size(); i++) {
+        if (!isMeasurePresentInCurrentBlock[i]) {
+          continue;
+        }
+        if (null == rawBlockletColumnChunks.getMeasureRawColumnChunks()[measureChunkIndex[i]]) {
+          rawBlockletColumnChunks.getMeasureRawColumnChunks()[measureChunkIndex[i]] =
               rawBlockletColumnChunks.getDataBlock()
-                  .readMeasureChunk(rawBlockletColumnChunks.getFileReader(), measureChunkIndex[0]);
+                  .readMeasureChunk(rawBlockletColumnChunks.getFileReader(), measureChunkIndex[i]);
         }
       }
     }
@@ -274,9 +274,15 @@ public class RowLevelRangeGrtThanFiterExecuterImpl extends RowLevelFilterExecute
 
   private BitSet getFilteredIndexesForMeasures(ColumnPage columnPage,
       int numerOfRows) {
-    BitSet bitSet = new BitSet(numerOfRows);
     Object[] filterValues = this.msrFilterRangeValues;
     DataType msrType = msrColEvalutorInfoList.get(0).getType();
+    BitSet bitSet = MeasureFilterKernels.applyRangeFilter(columnPage, numerOfRows,
+        msrColEvalutorInfoList.get(0).getMeasure(), msrType,
+        MeasureFilterKernels.GREATER_THAN, filterValues);
+    if (bitSet != null) {
+      return bitSet;
+    }
+    bitSet = new BitSet(numerOfRows);
     SerializableComparator comparator = Comparator.getComparatorByDataTypeForMeasure(msrType);
     BitSet nullBitSet = columnPage.getNullBits();
     for (int i = 0; i < filterValues.length; i++) {
@@ -237,8 +237,7 @@ public class RowLevelRangeGrtrThanEquaToFilterExecuterImpl extends RowLevelFilte
               bitSetGroup.setBitSet(bitSet, i);
             } else {
               BitSet bitSet =
-                  getFilteredIndexesForMeasures(rawColumnChunk.decodeColumnPage(i),
-                      rawColumnChunk.getRowCount()[i]);
+                  getFilteredIndexesForMeasures(columnPage, rawColumnChunk.getRowCount()[i]);
               bitSetGroup.setBitSet(bitSet, i);
             }
           }
@@ -272,9 +271,15 @@ public class RowLevelRangeGrtrThanEquaToFilterExecuterImpl extends RowLevelFilte
 
   private BitSet getFilteredIndexesForMeasures(ColumnPage columnPage,
       int numerOfRows) {
-    BitSet bitSet = new BitSet(numerOfRows);
     Object[] filterValues = this.msrFilterRangeValues;
     DataType msrType = msrColEvalutorInfoList.get(0).getType();
+    BitSet bitSet = MeasureFilterKernels.applyRangeFilter(columnPage, numerOfRows,
+        msrColEvalutorInfoList.get(0).getMeasure(), msrType,
+        MeasureFilterKernels.GREATER_THAN_EQUALS, filterValues);
+    if (bitSet != null) {
+      return bitSet;
+    }
+    bitSet = new BitSet(numerOfRows);
     SerializableComparator comparator = Comparator.getComparatorByDataTypeForMeasure(msrType);
     BitSet nullBitSet = columnPage.getNullBits();
     for (int i = 0; i < filterValues.length; i++) {
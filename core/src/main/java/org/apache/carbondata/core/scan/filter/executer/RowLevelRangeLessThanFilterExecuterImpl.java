@@ -220,10 +220,20 @@ public class RowLevelRangeLessThanFilterExecuterImpl extends RowLevelFilterExecu
         if (rawColumnChunk.getMinValues() != null) {
           if (isScanRequired(rawColumnChunk.getMinValues()[i], this.msrFilterRangeValues,
               msrColEvalutorInfoList.get(0).getType())) {
-            BitSet bitSet =
-                getFilteredIndexesForMeasures(rawColumnChunk.decodeColumnPage(i),
-                    rawColumnChunk.getRowCount()[i]);
-            bitSetGroup.setBitSet(bitSet, i);
+            int compare = comparator.compare(msrFilterRangeValues[0], DataTypeUtil
+                .getMeasureObjectFromDataType(rawColumnChunk.getMaxValues()[i],
+                    msrColEvalutorInfoList.get(0).getType()));
+            ColumnPage columnPage = rawColumnChunk.decodeColumnPage(i);
+            if (compare > 0 && columnPage.getNullBits().isEmpty()) {
+              // all the values of the page are in the filter range
+              BitSet bitSet = new BitSet(rawColumnChunk.getRowCount()[i]);
+              bitSet.flip(0, rawColumnChunk.getRowCount()[i]);
+              bitSetGroup.setBitSet(bitSet, i);
+            } else {
+              BitSet bitSet =
+                  getFilteredIndexesForMeasures(columnPage, rawColumnChunk.getRowCount()[i]);
+              bitSetGroup.setBitSet(bitSet, i);
+            }
           }
         } else {
           BitSet bitSet =
@@ -255,9 +265,15 @@ public class RowLevelRangeLessThanFilterExecuterImpl extends RowLevelFilterExecu
 
   private BitSet getFilteredIndexesForMeasures(ColumnPage columnPage,
       int numerOfRows) {
-    BitSet bitSet = new BitSet(numerOfRows);
     Object[] filterValues = this.msrFilterRangeValues;
     DataType msrType = msrColEvalutorInfoList.get(0).getType();
+    BitSet bitSet = MeasureFilterKernels.applyRangeFilter(columnPage, numerOfRows,
+        msrColEvalutorInfoList.get(0).getMeasure(), msrType,
+        MeasureFilterKernels.LESS_THAN, filterValues);
+    if (bitSet != null) {
+      return bitSet;
+    }
+    bitSet = new BitSet(numerOfRows);
     SerializableComparator comparator = Comparator.getComparatorByDataTypeForMeasure(msrType);
     BitSet nullBitSet = columnPage.getNullBits();
     for (int i = 0; i < filterValues.length; i++) {
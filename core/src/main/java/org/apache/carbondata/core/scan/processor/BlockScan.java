@@ -16,6 +16,7 @@
  */
 package org.apache.carbondata.core.scan.processor;
 
+import java.io.IOException;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -59,8 +60,20 @@ public class BlockScan {
   }
 
   public void scan() throws Exception {
+    scan(Integer.MAX_VALUE);
+  }
+
+  /**
+   * Scan the next blocklets of the block
+   *
+   * @param numberOfBlocklets max number of blocklets to scan
+   * @return true if there are more blocklets to scan
+   */
+  public boolean scan(int numberOfBlocklets) throws Exception {
     BlockletScannedResult blockletScannedResult = null;
-    while (blockletIterator.hasNext()) {
+    int scannedBlocklets = 0;
+    while (blockletIterator.hasNext() && scannedBlocklets < numberOfBlocklets) {
+      scannedBlocklets++;
       DataRefNode dataBlock = blockletIterator.next();
       if (dataBlock.getColumnsMaxValue() == null || blockletScanner.isScanRequired(dataBlock)) {
         RawBlockletColumnChunks rawBlockletColumnChunks =  RawBlockletColumnChunks.newInstance(
@@ -73,6 +86,15 @@ public class BlockScan {
         }
       }
     }
+    // the file reader is finished once the scanned results are consumed, as they may still
+    // read the column chunks from the memory mapped by the file reader
+    return blockletIterator.hasNext();
+  }
+
+  /**
+   * Release the resources of a scan which is stopped before all its results are consumed
+   */
+  public void finish() throws IOException {
     fileReader.finish();
   }
 
@@ -87,6 +109,14 @@ public class BlockScan {
         curResult = scannedResults.get(nextResultIndex++);
         return true;
       } else {
+        curResult = null;
+        if (!blockletIterator.hasNext()) {
+          try {
+            fileReader.finish();
+          } catch (IOException e) {
+            throw new RuntimeException(e);
+          }
+        }
         return false;
       }
     }
@@ -17,6 +17,9 @@
 
 package org.apache.carbondata.core.scan.processor;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.carbondata.common.CarbonIterator;
 import org.apache.carbondata.core.datastore.DataRefNode;
 
@@ -85,4 +88,21 @@ class BlockletIterator extends CarbonIterator<DataRefNode> {
     }
     return datablockTemp;
   }
+
+  /**
+   * To get the upcoming data blocks without moving the iterator
+   *
+   * @param count max number of data blocks
+   * @return upcoming data blocks
+   */
+  List<DataRefNode> peek(int count) {
+    List<DataRefNode> dataBlocks = new ArrayList<>();
+    DataRefNode dataBlock = datablock;
+    long remaining = hasNext ? totalNumberOfBlocksToScan - blockCounter : 0;
+    while (null != dataBlock && dataBlocks.size() < Math.min(count, remaining)) {
+      dataBlocks.add(dataBlock);
+      dataBlock = dataBlock.getNextDataRefNode();
+    }
+    return dataBlocks;
+  }
 }
@@ -0,0 +1,612 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.processor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.datastore.DataRefNode;
+import org.apache.carbondata.core.datastore.FileReader;
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.indexstore.blockletindex.BlockletDataRefNode;
+import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
+import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
+import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
+import org.apache.carbondata.core.stats.QueryStatistic;
+import org.apache.carbondata.core.stats.QueryStatisticsConstants;
+import org.apache.carbondata.core.stats.QueryStatisticsModel;
+import org.apache.carbondata.core.util.TaskMetricsMap;
+
+/**
+ * I/O scheduler of a query task which reads ahead the column chunks of the upcoming
+ * blocklets. For every planned blocklet the column chunk ranges of the columns read by the
+ * query are sorted and the adjacent ranges are coalesced into a single read, the reads are
+ * submitted to the executor as long as the bytes in flight are within the budget.
+ * The column chunk readers read through {@link #getFileReader()}, which serves the requested
+ * range from the read ahead data when it is present and reads from the file otherwise.
+ * Columns which are read but were not planned (for example filter columns) are learnt and
+ * planned for the next blocklets.
+ */
+public class BlockletReadAheadScheduler {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(BlockletReadAheadScheduler.class.getName());
+
+  /**
+   * column chunk ranges separated by a gap up to this size are read in one read, the bytes
+   * of the gap are read and discarded
+   */
+  static final int MAX_COALESCE_GAP_BYTES = 64 * 1024;
+
+  /**
+   * number of started blocklets kept for the column chunks which are read lazily while the
+   * blocklet is scanned
+   */
+  private static final int MAX_ACTIVE_BLOCKLETS = 2;
+
+  private FileReader fileReader;
+
+  private FileReader readAheadFileReader;
+
+  private ExecutorService executorService;
+
+  private int numberOfBlockletsToReadAhead;
+
+  private long maxBytesInFlight;
+
+  private QueryStatisticsModel queryStatisticsModel;
+
+  /**
+   * blocklets which are planned but not yet started, in scan order
+   */
+  private LinkedList<PlannedBlocklet> plannedBlocklets = new LinkedList<>();
+
+  /**
+   * blocklets which are started, the latest one at the end
+   */
+  private LinkedList<PlannedBlocklet> activeBlocklets = new LinkedList<>();
+
+  /**
+   * reads which are planned but are waiting for the budget
+   */
+  private LinkedList<CoalescedRead> waitingReads = new LinkedList<>();
+
+  private long bytesInFlight;
+
+  /**
+   * column chunk indexes of the dimensions and measures which are read by the current block
+   */
+  private BitSet dimensionsToRead = new BitSet();
+
+  private BitSet measuresToRead = new BitSet();
+
+  private long numberOfReads;
+
+  private long numberOfReadsServed;
+
+  private long bytesRead;
+
+  private long bytesWasted;
+
+  private int maxQueueDepth;
+
+  public BlockletReadAheadScheduler(FileReader fileReader, ExecutorService executorService,
+      int numberOfBlockletsToReadAhead, long maxBytesInFlight,
+      QueryStatisticsModel queryStatisticsModel) {
+    this.fileReader = fileReader;
+    this.executorService = executorService;
+    this.numberOfBlockletsToReadAhead = numberOfBlockletsToReadAhead;
+    this.maxBytesInFlight = maxBytesInFlight;
+    this.queryStatisticsModel = queryStatisticsModel;
+    this.readAheadFileReader = new ReadAheadFileReader();
+  }
+
+  /**
+   * @return file reader to be used by the column chunk readers of the task
+   */
+  public FileReader getFileReader() {
+    return readAheadFileReader;
+  }
+
+  public int getNumberOfBlockletsToReadAhead() {
+    return numberOfBlockletsToReadAhead;
+  }
+
+  /**
+   * Starts a new block, the columns projected by the block are planned for its blocklets.
+   */
+  public synchronized void startBlock(BlockExecutionInfo blockExecutionInfo) {
+    dimensionsToRead.clear();
+    measuresToRead.clear();
+    setColumns(dimensionsToRead, blockExecutionInfo.getAllSelectedDimensionColumnIndexRange());
+    setColumns(measuresToRead, blockExecutionInfo.getAllSelectedMeasureIndexRange());
+  }
+
+  private static void setColumns(BitSet columns, int[][] columnIndexRange) {
+    if (null != columnIndexRange) {
+      for (int[] range : columnIndexRange) {
+        columns.set(range[0], range[1] + 1);
+      }
+    }
+  }
+
+  /**
+   * Starts the scan of the given blocklet and plans the reads of the upcoming blocklets
+   *
+   * @param dataBlock blocklet which is going to be read
+   * @param upcomingBlocks blocklets which will be read next, in scan order
+   */
+  public synchronized void startBlocklet(DataRefNode dataBlock, List<DataRefNode> upcomingBlocks) {
+    PlannedBlocklet current = null;
+    BlockletInfo blockletInfo = getBlockletInfo(dataBlock);
+    // the planned blocklets before the current one are not scanned, release them
+    while (!plannedBlocklets.isEmpty()) {
+      PlannedBlocklet planned = plannedBlocklets.removeFirst();
+      if (null != blockletInfo && planned.blockletInfo == blockletInfo) {
+        current = planned;
+        break;
+      }
+      release(planned);
+    }
+    if (null == current && null != blockletInfo) {
+      current = new PlannedBlocklet(getFilePath(dataBlock), blockletInfo);
+    }
+    if (null != current) {
+      activeBlocklets.addLast(current);
+    }
+    while (activeBlocklets.size() > MAX_ACTIVE_BLOCKLETS) {
+      release(activeBlocklets.removeFirst());
+    }
+    int numberOfBlocklets = Math.min(upcomingBlocks.size(), numberOfBlockletsToReadAhead);
+    for (int i = 0; i < numberOfBlocklets; i++) {
+      DataRefNode upcomingBlock = upcomingBlocks.get(i);
+      BlockletInfo upcomingInfo = getBlockletInfo(upcomingBlock);
+      if (null != upcomingInfo && !isPlanned(upcomingInfo)) {
+        PlannedBlocklet planned = new PlannedBlocklet(getFilePath(upcomingBlock), upcomingInfo);
+        plan(planned);
+        plannedBlocklets.addLast(planned);
+      }
+    }
+    submitWaitingReads();
+  }
+
+  private boolean isPlanned(BlockletInfo blockletInfo) {
+    for (PlannedBlocklet planned : plannedBlocklets) {
+      if (planned.blockletInfo == blockletInfo) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Read ahead is done only for the V3 blocklets which are read column chunk wise
+   */
+  private BlockletInfo getBlockletInfo(DataRefNode dataBlock) {
+    if (!(dataBlock instanceof BlockletDataRefNode) || fileReader.isReadPageByPage()) {
+      return null;
+    }
+    TableBlockInfo blockInfo = getBlockInfo(dataBlock);
+    if (blockInfo.isDataBlockFromOldStore() || null == blockInfo.getDetailInfo()
+        || ColumnarFormatVersion.valueOf(blockInfo.getDetailInfo().getVersionNumber())
+        != ColumnarFormatVersion.V3) {
+      return null;
+    }
+    BlockletInfo blockletInfo = blockInfo.getDetailInfo().getBlockletInfo();
+    if (null == blockletInfo || null == blockletInfo.getDimensionChunkOffsets()
+        || null == blockletInfo.getMeasureChunkOffsets()) {
+      return null;
+    }
+    return blockletInfo;
+  }
+
+  private static TableBlockInfo getBlockInfo(DataRefNode dataBlock) {
+    return ((BlockletDataRefNode) dataBlock).getBlockInfos().get((int) dataBlock.nodeIndex());
+  }
+
+  private static String getFilePath(DataRefNode dataBlock) {
+    return getBlockInfo(dataBlock).getFilePath();
+  }
+
+  /**
+   * Plans the coalesced reads of the columns to be read from the given blocklet
+   */
+  private void plan(PlannedBlocklet planned) {
+    List<long[]> ranges = new ArrayList<>();
+    addRanges(ranges, dimensionsToRead, planned.dimensionOffsets, planned.dimensionEndOffset);
+    addRanges(ranges, measuresToRead, planned.measureOffsets, planned.measureEndOffset);
+    if (ranges.isEmpty()) {
+      return;
+    }
+    Collections.sort(ranges, new Comparator<long[]>() {
+      @Override public int compare(long[] o1, long[] o2) {
+        return Long.compare(o1[0], o2[0]);
+      }
+    });
+    long start = ranges.get(0)[0];
+    long end = ranges.get(0)[1];
+    for (int i = 1; i < ranges.size(); i++) {
+      long[] range = ranges.get(i);
+      if (range[0] - end <= MAX_COALESCE_GAP_BYTES
+          && Math.max(end, range[1]) - start <= Integer.MAX_VALUE) {
+        end = Math.max(end, range[1]);
+      } else {
+        addRead(planned, start, end);
+        start = range[0];
+        end = range[1];
+      }
+    }
+    addRead(planned, start, end);
+  }
+
+  private void addRead(PlannedBlocklet planned, long start, long end) {
+    CoalescedRead read = new CoalescedRead(planned.filePath, start, (int) (end - start));
+    planned.reads.add(read);
+    waitingReads.addLast(read);
+  }
+
+  private static void addRanges(List<long[]> ranges, BitSet columns, long[] offsets,
+      long endOffset) {
+    for (int i = columns.nextSetBit(0); i >= 0 && i < offsets.length;
+         i = columns.nextSetBit(i + 1)) {
+      long end = i == offsets.length - 1 ? endOffset : offsets[i + 1];
+      if (end > offsets[i]) {
+        ranges.add(new long[] { offsets[i], end });
+      }
+    }
+  }
+
+  /**
+   * Submits the waiting reads in the planned order till the budget is exhausted. A read is
+   * always submitted when nothing is in flight so that a big read can not block the reads.
+   */
+  private void submitWaitingReads() {
+    while (!waitingReads.isEmpty()) {
+      CoalescedRead read = waitingReads.getFirst();
+      if (bytesInFlight > 0 && bytesInFlight + read.length > maxBytesInFlight) {
+        break;
+      }
+      waitingReads.removeFirst();
+      read.future = executorService.submit(read);
+      bytesInFlight += read.length;
+      numberOfReads++;
+      bytesRead += read.length;
+      maxQueueDepth = Math.max(maxQueueDepth,
+          getQueueDepth(activeBlocklets) + getQueueDepth(plannedBlocklets));
+    }
+  }
+
+  /**
+   * @return number of reads which are submitted and not yet completed
+   */
+  private static int getQueueDepth(List<PlannedBlocklet> blocklets) {
+    int queueDepth = 0;
+    for (PlannedBlocklet planned : blocklets) {
+      for (CoalescedRead read : planned.reads) {
+        if (null != read.future && !read.future.isDone()) {
+          queueDepth++;
+        }
+      }
+    }
+    return queueDepth;
+  }
+
+  /**
+   * Releases the read ahead data of the blocklet, the bytes which are read but not used are
+   * accounted as wasted. A read which is in progress is not cancelled as it may be in use.
+   */
+  private void release(PlannedBlocklet planned) {
+    for (CoalescedRead read : planned.reads) {
+      if (null == read.future) {
+        waitingReads.remove(read);
+      } else {
+        bytesInFlight -= read.length;
+        bytesWasted += Math.max(read.length - read.bytesUsed, 0);
+      }
+    }
+    planned.reads.clear();
+    updateStatistics();
+  }
+
+  /**
+   * Finds the read ahead data covering the given range, the columns of the range are learnt
+   * for planning the next blocklets
+   */
+  private synchronized CoalescedRead findRead(String filePath, long offset, int length) {
+    CoalescedRead result = null;
+    for (PlannedBlocklet planned : activeBlocklets) {
+      if (planned.contains(filePath, offset)) {
+        learnColumns(planned, offset, length);
+        result = planned.findRead(offset, length);
+        break;
+      }
+    }
+    if (null != result) {
+      // count the usage here so that the read is not counted as wasted if it is released
+      // while it is copied
+      result.bytesUsed += length;
+      numberOfReadsServed++;
+    }
+    return result;
+  }
+
+  private void learnColumns(PlannedBlocklet planned, long offset, int length) {
+    learnColumns(dimensionsToRead, planned.dimensionOffsets, offset, length);
+    learnColumns(measuresToRead, planned.measureOffsets, offset, length);
+  }
+
+  private static void learnColumns(BitSet columns, long[] offsets, long offset, int length) {
+    for (int i = 0; i < offsets.length; i++) {
+      if (offsets[i] >= offset && offsets[i] < offset + length) {
+        columns.set(i);
+      }
+    }
+  }
+
+  private void updateStatistics() {
+    if (null == queryStatisticsModel) {
+      return;
+    }
+    QueryStatistic readRequests = queryStatisticsModel.getStatisticsTypeAndObjMap()
+        .get(QueryStatisticsConstants.READ_AHEAD_REQUESTS);
+    if (null != readRequests) {
+      readRequests.addCountStatistic(QueryStatisticsConstants.READ_AHEAD_REQUESTS, numberOfReads);
+    }
+    QueryStatistic wasted = queryStatisticsModel.getStatisticsTypeAndObjMap()
+        .get(QueryStatisticsConstants.READ_AHEAD_WASTED_BYTES);
+    if (null != wasted) {
+      wasted.addCountStatistic(QueryStatisticsConstants.READ_AHEAD_WASTED_BYTES, bytesWasted);
+    }
+    QueryStatistic queueDepth = queryStatisticsModel.getStatisticsTypeAndObjMap()
+        .get(QueryStatisticsConstants.READ_AHEAD_MAX_QUEUE_DEPTH);
+    if (null != queueDepth) {
+      queueDepth.addCountStatistic(QueryStatisticsConstants.READ_AHEAD_MAX_QUEUE_DEPTH,
+          maxQueueDepth);
+    }
+  }
+
+  public synchronized long getNumberOfReads() {
+    return numberOfReads;
+  }
+
+  public synchronized long getBytesWasted() {
+    return bytesWasted;
+  }
+
+  public synchronized int getMaxQueueDepth() {
+    return maxQueueDepth;
+  }
+
+  /**
+   * Releases all the read ahead data
+   */
+  public synchronized void close() {
+    waitingReads.clear();
+    Iterator<PlannedBlocklet> iterator = activeBlocklets.iterator();
+    while (iterator.hasNext()) {
+      release(iterator.next());
+      iterator.remove();
+    }
+    iterator = plannedBlocklets.iterator();
+    while (iterator.hasNext()) {
+      release(iterator.next());
+      iterator.remove();
+    }
+    updateStatistics();
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Read ahead reads: " + numberOfReads + ", reads served: " + numberOfReadsServed
+          + ", bytes read: " + bytesRead + ", bytes wasted: " + bytesWasted
+          + ", max queue depth: " + maxQueueDepth);
+    }
+  }
+
+  /**
+   * column chunk offsets of a blocklet and the reads planned for it
+   */
+  private static class PlannedBlocklet {
+
+    private String filePath;
+
+    private BlockletInfo blockletInfo;
+
+    private long[] dimensionOffsets;
+
+    private long dimensionEndOffset;
+
+    private long[] measureOffsets;
+
+    private long measureEndOffset;
+
+    private List<CoalescedRead> reads = new ArrayList<>();
+
+    PlannedBlocklet(String filePath, BlockletInfo blockletInfo) {
+      this.filePath = filePath;
+      this.blockletInfo = blockletInfo;
+      this.dimensionOffsets = toArray(blockletInfo.getDimensionChunkOffsets());
+      this.dimensionEndOffset = blockletInfo.getDimensionOffset();
+      this.measureOffsets = toArray(blockletInfo.getMeasureChunkOffsets());
+      this.measureEndOffset = blockletInfo.getMeasureOffsets();
+    }
+
+    private static long[] toArray(List<Long> offsets) {
+      long[] array = new long[offsets.size()];
+      for (int i = 0; i < array.length; i++) {
+        array[i] = offsets.get(i);
+      }
+      return array;
+    }
+
+    boolean contains(String path, long offset) {
+      long start = dimensionOffsets.length > 0 ? dimensionOffsets[0] :
+          (measureOffsets.length > 0 ? measureOffsets[0] : measureEndOffset);
+      return filePath.equals(path) && offset >= start && offset < measureEndOffset;
+    }
+
+    CoalescedRead findRead(long offset, int length) {
+      for (CoalescedRead read : reads) {
+        if (null != read.future && read.contains(offset, length)) {
+          return read;
+        }
+      }
+      return null;
+    }
+  }
+
+  /**
+   * single read covering the column chunk ranges of a blocklet
+   */
+  private class CoalescedRead implements Callable<ByteBuffer> {
+
+    private String filePath;
+
+    private long offset;
+
+    private int length;
+
+    private Future<ByteBuffer> future;
+
+    private long bytesUsed;
+
+    CoalescedRead(String filePath, long offset, int length) {
+      this.filePath = filePath;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    boolean contains(long offset, int length) {
+      return offset >= this.offset && offset + length <= this.offset + this.length;
+    }
+
+    @Override public ByteBuffer call() throws Exception {
+      try {
+        TaskMetricsMap.getInstance().registerThreadCallback();
+        synchronized (fileReader) {
+          return fileReader.readByteBuffer(filePath, offset, length);
+        }
+      } finally {
+        // update read bytes metrics for this thread
+        TaskMetricsMap.getInstance().updateReadBytes(Thread.currentThread().getId());
+      }
+    }
+
+    /**
+     * Copies the given range from the read data. The column chunk readers use the array of
+     * the returned buffer from index 0, so a new buffer is returned instead of a slice.
+     */
+    ByteBuffer copy(long offset, int length) throws IOException {
+      ByteBuffer data;
+      try {
+        data = future.get();
+      } catch (InterruptedException e) {
+        throw new IOException(e);
+      } catch (ExecutionException e) {
+        throw new IOException(e.getCause());
+      }
+      byte[] bytes = new byte[length];
+      ByteBuffer source = data.duplicate();
+      source.position((int) (offset - this.offset));
+      source.get(bytes);
+      return ByteBuffer.wrap(bytes);
+    }
+  }
+
+  /**
+   * File reader which serves the reads from the read ahead data
+   */
+  private class ReadAheadFileReader implements FileReader {
+
+    @Override public ByteBuffer readByteBuffer(String filePath, long offset, int length)
+        throws IOException {
+      CoalescedRead read = findRead(filePath, offset, length);
+      if (null != read) {
+        return read.copy(offset, length);
+      }
+      synchronized (fileReader) {
+        return fileReader.readByteBuffer(filePath, offset, length);
+      }
+    }
+
+    @Override public byte[] readByteArray(String filePath, long offset, int length)
+        throws IOException {
+      synchronized (fileReader) {
+        return fileReader.readByteArray(filePath, offset, length);
+      }
+    }
+
+    @Override public byte[] readByteArray(String filePath, int length) throws IOException {
+      synchronized (fileReader) {
+        return fileReader.readByteArray(filePath, length);
+      }
+    }
+
+    @Override public int readInt(String filePath, long offset) throws IOException {
+      synchronized (fileReader) {
+        return fileReader.readInt(filePath, offset);
+      }
+    }
+
+    @Override public long readLong(String filePath, long offset) throws IOException {
+      synchronized (fileReader) {
+        return fileReader.readLong(filePath, offset);
+      }
+    }
+
+    @Override public int readInt(String filePath) throws IOException {
+      synchronized (fileReader) {
+        return fileReader.readInt(filePath);
+      }
+    }
+
+    @Override public long readDouble(String filePath, long offset) throws IOException {
+      synchronized (fileReader) {
+        return fileReader.readDouble(filePath, offset);
+      }
+    }
+
+    /**
+     * Releases the read ahead data and closes the files of the underlying reader
+     */
+    @Override public void finish() throws IOException {
+      close();
+      synchronized (fileReader) {
+        fileReader.finish();
+      }
+    }
+
+    @Override public void setReadPageByPage(boolean isReadPageByPage) {
+      fileReader.setReadPageByPage(isReadPageByPage);
+    }
+
+    @Override public boolean isReadPageByPage() {
+      return fileReader.isReadPageByPage();
+    }
+  }
+}
@@ -18,7 +18,9 @@ package org.apache.carbondata.core.scan.processor;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -82,11 +84,33 @@ public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
 
   private AtomicBoolean nextRead;
 
+  /**
+   * scheduler to read ahead the upcoming blocklets, null if read ahead is disabled
+   */
+  private BlockletReadAheadScheduler readAheadScheduler;
+
+  /**
+   * result of the min max pruning of the upcoming blocklets planned for read ahead
+   */
+  private Map<Long, Boolean> scanRequiredOfUpcomingBlocks;
+
   public DataBlockIterator(BlockExecutionInfo blockExecutionInfo, FileReader fileReader,
       int batchSize, QueryStatisticsModel queryStatisticsModel, ExecutorService executorService) {
+    this(blockExecutionInfo, fileReader, batchSize, queryStatisticsModel, executorService, null);
+  }
+
+  public DataBlockIterator(BlockExecutionInfo blockExecutionInfo, FileReader fileReader,
+      int batchSize, QueryStatisticsModel queryStatisticsModel, ExecutorService executorService,
+      BlockletReadAheadScheduler readAheadScheduler) {
     this.blockExecutionInfo = blockExecutionInfo;
     this.blockExecutionInfo.setQueryStatisticsModel(queryStatisticsModel);
     this.fileReader = fileReader;
+    if (null != readAheadScheduler) {
+      this.readAheadScheduler = readAheadScheduler;
+      this.fileReader = readAheadScheduler.getFileReader();
+      this.scanRequiredOfUpcomingBlocks = new HashMap<>();
+      readAheadScheduler.startBlock(blockExecutionInfo);
+    }
     blockletIterator = new BlockletIterator(blockExecutionInfo.getFirstDataBlock(),
         blockExecutionInfo.getNumberOfBlockToScan());
     if (blockExecutionInfo.getFilterExecuterTree() != null) {
@@ -192,7 +216,17 @@ public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
     RawBlockletColumnChunks rawBlockletColumnChunks = null;
     do {
       DataRefNode dataBlock = blockletIterator.next();
-      if (dataBlock.getColumnsMaxValue() == null || blockletScanner.isScanRequired(dataBlock)) {
+      Boolean scanRequired = null;
+      if (null != readAheadScheduler) {
+        scanRequired = scanRequiredOfUpcomingBlocks.remove(dataBlock.nodeIndex());
+      }
+      if (null == scanRequired) {
+        scanRequired = isScanRequired(dataBlock);
+      }
+      if (scanRequired) {
+        if (null != readAheadScheduler) {
+          readAheadScheduler.startBlocklet(dataBlock, getUpcomingBlocksToScan());
+        }
         rawBlockletColumnChunks =  RawBlockletColumnChunks.newInstance(
             blockExecutionInfo.getTotalNumberDimensionToRead(),
             blockExecutionInfo.getTotalNumberOfMeasureToRead(), fileReader, dataBlock);
@@ -201,6 +235,31 @@ public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
     return rawBlockletColumnChunks;
   }
 
+  private boolean isScanRequired(DataRefNode dataBlock) {
+    return dataBlock.getColumnsMaxValue() == null || blockletScanner.isScanRequired(dataBlock);
+  }
+
+  /**
+   * Get the upcoming blocklets which are not pruned by min max, to be read ahead. The pruning
+   * result is kept so that the blocklet is pruned only once.
+   */
+  private List<DataRefNode> getUpcomingBlocksToScan() {
+    List<DataRefNode> upcomingBlocks =
+        blockletIterator.peek(readAheadScheduler.getNumberOfBlockletsToReadAhead());
+    List<DataRefNode> blocksToScan = new ArrayList<>(upcomingBlocks.size());
+    for (DataRefNode upcomingBlock : upcomingBlocks) {
+      Boolean scanRequired = scanRequiredOfUpcomingBlocks.get(upcomingBlock.nodeIndex());
+      if (null == scanRequired) {
+        scanRequired = isScanRequired(upcomingBlock);
+        scanRequiredOfUpcomingBlocks.put(upcomingBlock.nodeIndex(), scanRequired);
+      }
+      if (scanRequired) {
+        blocksToScan.add(upcomingBlock);
+      }
+    }
+    return blocksToScan;
+  }
+
   private Future<BlockletScannedResult> scanNextBlockletAsync() {
     return executorService.submit(new Callable<BlockletScannedResult>() {
       @Override public BlockletScannedResult call() throws Exception {
@@ -19,12 +19,12 @@ package org.apache.carbondata.core.scan.result.iterator;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 
 import org.apache.carbondata.common.CarbonIterator;
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.cache.update.DeleteDeltaCache;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.DataRefNode;
 import org.apache.carbondata.core.datastore.DataRefNodeFinder;
@@ -34,10 +34,10 @@ import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.datastore.impl.btree.BTreeDataRefNodeFinder;
 import org.apache.carbondata.core.indexstore.blockletindex.BlockletDataRefNode;
 import org.apache.carbondata.core.mutate.DeleteDeltaVo;
-import org.apache.carbondata.core.reader.CarbonDeleteFilesDataReader;
 import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
 import org.apache.carbondata.core.scan.executor.infos.DeleteDeltaInfo;
 import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.scan.processor.BlockletReadAheadScheduler;
 import org.apache.carbondata.core.scan.processor.DataBlockIterator;
 import org.apache.carbondata.core.scan.result.vector.CarbonColumnarBatch;
 import org.apache.carbondata.core.stats.QueryStatistic;
@@ -59,9 +59,6 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
   private static final LogService LOGGER =
       LogServiceFactory.getLogService(AbstractDetailQueryResultIterator.class.getName());
 
-  private static final Map<DeleteDeltaInfo, Object> deleteDeltaToLockObjectMap =
-      new ConcurrentHashMap<>();
-
   protected ExecutorService execService;
   /**
    * execution info of the block
@@ -75,6 +72,11 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
 
   DataBlockIterator dataBlockIterator;
 
+  /**
+   * scheduler to read ahead the blocklets of the task, null if read ahead is disabled
+   */
+  private BlockletReadAheadScheduler readAheadScheduler;
+
   /**
    * QueryStatisticsRecorder
    */
@@ -110,6 +112,12 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
     this.execService = execService;
     intialiseInfos();
     initQueryStatiticsModel();
+    CarbonProperties carbonProperties = CarbonProperties.getInstance();
+    if (null != execService && carbonProperties.isEnableQueryReadAhead()) {
+      this.readAheadScheduler = new BlockletReadAheadScheduler(fileReader, execService,
+          carbonProperties.getQueryReadAheadBlocklets(),
+          carbonProperties.getQueryReadAheadSizeInBytes(), queryStatisticsModel);
+    }
   }
 
   private void intialiseInfos() {
@@ -165,43 +173,12 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
         .getLatestDeleteDeltaFileTimestamp()) {
       return dataBlock.getDeletedRowsMap();
     }
-    CarbonDeleteFilesDataReader carbonDeleteDeltaFileReader = null;
-    // get the lock object so in case of concurrent query only one task will read the delete delta
-    // files other tasks will wait
-    Object lockObject = deleteDeltaToLockObjectMap.get(deleteDeltaInfo);
-    // if lock object is null then add a lock object
-    if (null == lockObject) {
-      synchronized (deleteDeltaToLockObjectMap) {
-        // double checking
-        lockObject = deleteDeltaToLockObjectMap.get(deleteDeltaInfo);
-        if (null == lockObject) {
-          lockObject = new Object();
-          deleteDeltaToLockObjectMap.put(deleteDeltaInfo, lockObject);
-        }
-      }
-    }
-    // double checking to check the deleted rows is already present or not
-    if (dataBlock.getDeleteDeltaTimestamp() < deleteDeltaInfo.getLatestDeleteDeltaFileTimestamp()) {
-      // if not then acquire the lock
-      synchronized (lockObject) {
-        // check the timestamp again
-        if (dataBlock.getDeleteDeltaTimestamp() < deleteDeltaInfo
-            .getLatestDeleteDeltaFileTimestamp()) {
-          // read the delete delta files
-          carbonDeleteDeltaFileReader = new CarbonDeleteFilesDataReader();
-          Map<String, DeleteDeltaVo> deletedRowsMap = carbonDeleteDeltaFileReader
-              .getDeletedRowsDataVo(deleteDeltaInfo.getDeleteDeltaFile());
-          setDeltedDeltaBoToDataBlock(deleteDeltaInfo, deletedRowsMap, dataBlock);
-          // remove the lock
-          deleteDeltaToLockObjectMap.remove(deleteDeltaInfo);
-          return deletedRowsMap;
-        } else {
-          return dataBlock.getDeletedRowsMap();
-        }
-      }
-    } else {
-      return dataBlock.getDeletedRowsMap();
-    }
+    // read from the executor level cache which is shared by the queries, the block of
+    // blocklet datamap is created for each query so its deleted rows are not reused
+    Map<String, DeleteDeltaVo> deletedRowsMap =
+        DeleteDeltaCache.getInstance().getDeletedRows(deleteDeltaInfo);
+    setDeltedDeltaBoToDataBlock(deleteDeltaInfo, deletedRowsMap, dataBlock);
+    return deletedRowsMap;
   }
 
   /**
@@ -252,7 +229,7 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
       BlockExecutionInfo executionInfo = blockExecutionInfos.get(0);
       blockExecutionInfos.remove(executionInfo);
       return new DataBlockIterator(executionInfo, fileReader, batchSize, queryStatisticsModel,
-          execService);
+          execService, readAheadScheduler);
     }
     return null;
   }
@@ -315,6 +292,19 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
     queryStatisticsModel.getStatisticsTypeAndObjMap()
         .put(QueryStatisticsConstants.RESULT_PREP_TIME, resultPreparationTime);
     queryStatisticsModel.getRecorder().recordStatistics(resultPreparationTime);
+    // read ahead requests, wasted bytes and queue depth
+    QueryStatistic readAheadRequests = new QueryStatistic();
+    queryStatisticsModel.getStatisticsTypeAndObjMap()
+        .put(QueryStatisticsConstants.READ_AHEAD_REQUESTS, readAheadRequests);
+    queryStatisticsModel.getRecorder().recordStatistics(readAheadRequests);
+    QueryStatistic readAheadWastedBytes = new QueryStatistic();
+    queryStatisticsModel.getStatisticsTypeAndObjMap()
+        .put(QueryStatisticsConstants.READ_AHEAD_WASTED_BYTES, readAheadWastedBytes);
+    queryStatisticsModel.getRecorder().recordStatistics(readAheadWastedBytes);
+    QueryStatistic readAheadQueueDepth = new QueryStatistic();
+    queryStatisticsModel.getStatisticsTypeAndObjMap()
+        .put(QueryStatisticsConstants.READ_AHEAD_MAX_QUEUE_DEPTH, readAheadQueueDepth);
+    queryStatisticsModel.getRecorder().recordStatistics(readAheadQueueDepth);
   }
 
   public void processNextBatch(CarbonColumnarBatch columnarBatch) {
@@ -325,6 +315,9 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
     if (null != dataBlockIterator) {
       dataBlockIterator.close();
     }
+    if (null != readAheadScheduler) {
+      readAheadScheduler.close();
+    }
     try {
       fileReader.finish();
     } catch (IOException e) {
@@ -16,13 +16,16 @@
  */
 package org.apache.carbondata.core.scan.result.iterator;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
 import org.apache.carbondata.core.scan.model.QueryModel;
@@ -31,12 +34,16 @@ import org.apache.carbondata.core.stats.QueryStatistic;
 import org.apache.carbondata.core.stats.QueryStatisticsConstants;
 import org.apache.carbondata.core.stats.QueryStatisticsModel;
 import org.apache.carbondata.core.stats.QueryStatisticsRecorder;
+import org.apache.carbondata.core.util.CarbonProperties;
 
 public abstract class AbstractSearchModeResultIterator
         extends AbstractDetailQueryResultIterator<Object> {
 
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(AbstractSearchModeResultIterator.class.getName());
+
   private FileFactory.FileType fileType;
-  private List<Future<BlockScan>> taskSubmitList;
+  private List<BlockScanTask> taskSubmitList;
   protected BlockScan curBlockScan;
   private int nextBlockScanIndex = 0;
 
@@ -49,17 +56,11 @@ public abstract class AbstractSearchModeResultIterator
 
   private void scanAll() {
     taskSubmitList = new ArrayList<>(blockExecutionInfos.size());
-    for (final BlockExecutionInfo info: blockExecutionInfos) {
-      taskSubmitList.add(execService.submit(new Callable<BlockScan>() {
-
-        @Override
-        public BlockScan call() throws Exception {
-          BlockScan blockScan = new BlockScan(info, FileFactory.getFileHolder(fileType),
-              buildQueryStatiticsModel(recorder));
-          blockScan.scan();
-          return blockScan;
-        }
-      }));
+    int blockletsPerTask = CarbonProperties.getSearchScanBlockletsPerTask();
+    for (BlockExecutionInfo info: blockExecutionInfos) {
+      BlockScanTask task = new BlockScanTask(info, blockletsPerTask);
+      taskSubmitList.add(task);
+      execService.execute(task);
     }
   }
 
@@ -76,6 +77,104 @@ public abstract class AbstractSearchModeResultIterator
     }
   }
 
+  @Override
+  public void close() {
+    // stop the scan of the blocks which are not yet scanned, in case of limit query
+    for (BlockScanTask task : taskSubmitList) {
+      task.cancel(false);
+    }
+    for (Runnable task : execService.shutdownNow()) {
+      ((BlockScanTask) task).finishScan();
+    }
+    // the scanned blocks whose results are not consumed still hold their files
+    for (BlockScanTask task : taskSubmitList) {
+      if (task.isDone() && !task.isCancelled()) {
+        task.finishScan();
+      }
+    }
+    super.close();
+  }
+
+  /**
+   * Scans a block as a chain of tasks, each task scans the given number of blocklets and
+   * submits the next task to the executor. It completes with the block scan once all the
+   * blocklets are scanned.
+   */
+  private class BlockScanTask extends FutureTask<BlockScan> {
+
+    private BlockExecutionInfo info;
+
+    private int blockletsPerTask;
+
+    private BlockScanHolder holder;
+
+    BlockScanTask(BlockExecutionInfo info, int blockletsPerTask) {
+      this(info, blockletsPerTask, new BlockScanHolder());
+    }
+
+    private BlockScanTask(BlockExecutionInfo info, int blockletsPerTask, BlockScanHolder holder) {
+      super(holder);
+      this.info = info;
+      this.blockletsPerTask = blockletsPerTask;
+      this.holder = holder;
+    }
+
+    @Override
+    public void run() {
+      if (isCancelled()) {
+        finishScan();
+        return;
+      }
+      if (isDone()) {
+        return;
+      }
+      try {
+        if (null == holder.blockScan) {
+          holder.blockScan = new BlockScan(info, FileFactory.getFileHolder(fileType),
+              buildQueryStatiticsModel(recorder));
+        }
+        if (holder.blockScan.scan(blockletsPerTask)) {
+          execService.execute(this);
+          return;
+        }
+      } catch (Throwable e) {
+        finishScan();
+        setException(e);
+        return;
+      }
+      if (isCancelled()) {
+        // the iterator is closed while scanning, nobody consumes the results
+        finishScan();
+        return;
+      }
+      // completes the future with the block scan
+      super.run();
+    }
+
+    void finishScan() {
+      if (null != holder.blockScan) {
+        try {
+          holder.blockScan.finish();
+        } catch (IOException e) {
+          LOGGER.error(e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Holds the block scan of a {@link BlockScanTask}, which is the result of the task
+   */
+  private static class BlockScanHolder implements Callable<BlockScan> {
+
+    private BlockScan blockScan;
+
+    @Override
+    public BlockScan call() {
+      return blockScan;
+    }
+  }
+
   private QueryStatisticsModel buildQueryStatiticsModel(QueryStatisticsRecorder recorder) {
     QueryStatisticsModel queryStatisticsModel = new QueryStatisticsModel();
     queryStatisticsModel.setRecorder(recorder);
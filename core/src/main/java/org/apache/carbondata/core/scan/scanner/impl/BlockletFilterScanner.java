@@ -19,6 +19,7 @@ package org.apache.carbondata.core.scan.scanner.impl;
 
 import java.io.IOException;
 import java.util.BitSet;
+import java.util.Map;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.DataRefNode;
@@ -27,6 +28,7 @@ import org.apache.carbondata.core.datastore.chunk.DimensionColumnPage;
 import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
 import org.apache.carbondata.core.datastore.chunk.impl.MeasureRawColumnChunk;
 import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.mutate.DeleteDeltaVo;
 import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
 import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
 import org.apache.carbondata.core.scan.filter.executer.FilterExecuter;
@@ -140,6 +142,30 @@ public class BlockletFilterScanner extends BlockletFullScanner {
         readTime.getCount() + (System.currentTimeMillis() - startTime));
   }
 
+  /**
+   * Below method will be used to clear the rows deleted by delete or update
+   * from the filter result of each page of the blocklet
+   *
+   * @param bitSetGroup   filter result
+   * @param blockletIndex index of the blocklet in block
+   */
+  private void removeDeletedRows(BitSetGroup bitSetGroup, int blockletIndex) {
+    Map<String, DeleteDeltaVo> deletedRecordsMap = blockExecutionInfo.getDeletedRecordsMap();
+    if (null == deletedRecordsMap || deletedRecordsMap.isEmpty()) {
+      return;
+    }
+    int numPages = bitSetGroup.getNumberOfPages();
+    for (int pageId = 0; pageId < numPages; pageId++) {
+      BitSet bitSet = bitSetGroup.getBitSet(pageId);
+      if (null != bitSet && !bitSet.isEmpty()) {
+        DeleteDeltaVo deleteDeltaVo = deletedRecordsMap.get(blockletIndex + "_" + pageId);
+        if (null != deleteDeltaVo) {
+          deleteDeltaVo.removeDeletedRows(bitSet);
+        }
+      }
+    }
+  }
+
   /**
    * This method will process the data in below order
    * 1. first apply min max on the filter tree and check whether any of the filter
@@ -169,6 +195,8 @@ public class BlockletFilterScanner extends BlockletFullScanner {
     // apply filter on actual data, for each page
     BitSetGroup bitSetGroup = this.filterExecuter.applyFilter(rawBlockletColumnChunks,
         useBitSetPipeLine);
+    // remove the deleted rows from the filter result, so they are not read from the pages
+    removeDeletedRows(bitSetGroup, rawBlockletColumnChunks.getDataBlock().blockletIndex());
     // if filter result is empty then return with empty result
     if (bitSetGroup.isEmpty()) {
       CarbonUtil.freeMemory(rawBlockletColumnChunks.getDimensionRawColumnChunks(),
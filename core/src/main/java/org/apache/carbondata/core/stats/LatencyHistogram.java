@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.stats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of latencies with power of two buckets in microseconds, bucket i counts the
+ * latencies in [2^i, 2^(i+1)) microseconds. It can be updated concurrently.
+ */
+public class LatencyHistogram {
+
+  private static final int NUMBER_OF_BUCKETS = 48;
+
+  private AtomicLongArray buckets = new AtomicLongArray(NUMBER_OF_BUCKETS);
+
+  private AtomicLong count = new AtomicLong();
+
+  private AtomicLong totalMicros = new AtomicLong();
+
+  private AtomicLong maxMicros = new AtomicLong();
+
+  public void record(long latency, TimeUnit unit) {
+    long micros = Math.max(unit.toMicros(latency), 0);
+    int bucket = micros == 0 ? 0 : 63 - Long.numberOfLeadingZeros(micros);
+    buckets.incrementAndGet(Math.min(bucket, NUMBER_OF_BUCKETS - 1));
+    count.incrementAndGet();
+    totalMicros.addAndGet(micros);
+    long max = maxMicros.get();
+    while (micros > max && !maxMicros.compareAndSet(max, micros)) {
+      max = maxMicros.get();
+    }
+  }
+
+  public long getCount() {
+    return count.get();
+  }
+
+  public long getMeanMicros() {
+    long numberOfRecords = count.get();
+    return numberOfRecords == 0 ? 0 : totalMicros.get() / numberOfRecords;
+  }
+
+  public long getMaxMicros() {
+    return maxMicros.get();
+  }
+
+  /**
+   * @param percentile percentile in (0, 100]
+   * @return upper bound in microseconds of the bucket having the given percentile
+   */
+  public long getPercentileMicros(double percentile) {
+    long numberOfRecords = count.get();
+    if (numberOfRecords == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(numberOfRecords * percentile / 100);
+    long seen = 0;
+    for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+      seen += buckets.get(i);
+      if (seen >= rank) {
+        return Math.min((1L << (i + 1)) - 1, maxMicros.get());
+      }
+    }
+    return maxMicros.get();
+  }
+
+  @Override public String toString() {
+    return "count: " + getCount() + ", mean: " + getMeanMicros() + "us, p50: "
+        + getPercentileMicros(50) + "us, p90: " + getPercentileMicros(90) + "us, p99: "
+        + getPercentileMicros(99) + "us, max: " + getMaxMicros() + "us";
+  }
+}
@@ -80,6 +80,21 @@ public interface QueryStatisticsConstants {
    */
   String RESULT_PREP_TIME = "result preparation time";
 
+  /**
+   * number of coalesced reads submitted by the read ahead scheduler
+   */
+  String READ_AHEAD_REQUESTS = "The number of read ahead requests";
+
+  /**
+   * bytes read ahead but not used by the scan, includes the gaps read while coalescing
+   */
+  String READ_AHEAD_WASTED_BYTES = "The number of read ahead bytes wasted";
+
+  /**
+   * max number of read ahead requests in flight
+   */
+  String READ_AHEAD_MAX_QUEUE_DEPTH = "The max read ahead queue depth";
+
   // clear no-use statistics timeout
   long CLEAR_STATISTICS_TIMEOUT = 60 * 1000 * 1000000L;
 
@@ -49,7 +49,10 @@ public class TaskStatistics implements Serializable {
       new Column("key_column_filling_time", QueryStatisticsConstants.KEY_COLUMN_FILLING_TIME),
       new Column("measure_filling_time", QueryStatisticsConstants.MEASURE_FILLING_TIME),
       new Column("page_uncompress_time", QueryStatisticsConstants.PAGE_UNCOMPRESS_TIME),
-      new Column("result_preparation_time", QueryStatisticsConstants.RESULT_PREP_TIME)
+      new Column("result_preparation_time", QueryStatisticsConstants.RESULT_PREP_TIME),
+      new Column("read_ahead_requests", QueryStatisticsConstants.READ_AHEAD_REQUESTS),
+      new Column("read_ahead_wasted_bytes", QueryStatisticsConstants.READ_AHEAD_WASTED_BYTES),
+      new Column("read_ahead_queue_depth", QueryStatisticsConstants.READ_AHEAD_MAX_QUEUE_DEPTH)
   };
 
   private static final int numOfColumns = columns.length;
@@ -88,8 +88,15 @@ public class SegmentStatusManager {
     if (!FileFactory.isFileExist(tableStatusPath, FileFactory.getFileType(tableStatusPath))) {
       return 0L;
     } else {
-      return FileFactory.getCarbonFile(tableStatusPath, FileFactory.getFileType(tableStatusPath))
-          .getLastModifiedTime();
+      long lastModifiedTime =
+          FileFactory.getCarbonFile(tableStatusPath, FileFactory.getFileType(tableStatusPath))
+              .getLastModifiedTime();
+      if (TableStatusLog.isSupported(tableStatusPath)) {
+        // with incremental table status the changes may be only in the log
+        lastModifiedTime =
+            Math.max(lastModifiedTime, TableStatusLog.getLogLastModifiedTime(tableStatusPath));
+      }
+      return lastModifiedTime;
     }
   }
 
@@ -234,6 +241,9 @@ public class SegmentStatusManager {
 
   public static LoadMetadataDetails[] readTableStatusFile(String tableStatusPath)
       throws IOException {
+    if (TableStatusLog.isSupported(tableStatusPath)) {
+      return TableStatusLog.read(tableStatusPath);
+    }
     Gson gsonObjectToRead = new Gson();
     DataInputStream dataInputStream = null;
     BufferedReader buffReader = null;
@@ -267,6 +277,17 @@ public class SegmentStatusManager {
     return listOfLoadFolderDetailsArray;
   }
 
+  /**
+   * Path of the log to which the incremental table status appends its changes, the log
+   * exists only if a change was appended since the table status file was last written.
+   *
+   * @param tableStatusPath path of the table status file
+   * @return path of the table status log
+   */
+  public static String getTableStatusLogPath(String tableStatusPath) {
+    return TableStatusLog.getLogFilePath(tableStatusPath);
+  }
+
   /**
    * This method will get the max segment id
    *
@@ -496,6 +517,11 @@ public class SegmentStatusManager {
    */
   public static void writeLoadDetailsIntoFile(String dataLoadLocation,
       LoadMetadataDetails[] listOfLoadFolderDetailsArray) throws IOException {
+    boolean incrementalTableStatus = TableStatusLog.isSupported(dataLoadLocation);
+    if (incrementalTableStatus
+        && TableStatusLog.append(dataLoadLocation, listOfLoadFolderDetailsArray)) {
+      return;
+    }
     AtomicFileOperations fileWrite =
         new AtomicFileOperationsImpl(dataLoadLocation, FileFactory.getFileType(dataLoadLocation));
     BufferedWriter brWriter = null;
@@ -520,7 +546,9 @@ public class SegmentStatusManager {
       CarbonUtil.closeStreams(brWriter);
       fileWrite.close();
     }
-
+    if (incrementalTableStatus) {
+      TableStatusLog.onSnapshotWritten(dataLoadLocation);
+    }
   }
 
   /**
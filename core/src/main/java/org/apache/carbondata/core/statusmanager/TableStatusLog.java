@@ -0,0 +1,504 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.statusmanager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.filesystem.CarbonFile;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.core.util.path.CarbonTablePath;
+
+import com.google.gson.Gson;
+
+/**
+ * Incremental table status. The tablestatus file is used as a snapshot and the changed load
+ * details are appended to a log file next to it instead of rewriting the whole snapshot.
+ * Once the log reaches the configured number of records the snapshot is rewritten and the log
+ * is removed.
+ *
+ * The log starts with a header holding the checksum and length of the snapshot it belongs to,
+ * so a log left over from an older snapshot is ignored. Every record is the json of the
+ * changed load details, prefixed by its length and checksum, so a partially written record
+ * is ignored as well.
+ *
+ * The parsed table status is cached by the modification time and length of the snapshot and
+ * the length of the log, so reading the table status again only reads the new log records. A
+ * snapshot rewritten within the time granularity of the file system keeps its modification time,
+ * so the content of a snapshot is compared again until it is read when it is older than that.
+ */
+final class TableStatusLog {
+
+  private static final LogService LOG =
+      LogServiceFactory.getLogService(TableStatusLog.class.getName());
+
+  private static final String LOG_FILE_EXTENSION = ".log";
+
+  private static final int MAGIC_NUMBER = 0x43534C31;
+
+  /**
+   * magic number, snapshot checksum and snapshot length
+   */
+  private static final int HEADER_LENGTH = 4 + 8 + 8;
+
+  /**
+   * payload length and payload checksum
+   */
+  private static final int RECORD_HEADER_LENGTH = 4 + 8;
+
+  private static final Charset CHARSET = Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET);
+
+  /**
+   * maximum number of tables whose table status is cached
+   */
+  static final int STATUS_CACHE_SIZE = 100;
+
+  /**
+   * the coarsest modification time granularity of the supported file systems is a second,
+   * twice that allows for a small difference between the clocks of the file system and this JVM
+   */
+  private static final long MODIFIED_TIME_GRANULARITY_MILLIS = 2000L;
+
+  /**
+   * table status of the recently read tables, in access order
+   */
+  private static final Map<String, TableStatusState> STATUS_CACHE = Collections.synchronizedMap(
+      new LinkedHashMap<String, TableStatusState>(
+          CarbonCommonConstants.DEFAULT_COLLECTION_SIZE, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(Map.Entry<String, TableStatusState> eldest) {
+          return size() > STATUS_CACHE_SIZE;
+        }
+      });
+
+  private TableStatusLog() {
+  }
+
+  /**
+   * Returns true if the incremental table status is enabled and the path is the table status
+   * file of a table. The temporary table status files written with a uuid are renamed to the
+   * table status file later, so they are always written as a whole.
+   */
+  static boolean isSupported(String tableStatusPath) {
+    boolean enabled = Boolean.parseBoolean(CarbonProperties.getInstance().getProperty(
+        CarbonCommonConstants.ENABLE_INCREMENTAL_TABLE_STATUS,
+        CarbonCommonConstants.ENABLE_INCREMENTAL_TABLE_STATUS_DEFAULT));
+    if (!enabled) {
+      return false;
+    }
+    String path = tableStatusPath.replace("\\", "/");
+    return path.substring(path.lastIndexOf('/') + 1).equals(CarbonTablePath.TABLE_STATUS_FILE);
+  }
+
+  static String getLogFilePath(String tableStatusPath) {
+    return tableStatusPath + LOG_FILE_EXTENSION;
+  }
+
+  /**
+   * Reads the load details of the snapshot and the log. The returned details are copies, so
+   * the caller is free to modify them.
+   */
+  static LoadMetadataDetails[] read(String tableStatusPath) throws IOException {
+    TableStatusState state = refresh(tableStatusPath);
+    if (null == state) {
+      return new LoadMetadataDetails[0];
+    }
+    LoadMetadataDetails[] details = new LoadMetadataDetails[state.details.size()];
+    for (int i = 0; i < details.length; i++) {
+      details[i] = state.details.get(i).copy();
+    }
+    return details;
+  }
+
+  /**
+   * Appends the load details which are changed or added compared to the current table status
+   * to the log. It must be called while holding the table status lock.
+   *
+   * @return false if the details can not be appended and the snapshot has to be rewritten,
+   * that is when segments are removed or reordered, the log is full or broken, or the file
+   * system does not support append
+   */
+  static boolean append(String tableStatusPath, LoadMetadataDetails[] details) {
+    FileFactory.FileType fileType = FileFactory.getFileType(tableStatusPath);
+    if (FileFactory.FileType.S3 == fileType) {
+      // append on S3 replaces the existing file
+      return false;
+    }
+    String logPath = getLogFilePath(tableStatusPath);
+    try {
+      TableStatusState state = refresh(tableStatusPath);
+      if (null == state || !state.appendable || state.logRecords >= getMaxLogRecords()
+          || state.logFileLength != state.logLength) {
+        return false;
+      }
+      List<LoadMetadataDetails> changedDetails = getChangedDetails(state, details);
+      if (null == changedDetails) {
+        return false;
+      }
+      if (changedDetails.isEmpty()) {
+        return true;
+      }
+      byte[] payload = new Gson().toJson(changedDetails.toArray(
+          new LoadMetadataDetails[changedDetails.size()])).getBytes(CHARSET);
+      long logLength = state.logLength;
+      DataOutputStream outputStream;
+      if (0 == logLength) {
+        // no valid log for this snapshot, overwrite the stale one if any
+        outputStream = FileFactory.getDataOutputStream(logPath, fileType);
+      } else {
+        outputStream = FileFactory.getDataOutputStreamUsingAppend(logPath, fileType);
+      }
+      try {
+        if (0 == logLength) {
+          outputStream.writeInt(MAGIC_NUMBER);
+          outputStream.writeLong(state.snapshotChecksum);
+          outputStream.writeLong(state.snapshotLength);
+          logLength = HEADER_LENGTH;
+        }
+        outputStream.writeInt(payload.length);
+        outputStream.writeLong(getChecksum(payload));
+        outputStream.write(payload);
+      } catch (IOException e) {
+        CarbonUtil.closeStreams(outputStream);
+        throw e;
+      }
+      outputStream.close();
+      logLength += RECORD_HEADER_LENGTH + payload.length;
+      STATUS_CACHE.put(tableStatusPath,
+          state.apply(changedDetails, logLength, logLength, state.logRecords + 1));
+      return true;
+    } catch (IOException e) {
+      LOG.warn("Failed to append to table status log " + logPath + ", the table status file"
+          + " will be rewritten: " + e.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * Removes the log once the whole snapshot is written, the log is stale from now on as its
+   * header does not match the new snapshot.
+   */
+  static void onSnapshotWritten(String tableStatusPath) throws IOException {
+    STATUS_CACHE.remove(tableStatusPath);
+    String logPath = getLogFilePath(tableStatusPath);
+    FileFactory.FileType fileType = FileFactory.getFileType(logPath);
+    if (FileFactory.isFileExist(logPath, fileType)) {
+      FileFactory.deleteFile(logPath, fileType);
+    }
+  }
+
+  /**
+   * Returns the last modified time of the log, or 0 if there is no log
+   */
+  static long getLogLastModifiedTime(String tableStatusPath) throws IOException {
+    String logPath = getLogFilePath(tableStatusPath);
+    FileFactory.FileType fileType = FileFactory.getFileType(logPath);
+    if (!FileFactory.isFileExist(logPath, fileType)) {
+      return 0L;
+    }
+    return FileFactory.getCarbonFile(logPath, fileType).getLastModifiedTime();
+  }
+
+  private static int getMaxLogRecords() {
+    String value = CarbonProperties.getInstance().getProperty(
+        CarbonCommonConstants.TABLE_STATUS_LOG_MAX_RECORDS,
+        CarbonCommonConstants.TABLE_STATUS_LOG_MAX_RECORDS_DEFAULT);
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      return Integer.parseInt(CarbonCommonConstants.TABLE_STATUS_LOG_MAX_RECORDS_DEFAULT);
+    }
+  }
+
+  /**
+   * Returns the details which are changed or added, or null if the new details can not be
+   * expressed as an update of the current ones
+   */
+  private static List<LoadMetadataDetails> getChangedDetails(TableStatusState state,
+      LoadMetadataDetails[] details) {
+    List<LoadMetadataDetails> currentDetails = state.details;
+    if (details.length < currentDetails.size()) {
+      return null;
+    }
+    Gson gson = new Gson();
+    List<LoadMetadataDetails> changedDetails = new ArrayList<>();
+    for (int i = 0; i < currentDetails.size(); i++) {
+      LoadMetadataDetails current = currentDetails.get(i);
+      if (null == details[i].getLoadName()
+          || !details[i].getLoadName().equals(current.getLoadName())) {
+        return null;
+      }
+      if (!gson.toJson(details[i]).equals(gson.toJson(current))) {
+        changedDetails.add(details[i]);
+      }
+    }
+    Set<String> addedLoadNames = new HashSet<>();
+    for (int i = currentDetails.size(); i < details.length; i++) {
+      String loadName = details[i].getLoadName();
+      if (null == loadName || state.loadNameIndex.containsKey(loadName)
+          || !addedLoadNames.add(loadName)) {
+        return null;
+      }
+      changedDetails.add(details[i]);
+    }
+    return changedDetails;
+  }
+
+  /**
+   * Brings the cached state of the table status up to date with the files
+   *
+   * @return null if there is no table status file
+   */
+  private static TableStatusState refresh(String tableStatusPath) throws IOException {
+    FileFactory.FileType fileType = FileFactory.getFileType(tableStatusPath);
+    CarbonFile snapshotFile = FileFactory.getCarbonFile(tableStatusPath, fileType);
+    if (!snapshotFile.exists()) {
+      STATUS_CACHE.remove(tableStatusPath);
+      return null;
+    }
+    long modifiedTime = snapshotFile.getLastModifiedTime();
+    long length = snapshotFile.getSize();
+    TableStatusState state = STATUS_CACHE.get(tableStatusPath);
+    if (null == state || state.snapshotModifiedTime != modifiedTime
+        || state.snapshotLength != length) {
+      state = readSnapshot(tableStatusPath, fileType, modifiedTime);
+    } else if (!state.snapshotSettled) {
+      // the snapshot may be rewritten since it was read without changing its modification time
+      // and length, so compare its content
+      TableStatusState snapshot = readSnapshot(tableStatusPath, fileType, modifiedTime);
+      if (snapshot.snapshotChecksum != state.snapshotChecksum) {
+        state = snapshot;
+      } else if (snapshot.snapshotSettled) {
+        state = state.settle();
+      }
+    }
+    String logPath = getLogFilePath(tableStatusPath);
+    CarbonFile logFile = FileFactory.getCarbonFile(logPath, fileType);
+    long logFileLength = logFile.exists() ? logFile.getSize() : 0L;
+    if (logFileLength != state.logFileLength) {
+      if (logFileLength < state.logLength) {
+        // log is replaced, start again from the snapshot
+        state = readSnapshot(tableStatusPath, fileType, modifiedTime);
+      }
+      state = readLog(state, logPath, fileType, logFileLength);
+    }
+    STATUS_CACHE.put(tableStatusPath, state);
+    return state;
+  }
+
+  private static TableStatusState readSnapshot(String tableStatusPath,
+      FileFactory.FileType fileType, long modifiedTime) throws IOException {
+    // a snapshot rewritten after this read gets a different modification time only if the
+    // current one is older than the time granularity
+    boolean settled =
+        System.currentTimeMillis() - modifiedTime > MODIFIED_TIME_GRANULARITY_MILLIS;
+    DataInputStream inputStream = FileFactory.getDataInputStream(tableStatusPath, fileType);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try {
+      byte[] buffer = new byte[CarbonCommonConstants.BYTEBUFFER_SIZE];
+      int read;
+      while ((read = inputStream.read(buffer)) != -1) {
+        bytes.write(buffer, 0, read);
+      }
+    } catch (IOException e) {
+      LOG.error(e, "Failed to read metadata of load");
+      throw e;
+    } finally {
+      CarbonUtil.closeStreams(inputStream);
+    }
+    byte[] content = bytes.toByteArray();
+    LoadMetadataDetails[] details =
+        new Gson().fromJson(new String(content, CHARSET), LoadMetadataDetails[].class);
+    List<LoadMetadataDetails> detailList = new ArrayList<>();
+    if (null != details) {
+      for (LoadMetadataDetails detail : details) {
+        detailList.add(detail);
+      }
+    }
+    return new TableStatusState(modifiedTime, content.length, getChecksum(content), settled,
+        detailList, 0L, 0L, 0);
+  }
+
+  private static TableStatusState readLog(TableStatusState state, String logPath,
+      FileFactory.FileType fileType, long logFileLength) throws IOException {
+    if (logFileLength < HEADER_LENGTH) {
+      return state.apply(new ArrayList<LoadMetadataDetails>(), 0L, logFileLength, 0);
+    }
+    long offset = state.logLength;
+    DataInputStream inputStream;
+    if (0 == offset) {
+      inputStream = FileFactory.getDataInputStream(logPath, fileType);
+    } else {
+      inputStream = FileFactory.getDataInputStream(logPath, fileType, -1, offset);
+    }
+    List<LoadMetadataDetails> changedDetails = new ArrayList<>();
+    int records = 0;
+    try {
+      if (0 == offset) {
+        if (inputStream.readInt() != MAGIC_NUMBER
+            || inputStream.readLong() != state.snapshotChecksum
+            || inputStream.readLong() != state.snapshotLength) {
+          // log of an older snapshot
+          return state.apply(changedDetails, 0L, logFileLength, 0);
+        }
+        offset = HEADER_LENGTH;
+      }
+      Gson gson = new Gson();
+      while (offset + RECORD_HEADER_LENGTH <= logFileLength) {
+        int payloadLength = inputStream.readInt();
+        long checksum = inputStream.readLong();
+        if (payloadLength < 0
+            || offset + RECORD_HEADER_LENGTH + payloadLength > logFileLength) {
+          break;
+        }
+        byte[] payload = new byte[payloadLength];
+        inputStream.readFully(payload);
+        if (getChecksum(payload) != checksum) {
+          LOG.warn("Ignoring corrupted record in table status log " + logPath);
+          break;
+        }
+        LoadMetadataDetails[] details =
+            gson.fromJson(new String(payload, CHARSET), LoadMetadataDetails[].class);
+        if (null != details) {
+          for (LoadMetadataDetails detail : details) {
+            changedDetails.add(detail);
+          }
+        }
+        offset += RECORD_HEADER_LENGTH + payloadLength;
+        records++;
+      }
+    } finally {
+      CarbonUtil.closeStreams(inputStream);
+    }
+    return state.apply(changedDetails, offset, logFileLength, state.logRecords + records);
+  }
+
+  private static long getChecksum(byte[] bytes) {
+    CRC32 crc = new CRC32();
+    crc.update(bytes, 0, bytes.length);
+    return crc.getValue();
+  }
+
+  /**
+   * Parsed table status of one snapshot and the valid part of its log
+   */
+  private static final class TableStatusState {
+
+    private final long snapshotModifiedTime;
+
+    private final long snapshotLength;
+
+    private final long snapshotChecksum;
+
+    /**
+     * true if the snapshot was read when it was older than the modification time granularity,
+     * so a rewrite of it changes the modification time
+     */
+    private final boolean snapshotSettled;
+
+    private final List<LoadMetadataDetails> details;
+
+    private final Map<String, Integer> loadNameIndex;
+
+    /**
+     * false if the snapshot has duplicate load names, then it can not be updated by the log
+     */
+    private final boolean appendable;
+
+    /**
+     * length of the log which is read and valid, 0 if there is no valid log
+     */
+    private final long logLength;
+
+    /**
+     * length of the log file when it was read
+     */
+    private final long logFileLength;
+
+    private final int logRecords;
+
+    private TableStatusState(long snapshotModifiedTime, long snapshotLength,
+        long snapshotChecksum, boolean snapshotSettled, List<LoadMetadataDetails> details,
+        long logLength, long logFileLength, int logRecords) {
+      this.snapshotModifiedTime = snapshotModifiedTime;
+      this.snapshotLength = snapshotLength;
+      this.snapshotChecksum = snapshotChecksum;
+      this.snapshotSettled = snapshotSettled;
+      this.details = details;
+      this.logLength = logLength;
+      this.logFileLength = logFileLength;
+      this.logRecords = logRecords;
+      this.loadNameIndex = new HashMap<>(details.size());
+      boolean duplicate = false;
+      for (int i = 0; i < details.size(); i++) {
+        String loadName = details.get(i).getLoadName();
+        if (null == loadName || null != loadNameIndex.put(loadName, i)) {
+          duplicate = true;
+        }
+      }
+      this.appendable = !duplicate;
+    }
+
+    /**
+     * Returns a new state with the changed details updated or added in order
+     */
+    private TableStatusState apply(List<LoadMetadataDetails> changedDetails, long logLength,
+        long logFileLength, int logRecords) {
+      List<LoadMetadataDetails> newDetails = new ArrayList<>(details);
+      if (appendable) {
+        Map<String, Integer> newIndex = new HashMap<>(loadNameIndex);
+        for (LoadMetadataDetails detail : changedDetails) {
+          LoadMetadataDetails copy = detail.copy();
+          Integer index = newIndex.get(copy.getLoadName());
+          if (null == index) {
+            newIndex.put(copy.getLoadName(), newDetails.size());
+            newDetails.add(copy);
+          } else {
+            newDetails.set(index, copy);
+          }
+        }
+      }
+      return new TableStatusState(snapshotModifiedTime, snapshotLength, snapshotChecksum,
+          snapshotSettled, newDetails, logLength, logFileLength, logRecords);
+    }
+
+    /**
+     * Returns this state with the snapshot marked as settled
+     */
+    private TableStatusState settle() {
+      return new TableStatusState(snapshotModifiedTime, snapshotLength, snapshotChecksum, true,
+          details, logLength, logFileLength, logRecords);
+    }
+  }
+}
@@ -187,6 +187,38 @@ public final class ByteUtil {
       return length1 - length2;
     }
 
+    /**
+     * Lexicographically compare two byte sequences in memory, either on heap (base object is
+     * the array and offset includes the array base offset) or off heap (base object is null).
+     * It does not copy the bytes, so it can be used to compare rows in the unsafe sort pages.
+     *
+     * @return 0 if equal, < 0 if left is less than right, etc.
+     */
+    public int compareUnsafe(Object baseObject1, long offset1, int length1, Object baseObject2,
+        long offset2, int length2) {
+      int minLength = Math.min(length1, length2);
+      int minWords = minLength / SIZEOF_LONG;
+      for (int i = 0; i < minWords * SIZEOF_LONG; i += SIZEOF_LONG) {
+        long lw = CarbonUnsafe.getUnsafe().getLong(baseObject1, offset1 + i);
+        long rw = CarbonUnsafe.getUnsafe().getLong(baseObject2, offset2 + i);
+        if (lw != rw) {
+          if (CarbonUnsafe.ISLITTLEENDIAN) {
+            lw = Long.reverseBytes(lw);
+            rw = Long.reverseBytes(rw);
+          }
+          return lessThanUnsigned(lw, rw) ? -1 : 1;
+        }
+      }
+      for (int i = minWords * SIZEOF_LONG; i < minLength; i++) {
+        int a = CarbonUnsafe.getUnsafe().getByte(baseObject1, offset1 + i) & 0xff;
+        int b = CarbonUnsafe.getUnsafe().getByte(baseObject2, offset2 + i) & 0xff;
+        if (a != b) {
+          return a - b;
+        }
+      }
+      return length1 - length2;
+    }
+
     public int compareTo(byte[] buffer1, byte[] buffer2) {
 
       // Short circuit equal case
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Set;
 
 import org.apache.carbondata.core.datastore.block.SegmentProperties;
+import org.apache.carbondata.core.datastore.compression.CompressorFactory;
 import org.apache.carbondata.core.datastore.page.EncodedTablePage;
 import org.apache.carbondata.core.datastore.page.statistics.TablePageStatistics;
 import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
@@ -219,16 +220,40 @@ public class CarbonMetadataUtil {
   }
 
   /**
-   * Right now it is set to default values. We may use this in future
+   * Return the chunk compression meta which records the name of the compressor,
+   * compression_codec is always set to SNAPPY as it is a required field
    */
-  public static ChunkCompressionMeta getSnappyChunkCompressionMeta() {
+  public static ChunkCompressionMeta getChunkCompressorMeta(String compressorName) {
     ChunkCompressionMeta chunkCompressionMeta = new ChunkCompressionMeta();
     chunkCompressionMeta.setCompression_codec(CompressionCodec.SNAPPY);
+    chunkCompressionMeta.setCompressor_name(compressorName);
     chunkCompressionMeta.setTotal_compressed_size(0);
     chunkCompressionMeta.setTotal_uncompressed_size(0);
     return chunkCompressionMeta;
   }
 
+  /**
+   * Return the name of the compressor recorded in the chunk compression meta,
+   * files written before compressor_name was introduced are always compressed by snappy
+   */
+  public static String getCompressorNameFromChunkMeta(ChunkCompressionMeta chunkCompressionMeta) {
+    if (chunkCompressionMeta != null && chunkCompressionMeta.isSetCompressor_name()) {
+      return chunkCompressionMeta.getCompressor_name();
+    }
+    return CompressorFactory.SupportedCompressor.SNAPPY.getName();
+  }
+
+  /**
+   * Return the name of the compressor recorded in the header of a stream file,
+   * stream files written before compressor_name was introduced are compressed by snappy
+   */
+  public static String getCompressorNameFromFileHeader(FileHeader fileHeader) {
+    if (fileHeader.isSetCompressor_name()) {
+      return fileHeader.getCompressor_name();
+    }
+    return CompressorFactory.SupportedCompressor.SNAPPY.getName();
+  }
+
   /**
    * Below method will be used to get the index header
    *
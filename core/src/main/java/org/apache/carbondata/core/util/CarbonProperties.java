@@ -1000,6 +1000,29 @@ public final class CarbonProperties {
     return numberOfCores;
   }
 
+  /**
+   * Max number of batch dictionary requests a dictionary client can send without waiting for
+   * their response.
+   *
+   * @return
+   */
+  public int getDictionaryClientMaxInFlightRequests() {
+    int maxInFlightRequests;
+    try {
+      maxInFlightRequests = Integer.parseInt(
+          getProperty(CarbonCommonConstants.DICTIONARY_CLIENT_MAX_INFLIGHT_REQUESTS,
+              CarbonCommonConstants.DICTIONARY_CLIENT_MAX_INFLIGHT_REQUESTS_DEFAULT));
+    } catch (NumberFormatException exc) {
+      LOGGER.warn("Configured value for property "
+          + CarbonCommonConstants.DICTIONARY_CLIENT_MAX_INFLIGHT_REQUESTS
+          + " is wrong. Falling back to the default value "
+          + CarbonCommonConstants.DICTIONARY_CLIENT_MAX_INFLIGHT_REQUESTS_DEFAULT);
+      maxInFlightRequests = Integer.parseInt(
+          CarbonCommonConstants.DICTIONARY_CLIENT_MAX_INFLIGHT_REQUESTS_DEFAULT);
+    }
+    return Math.max(maxInFlightRequests, 1);
+  }
+
   /**
    * Get the sort chunk memory size
    * @return
@@ -1431,6 +1454,66 @@ public final class CarbonProperties {
     return enableQueryStatistics.equalsIgnoreCase("true");
   }
 
+  public boolean isEnableQueryReadAhead() {
+    String enableReadAhead = carbonProperties.getProperty(
+        CarbonCommonConstants.CARBON_QUERY_READ_AHEAD_ENABLE,
+        CarbonCommonConstants.CARBON_QUERY_READ_AHEAD_ENABLE_DEFAULT);
+    return enableReadAhead.equalsIgnoreCase("true");
+  }
+
+  /**
+   * Get the number of upcoming blocklets for which the query plans the reads ahead.
+   */
+  public int getQueryReadAheadBlocklets() {
+    int numberOfBlocklets;
+    try {
+      numberOfBlocklets = Integer.parseInt(
+          getProperty(CarbonCommonConstants.CARBON_QUERY_READ_AHEAD_BLOCKLETS,
+              CarbonCommonConstants.CARBON_QUERY_READ_AHEAD_BLOCKLETS_DEFAULT));
+    } catch (NumberFormatException exc) {
+      LOGGER.warn("The query read ahead blocklets is invalid. Using the default value "
+          + CarbonCommonConstants.CARBON_QUERY_READ_AHEAD_BLOCKLETS_DEFAULT);
+      numberOfBlocklets =
+          Integer.parseInt(CarbonCommonConstants.CARBON_QUERY_READ_AHEAD_BLOCKLETS_DEFAULT);
+    }
+    return Math.max(numberOfBlocklets, 1);
+  }
+
+  /**
+   * Get the max bytes of read ahead data which can be in flight for a query task.
+   */
+  public long getQueryReadAheadSizeInBytes() {
+    long sizeInMB;
+    try {
+      sizeInMB = Long.parseLong(
+          getProperty(CarbonCommonConstants.CARBON_QUERY_READ_AHEAD_SIZE_IN_MB,
+              CarbonCommonConstants.CARBON_QUERY_READ_AHEAD_SIZE_IN_MB_DEFAULT));
+    } catch (NumberFormatException exc) {
+      LOGGER.warn("The query read ahead size is invalid. Using the default value "
+          + CarbonCommonConstants.CARBON_QUERY_READ_AHEAD_SIZE_IN_MB_DEFAULT);
+      sizeInMB = Long.parseLong(CarbonCommonConstants.CARBON_QUERY_READ_AHEAD_SIZE_IN_MB_DEFAULT);
+    }
+    return Math.max(sizeInMB, 1) * 1024 * 1024;
+  }
+
+  /**
+   * Get the number of driver threads used to prune the segments of a table in parallel.
+   */
+  public int getMaxDriverThreadsForSegmentPruning() {
+    int numberOfThreads;
+    try {
+      numberOfThreads = Integer.parseInt(
+          getProperty(CarbonCommonConstants.CARBON_MAX_DRIVER_THREADS_FOR_SEGMENT_PRUNING,
+              CarbonCommonConstants.CARBON_MAX_DRIVER_THREADS_FOR_SEGMENT_PRUNING_DEFAULT));
+    } catch (NumberFormatException exc) {
+      LOGGER.warn("The max driver threads for segment pruning is invalid. Using the default value "
+          + CarbonCommonConstants.CARBON_MAX_DRIVER_THREADS_FOR_SEGMENT_PRUNING_DEFAULT);
+      numberOfThreads = Integer.parseInt(
+          CarbonCommonConstants.CARBON_MAX_DRIVER_THREADS_FOR_SEGMENT_PRUNING_DEFAULT);
+    }
+    return Math.max(numberOfThreads, 1);
+  }
+
   /**
    * Get the heap memory pooling threshold bytes.
    */
@@ -1552,4 +1635,67 @@ public final class CarbonProperties {
       return defaultValue;
     }
   }
+
+  public static int getSearchScanThreads() {
+    int defaultValue = Runtime.getRuntime().availableProcessors();
+    int numberOfThreads;
+    try {
+      numberOfThreads = Integer.parseInt(
+          getInstance().getProperty(
+              CarbonCommonConstants.CARBON_SEARCH_MODE_SCAN_THREAD,
+              String.valueOf(defaultValue)));
+    } catch (NumberFormatException e) {
+      numberOfThreads = defaultValue;
+    }
+    return numberOfThreads > 0 ? numberOfThreads : defaultValue;
+  }
+
+  public static int getSearchScanBlockletsPerTask() {
+    try {
+      return Math.max(1, Integer.parseInt(
+          getInstance().getProperty(
+              CarbonCommonConstants.CARBON_SEARCH_MODE_SCAN_BLOCKLETS_PER_TASK,
+              CarbonCommonConstants.CARBON_SEARCH_MODE_SCAN_BLOCKLETS_PER_TASK_DEFAULT)));
+    } catch (NumberFormatException e) {
+      return Integer.parseInt(
+          CarbonCommonConstants.CARBON_SEARCH_MODE_SCAN_BLOCKLETS_PER_TASK_DEFAULT);
+    }
+  }
+
+  public static int getSearchRequestMaxConcurrency(int scanThreads) {
+    int maxConcurrency;
+    try {
+      maxConcurrency = Integer.parseInt(
+          getInstance().getProperty(
+              CarbonCommonConstants.CARBON_SEARCH_MODE_REQUEST_MAX_CONCURRENCY,
+              String.valueOf(scanThreads)));
+    } catch (NumberFormatException e) {
+      maxConcurrency = scanThreads;
+    }
+    return maxConcurrency > 0 ? Math.min(maxConcurrency, scanThreads) : scanThreads;
+  }
+
+  public static int getSearchShortRequestMaxBlocks() {
+    try {
+      return Integer.parseInt(
+          getInstance().getProperty(
+              CarbonCommonConstants.CARBON_SEARCH_MODE_SHORT_REQUEST_MAX_BLOCKS,
+              CarbonCommonConstants.CARBON_SEARCH_MODE_SHORT_REQUEST_MAX_BLOCKS_DEFAULT));
+    } catch (NumberFormatException e) {
+      return Integer.parseInt(
+          CarbonCommonConstants.CARBON_SEARCH_MODE_SHORT_REQUEST_MAX_BLOCKS_DEFAULT);
+    }
+  }
+
+  public static int getSearchShortRequestWeight() {
+    try {
+      return Math.max(1, Integer.parseInt(
+          getInstance().getProperty(
+              CarbonCommonConstants.CARBON_SEARCH_MODE_SHORT_REQUEST_WEIGHT,
+              CarbonCommonConstants.CARBON_SEARCH_MODE_SHORT_REQUEST_WEIGHT_DEFAULT)));
+    } catch (NumberFormatException e) {
+      return Integer.parseInt(
+          CarbonCommonConstants.CARBON_SEARCH_MODE_SHORT_REQUEST_WEIGHT_DEFAULT);
+    }
+  }
 }
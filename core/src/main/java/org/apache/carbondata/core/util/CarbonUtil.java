@@ -1601,6 +1601,10 @@ public final class CarbonUtil {
 
   public static DataChunk3 readDataChunk3(ByteBuffer dataChunkBuffer, int offset, int length)
       throws IOException {
+    if (!dataChunkBuffer.hasArray()) {
+      dataChunkBuffer = copyToHeapBuffer(dataChunkBuffer, offset, length);
+      offset = 0;
+    }
     byte[] data = dataChunkBuffer.array();
     return (DataChunk3) read(data, new ThriftReader.TBaseCreator() {
       @Override public TBase create() {
@@ -1609,6 +1613,25 @@ public final class CarbonUtil {
     }, offset, length);
   }
 
+  /**
+   * Copies the given range of the buffer to a new heap buffer. It is used for the buffers
+   * without backing array, like the memory mapped data returned by MappedFileReaderImpl, so
+   * only the part which is decoded is copied to heap.
+   *
+   * @param buffer source buffer, its position and limit are not changed
+   * @param offset start of the range in the buffer
+   * @param length length of the range
+   * @return heap buffer with the data of the range starting at index 0
+   */
+  public static ByteBuffer copyToHeapBuffer(ByteBuffer buffer, int offset, int length) {
+    byte[] data = new byte[length];
+    ByteBuffer source = buffer.duplicate();
+    source.clear();
+    source.position(offset);
+    source.get(data);
+    return ByteBuffer.wrap(data);
+  }
+
   public static DataChunk3 readDataChunk3(InputStream stream) throws IOException {
     TBaseCreator creator = new ThriftReader.TBaseCreator() {
       @Override public TBase create() {
@@ -1627,6 +1650,10 @@ public final class CarbonUtil {
 
   public static DataChunk2 readDataChunk(ByteBuffer dataChunkBuffer, int offset, int length)
       throws IOException {
+    if (!dataChunkBuffer.hasArray()) {
+      dataChunkBuffer = copyToHeapBuffer(dataChunkBuffer, offset, length);
+      offset = 0;
+    }
     byte[] data = dataChunkBuffer.array();
     return (DataChunk2) read(data, new ThriftReader.TBaseCreator() {
       @Override public TBase create() {
@@ -17,6 +17,7 @@
 
 package org.apache.carbondata.core.writer;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -27,8 +28,12 @@ import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.mutate.DeleteDeltaBlockDetails;
+import org.apache.carbondata.core.mutate.DeletedRowsAdapter;
+import org.apache.carbondata.core.util.CarbonProperties;
 
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.roaringbitmap.RoaringBitmap;
 
 /**
  * This class is responsible for writing the delete delta file
@@ -90,16 +95,22 @@ public class CarbonDeleteDeltaWriterImpl implements CarbonDeleteDeltaWriter {
   }
 
   /**
-   * This method will write the deleted records data in the json format.
+   * This method will write the deleted records data in the json format or in the bitmap
+   * format based on the configured delete delta format.
    * @param deleteDeltaBlockDetails
    * @throws IOException
    */
   @Override public void write(DeleteDeltaBlockDetails deleteDeltaBlockDetails) throws IOException {
+    if (isBitmapFormat()) {
+      writeBitmapFormat(deleteDeltaBlockDetails);
+      return;
+    }
     BufferedWriter brWriter = null;
     try {
       FileFactory.createNewFile(filePath, fileType);
       dataOutStream = FileFactory.getDataOutputStream(filePath, fileType);
-      Gson gsonObjectToWrite = new Gson();
+      Gson gsonObjectToWrite = new GsonBuilder()
+          .registerTypeAdapter(RoaringBitmap.class, new DeletedRowsAdapter()).create();
       brWriter = new BufferedWriter(new OutputStreamWriter(dataOutStream,
           CarbonCommonConstants.DEFAULT_CHARSET));
       String deletedData = gsonObjectToWrite.toJson(deleteDeltaBlockDetails);
@@ -120,4 +131,36 @@ public class CarbonDeleteDeltaWriterImpl implements CarbonDeleteDeltaWriter {
     }
 
   }
+
+  /**
+   * This method will write the deleted rows of each page as serialized roaring bitmap
+   * @param deleteDeltaBlockDetails
+   * @throws IOException
+   */
+  private void writeBitmapFormat(DeleteDeltaBlockDetails deleteDeltaBlockDetails)
+      throws IOException {
+    DataOutputStream bufferedOutStream = null;
+    try {
+      FileFactory.createNewFile(filePath, fileType);
+      dataOutStream = FileFactory.getDataOutputStream(filePath, fileType);
+      bufferedOutStream = new DataOutputStream(new BufferedOutputStream(dataOutStream));
+      deleteDeltaBlockDetails.write(bufferedOutStream);
+    } catch (IOException ioe) {
+      LOGGER.error("Error message: " + ioe.getLocalizedMessage());
+      throw ioe;
+    } finally {
+      if (null != bufferedOutStream) {
+        bufferedOutStream.flush();
+        bufferedOutStream.close();
+      } else if (null != dataOutStream) {
+        dataOutStream.close();
+      }
+    }
+  }
+
+  private static boolean isBitmapFormat() {
+    return "bitmap".equalsIgnoreCase(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_DELETE_DELTA_FORMAT,
+            CarbonCommonConstants.CARBON_DELETE_DELTA_FORMAT_DEFAULT).trim());
+  }
 }
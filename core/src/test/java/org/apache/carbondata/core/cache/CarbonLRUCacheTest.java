@@ -22,7 +22,9 @@ import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
@@ -60,6 +62,58 @@ public class CarbonLRUCacheTest {
     assertNull(carbonLRUCache.get("Column2"));
   }
 
+  @Test public void testEvictionGivesSecondChanceToRecentlyUsedEntry() {
+    CarbonLRUCache cache = new CarbonLRUCache("prop2", "1");
+    long entrySize = 400 * 1024;
+    assertTrue(cache.put("A", newCacheable(entrySize, 0), entrySize));
+    assertTrue(cache.put("B", newCacheable(entrySize, 0), entrySize));
+    assertNotNull(cache.get("A"));
+    assertTrue(cache.put("C", newCacheable(entrySize, 0), entrySize));
+    assertNotNull(cache.get("A"));
+    assertNull(cache.get("B"));
+    assertNotNull(cache.get("C"));
+    assertEquals(1, cache.getEvictionCount());
+    assertEquals(3, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(2 * entrySize, cache.getCurrentSize());
+  }
+
+  @Test public void testEntryInUseIsNotEvicted() {
+    CarbonLRUCache cache = new CarbonLRUCache("prop2", "1");
+    long entrySize = 600 * 1024;
+    assertTrue(cache.put("A", newCacheable(entrySize, 1), entrySize));
+    assertFalse(cache.put("B", newCacheable(entrySize, 0), entrySize));
+    assertNotNull(cache.get("A"));
+    assertEquals(0, cache.getEvictionCount());
+  }
+
+  @Test public void testAddMemorySizeOfCachedEntry() {
+    CarbonLRUCache cache = new CarbonLRUCache("prop3", "1");
+    long entrySize = 300 * 1024;
+    assertTrue(cache.put("A", newCacheable(entrySize, 0), entrySize));
+    cache.addMemorySize("A", 100L);
+    assertEquals(entrySize + 100L, cache.getCurrentSize());
+    // memory of an entry which is not in the cache is not counted
+    cache.addMemorySize("B", 100L);
+    assertEquals(entrySize + 100L, cache.getCurrentSize());
+  }
+
+  private static Cacheable newCacheable(final long memorySize, final int accessCount) {
+    return new Cacheable() {
+      @Override public long getFileTimeStamp() {
+        return 0;
+      }
+
+      @Override public int getAccessCount() {
+        return accessCount;
+      }
+
+      @Override public long getMemorySize() {
+        return memorySize;
+      }
+    };
+  }
+
   @AfterClass public static void cleanUp() {
     carbonLRUCache.clear();
     assertNull(carbonLRUCache.get("Column1"));
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.carbon.datastorage.filesystem.store.impl;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.core.datastore.impl.FileReaderImpl;
+import org.apache.carbondata.core.datastore.impl.MappedFileReaderImpl;
+import org.apache.carbondata.core.util.CarbonUtil;
+
+import mockit.Deencapsulation;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class MappedFileReaderImplUnitTest {
+
+  private static File file1;
+  private static File file2;
+
+  @BeforeClass public static void setup() throws IOException {
+    file1 = createFile("TestMapped1.carbondata", 1);
+    file2 = createFile("TestMapped2.carbondata", 2);
+  }
+
+  private static File createFile(String name, int seed) throws IOException {
+    File file = new File(name);
+    ByteBuffer buffer = ByteBuffer.allocate(4096);
+    for (int i = 0; i < buffer.capacity(); i += 8) {
+      buffer.putLong((long) i * seed);
+    }
+    FileOutputStream stream = new FileOutputStream(file);
+    try {
+      stream.write(buffer.array());
+    } finally {
+      stream.close();
+    }
+    return file;
+  }
+
+  @AfterClass public static void tearDown() {
+    file1.delete();
+    file2.delete();
+  }
+
+  @Test public void testReadsAreSameAsChannelReader() throws IOException {
+    String path = file1.getAbsolutePath();
+    MappedFileReaderImpl mappedReader = new MappedFileReaderImpl();
+    FileReaderImpl channelReader = new FileReaderImpl();
+    try {
+      Assert.assertArrayEquals(channelReader.readByteArray(path, 13L, 100),
+          mappedReader.readByteArray(path, 13L, 100));
+      Assert.assertEquals(channelReader.readByteBuffer(path, 64L, 64),
+          mappedReader.readByteBuffer(path, 64L, 64));
+      Assert.assertEquals(channelReader.readInt(path, 4L), mappedReader.readInt(path, 4L));
+      Assert.assertEquals(channelReader.readLong(path, 800L), mappedReader.readLong(path, 800L));
+      Assert.assertEquals(channelReader.readDouble(path, 3L), mappedReader.readDouble(path, 3L));
+      // reads without offset continue from the end of the last read
+      Assert.assertEquals(channelReader.readInt(path), mappedReader.readInt(path));
+      Assert.assertArrayEquals(channelReader.readByteArray(path, 10),
+          mappedReader.readByteArray(path, 10));
+    } finally {
+      mappedReader.finish();
+      channelReader.finish();
+    }
+  }
+
+  @Test public void testReadBeyondFileEnd() throws IOException {
+    MappedFileReaderImpl mappedReader = new MappedFileReaderImpl();
+    try {
+      byte[] data = mappedReader.readByteArray(file1.getAbsolutePath(), 4090L, 10);
+      Assert.assertEquals(10, data.length);
+      Assert.assertEquals(0, data[9]);
+    } finally {
+      mappedReader.finish();
+    }
+  }
+
+  @Test public void testReadsAfterMappingIsEvicted() throws IOException {
+    MappedFileReaderImpl mappedReader = new MappedFileReaderImpl(1);
+    try {
+      ByteBuffer buffer = mappedReader.readByteBuffer(file1.getAbsolutePath(), 0L, 16);
+      Assert.assertEquals(16L * 2, mappedReader.readLong(file2.getAbsolutePath(), 16L));
+      Assert.assertEquals(8L, mappedReader.readLong(file1.getAbsolutePath(), 8L));
+      Assert.assertEquals(8L, buffer.getLong(8));
+      // the evicted mapping is still in use by the slice, so it is unmapped only on finish
+      Assert.assertEquals(1, getSlicedBuffers(mappedReader).size());
+    } finally {
+      mappedReader.finish();
+    }
+    Assert.assertTrue(getSlicedBuffers(mappedReader).isEmpty());
+  }
+
+  @Test public void testReadByteBufferIsSliceOfMapping() throws IOException {
+    MappedFileReaderImpl mappedReader = new MappedFileReaderImpl();
+    ByteBuffer buffer;
+    try {
+      buffer = mappedReader.readByteBuffer(file1.getAbsolutePath(), 64L, 64);
+      Assert.assertTrue(buffer.isDirect());
+      Assert.assertEquals(0, buffer.position());
+      Assert.assertEquals(64, buffer.limit());
+      Assert.assertEquals(64, buffer.capacity());
+      Assert.assertEquals(64L, buffer.getLong(0));
+      // only the requested range is copied to heap for decoding
+      ByteBuffer heapBuffer = CarbonUtil.copyToHeapBuffer(buffer, 8, 16);
+      Assert.assertTrue(heapBuffer.hasArray());
+      Assert.assertEquals(16, heapBuffer.capacity());
+      Assert.assertEquals(72L, heapBuffer.getLong(0));
+      Assert.assertEquals(0, buffer.position());
+    } finally {
+      mappedReader.finish();
+    }
+    // all the mappings are unmapped on finish, the slices must not be read anymore
+    Map<String, ?> mappings = Deencapsulation.getField(mappedReader, "fileNameAndMappingCache");
+    Assert.assertTrue(mappings.isEmpty());
+  }
+
+  private static List<?> getSlicedBuffers(MappedFileReaderImpl mappedReader) {
+    return Deencapsulation.getField(mappedReader, "slicedBuffers");
+  }
+}
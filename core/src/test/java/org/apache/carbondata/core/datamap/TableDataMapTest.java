@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datamap;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.indexstore.Blocklet;
+import org.apache.carbondata.core.indexstore.BlockletDetailsFetcher;
+import org.apache.carbondata.core.indexstore.ExtendedBlocklet;
+import org.apache.carbondata.core.indexstore.PartitionSpec;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TableDataMapTest {
+
+  private static final int NUMBER_OF_SEGMENTS = 8;
+
+  private static final int BLOCKLETS_PER_SEGMENT = 3;
+
+  @After public void tearDown() {
+    setPruningThreads(CarbonCommonConstants.CARBON_MAX_DRIVER_THREADS_FOR_SEGMENT_PRUNING_DEFAULT);
+  }
+
+  @Test public void testParallelPruningKeepsSegmentOrder() throws IOException {
+    List<Segment> segments = createSegments();
+    TableDataMap tableDataMap = createTableDataMap(new SegmentBlockletFetcher(null));
+    List<ExtendedBlocklet> expected = tableDataMap.prune(segments, null, null);
+    setPruningThreads("4");
+    List<ExtendedBlocklet> actual = tableDataMap.prune(segments, null, null);
+    Assert.assertEquals(NUMBER_OF_SEGMENTS * BLOCKLETS_PER_SEGMENT, expected.size());
+    Assert.assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      Assert.assertEquals(expected.get(i).getSegmentId(), actual.get(i).getSegmentId());
+      Assert.assertEquals(expected.get(i).getFilePath(), actual.get(i).getFilePath());
+      Assert.assertEquals(expected.get(i).getBlockletId(), actual.get(i).getBlockletId());
+    }
+  }
+
+  @Test public void testFailureOfParallelPruningReachesCaller() {
+    setPruningThreads("4");
+    IOException failure = new IOException("Failed to read the index of segment 5");
+    TableDataMap tableDataMap = createTableDataMap(new SegmentBlockletFetcher(failure));
+    try {
+      tableDataMap.prune(createSegments(), null, null);
+      Assert.fail("pruning must fail");
+    } catch (IOException e) {
+      Assert.assertSame(failure, e);
+    }
+  }
+
+  @Test public void testRuntimeFailureOfParallelPruningReachesCaller() throws IOException {
+    setPruningThreads("4");
+    TableDataMap tableDataMap =
+        createTableDataMap(new SegmentBlockletFetcher(new IllegalStateException("corrupt")));
+    try {
+      tableDataMap.prune(createSegments(), null, null);
+      Assert.fail("pruning must fail");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+  }
+
+  @Test public void testPruningPoolFollowsConfiguredThreads() {
+    Assert.assertEquals(2, TableDataMap.getPruningPool(2).getParallelism());
+    Assert.assertSame(TableDataMap.getPruningPool(2), TableDataMap.getPruningPool(2));
+    Assert.assertEquals(3, TableDataMap.getPruningPool(3).getParallelism());
+  }
+
+  private static void setPruningThreads(String numOfThreads) {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_MAX_DRIVER_THREADS_FOR_SEGMENT_PRUNING,
+            numOfThreads);
+  }
+
+  private static List<Segment> createSegments() {
+    List<Segment> segments = new ArrayList<>();
+    for (int i = 0; i < NUMBER_OF_SEGMENTS; i++) {
+      segments.add(new Segment(String.valueOf(i), null));
+    }
+    return segments;
+  }
+
+  private static TableDataMap createTableDataMap(BlockletDetailsFetcher blockletDetailsFetcher) {
+    return new TableDataMap(null, null, null, blockletDetailsFetcher, null);
+  }
+
+  /**
+   * Returns the same blocklets for every segment. The first segments are the slowest so that
+   * the parallel pruning completes them last. Pruning of segment 5 fails with the given
+   * exception if it is not null
+   */
+  private static class SegmentBlockletFetcher implements BlockletDetailsFetcher {
+
+    private final Exception failure;
+
+    SegmentBlockletFetcher(Exception failure) {
+      this.failure = failure;
+    }
+
+    @Override public List<ExtendedBlocklet> getExtendedBlocklets(List<Blocklet> blocklets,
+        Segment segment) {
+      List<ExtendedBlocklet> extendedBlocklets = new ArrayList<>();
+      for (Blocklet blocklet : blocklets) {
+        extendedBlocklets.add(getExtendedBlocklet(blocklet, segment));
+      }
+      return extendedBlocklets;
+    }
+
+    @Override public ExtendedBlocklet getExtendedBlocklet(Blocklet blocklet, Segment segment) {
+      return new ExtendedBlocklet(blocklet.getFilePath(), blocklet.getBlockletId());
+    }
+
+    @Override public List<Blocklet> getAllBlocklets(Segment segment,
+        List<PartitionSpec> partitions) throws IOException {
+      int segmentNo = Integer.parseInt(segment.getSegmentNo());
+      try {
+        Thread.sleep((NUMBER_OF_SEGMENTS - segmentNo) * 10L);
+      } catch (InterruptedException e) {
+        throw new IOException(e);
+      }
+      if (null != failure && segmentNo == 5) {
+        if (failure instanceof IOException) {
+          throw (IOException) failure;
+        }
+        throw (RuntimeException) failure;
+      }
+      List<Blocklet> blocklets = new ArrayList<>();
+      for (int i = 0; i < BLOCKLETS_PER_SEGMENT; i++) {
+        blocklets.add(new Blocklet("/store/Segment_" + segmentNo + "/part-0-" + i + ".carbondata",
+            String.valueOf(i)));
+      }
+      return blocklets;
+    }
+
+    @Override public void clear() {
+    }
+  }
+}
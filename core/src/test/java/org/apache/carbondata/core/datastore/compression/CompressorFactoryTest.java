@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.compression;
+
+import org.apache.carbondata.core.util.CarbonMetadataUtil;
+import org.apache.carbondata.format.ChunkCompressionMeta;
+import org.apache.carbondata.format.CompressionCodec;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CompressorFactoryTest {
+
+  private static final String[] COMPRESSORS = new String[] { "snappy", "zstd", "lz4" };
+
+  @Test public void testGetCompressorByName() {
+    for (String name : COMPRESSORS) {
+      Compressor compressor = CompressorFactory.getInstance().getCompressor(name.toUpperCase());
+      assertEquals(name, compressor.getName());
+      assertTrue(CompressorFactory.getInstance().isSupported(name));
+    }
+    assertFalse(CompressorFactory.getInstance().isSupported("gzip"));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testUnsupportedCompressor() {
+    CompressorFactory.getInstance().getCompressor("gzip");
+  }
+
+  @Test public void testByteRoundTrip() {
+    byte[] input = new byte[10000];
+    for (int i = 0; i < input.length; i++) {
+      input[i] = (byte) (i % 17);
+    }
+    for (String name : COMPRESSORS) {
+      Compressor compressor = CompressorFactory.getInstance().getCompressor(name);
+      byte[] compressed = compressor.compressByte(input);
+      assertArrayEquals(input, compressor.unCompressByte(compressed));
+      // decompress from the middle of a bigger buffer, like reading a page from a blocklet
+      byte[] buffer = new byte[compressed.length + 10];
+      System.arraycopy(compressed, 0, buffer, 5, compressed.length);
+      assertArrayEquals(input, compressor.unCompressByte(buffer, 5, compressed.length));
+      // compress only the beginning of the input, like stream blocklet writer
+      byte[] part = compressor.compressByte(input, 100);
+      assertEquals(100, compressor.unCompressByte(part).length);
+    }
+  }
+
+  @Test public void testPrimitiveRoundTrip() {
+    int[] ints = new int[1000];
+    long[] longs = new long[1000];
+    double[] doubles = new double[1000];
+    short[] shorts = new short[1000];
+    for (int i = 0; i < 1000; i++) {
+      ints[i] = i * 31;
+      longs[i] = i * 1000000007L;
+      doubles[i] = i / 3.0;
+      shorts[i] = (short) i;
+    }
+    for (String name : COMPRESSORS) {
+      Compressor compressor = CompressorFactory.getInstance().getCompressor(name);
+      assertArrayEquals(ints, compressor.unCompressInt(compressor.compressInt(ints)));
+      assertArrayEquals(longs, compressor.unCompressLong(compressor.compressLong(longs)));
+      assertArrayEquals(shorts, compressor.unCompressShort(compressor.compressShort(shorts)));
+      byte[] compressed = compressor.compressDouble(doubles);
+      assertArrayEquals(doubles, compressor.unCompressDouble(compressed, 0, compressed.length),
+          0.0);
+    }
+  }
+
+  @Test public void testCompressorNameInChunkMeta() {
+    ChunkCompressionMeta meta = CarbonMetadataUtil.getChunkCompressorMeta("zstd");
+    assertEquals("zstd", CarbonMetadataUtil.getCompressorNameFromChunkMeta(meta));
+    // chunk written by older version does not have compressor name
+    ChunkCompressionMeta legacyMeta = new ChunkCompressionMeta();
+    legacyMeta.setCompression_codec(CompressionCodec.SNAPPY);
+    assertEquals("snappy", CarbonMetadataUtil.getCompressorNameFromChunkMeta(legacyMeta));
+  }
+}
@@ -18,7 +18,9 @@
 package org.apache.carbondata.core.dictionary.client;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
@@ -169,6 +171,46 @@ public class DictionaryClientTest {
     // Shutdown the server
   }
 
+  @Test public void testBatchClient() throws Exception {
+    NonSecureDictionaryClient client = new NonSecureDictionaryClient();
+    client.startClient(null, host, 5678, false);
+
+    Thread.sleep(1000);
+    List<String> values = new ArrayList<>();
+    for (int i = 0; i < 20000; i++) {
+      values.add("BatchKey" + i);
+    }
+    List<DictionaryMessage> requests =
+        DictionaryMessage.createBatchMessages("1", ageColumnSchema.getColumnName(), values);
+    // values should be split to keep each message within the frame size
+    Assert.assertTrue(requests.size() > 1);
+    List<DictionaryMessage> responses = client.getDictionaries(requests);
+    Assert.assertEquals(requests.size(), responses.size());
+    int expectedValue = 2;
+    for (int i = 0; i < requests.size(); i++) {
+      int[] dictionaryValues = responses.get(i).getBatchDictionaryValues();
+      Assert.assertEquals(requests.get(i).getBatchData().size(), dictionaryValues.length);
+      for (int dictionaryValue : dictionaryValues) {
+        Assert.assertEquals(expectedValue++, dictionaryValue);
+      }
+    }
+
+    // already generated values should get the same dictionary values
+    responses = client.getDictionaries(
+        DictionaryMessage.createBatchMessages("1", ageColumnSchema.getColumnName(),
+            Arrays.asList("BatchKey5", "BatchKey0")));
+    Assert.assertArrayEquals(new int[] { 7, 2 }, responses.get(0).getBatchDictionaryValues());
+
+    DictionaryMessage sizeKey = new DictionaryMessage();
+    sizeKey.setColumnName(ageColumnSchema.getColumnName());
+    sizeKey.setTableUniqueId("1");
+    sizeKey.setData("0");
+    sizeKey.setType(DictionaryMessageType.SIZE);
+    Assert.assertEquals(20001, client.getDictionary(sizeKey).getDictionaryValue());
+
+    client.shutDown();
+  }
+
   @Test public void testToCheckIfCorrectTimeOutExceptionMessageIsThrown() {
     new MockUp<LinkedBlockingQueue<DictionaryMessage>>() {
       @SuppressWarnings("unused")
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.indexstore.blockletindex;
+
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.carbondata.core.indexstore.BlockletDataMapIndexWrapper;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.filter.executer.FilterExecuter;
+import org.apache.carbondata.core.scan.filter.intf.RowIntf;
+import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
+import org.apache.carbondata.core.util.BitSetGroup;
+import org.apache.carbondata.core.util.ByteUtil;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BlockletMinMaxTreeTest {
+
+  private static final int NUM_BLOCKLETS = 1000;
+
+  /**
+   * filter executer selecting the range [low, high] of the given column
+   */
+  private static class RangeFilterExecuter implements FilterExecuter {
+
+    private int column;
+    private byte[] low;
+    private byte[] high;
+
+    RangeFilterExecuter(int column, byte[] low, byte[] high) {
+      this.column = column;
+      this.low = low;
+      this.high = high;
+    }
+
+    @Override
+    public BitSetGroup applyFilter(RawBlockletColumnChunks rawBlockletColumnChunks,
+        boolean useBitsetPipeLine) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean applyFilter(RowIntf value, int dimOrdinalMax) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public BitSet isScanRequired(byte[][] blockMaxValue, byte[][] blockMinValue) {
+      BitSet bitSet = new BitSet(1);
+      if (ByteUtil.UnsafeComparer.INSTANCE.compareTo(blockMinValue[column], high) <= 0
+          && ByteUtil.UnsafeComparer.INSTANCE.compareTo(blockMaxValue[column], low) >= 0) {
+        bitSet.set(0);
+      }
+      return bitSet;
+    }
+
+    @Override
+    public void readColumnChunks(RawBlockletColumnChunks rawBlockletColumnChunks) {
+    }
+  }
+
+  private static byte[] toBytes(int value) {
+    return ByteBuffer.allocate(4).putInt(value).array();
+  }
+
+  private static byte[] toMeasureBytes(long value) {
+    return ByteBuffer.allocate(8).putLong(value).array();
+  }
+
+  private List<Integer> linearScan(FilterExecuter executer, byte[][][] min, byte[][][] max) {
+    List<Integer> selected = new ArrayList<>();
+    for (int i = 0; i < min.length; i++) {
+      if (!executer.isScanRequired(max[i], min[i]).isEmpty()) {
+        selected.add(i);
+      }
+    }
+    return selected;
+  }
+
+  private List<Integer> treeScan(BlockletMinMaxTree tree, FilterExecuter executer,
+      byte[][][] min, byte[][][] max) {
+    List<Integer> selected = new ArrayList<>();
+    for (int[] range : tree.getCandidateRanges(executer)) {
+      for (int i = range[0]; i < range[1]; i++) {
+        if (!executer.isScanRequired(max[i], min[i]).isEmpty()) {
+          selected.add(i);
+        }
+      }
+    }
+    return selected;
+  }
+
+  private static int countCandidates(List<int[]> ranges) {
+    int count = 0;
+    for (int[] range : ranges) {
+      count += range[1] - range[0];
+    }
+    return count;
+  }
+
+  @Test
+  public void testPruneSameAsLinearScan() {
+    Random random = new Random(7);
+    byte[][][] min = new byte[NUM_BLOCKLETS][][];
+    byte[][][] max = new byte[NUM_BLOCKLETS][][];
+    for (int i = 0; i < NUM_BLOCKLETS; i++) {
+      // first column is the sort column, second is unsorted, third is a long measure
+      int otherMin = random.nextInt(10000);
+      long measureMin = random.nextInt(10000);
+      min[i] = new byte[][] { toBytes(i * 10), toBytes(otherMin), toMeasureBytes(measureMin) };
+      max[i] = new byte[][] { toBytes(i * 10 + 9), toBytes(otherMin + random.nextInt(100)),
+          toMeasureBytes(measureMin + random.nextInt(100)) };
+    }
+    BlockletMinMaxTree tree =
+        new BlockletMinMaxTree(min, max, new DataType[] { DataTypes.LONG }, 4);
+    Assert.assertEquals(NUM_BLOCKLETS, tree.getNumBlocklets());
+
+    FilterExecuter sortColumnFilter = new RangeFilterExecuter(0, toBytes(4995), toBytes(5012));
+    Assert.assertEquals(linearScan(sortColumnFilter, min, max),
+        treeScan(tree, sortColumnFilter, min, max));
+    Assert.assertTrue(countCandidates(tree.getCandidateRanges(sortColumnFilter)) <= 8);
+
+    FilterExecuter otherColumnFilter = new RangeFilterExecuter(1, toBytes(500), toBytes(600));
+    Assert.assertEquals(linearScan(otherColumnFilter, min, max),
+        treeScan(tree, otherColumnFilter, min, max));
+
+    FilterExecuter noMatchFilter =
+        new RangeFilterExecuter(0, toBytes(NUM_BLOCKLETS * 10), toBytes(Integer.MAX_VALUE));
+    Assert.assertTrue(tree.getCandidateRanges(noMatchFilter).isEmpty());
+  }
+
+  @Test
+  public void testNodeWithoutMeasureMinMaxIsAlwaysScanned() {
+    byte[][][] min = new byte[NUM_BLOCKLETS][][];
+    byte[][][] max = new byte[NUM_BLOCKLETS][][];
+    for (int i = 0; i < NUM_BLOCKLETS; i++) {
+      min[i] = new byte[][] { toBytes(i), toMeasureBytes(i) };
+      max[i] = new byte[][] { toBytes(i), toMeasureBytes(i) };
+    }
+    min[0][1] = new byte[0];
+    BlockletMinMaxTree tree = new BlockletMinMaxTree(min, max,
+        new DataType[] { DataTypes.LONG }, BlockletMinMaxTree.DEFAULT_FANOUT);
+    FilterExecuter filter =
+        new RangeFilterExecuter(0, toBytes(NUM_BLOCKLETS), toBytes(Integer.MAX_VALUE));
+    List<int[]> ranges = tree.getCandidateRanges(filter);
+    Assert.assertEquals(1, ranges.size());
+    Assert.assertArrayEquals(new int[] { 0, BlockletMinMaxTree.DEFAULT_FANOUT }, ranges.get(0));
+  }
+
+  private static BlockletMinMaxTree newTree(int numBlocklets) {
+    byte[][][] min = new byte[numBlocklets][][];
+    byte[][][] max = new byte[numBlocklets][][];
+    for (int i = 0; i < numBlocklets; i++) {
+      min[i] = new byte[][] { toBytes(i * 10), toMeasureBytes(i) };
+      max[i] = new byte[][] { toBytes(i * 10 + 9), toMeasureBytes(i + 5) };
+    }
+    return new BlockletMinMaxTree(min, max, new DataType[] { DataTypes.LONG },
+        BlockletMinMaxTree.DEFAULT_FANOUT);
+  }
+
+  @Test
+  public void testMemorySizeGrowsWithBlocklets() {
+    long smallTreeSize = newTree(NUM_BLOCKLETS / 10).getMemorySize();
+    long treeSize = newTree(NUM_BLOCKLETS).getMemorySize();
+    Assert.assertTrue(smallTreeSize > 0);
+    Assert.assertTrue(treeSize > smallTreeSize);
+  }
+
+  @Test
+  public void testDataMapMemorySizeIncludesTree() throws Exception {
+    BlockletDataMap dataMap = new BlockletDataMap();
+    List<BlockletDataMap> dataMaps = new ArrayList<>();
+    dataMaps.add(dataMap);
+    BlockletDataMapIndexWrapper wrapper = new BlockletDataMapIndexWrapper(dataMaps);
+    long sizeWithoutTree = dataMap.getMemorySize();
+    Assert.assertEquals(sizeWithoutTree, wrapper.getMemorySize());
+
+    BlockletMinMaxTree tree = newTree(NUM_BLOCKLETS);
+    Field minMaxTree = BlockletDataMap.class.getDeclaredField("minMaxTree");
+    minMaxTree.setAccessible(true);
+    minMaxTree.set(dataMap, tree);
+    Assert.assertEquals(sizeWithoutTree + tree.getMemorySize(), dataMap.getMemorySize());
+    Assert.assertEquals(dataMap.getMemorySize(), wrapper.getMemorySize());
+    // the tree is already built, so building it again does not add memory
+    Assert.assertEquals(0L, dataMap.buildMinMaxTree());
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.memory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class UnsafeMemoryManagerTest {
+
+  @Test
+  public void testTaskMemoryIsReleasedOnFreeAll() throws MemoryException {
+    UnsafeMemoryManager manager = UnsafeMemoryManager.INSTANCE;
+    long taskId = 1001L;
+    long usedBefore = manager.getMemoryUsed();
+    MemoryBlock block1 = UnsafeMemoryManager.allocateMemoryWithRetry(taskId, 1024);
+    MemoryBlock block2 = UnsafeMemoryManager.allocateMemoryWithRetry(taskId, 2048);
+    Assert.assertEquals(3072, manager.getTaskMemoryUsed(taskId));
+    Assert.assertEquals(usedBefore + 3072, manager.getMemoryUsed());
+
+    manager.freeMemory(taskId, block1);
+    Assert.assertEquals(2048, manager.getTaskMemoryUsed(taskId));
+    // freeing a block twice must not release its memory twice
+    manager.freeMemory(taskId, block1);
+    Assert.assertEquals(usedBefore + 2048, manager.getMemoryUsed());
+
+    manager.freeMemoryAll(taskId);
+    Assert.assertTrue(block2.isFreedStatus());
+    Assert.assertEquals(0, manager.getTaskMemoryUsed(taskId));
+    Assert.assertEquals(usedBefore, manager.getMemoryUsed());
+  }
+
+  @Test
+  public void testConsumerIsSpilledWhenMemoryIsExhausted() throws MemoryException {
+    final UnsafeMemoryManager manager = UnsafeMemoryManager.INSTANCE;
+    final long taskId = 1002L;
+    long usedBefore = manager.getMemoryUsed();
+    final MemoryBlock block = UnsafeMemoryManager
+        .allocateMemoryWithRetry(taskId, manager.getUsableMemory() - usedBefore);
+    final AtomicInteger spillCount = new AtomicInteger();
+    MemoryConsumer consumer = new MemoryConsumer() {
+      @Override public boolean spill(long required) {
+        spillCount.incrementAndGet();
+        manager.freeMemory(taskId, block);
+        return true;
+      }
+    };
+    manager.registerMemoryConsumer(taskId, consumer);
+    try {
+      MemoryBlock other = UnsafeMemoryManager.allocateMemoryWithRetry(taskId, 1024);
+      Assert.assertEquals(1, spillCount.get());
+      Assert.assertTrue(block.isFreedStatus());
+      Assert.assertEquals(1024, manager.getTaskMemoryUsed(taskId));
+      manager.freeMemory(taskId, other);
+    } finally {
+      manager.unregisterMemoryConsumer(taskId, consumer);
+      manager.freeMemoryAll(taskId);
+    }
+    Assert.assertEquals(usedBefore, manager.getMemoryUsed());
+  }
+
+  @Test
+  public void testWaitingAllocationIsNotifiedByFree() throws Exception {
+    final UnsafeMemoryManager manager = UnsafeMemoryManager.INSTANCE;
+    final long taskId = 1003L;
+    long usedBefore = manager.getMemoryUsed();
+    final MemoryBlock block = UnsafeMemoryManager
+        .allocateMemoryWithRetry(taskId, manager.getUsableMemory() - usedBefore);
+    Thread freeThread = new Thread(new Runnable() {
+      @Override public void run() {
+        try {
+          Thread.sleep(100);
+        } catch (InterruptedException e) {
+          // free immediately
+        }
+        manager.freeMemory(taskId, block);
+      }
+    });
+    freeThread.start();
+    try {
+      MemoryBlock other = UnsafeMemoryManager.allocateMemoryWithRetry(taskId, 1024);
+      Assert.assertTrue(block.isFreedStatus());
+      manager.freeMemory(taskId, other);
+    } finally {
+      freeThread.join();
+      manager.freeMemoryAll(taskId);
+    }
+    Assert.assertEquals(usedBefore, manager.getMemoryUsed());
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.reader;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.mutate.DeleteDeltaBlockDetails;
+import org.apache.carbondata.core.mutate.DeleteDeltaBlockletDetails;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.core.writer.CarbonDeleteDeltaWriterImpl;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CarbonDeleteDeltaFileReaderImplTest {
+
+  private File tempDir;
+
+  @Before public void setUp() throws IOException {
+    tempDir = File.createTempFile("deletedelta", "");
+    tempDir.delete();
+    tempDir.mkdirs();
+  }
+
+  @After public void tearDown() throws Exception {
+    CarbonProperties.getInstance().addProperty(CarbonCommonConstants.CARBON_DELETE_DELTA_FORMAT,
+        CarbonCommonConstants.CARBON_DELETE_DELTA_FORMAT_DEFAULT);
+    CarbonUtil.deleteFoldersAndFiles(tempDir);
+  }
+
+  @Test public void testReadJsonFormat() throws Exception {
+    String filePath = writeDeleteDelta("json");
+    DataInputStream stream = FileFactory.getDataInputStream(filePath, FileFactory.FileType.LOCAL);
+    try {
+      // json format is kept as default for compatibility with older versions
+      assertEquals('{', stream.read());
+    } finally {
+      stream.close();
+    }
+    assertBlockDetails(read(filePath));
+  }
+
+  @Test public void testReadBitmapFormat() throws Exception {
+    String filePath = writeDeleteDelta("bitmap");
+    assertBlockDetails(read(filePath));
+  }
+
+  @Test public void testReadJsonFormatOfOlderVersion() throws Exception {
+    String filePath = new File(tempDir, "part-0-0_batchno0-0-2.deletedelta").getAbsolutePath();
+    new CarbonDeleteDeltaWriterImpl(filePath, FileFactory.FileType.LOCAL).write(
+        "{\"blockletDetailsMap\":{\"0_0\":{\"id\":\"0\",\"pageId\":0,\"deletedRows\":[1,5]},"
+            + "\"1_1\":{\"id\":\"1\",\"pageId\":1,\"deletedRows\":[2]}},\"blockName\":\"b\"}");
+    assertBlockDetails(read(filePath));
+  }
+
+  @Test public void testReadMissingFile() throws Exception {
+    String filePath = new File(tempDir, "part-0-0_batchno0-0-3.deletedelta").getAbsolutePath();
+    assertTrue(read(filePath).getBlockletDetails().isEmpty());
+  }
+
+  private String writeDeleteDelta(String format) throws Exception {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_DELETE_DELTA_FORMAT, format);
+    DeleteDeltaBlockDetails blockDetails = new DeleteDeltaBlockDetails("b");
+    blockDetails.addBlocklet("0", "5", 0);
+    blockDetails.addBlocklet("0", "1", 0);
+    blockDetails.addBlocklet("1", "2", 1);
+    String filePath = new File(tempDir, "part-0-0_batchno0-0-1.deletedelta").getAbsolutePath();
+    new CarbonDeleteDeltaWriterImpl(filePath, FileFactory.FileType.LOCAL).write(blockDetails);
+    return filePath;
+  }
+
+  private DeleteDeltaBlockDetails read(String filePath) throws IOException {
+    return new CarbonDeleteDeltaFileReaderImpl(filePath, FileFactory.FileType.LOCAL)
+        .readDeleteDeltaBlockDetails();
+  }
+
+  private void assertBlockDetails(DeleteDeltaBlockDetails blockDetails) {
+    List<DeleteDeltaBlockletDetails> blockletDetails = blockDetails.getBlockletDetails();
+    assertEquals(2, blockletDetails.size());
+    assertEquals("0_0", blockletDetails.get(0).getBlockletKey());
+    assertEquals(2, blockletDetails.get(0).getDeletedRows().getCardinality());
+    assertTrue(blockletDetails.get(0).getDeletedRows().contains(1));
+    assertTrue(blockletDetails.get(0).getDeletedRows().contains(5));
+    assertEquals("1_1", blockletDetails.get(1).getBlockletKey());
+    assertEquals(1, blockletDetails.get(1).getDeletedRows().getCardinality());
+    assertTrue(blockletDetails.get(1).getDeletedRows().contains(2));
+  }
+}
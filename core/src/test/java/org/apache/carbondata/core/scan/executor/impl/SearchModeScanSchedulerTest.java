@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.executor.impl;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.carbondata.core.scan.executor.impl.SearchModeScanScheduler.RequestClass;
+import org.apache.carbondata.core.stats.LatencyHistogram;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SearchModeScanSchedulerTest {
+
+  @Test
+  public void testConcurrencyLimitOfQuery() throws Exception {
+    SearchModeScanScheduler scheduler = new SearchModeScanScheduler(4, 2, 4);
+    try {
+      ExecutorService executor = scheduler.newQueryExecutor("query");
+      final AtomicInteger running = new AtomicInteger();
+      final AtomicInteger maxRunning = new AtomicInteger();
+      for (int i = 0; i < 8; i++) {
+        executor.execute(new Runnable() {
+          @Override public void run() {
+            int current = running.incrementAndGet();
+            synchronized (maxRunning) {
+              maxRunning.set(Math.max(maxRunning.get(), current));
+            }
+            sleep(20);
+            running.decrementAndGet();
+          }
+        });
+      }
+      executor.shutdown();
+      Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+      Assert.assertEquals(2, maxRunning.get());
+    } finally {
+      scheduler.shutdown();
+    }
+  }
+
+  @Test
+  public void testShortQueryIsNotStarvedByLongQuery() throws Exception {
+    SearchModeScanScheduler scheduler = new SearchModeScanScheduler(1, 1, 4);
+    try {
+      ExecutorService longQuery = scheduler.newQueryExecutor("long");
+      final AtomicInteger finishedLongTasks = new AtomicInteger();
+      final CountDownLatch firstLongTaskStarted = new CountDownLatch(1);
+      for (int i = 0; i < 20; i++) {
+        longQuery.execute(new Runnable() {
+          @Override public void run() {
+            firstLongTaskStarted.countDown();
+            sleep(10);
+            finishedLongTasks.incrementAndGet();
+          }
+        });
+      }
+      firstLongTaskStarted.await();
+      SearchModeScanScheduler.setRequestClass(RequestClass.SHORT);
+      ExecutorService shortQuery = scheduler.newQueryExecutor("short");
+      SearchModeScanScheduler.clearRequestClass();
+      final AtomicInteger longTasksBeforeShortTask = new AtomicInteger(-1);
+      shortQuery.execute(new Runnable() {
+        @Override public void run() {
+          longTasksBeforeShortTask.set(finishedLongTasks.get());
+        }
+      });
+      shortQuery.shutdown();
+      Assert.assertTrue(shortQuery.awaitTermination(10, TimeUnit.SECONDS));
+      // the short query runs as soon as the running task of the long query is finished
+      Assert.assertTrue(longTasksBeforeShortTask.get() <= 2);
+      longQuery.shutdown();
+      Assert.assertTrue(longQuery.awaitTermination(10, TimeUnit.SECONDS));
+      Assert.assertEquals(20, finishedLongTasks.get());
+    } finally {
+      scheduler.shutdown();
+    }
+  }
+
+  @Test
+  public void testShutdownNowOfQueryReturnsPendingTasks() throws Exception {
+    SearchModeScanScheduler scheduler = new SearchModeScanScheduler(1, 1, 4);
+    try {
+      ExecutorService executor = scheduler.newQueryExecutor("query");
+      final CountDownLatch started = new CountDownLatch(1);
+      final CountDownLatch release = new CountDownLatch(1);
+      executor.execute(new Runnable() {
+        @Override public void run() {
+          started.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      });
+      for (int i = 0; i < 3; i++) {
+        executor.execute(new Runnable() {
+          @Override public void run() {
+          }
+        });
+      }
+      started.await();
+      List<Runnable> pendingTasks = executor.shutdownNow();
+      Assert.assertEquals(3, pendingTasks.size());
+      Assert.assertFalse(executor.isTerminated());
+      release.countDown();
+      Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+      // other queries are not affected
+      ExecutorService otherQuery = scheduler.newQueryExecutor("other");
+      Assert.assertFalse(otherQuery.isShutdown());
+    } finally {
+      scheduler.shutdown();
+    }
+  }
+
+  @Test
+  public void testInstanceIsNotCreatedAgainAfterShutdown() {
+    SearchModeScanScheduler scheduler = SearchModeScanScheduler.getInstance();
+    Assert.assertSame(scheduler, SearchModeScanScheduler.getInstance());
+    SearchModeScanScheduler.shutdownInstance();
+    try {
+      SearchModeScanScheduler.getInstance();
+      Assert.fail("scheduler is created again after shutdown");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+    // a new search service of the worker creates a new scheduler
+    SearchModeScanScheduler.startInstance();
+    try {
+      Assert.assertNotSame(scheduler, SearchModeScanScheduler.getInstance());
+    } finally {
+      SearchModeScanScheduler.shutdownInstance();
+      SearchModeScanScheduler.startInstance();
+    }
+  }
+
+  @Test
+  public void testLatencyHistogram() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(i, TimeUnit.MILLISECONDS);
+    }
+    Assert.assertEquals(100, histogram.getCount());
+    Assert.assertEquals(50500, histogram.getMeanMicros());
+    Assert.assertEquals(100000, histogram.getMaxMicros());
+    // p50 is 50ms, which falls in the bucket [32768us, 65535us]
+    Assert.assertEquals(65535, histogram.getPercentileMicros(50));
+    Assert.assertEquals(100000, histogram.getPercentileMicros(100));
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.filter.executer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import org.apache.carbondata.core.datastore.ColumnType;
+import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.statistics.PrimitivePageStatsCollector;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.conditional.EqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanEqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanExpression;
+import org.apache.carbondata.core.scan.expression.conditional.InExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanExpression;
+import org.apache.carbondata.core.scan.expression.conditional.ListExpression;
+import org.apache.carbondata.core.scan.expression.conditional.NotEqualsExpression;
+import org.apache.carbondata.core.scan.expression.conditional.NotInExpression;
+import org.apache.carbondata.core.scan.expression.logical.AndExpression;
+import org.apache.carbondata.core.scan.expression.logical.OrExpression;
+import org.apache.carbondata.core.scan.filter.intf.RowImpl;
+import org.apache.carbondata.core.scan.filter.resolver.resolverinfo.MeasureColumnResolvedFilterInfo;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ColumnarFilterEvaluatorTest {
+
+  private static final int NUMBER_OF_ROWS = 200;
+
+  private ColumnPage longPage;
+
+  private ColumnPage doublePage;
+
+  private Object[][] rows;
+
+  private List<MeasureColumnResolvedFilterInfo> msrInfos;
+
+  @Before
+  public void setUp() throws Exception {
+    longPage = newPage("a", DataTypes.LONG);
+    doublePage = newPage("b", DataTypes.DOUBLE);
+    rows = new Object[NUMBER_OF_ROWS][];
+    for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+      Long longValue = i % 17 == 0 ? null : (long) (i % 100);
+      Double doubleValue = i % 13 == 0 ? null : (i % 50) + 0.5;
+      longPage.putData(i, longValue);
+      doublePage.putData(i, doubleValue);
+      rows[i] = new Object[] { longValue, doubleValue };
+    }
+    msrInfos = new ArrayList<>();
+    msrInfos.add(newMeasureInfo(0, DataTypes.LONG));
+    msrInfos.add(newMeasureInfo(1, DataTypes.DOUBLE));
+  }
+
+  private static ColumnPage newPage(String name, DataType dataType) throws Exception {
+    ColumnPage page = ColumnPage.newPage(
+        TableSpec.ColumnSpec.newInstance(name, dataType, ColumnType.MEASURE),
+        dataType, NUMBER_OF_ROWS);
+    page.setStatsCollector(PrimitivePageStatsCollector.newInstance(dataType));
+    return page;
+  }
+
+  private static MeasureColumnResolvedFilterInfo newMeasureInfo(int rowIndex, DataType type) {
+    MeasureColumnResolvedFilterInfo msrInfo = new MeasureColumnResolvedFilterInfo();
+    msrInfo.setRowIndex(rowIndex);
+    msrInfo.setType(type);
+    return msrInfo;
+  }
+
+  private static ColumnExpression column(String name, int colIndex, DataType dataType) {
+    ColumnExpression column = new ColumnExpression(name, dataType);
+    column.setMeasure(true);
+    column.setColIndex(colIndex);
+    return column;
+  }
+
+  private static ColumnExpression a() {
+    return column("a", 0, DataTypes.LONG);
+  }
+
+  private static ColumnExpression b() {
+    return column("b", 1, DataTypes.DOUBLE);
+  }
+
+  private static ListExpression list(Expression... values) {
+    return new ListExpression(Arrays.asList(values));
+  }
+
+  private void assertSameAsRowEvaluation(Expression exp) throws Exception {
+    ColumnarFilterEvaluator evaluator = ColumnarFilterEvaluator
+        .create(exp, msrInfos, new boolean[] { true, true }, new int[] { 0, 1 });
+    Assert.assertNotNull(exp.getString(), evaluator);
+    BitSet actual =
+        evaluator.evaluate(new ColumnPage[] { longPage, doublePage }, NUMBER_OF_ROWS);
+    BitSet expected = new BitSet(NUMBER_OF_ROWS);
+    RowImpl row = new RowImpl();
+    for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+      row.setValues(rows[i]);
+      Boolean result = exp.evaluate(row).getBoolean();
+      if (null != result && result) {
+        expected.set(i);
+      }
+    }
+    Assert.assertEquals(exp.getString(), expected, actual);
+  }
+
+  @Test
+  public void testComparisonWithLiteral() throws Exception {
+    assertSameAsRowEvaluation(
+        new GreaterThanExpression(a(), new LiteralExpression(40L, DataTypes.LONG)));
+    assertSameAsRowEvaluation(
+        new GreaterThanEqualToExpression(new LiteralExpression(40L, DataTypes.LONG), a()));
+    assertSameAsRowEvaluation(
+        new NotEqualsExpression(b(), new LiteralExpression(10.5, DataTypes.DOUBLE)));
+    assertSameAsRowEvaluation(
+        new EqualToExpression(b(), new LiteralExpression(20L, DataTypes.LONG)));
+    assertSameAsRowEvaluation(
+        new LessThanExpression(a(), new LiteralExpression(20.5, DataTypes.DOUBLE)));
+  }
+
+  @Test
+  public void testComparisonOfColumns() throws Exception {
+    assertSameAsRowEvaluation(new GreaterThanExpression(a(), b()));
+    assertSameAsRowEvaluation(new EqualToExpression(b(), a()));
+  }
+
+  @Test
+  public void testNullComparison() throws Exception {
+    assertSameAsRowEvaluation(
+        new EqualToExpression(b(), new LiteralExpression(null, DataTypes.DOUBLE), true));
+    assertSameAsRowEvaluation(
+        new NotEqualsExpression(a(), new LiteralExpression(null, DataTypes.LONG), true));
+    assertSameAsRowEvaluation(
+        new EqualToExpression(a(), new LiteralExpression(null, DataTypes.LONG)));
+  }
+
+  @Test
+  public void testInAndNotIn() throws Exception {
+    assertSameAsRowEvaluation(new InExpression(a(),
+        list(new LiteralExpression(3L, DataTypes.LONG), new LiteralExpression(77L, DataTypes.LONG),
+            new LiteralExpression(null, DataTypes.LONG))));
+    assertSameAsRowEvaluation(new NotInExpression(b(),
+        list(new LiteralExpression(1.5, DataTypes.DOUBLE),
+            new LiteralExpression(2.5, DataTypes.DOUBLE))));
+    assertSameAsRowEvaluation(new NotInExpression(a(),
+        list(new LiteralExpression(1L, DataTypes.LONG),
+            new LiteralExpression(null, DataTypes.LONG))));
+  }
+
+  @Test
+  public void testLogicalExpression() throws Exception {
+    Expression exp = new OrExpression(
+        new AndExpression(new LessThanExpression(a(), new LiteralExpression(50L, DataTypes.LONG)),
+            new GreaterThanEqualToExpression(b(), new LiteralExpression(20.5, DataTypes.DOUBLE))),
+        new EqualToExpression(a(), new LiteralExpression(99L, DataTypes.LONG)));
+    assertSameAsRowEvaluation(exp);
+  }
+
+  @Test
+  public void testUnsupportedExpression() {
+    ColumnExpression dimension = new ColumnExpression("c", DataTypes.STRING);
+    dimension.setDimension(true);
+    Expression exp = new EqualToExpression(dimension, new LiteralExpression("x", DataTypes.STRING));
+    Assert.assertNull(ColumnarFilterEvaluator
+        .create(exp, msrInfos, new boolean[] { true, true }, new int[] { 0, 1 }));
+    // measure not present in current block should be evaluated row by row
+    Assert.assertNull(ColumnarFilterEvaluator
+        .create(new GreaterThanExpression(a(), new LiteralExpression(1L, DataTypes.LONG)),
+            msrInfos, new boolean[] { false, true }, new int[] { 0, 1 }));
+  }
+}
@@ -0,0 +1,381 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.filter.executer;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.BitSet;
+
+import org.apache.carbondata.core.datastore.ColumnType;
+import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.LazyColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageCodec;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageDecoder;
+import org.apache.carbondata.core.datastore.page.encoding.DefaultEncodingFactory;
+import org.apache.carbondata.core.datastore.page.encoding.EncodedColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveDeltaIntegralCodec;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveIntegralCodec;
+import org.apache.carbondata.core.datastore.page.statistics.PrimitivePageStatsCollector;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.DataTypeUtil;
+import org.apache.carbondata.core.util.comparator.Comparator;
+import org.apache.carbondata.core.util.comparator.SerializableComparator;
+import org.apache.carbondata.format.DataChunk2;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MeasureFilterKernelsTest {
+
+  private static final int NUMBER_OF_ROWS = 300;
+
+  private static final int[] RANGE_OPERATORS = new int[] {
+      MeasureFilterKernels.GREATER_THAN, MeasureFilterKernels.GREATER_THAN_EQUALS,
+      MeasureFilterKernels.LESS_THAN, MeasureFilterKernels.LESS_THAN_EQUALS };
+
+  private static ColumnPage newPage(DataType dataType) throws Exception {
+    ColumnPage page = ColumnPage.newPage(
+        TableSpec.ColumnSpec.newInstance("m", dataType, ColumnType.MEASURE),
+        dataType, NUMBER_OF_ROWS);
+    page.setStatsCollector(PrimitivePageStatsCollector.newInstance(dataType));
+    for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+      Object value;
+      if (i % 11 == 0) {
+        value = null;
+      } else if (dataType == DataTypes.SHORT) {
+        value = (short) (i % 40 - 20);
+      } else if (dataType == DataTypes.INT) {
+        value = i % 70 - 35;
+      } else if (dataType == DataTypes.LONG) {
+        value = (long) (i % 90 - 45) * Integer.MAX_VALUE;
+      } else {
+        value = (i % 60 - 30) + 0.25;
+      }
+      page.putData(i, value);
+    }
+    return page;
+  }
+
+  private static Object filterValue(DataType dataType, int value) {
+    if (dataType == DataTypes.SHORT) {
+      return (short) value;
+    } else if (dataType == DataTypes.INT) {
+      return value;
+    } else if (dataType == DataTypes.LONG) {
+      return (long) value * Integer.MAX_VALUE;
+    } else {
+      return value + 0.25;
+    }
+  }
+
+  /**
+   * decimal page whose values have a smaller scale than the measure, some of them do not fit
+   * in the precision of the measure after the scale is changed
+   */
+  private static ColumnPage newDecimalPage(DataType dataType) throws Exception {
+    ColumnPage page = ColumnPage.newDecimalPage(
+        TableSpec.ColumnSpec.newInstance("m", dataType, ColumnType.MEASURE),
+        dataType, NUMBER_OF_ROWS);
+    page.setStatsCollector(PrimitivePageStatsCollector.newInstance(dataType));
+    for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+      if (i % 11 == 0) {
+        page.putData(i, null);
+      } else {
+        page.putData(i, new BigDecimal(BigInteger.valueOf((i % 50 - 25) * 7), i % 3));
+      }
+    }
+    return page;
+  }
+
+  private static CarbonMeasure newDecimalMeasure(int precision, int scale) {
+    ColumnSchema columnSchema = new ColumnSchema();
+    columnSchema.setColumnName("m");
+    columnSchema.setDataType(DataTypes.createDecimalType(precision, scale));
+    columnSchema.setPrecision(precision);
+    columnSchema.setScale(scale);
+    return new CarbonMeasure(columnSchema, 0);
+  }
+
+  /**
+   * integral page around 0, as the null rows are stored as 0 and counted in the page stats
+   */
+  private static ColumnPage newIntegralPage(DataType dataType, long scale) throws Exception {
+    ColumnPage page = ColumnPage.newPage(
+        TableSpec.ColumnSpec.newInstance("m", dataType, ColumnType.MEASURE),
+        dataType, NUMBER_OF_ROWS);
+    page.setStatsCollector(PrimitivePageStatsCollector.newInstance(dataType));
+    for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+      long value = (i % 90 - 45) * scale;
+      if (i % 11 == 0) {
+        page.putData(i, null);
+      } else if (dataType == DataTypes.SHORT) {
+        page.putData(i, (short) value);
+      } else if (dataType == DataTypes.INT) {
+        page.putData(i, (int) value);
+      } else {
+        page.putData(i, value);
+      }
+    }
+    return page;
+  }
+
+  /**
+   * encodes the page with the codec and decodes it the same way as the measure chunk reader
+   */
+  private static ColumnPage encodeAndDecode(ColumnPage page, ColumnPageCodec codec)
+      throws Exception {
+    EncodedColumnPage encodedPage = codec.createEncoder(null).encode(page);
+    DataChunk2 pageMetadata = encodedPage.getPageMetadata();
+    ColumnPageDecoder decoder = DefaultEncodingFactory.getInstance()
+        .createDecoder(pageMetadata.getEncoders(), pageMetadata.getEncoder_meta());
+    byte[] data = encodedPage.getEncodedData().array();
+    ColumnPage decodedPage = decoder.decode(data, 0, data.length);
+    decodedPage.setNullBits(page.getNullBits());
+    return decodedPage;
+  }
+
+  private static Object integralFilterValue(DataType dataType, long value) {
+    if (dataType == DataTypes.SHORT) {
+      return (short) Math.max(Math.min(value, Short.MAX_VALUE), Short.MIN_VALUE);
+    } else if (dataType == DataTypes.INT) {
+      return (int) Math.max(Math.min(value, Integer.MAX_VALUE), Integer.MIN_VALUE);
+    }
+    return value;
+  }
+
+  private static boolean matches(int operator, int compareResult) {
+    switch (operator) {
+      case MeasureFilterKernels.GREATER_THAN:
+        return compareResult > 0;
+      case MeasureFilterKernels.GREATER_THAN_EQUALS:
+        return compareResult >= 0;
+      case MeasureFilterKernels.LESS_THAN:
+        return compareResult < 0;
+      default:
+        return compareResult <= 0;
+    }
+  }
+
+  private static BitSet expectedRange(ColumnPage page, DataType dataType, CarbonMeasure measure,
+      int operator, Object[] filterValues) {
+    SerializableComparator comparator = Comparator.getComparatorByDataTypeForMeasure(dataType);
+    BitSet bitSet = new BitSet(NUMBER_OF_ROWS);
+    for (Object filterValue : filterValues) {
+      for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+        if (page.getNullBits().get(i)) {
+          if (filterValue == null) {
+            bitSet.set(i);
+          }
+        } else if (filterValue != null && matches(operator, comparator.compare(
+            DataTypeUtil.getMeasureObjectBasedOnDataType(page, i, dataType, measure),
+            filterValue))) {
+          bitSet.set(i);
+        }
+      }
+    }
+    return bitSet;
+  }
+
+  private static BitSet expectedIn(ColumnPage page, DataType dataType, CarbonMeasure measure,
+      BitSet rowsToScan, Object[] filterValues) {
+    SerializableComparator comparator = Comparator.getComparatorByDataTypeForMeasure(dataType);
+    BitSet bitSet = new BitSet(NUMBER_OF_ROWS);
+    for (Object filterValue : filterValues) {
+      for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+        if (page.getNullBits().get(i)) {
+          if (filterValue == null) {
+            bitSet.set(i);
+          }
+        } else if (filterValue != null && (rowsToScan == null || rowsToScan.get(i))
+            && comparator.compare(
+            DataTypeUtil.getMeasureObjectBasedOnDataType(page, i, dataType, measure),
+            filterValue) == 0) {
+          bitSet.set(i);
+        }
+      }
+    }
+    return bitSet;
+  }
+
+  @Test
+  public void testRangeFilterSameAsComparator() throws Exception {
+    DataType[] dataTypes =
+        new DataType[] { DataTypes.SHORT, DataTypes.INT, DataTypes.LONG, DataTypes.DOUBLE };
+    for (DataType dataType : dataTypes) {
+      ColumnPage page = newPage(dataType);
+      for (int operator : RANGE_OPERATORS) {
+        for (int value = -40; value <= 40; value += 7) {
+          Object[] filterValues = new Object[] { filterValue(dataType, value) };
+          BitSet actual = MeasureFilterKernels
+              .applyRangeFilter(page, NUMBER_OF_ROWS, null, dataType, operator, filterValues);
+          Assert.assertEquals(dataType + " " + operator + " " + value,
+              expectedRange(page, dataType, null, operator, filterValues), actual);
+        }
+        Object[] filterValues = new Object[] { null, filterValue(dataType, 3) };
+        BitSet actual = MeasureFilterKernels
+            .applyRangeFilter(page, NUMBER_OF_ROWS, null, dataType, operator, filterValues);
+        Assert.assertEquals(expectedRange(page, dataType, null, operator, filterValues), actual);
+      }
+      page.freeMemory();
+    }
+  }
+
+  @Test
+  public void testInFilterSameAsComparator() throws Exception {
+    DataType[] dataTypes =
+        new DataType[] { DataTypes.SHORT, DataTypes.INT, DataTypes.LONG, DataTypes.DOUBLE };
+    BitSet rowsToScan = new BitSet(NUMBER_OF_ROWS);
+    for (int i = 0; i < NUMBER_OF_ROWS; i += 3) {
+      rowsToScan.set(i);
+    }
+    for (DataType dataType : dataTypes) {
+      ColumnPage page = newPage(dataType);
+      Object[] filterValues = new Object[] {
+          filterValue(dataType, 17), filterValue(dataType, -5), filterValue(dataType, 100),
+          filterValue(dataType, 0) };
+      Assert.assertEquals(expectedIn(page, dataType, null, null, filterValues), MeasureFilterKernels
+          .applyInFilter(page, NUMBER_OF_ROWS, null, null, dataType, filterValues));
+      Assert.assertEquals(expectedIn(page, dataType, null, rowsToScan, filterValues),
+          MeasureFilterKernels
+              .applyInFilter(page, NUMBER_OF_ROWS, rowsToScan, null, dataType, filterValues));
+      filterValues = new Object[] { filterValue(dataType, 2), null };
+      Assert.assertEquals(expectedIn(page, dataType, null, null, filterValues), MeasureFilterKernels
+          .applyInFilter(page, NUMBER_OF_ROWS, null, null, dataType, filterValues));
+      page.freeMemory();
+    }
+  }
+
+  @Test
+  public void testDecimalRangeFilterSameAsComparator() throws Exception {
+    DataType dataType = DataTypes.createDecimalType(20, 3);
+    CarbonMeasure measure = newDecimalMeasure(5, 3);
+    ColumnPage page = newDecimalPage(dataType);
+    String[] values = new String[] { "-200", "-17.5", "-3", "0", "1.5", "1.500", "12.25",
+        "14.7", "99.999", "168" };
+    for (int operator : RANGE_OPERATORS) {
+      for (String value : values) {
+        Object[] filterValues = new Object[] { new BigDecimal(value) };
+        BitSet actual = MeasureFilterKernels
+            .applyRangeFilter(page, NUMBER_OF_ROWS, measure, dataType, operator, filterValues);
+        Assert.assertEquals(operator + " " + value,
+            expectedRange(page, dataType, measure, operator, filterValues), actual);
+      }
+      Object[] filterValues = new Object[] { null, new BigDecimal("4.2") };
+      BitSet actual = MeasureFilterKernels
+          .applyRangeFilter(page, NUMBER_OF_ROWS, measure, dataType, operator, filterValues);
+      Assert.assertEquals(expectedRange(page, dataType, measure, operator, filterValues), actual);
+    }
+    page.freeMemory();
+  }
+
+  @Test
+  public void testDecimalInFilterSameAsComparator() throws Exception {
+    DataType dataType = DataTypes.createDecimalType(20, 3);
+    CarbonMeasure measure = newDecimalMeasure(5, 3);
+    ColumnPage page = newDecimalPage(dataType);
+    BitSet rowsToScan = new BitSet(NUMBER_OF_ROWS);
+    for (int i = 0; i < NUMBER_OF_ROWS; i += 3) {
+      rowsToScan.set(i);
+    }
+    // values of a different scale than the page values, and one which does not fit the
+    // precision of the measure
+    Object[] filterValues = new Object[] { new BigDecimal("1.400"), new BigDecimal("-7"),
+        new BigDecimal("3.50"), new BigDecimal("168"), new BigDecimal("0.00") };
+    Assert.assertEquals(expectedIn(page, dataType, measure, null, filterValues),
+        MeasureFilterKernels
+            .applyInFilter(page, NUMBER_OF_ROWS, null, measure, dataType, filterValues));
+    Assert.assertEquals(expectedIn(page, dataType, measure, rowsToScan, filterValues),
+        MeasureFilterKernels
+            .applyInFilter(page, NUMBER_OF_ROWS, rowsToScan, measure, dataType, filterValues));
+    filterValues = new Object[] { new BigDecimal("-16.8"), null };
+    Assert.assertEquals(expectedIn(page, dataType, measure, null, filterValues),
+        MeasureFilterKernels
+            .applyInFilter(page, NUMBER_OF_ROWS, null, measure, dataType, filterValues));
+    page.freeMemory();
+  }
+
+  @Test
+  public void testEncodedPageSameAsComparator() throws Exception {
+    DataType[] dataTypes = new DataType[] { DataTypes.SHORT, DataTypes.INT, DataTypes.LONG };
+    long[] scales = new long[] { 1, 1000, 100 };
+    // target types which fit the values and the deltas of the pages
+    DataType[] targetDataTypes =
+        new DataType[] { DataTypes.BYTE, DataTypes.SHORT_INT, DataTypes.SHORT };
+    BitSet rowsToScan = new BitSet(NUMBER_OF_ROWS);
+    for (int i = 0; i < NUMBER_OF_ROWS; i += 3) {
+      rowsToScan.set(i);
+    }
+    for (int t = 0; t < dataTypes.length; t++) {
+      DataType dataType = dataTypes[t];
+      ColumnPage page = newIntegralPage(dataType, scales[t]);
+      ColumnPageCodec[] codecs = new ColumnPageCodec[] {
+          new AdaptiveIntegralCodec(dataType, targetDataTypes[t], page.getStatistics()),
+          new AdaptiveDeltaIntegralCodec(dataType, targetDataTypes[t], page.getStatistics()) };
+      long[] values = new long[] { Long.MIN_VALUE, -46 * scales[t], -45 * scales[t], -7,
+          0, 3 * scales[t], 44 * scales[t], 45 * scales[t], Long.MAX_VALUE };
+      for (ColumnPageCodec codec : codecs) {
+        ColumnPage decodedPage = encodeAndDecode(page, codec);
+        Assert.assertTrue(decodedPage instanceof LazyColumnPage);
+        // the comparator reads the decoded values like the row level filter executer, the
+        // source page supports only the reads of its own data type
+        String message = dataType + " " + codec.getName();
+        for (int operator : RANGE_OPERATORS) {
+          for (long value : values) {
+            Object[] filterValues = new Object[] { integralFilterValue(dataType, value) };
+            Assert.assertEquals(message + " " + operator + " " + value,
+                expectedRange(decodedPage, dataType, null, operator, filterValues),
+                MeasureFilterKernels.applyRangeFilter(decodedPage, NUMBER_OF_ROWS, null,
+                    dataType, operator, filterValues));
+          }
+          Object[] filterValues = new Object[] { null, integralFilterValue(dataType, 0) };
+          Assert.assertEquals(message + " " + operator,
+              expectedRange(decodedPage, dataType, null, operator, filterValues),
+              MeasureFilterKernels.applyRangeFilter(decodedPage, NUMBER_OF_ROWS, null,
+                  dataType, operator, filterValues));
+        }
+        // the last filter value is null
+        Object[] filterValues = new Object[values.length + 1];
+        for (int i = 0; i < values.length; i++) {
+          filterValues[i] = integralFilterValue(dataType, values[i]);
+        }
+        Assert.assertEquals(message, expectedIn(decodedPage, dataType, null, null, filterValues),
+            MeasureFilterKernels.applyInFilter(decodedPage, NUMBER_OF_ROWS, null, null,
+                dataType, filterValues));
+        Assert.assertEquals(message, expectedIn(decodedPage, dataType, null, rowsToScan, filterValues),
+            MeasureFilterKernels.applyInFilter(decodedPage, NUMBER_OF_ROWS, rowsToScan, null,
+                dataType, filterValues));
+        decodedPage.freeMemory();
+      }
+      page.freeMemory();
+    }
+  }
+
+  @Test
+  public void testUnsupportedFilterFallsBack() throws Exception {
+    ColumnPage page = newPage(DataTypes.LONG);
+    Assert.assertNull(MeasureFilterKernels.applyRangeFilter(page, NUMBER_OF_ROWS, null,
+        DataTypes.LONG, MeasureFilterKernels.GREATER_THAN, new Object[] { "1" }));
+    Assert.assertNull(MeasureFilterKernels.applyInFilter(page, NUMBER_OF_ROWS, null, null,
+        DataTypes.BOOLEAN, new Object[] { true }));
+    page.freeMemory();
+  }
+}
@@ -0,0 +1,330 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.processor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.carbondata.core.datastore.DataRefNode;
+import org.apache.carbondata.core.datastore.FileReader;
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.indexstore.BlockletDetailInfo;
+import org.apache.carbondata.core.indexstore.blockletindex.BlockletDataRefNode;
+import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
+import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
+
+import mockit.Deencapsulation;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BlockletReadAheadSchedulerTest {
+
+  private static final String FILE_PATH = "/store/part-0-0.carbondata";
+
+  /**
+   * offset of the blocklet i in the file is i * BLOCKLET_DISTANCE
+   */
+  private static final long BLOCKLET_DISTANCE = 1000000L;
+
+  private ExecutorService executorService;
+
+  private RecordingFileReader fileReader;
+
+  @Before public void setUp() {
+    executorService = Executors.newSingleThreadExecutor();
+    fileReader = new RecordingFileReader();
+  }
+
+  @After public void tearDown() {
+    executorService.shutdownNow();
+  }
+
+  @Test public void testColumnChunksOfBlockletAreCoalesced() throws Exception {
+    List<DataRefNode> nodes = createNodes(2);
+    BlockletReadAheadScheduler scheduler = createScheduler(1024 * 1024);
+    scheduler.startBlock(createExecutionInfo(new int[][] { { 0, 1 } }, new int[][] { { 0, 0 } }));
+    scheduler.startBlocklet(nodes.get(0), nodes.subList(1, 2));
+    awaitReads();
+    // dimensions 0 and 1 and measure 0 separated by the unused dimension 2 are read at once
+    assertReads(new long[][] { { BLOCKLET_DISTANCE, 400 } });
+    Assert.assertEquals(1, scheduler.getNumberOfReads());
+    scheduler.close();
+  }
+
+  @Test public void testGapUpToMaxCoalesceGapIsMerged() throws Exception {
+    int maxGap = BlockletReadAheadScheduler.MAX_COALESCE_GAP_BYTES;
+    List<TableBlockInfo> blockInfos = new ArrayList<>();
+    blockInfos.add(createBlockInfo(0, 100));
+    blockInfos.add(createBlockInfo(BLOCKLET_DISTANCE, maxGap));
+    blockInfos.add(createBlockInfo(2 * BLOCKLET_DISTANCE, maxGap + 1));
+    List<DataRefNode> nodes = createNodes(blockInfos);
+    BlockletReadAheadScheduler scheduler = createScheduler(1024 * 1024);
+    // dimensions 0 and 2 are separated by the gap, dimension 1 is not read
+    scheduler.startBlock(
+        createExecutionInfo(new int[][] { { 0, 0 }, { 2, 2 } }, new int[0][]));
+    scheduler.startBlocklet(nodes.get(0), nodes.subList(1, 3));
+    awaitReads();
+    assertReads(new long[][] {
+        { BLOCKLET_DISTANCE, 200 + maxGap },
+        { 2 * BLOCKLET_DISTANCE, 100 },
+        { 2 * BLOCKLET_DISTANCE + 100 + maxGap + 1, 100 } });
+    Assert.assertEquals(3, scheduler.getNumberOfReads());
+    scheduler.close();
+  }
+
+  @Test public void testReadsStayWithinMemoryBudget() throws Exception {
+    List<DataRefNode> nodes = createNodes(4);
+    // only one read of 400 bytes fits in the budget
+    BlockletReadAheadScheduler scheduler = createScheduler(500);
+    scheduler.startBlock(createExecutionInfo(new int[][] { { 0, 1 } }, new int[][] { { 0, 0 } }));
+    scheduler.startBlocklet(nodes.get(0), nodes.subList(1, 4));
+    Assert.assertEquals(1, scheduler.getNumberOfReads());
+    scheduler.startBlocklet(nodes.get(1), nodes.subList(2, 4));
+    Assert.assertEquals(1, scheduler.getNumberOfReads());
+    scheduler.startBlocklet(nodes.get(2), nodes.subList(3, 4));
+    Assert.assertEquals(1, scheduler.getNumberOfReads());
+    // the read of blocklet 1 is released, so the read of blocklet 2 is submitted
+    scheduler.startBlocklet(nodes.get(3), Collections.<DataRefNode>emptyList());
+    Assert.assertEquals(2, scheduler.getNumberOfReads());
+    awaitReads();
+    assertReads(new long[][] { { BLOCKLET_DISTANCE, 400 }, { 2 * BLOCKLET_DISTANCE, 400 } });
+    scheduler.close();
+  }
+
+  @Test public void testReadBiggerThanBudgetIsSubmittedWhenNothingInFlight() throws Exception {
+    List<DataRefNode> nodes = createNodes(3);
+    BlockletReadAheadScheduler scheduler = createScheduler(100);
+    scheduler.startBlock(createExecutionInfo(new int[][] { { 0, 1 } }, new int[][] { { 0, 0 } }));
+    scheduler.startBlocklet(nodes.get(0), nodes.subList(1, 3));
+    Assert.assertEquals(1, scheduler.getNumberOfReads());
+    scheduler.close();
+  }
+
+  @Test public void testReleasedReadsAreAccountedAsWasted() throws Exception {
+    List<DataRefNode> nodes = createNodes(4);
+    BlockletReadAheadScheduler scheduler = createScheduler(1024 * 1024);
+    scheduler.startBlock(createExecutionInfo(new int[][] { { 0, 1 } }, new int[][] { { 0, 0 } }));
+    scheduler.startBlocklet(nodes.get(0), nodes.subList(1, 3));
+    scheduler.startBlocklet(nodes.get(1), nodes.subList(2, 3));
+    ByteBuffer buffer = scheduler.getFileReader().readByteBuffer(FILE_PATH, BLOCKLET_DISTANCE, 100);
+    assertContent(buffer, BLOCKLET_DISTANCE, 100);
+    Assert.assertEquals(0, scheduler.getBytesWasted());
+    // blocklet 2 is skipped, none of its read is used
+    scheduler.startBlocklet(nodes.get(3), Collections.<DataRefNode>emptyList());
+    Assert.assertEquals(400, scheduler.getBytesWasted());
+    // 100 bytes of the read of blocklet 1 are used
+    scheduler.close();
+    Assert.assertEquals(700, scheduler.getBytesWasted());
+    awaitReads();
+    assertReads(new long[][] { { BLOCKLET_DISTANCE, 400 }, { 2 * BLOCKLET_DISTANCE, 400 } });
+  }
+
+  @Test public void testReadNotCoveredIsServedByFileReader() throws Exception {
+    List<DataRefNode> nodes = createNodes(2);
+    BlockletReadAheadScheduler scheduler = createScheduler(1024 * 1024);
+    scheduler.startBlock(createExecutionInfo(new int[][] { { 0, 1 } }, new int[][] { { 0, 0 } }));
+    scheduler.startBlocklet(nodes.get(0), nodes.subList(1, 2));
+    scheduler.startBlocklet(nodes.get(1), Collections.<DataRefNode>emptyList());
+    // measure 1 is not planned
+    ByteBuffer buffer =
+        scheduler.getFileReader().readByteBuffer(FILE_PATH, BLOCKLET_DISTANCE + 400, 100);
+    assertContent(buffer, BLOCKLET_DISTANCE + 400, 100);
+    // the blocklet which is not read ahead is read from the file
+    buffer = scheduler.getFileReader().readByteBuffer(FILE_PATH, 0, 100);
+    assertContent(buffer, 0, 100);
+    awaitReads();
+    assertReads(new long[][] { { 0, 100 }, { BLOCKLET_DISTANCE, 400 },
+        { BLOCKLET_DISTANCE + 400, 100 } });
+    Assert.assertEquals(1, scheduler.getNumberOfReads());
+    scheduler.close();
+  }
+
+  @Test public void testReadColumnsArePlannedForNextBlocklets() throws Exception {
+    List<DataRefNode> nodes = createNodes(4);
+    BlockletReadAheadScheduler scheduler = createScheduler(1024 * 1024);
+    // only measure 0 is projected
+    scheduler.startBlock(createExecutionInfo(new int[0][], new int[][] { { 0, 0 } }));
+    scheduler.startBlocklet(nodes.get(0), nodes.subList(1, 2));
+    scheduler.startBlocklet(nodes.get(1), Collections.<DataRefNode>emptyList());
+    // dimension 0 is read, for example as a filter column
+    scheduler.getFileReader().readByteBuffer(FILE_PATH, BLOCKLET_DISTANCE, 100);
+    scheduler.startBlocklet(nodes.get(2), nodes.subList(3, 4));
+    awaitReads();
+    assertReads(new long[][] { { BLOCKLET_DISTANCE, 100 }, { BLOCKLET_DISTANCE + 300, 100 },
+        { 3 * BLOCKLET_DISTANCE, 400 } });
+    scheduler.close();
+  }
+
+  @Test public void testFinishClosesFileReader() throws Exception {
+    BlockletReadAheadScheduler scheduler = createScheduler(1024 * 1024);
+    scheduler.getFileReader().finish();
+    Assert.assertTrue(fileReader.finished);
+  }
+
+  private BlockletReadAheadScheduler createScheduler(long maxBytesInFlight) {
+    return new BlockletReadAheadScheduler(fileReader, executorService, 3, maxBytesInFlight,
+        null);
+  }
+
+  private static BlockExecutionInfo createExecutionInfo(int[][] dimensionRange,
+      int[][] measureRange) {
+    BlockExecutionInfo executionInfo = new BlockExecutionInfo();
+    executionInfo.setAllSelectedDimensionColumnIndexRange(dimensionRange);
+    executionInfo.setAllSelectedMeasureIndexRange(measureRange);
+    return executionInfo;
+  }
+
+  private static List<DataRefNode> createNodes(int numberOfBlocklets) {
+    List<TableBlockInfo> blockInfos = new ArrayList<>();
+    for (int i = 0; i < numberOfBlocklets; i++) {
+      blockInfos.add(createBlockInfo(i * BLOCKLET_DISTANCE, 100));
+    }
+    return createNodes(blockInfos);
+  }
+
+  private static List<DataRefNode> createNodes(List<TableBlockInfo> blockInfos) {
+    List<DataRefNode> nodes = new ArrayList<>();
+    for (int i = 0; i < blockInfos.size(); i++) {
+      DataRefNode node = Deencapsulation.newInstance(BlockletDataRefNode.class,
+          new Class[] { List.class, int.class, int[].class }, blockInfos, i, new int[0]);
+      nodes.add(node);
+    }
+    return nodes;
+  }
+
+  /**
+   * blocklet with three dimension chunks of 100 bytes, the second one is followed by a gap of
+   * the given size, and two measure chunks of 100 bytes
+   */
+  private static TableBlockInfo createBlockInfo(long base, long gap) {
+    BlockletInfo blockletInfo = new BlockletInfo();
+    blockletInfo.setDimensionChunkOffsets(Arrays.asList(base, base + 100, base + 100 + gap));
+    blockletInfo.setDimensionOffset(base + 200 + gap);
+    blockletInfo.setMeasureChunkOffsets(Arrays.asList(base + 200 + gap, base + 300 + gap));
+    blockletInfo.setMeasureOffsets(base + 400 + gap);
+    BlockletDetailInfo detailInfo = new BlockletDetailInfo();
+    detailInfo.setVersionNumber((short) 3);
+    detailInfo.setRowCount(32000);
+    detailInfo.setPagesCount((short) 1);
+    detailInfo.setBlockletId((short) 0);
+    detailInfo.setBlockletInfo(blockletInfo);
+    TableBlockInfo blockInfo = new TableBlockInfo();
+    blockInfo.setFilePath(FILE_PATH);
+    blockInfo.setDetailInfo(detailInfo);
+    return blockInfo;
+  }
+
+  /**
+   * waits till the reads submitted to the single thread executor are done
+   */
+  private void awaitReads() throws Exception {
+    executorService.submit(new Callable<Object>() {
+      @Override public Object call() {
+        return null;
+      }
+    }).get();
+  }
+
+  private void assertReads(long[][] expected) {
+    List<long[]> reads;
+    synchronized (fileReader.reads) {
+      reads = new ArrayList<>(fileReader.reads);
+    }
+    Collections.sort(reads, new Comparator<long[]>() {
+      @Override public int compare(long[] o1, long[] o2) {
+        return Long.compare(o1[0], o2[0]);
+      }
+    });
+    Assert.assertEquals(expected.length, reads.size());
+    for (int i = 0; i < expected.length; i++) {
+      Assert.assertArrayEquals(expected[i], reads.get(i));
+    }
+  }
+
+  private static void assertContent(ByteBuffer buffer, long offset, int length) {
+    Assert.assertEquals(length, buffer.remaining());
+    for (int i = 0; i < length; i++) {
+      Assert.assertEquals((byte) (offset + i), buffer.get(buffer.position() + i));
+    }
+  }
+
+  /**
+   * file reader which returns the low byte of the file offset as content and records the reads
+   */
+  private static class RecordingFileReader implements FileReader {
+
+    private final List<long[]> reads = Collections.synchronizedList(new ArrayList<long[]>());
+
+    private volatile boolean finished;
+
+    @Override public ByteBuffer readByteBuffer(String filePath, long offset, int length)
+        throws IOException {
+      reads.add(new long[] { offset, length });
+      byte[] bytes = new byte[length];
+      for (int i = 0; i < length; i++) {
+        bytes[i] = (byte) (offset + i);
+      }
+      return ByteBuffer.wrap(bytes);
+    }
+
+    @Override public byte[] readByteArray(String filePath, long offset, int length) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override public byte[] readByteArray(String filePath, int length) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override public int readInt(String filePath, long offset) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override public long readLong(String filePath, long offset) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override public int readInt(String filePath) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override public long readDouble(String filePath, long offset) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override public void finish() {
+      finished = true;
+    }
+
+    @Override public void setReadPageByPage(boolean isReadPageByPage) {
+    }
+
+    @Override public boolean isReadPageByPage() {
+      return false;
+    }
+  }
+}
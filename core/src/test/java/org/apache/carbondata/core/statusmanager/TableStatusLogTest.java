@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.statusmanager;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Map;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.path.CarbonTablePath;
+
+import com.google.gson.Gson;
+import mockit.Deencapsulation;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TableStatusLogTest {
+
+  private File metadataDir;
+
+  private String tableStatusPath;
+
+  @Before public void setUp() throws IOException {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.ENABLE_INCREMENTAL_TABLE_STATUS, "true");
+    metadataDir = File.createTempFile("tablestatus", "test");
+    Assert.assertTrue(metadataDir.delete() && metadataDir.mkdirs());
+    tableStatusPath = new File(metadataDir, CarbonTablePath.TABLE_STATUS_FILE).getPath();
+  }
+
+  @After public void tearDown() {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.ENABLE_INCREMENTAL_TABLE_STATUS,
+            CarbonCommonConstants.ENABLE_INCREMENTAL_TABLE_STATUS_DEFAULT);
+    delete(metadataDir);
+  }
+
+  private static void delete(File file) {
+    File[] files = file.listFiles();
+    if (null != files) {
+      for (File child : files) {
+        delete(child);
+      }
+    }
+    file.delete();
+  }
+
+  @Test public void testOnlyTableStatusFileIsSupported() {
+    Assert.assertTrue(TableStatusLog.isSupported(tableStatusPath));
+    Assert.assertFalse(TableStatusLog.isSupported(tableStatusPath + "_1234"));
+    Assert.assertFalse(TableStatusLog.isSupported(
+        new File(metadataDir, CarbonTablePath.TABLE_STATUS_HISTORY_FILE).getPath()));
+  }
+
+  @Test public void testChangedDetailsAreAppendedToLog() throws IOException {
+    writeSnapshot(load("0", SegmentStatus.SUCCESS));
+
+    LoadMetadataDetails[] details = TableStatusLog.read(tableStatusPath);
+    details[0].setSegmentStatus(SegmentStatus.MARKED_FOR_DELETE);
+    LoadMetadataDetails[] newDetails =
+        new LoadMetadataDetails[] { details[0], load("1", SegmentStatus.SUCCESS) };
+    Assert.assertTrue(TableStatusLog.append(tableStatusPath, newDetails));
+    Assert.assertTrue(new File(TableStatusLog.getLogFilePath(tableStatusPath)).exists());
+
+    LoadMetadataDetails[] readDetails = TableStatusLog.read(tableStatusPath);
+    Assert.assertEquals(2, readDetails.length);
+    Assert.assertEquals(SegmentStatus.MARKED_FOR_DELETE, readDetails[0].getSegmentStatus());
+    Assert.assertEquals("1", readDetails[1].getLoadName());
+    // returned details are copies of the cached ones
+    readDetails[1].setSegmentStatus(SegmentStatus.LOAD_FAILURE);
+    Assert.assertEquals(SegmentStatus.SUCCESS,
+        TableStatusLog.read(tableStatusPath)[1].getSegmentStatus());
+  }
+
+  @Test public void testRemovedSegmentNeedsSnapshot() throws IOException {
+    writeSnapshot(load("0", SegmentStatus.SUCCESS), load("1", SegmentStatus.SUCCESS));
+    Assert.assertFalse(TableStatusLog.append(tableStatusPath,
+        new LoadMetadataDetails[] { load("1", SegmentStatus.SUCCESS) }));
+    Assert.assertFalse(TableStatusLog.append(tableStatusPath,
+        new LoadMetadataDetails[] { load("1", SegmentStatus.SUCCESS),
+            load("0", SegmentStatus.SUCCESS) }));
+  }
+
+  @Test public void testLogOfOlderSnapshotIsIgnored() throws IOException {
+    writeSnapshot(load("0", SegmentStatus.SUCCESS));
+    Assert.assertTrue(TableStatusLog.append(tableStatusPath, new LoadMetadataDetails[] {
+        load("0", SegmentStatus.SUCCESS), load("1", SegmentStatus.SUCCESS) }));
+    // snapshot replaced without removing the log, like a rename of a uuid table status file
+    writeSnapshotFile(load("5", SegmentStatus.SUCCESS), load("6", SegmentStatus.SUCCESS));
+
+    LoadMetadataDetails[] details = TableStatusLog.read(tableStatusPath);
+    Assert.assertEquals(2, details.length);
+    Assert.assertEquals("5", details[0].getLoadName());
+    Assert.assertEquals("6", details[1].getLoadName());
+  }
+
+  @Test public void testPartialRecordIsIgnored() throws IOException {
+    writeSnapshot(load("0", SegmentStatus.SUCCESS));
+    Assert.assertTrue(TableStatusLog.append(tableStatusPath, new LoadMetadataDetails[] {
+        load("0", SegmentStatus.SUCCESS), load("1", SegmentStatus.SUCCESS) }));
+    Assert.assertTrue(TableStatusLog.append(tableStatusPath, new LoadMetadataDetails[] {
+        load("0", SegmentStatus.SUCCESS), load("1", SegmentStatus.SUCCESS),
+        load("2", SegmentStatus.SUCCESS) }));
+    RandomAccessFile logFile =
+        new RandomAccessFile(TableStatusLog.getLogFilePath(tableStatusPath), "rw");
+    try {
+      logFile.setLength(logFile.length() - 3);
+    } finally {
+      logFile.close();
+    }
+
+    LoadMetadataDetails[] details = TableStatusLog.read(tableStatusPath);
+    Assert.assertEquals(2, details.length);
+    // a broken log is not appended any more, the snapshot has to be rewritten
+    Assert.assertFalse(TableStatusLog.append(tableStatusPath, new LoadMetadataDetails[] {
+        load("0", SegmentStatus.SUCCESS), load("1", SegmentStatus.SUCCESS),
+        load("2", SegmentStatus.SUCCESS) }));
+  }
+
+  @Test public void testRewrittenSnapshotWithSameModifiedTimeAndLengthIsRead()
+      throws IOException {
+    writeSnapshot(load("0", SegmentStatus.SUCCESS));
+    File snapshotFile = new File(tableStatusPath);
+    long modifiedTime = snapshotFile.lastModified();
+    long length = snapshotFile.length();
+    Assert.assertEquals(SegmentStatus.SUCCESS,
+        TableStatusLog.read(tableStatusPath)[0].getSegmentStatus());
+
+    // rewritten within the modification time granularity, "Success" and "Failure" have the
+    // same length
+    writeSnapshotFile(load("0", SegmentStatus.LOAD_FAILURE));
+    Assert.assertTrue(snapshotFile.setLastModified(modifiedTime));
+    Assert.assertEquals(length, snapshotFile.length());
+    Assert.assertEquals(SegmentStatus.LOAD_FAILURE,
+        TableStatusLog.read(tableStatusPath)[0].getSegmentStatus());
+  }
+
+  @Test public void testSettledSnapshotIsNotReadAgain() throws IOException {
+    writeSnapshot(load("0", SegmentStatus.SUCCESS));
+    File snapshotFile = new File(tableStatusPath);
+    long modifiedTime = System.currentTimeMillis() - 3600 * 1000L;
+    Assert.assertTrue(snapshotFile.setLastModified(modifiedTime));
+    Assert.assertEquals(SegmentStatus.SUCCESS,
+        TableStatusLog.read(tableStatusPath)[0].getSegmentStatus());
+
+    // a snapshot older than the granularity can not be rewritten with the same modified time,
+    // so the cached state is used
+    writeSnapshotFile(load("0", SegmentStatus.LOAD_FAILURE));
+    Assert.assertTrue(snapshotFile.setLastModified(modifiedTime));
+    Assert.assertEquals(SegmentStatus.SUCCESS,
+        TableStatusLog.read(tableStatusPath)[0].getSegmentStatus());
+  }
+
+  @Test public void testStatusCacheIsBounded() throws IOException {
+    Map<String, ?> statusCache = Deencapsulation.getField(TableStatusLog.class, "STATUS_CACHE");
+    for (int i = 0; i <= TableStatusLog.STATUS_CACHE_SIZE; i++) {
+      File tableDir = new File(metadataDir, "table" + i);
+      Assert.assertTrue(tableDir.mkdirs());
+      tableStatusPath = new File(tableDir, CarbonTablePath.TABLE_STATUS_FILE).getPath();
+      writeSnapshotFile(load("0", SegmentStatus.SUCCESS));
+      Assert.assertEquals(1, TableStatusLog.read(tableStatusPath).length);
+      Assert.assertTrue(statusCache.size() <= TableStatusLog.STATUS_CACHE_SIZE);
+    }
+    Assert.assertTrue(statusCache.containsKey(tableStatusPath));
+  }
+
+  private static LoadMetadataDetails load(String loadName, SegmentStatus status) {
+    LoadMetadataDetails details = new LoadMetadataDetails();
+    details.setLoadName(loadName);
+    details.setSegmentStatus(status);
+    return details;
+  }
+
+  private void writeSnapshot(LoadMetadataDetails... details) throws IOException {
+    writeSnapshotFile(details);
+    TableStatusLog.onSnapshotWritten(tableStatusPath);
+  }
+
+  private void writeSnapshotFile(LoadMetadataDetails... details) throws IOException {
+    Writer writer = new OutputStreamWriter(new FileOutputStream(tableStatusPath),
+        Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET));
+    try {
+      writer.write(new Gson().toJson(details));
+    } finally {
+      writer.close();
+    }
+  }
+}
@@ -18,6 +18,7 @@ package org.apache.carbondata.core.util;
 
 import junit.framework.TestCase;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.memory.CarbonUnsafe;
 import org.apache.carbondata.core.util.ByteUtil.UnsafeComparer;
 import org.junit.Before;
 import org.junit.Test;
@@ -138,6 +139,28 @@ public class ByteUtilTest extends TestCase {
         assertTrue(UnsafeComparer.INSTANCE.compareTo(buff1, buff2) < 0);
     }
 
+    @Test
+    public void testCompareUnsafeMatchesCompareTo() {
+        String[] values = { "", "a", "aaaaaaaa", "aaaaaaaa1", "aaaaaaab", "aaaaaaaa12341",
+            "aaaaaaaa12344", "\u00ffaaaaaaaa", "b" };
+        Charset charset = Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET);
+        for (String left : values) {
+            for (String right : values) {
+                byte[] leftBytes = left.getBytes(charset);
+                byte[] rightBytes = right.getBytes(charset);
+                // compare from a non zero offset in a bigger buffer to check the offsets
+                byte[] leftBuffer = new byte[leftBytes.length + 3];
+                System.arraycopy(leftBytes, 0, leftBuffer, 3, leftBytes.length);
+                int expected =
+                    Integer.signum(UnsafeComparer.INSTANCE.compareTo(leftBytes, rightBytes));
+                int actual = Integer.signum(UnsafeComparer.INSTANCE.compareUnsafe(
+                    leftBuffer, CarbonUnsafe.BYTE_ARRAY_OFFSET + 3, leftBytes.length,
+                    rightBytes, CarbonUnsafe.BYTE_ARRAY_OFFSET, rightBytes.length));
+                assertEquals(left + " vs " + right, expected, actual);
+            }
+        }
+    }
+
     /**
      * This will prepare the byte buffers in the required format for comparision.
      */
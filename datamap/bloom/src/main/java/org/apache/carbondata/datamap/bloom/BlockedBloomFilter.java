@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.datamap.bloom;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+
+/**
+ * Split block bloom filter. The bits are divided into blocks of 256 bits, which is the size of
+ * a cache line pair, and every key sets one bit in each of the 8 words of a single block.
+ * So a probe touches only one block instead of k random cache lines as the guava filter does.
+ *
+ * The bits are kept in a little endian ByteBuffer, so the filter can be written as it is and
+ * read back from a heap, direct or memory mapped buffer without deserialization.
+ * The layout is the number of blocks as int followed by the blocks.
+ */
+@InterfaceAudience.Internal
+public class BlockedBloomFilter {
+
+  private static final int BYTES_PER_BLOCK = 32;
+
+  private static final int BITS_PER_BLOCK = BYTES_PER_BLOCK * 8;
+
+  private static final int[] SALT = { 0x47b6137b, 0x44974d91, 0x8824ad5b, 0xa2b7289d,
+      0x705495c7, 0x2df1424b, 0x9efc4947, 0x5c6bfb31 };
+
+  private final ByteBuffer bits;
+
+  private final int numBlocks;
+
+  private BlockedBloomFilter(ByteBuffer bits, int numBlocks) {
+    this.bits = bits.order(ByteOrder.LITTLE_ENDIAN);
+    this.numBlocks = numBlocks;
+  }
+
+  /**
+   * Creates a filter sized for the expected number of insertions and false positive rate
+   */
+  public static BlockedBloomFilter create(int expectedInsertions, double fpp) {
+    int numBlocks = getNumBlocks(expectedInsertions, fpp);
+    return new BlockedBloomFilter(ByteBuffer.allocate(numBlocks * BYTES_PER_BLOCK), numBlocks);
+  }
+
+  static int getNumBlocks(int expectedInsertions, double fpp) {
+    if (fpp <= 0 || fpp >= 1) {
+      throw new IllegalArgumentException("False positive probability must be in (0, 1): " + fpp);
+    }
+    long insertions = Math.max(1, expectedInsertions);
+    // every key sets 8 bits, so the fpp of a block is the 8th power of the fpp of one bit. It
+    // ignores that some blocks get more keys than others, so it is only a lower bound
+    double numBits = -8 * insertions / Math.log(1 - Math.pow(fpp, 1.0 / 8));
+    long numBlocks = Math.max(1, (long) Math.ceil(numBits / BITS_PER_BLOCK));
+    long maxBlocks = Integer.MAX_VALUE / BYTES_PER_BLOCK;
+    while (numBlocks < maxBlocks && estimateFpp(insertions, numBlocks) > fpp) {
+      numBlocks += Math.max(1, numBlocks / 50);
+    }
+    return (int) Math.min(numBlocks, maxBlocks);
+  }
+
+  /**
+   * Estimates the false positive rate, the number of keys in a block follows the poisson
+   * distribution
+   */
+  private static double estimateFpp(long insertions, long numBlocks) {
+    double keysPerBlock = (double) insertions / numBlocks;
+    double probability = Math.exp(-keysPerBlock);
+    double fpp = 0;
+    int maxKeys = (int) Math.min(10000, keysPerBlock + 20 * Math.sqrt(keysPerBlock) + 20);
+    for (int keys = 0; keys <= maxKeys; keys++) {
+      double bitUnset = Math.pow(1 - 1.0 / 32, keys);
+      fpp += probability * Math.pow(1 - bitUnset, 8);
+      probability = probability * keysPerBlock / (keys + 1);
+    }
+    return fpp;
+  }
+
+  /**
+   * Reads a filter written by {@link #writeTo(DataOutput)} from the current position of the
+   * buffer without copying the bits, and moves the position after the filter
+   */
+  public static BlockedBloomFilter readFrom(ByteBuffer buffer) {
+    ByteBuffer source = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+    int numBlocks = source.getInt();
+    if (numBlocks <= 0 || (long) numBlocks * BYTES_PER_BLOCK > source.remaining()) {
+      throw new IllegalArgumentException("Invalid bloom filter with " + numBlocks + " blocks");
+    }
+    source.limit(source.position() + numBlocks * BYTES_PER_BLOCK);
+    ByteBuffer bits = source.slice();
+    buffer.position(source.limit());
+    return new BlockedBloomFilter(bits, numBlocks);
+  }
+
+  public void writeTo(DataOutput output) throws IOException {
+    output.writeInt(numBlocks);
+    if (bits.hasArray()) {
+      output.write(bits.array(), bits.arrayOffset(), numBlocks * BYTES_PER_BLOCK);
+    } else {
+      ByteBuffer source = bits.duplicate();
+      source.position(0);
+      byte[] block = new byte[BYTES_PER_BLOCK];
+      for (int i = 0; i < numBlocks; i++) {
+        source.get(block);
+        output.write(block);
+      }
+    }
+  }
+
+  /**
+   * size of the filter in bytes when written
+   */
+  public int getSerializedSize() {
+    return 4 + numBlocks * BYTES_PER_BLOCK;
+  }
+
+  public void put(byte[] key) {
+    putHash(hash(key));
+  }
+
+  public void putHash(long hash) {
+    int blockOffset = getBlockOffset(hash);
+    int key = (int) hash;
+    for (int i = 0; i < SALT.length; i++) {
+      int wordOffset = blockOffset + i * 4;
+      bits.putInt(wordOffset, bits.getInt(wordOffset) | (1 << ((key * SALT[i]) >>> 27)));
+    }
+  }
+
+  public boolean mightContain(byte[] key) {
+    return mightContainHash(hash(key));
+  }
+
+  public boolean mightContainHash(long hash) {
+    int blockOffset = getBlockOffset(hash);
+    int key = (int) hash;
+    for (int i = 0; i < SALT.length; i++) {
+      int mask = 1 << ((key * SALT[i]) >>> 27);
+      if ((bits.getInt(blockOffset + i * 4) & mask) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Batch probe for IN lists, the hashes should be computed once by {@link #hash(byte[])} and
+   * reused for the filters of all the blocklets
+   *
+   * @return true if any of the keys might be contained
+   */
+  public boolean mightContainAny(long[] hashes) {
+    for (long hash : hashes) {
+      if (mightContainHash(hash)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private int getBlockOffset(long hash) {
+    // multiply shift maps the upper 32 bits to a block without modulo
+    return (int) (((hash >>> 32) * numBlocks) >>> 32) * BYTES_PER_BLOCK;
+  }
+
+  /**
+   * 64 bit hash of the key, it is the first half of murmur3 x64 128 bit hash
+   */
+  public static long hash(byte[] key) {
+    final long c1 = 0x87c37b91114253d5L;
+    final long c2 = 0x4cf5ad432745937fL;
+    int length = key.length;
+    long h1 = 0;
+    long h2 = 0;
+    int numChunks = length / 16;
+    for (int i = 0; i < numChunks; i++) {
+      long k1 = getLongLittleEndian(key, i * 16);
+      long k2 = getLongLittleEndian(key, i * 16 + 8);
+      h1 ^= Long.rotateLeft(k1 * c1, 31) * c2;
+      h1 = Long.rotateLeft(h1, 27) + h2;
+      h1 = h1 * 5 + 0x52dce729;
+      h2 ^= Long.rotateLeft(k2 * c2, 33) * c1;
+      h2 = Long.rotateLeft(h2, 31) + h1;
+      h2 = h2 * 5 + 0x38495ab5;
+    }
+    int tail = numChunks * 16;
+    int remaining = length & 15;
+    if (remaining > 8) {
+      long k2 = 0;
+      for (int i = remaining - 1; i >= 8; i--) {
+        k2 ^= (long) (key[tail + i] & 0xff) << ((i - 8) * 8);
+      }
+      h2 ^= Long.rotateLeft(k2 * c2, 33) * c1;
+    }
+    if (remaining > 0) {
+      long k1 = 0;
+      for (int i = Math.min(remaining, 8) - 1; i >= 0; i--) {
+        k1 ^= (long) (key[tail + i] & 0xff) << (i * 8);
+      }
+      h1 ^= Long.rotateLeft(k1 * c1, 31) * c2;
+    }
+    h1 ^= length;
+    h2 ^= length;
+    h1 += h2;
+    h2 += h1;
+    h1 = fmix64(h1);
+    h2 = fmix64(h2);
+    return h1 + h2;
+  }
+
+  private static long getLongLittleEndian(byte[] bytes, int offset) {
+    long value = 0;
+    for (int i = 7; i >= 0; i--) {
+      value = (value << 8) | (bytes[offset + i] & 0xff);
+    }
+    return value;
+  }
+
+  private static long fmix64(long k) {
+    k ^= k >>> 33;
+    k *= 0xff51afd7ed558ccdL;
+    k ^= k >>> 33;
+    k *= 0xc4ceb9fe1a85ec53L;
+    k ^= k >>> 33;
+    return k;
+  }
+
+  @Override public String toString() {
+    return "BlockedBloomFilter{numBlocks=" + numBlocks + '}';
+  }
+}
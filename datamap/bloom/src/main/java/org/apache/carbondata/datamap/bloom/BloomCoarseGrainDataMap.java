@@ -21,6 +21,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -39,6 +40,8 @@ import org.apache.carbondata.core.scan.expression.ColumnExpression;
 import org.apache.carbondata.core.scan.expression.Expression;
 import org.apache.carbondata.core.scan.expression.LiteralExpression;
 import org.apache.carbondata.core.scan.expression.conditional.EqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.InExpression;
+import org.apache.carbondata.core.scan.expression.conditional.ListExpression;
 import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
 import org.apache.carbondata.core.util.CarbonUtil;
 
@@ -55,6 +58,11 @@ public class BloomCoarseGrainDataMap extends CoarseGrainDataMap {
   private static final LogService LOGGER =
       LogServiceFactory.getLogService(BloomCoarseGrainDataMap.class.getName());
   public static final String BLOOM_INDEX_SUFFIX = ".bloomindex";
+  /**
+   * magic number at the start of index files holding blocked bloom filters, the files written
+   * by older versions start with the java serialization magic number instead
+   */
+  public static final int BLOOM_INDEX_MAGIC_NUMBER = 0x424C4F31;
   private Set<String> indexedColumn;
   private List<BloomDMModel> bloomIndexList;
   private String shardName;
@@ -96,9 +104,16 @@ public class BloomCoarseGrainDataMap extends CoarseGrainDataMap {
       BloomDataMapCache.CacheKey cacheKey = new BloomDataMapCache.CacheKey(
           this.indexPath.toString(), bloomQueryModel.columnName);
       List<BloomDMModel> bloomDMModels = this.bloomDataMapCache.getBloomDMModelByKey(cacheKey);
+      // convert and hash the filter values once for the filters of all the blocklets
+      List<Object> filterValues = bloomQueryModel.filterValues;
+      byte[][] values = new byte[filterValues.size()][];
+      long[] hashes = new long[filterValues.size()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = convertValueToBytes(bloomQueryModel.dataType, filterValues.get(i));
+        hashes[i] = BlockedBloomFilter.hash(values[i]);
+      }
       for (BloomDMModel bloomDMModel : bloomDMModels) {
-        boolean scanRequired = bloomDMModel.getBloomFilter().mightContain(
-            convertValueToBytes(bloomQueryModel.dataType, bloomQueryModel.filterValue));
+        boolean scanRequired = bloomDMModel.mightContainAny(values, hashes);
         if (scanRequired) {
           LOGGER.debug(String.format("BloomCoarseGrainDataMap: Need to scan -> blocklet#%s",
               String.valueOf(bloomDMModel.getBlockletNo())));
@@ -157,6 +172,26 @@ public class BloomCoarseGrainDataMap extends CoarseGrainDataMap {
         }
         return queryModels;
       }
+    } else if (expression instanceof InExpression) {
+      Expression left = ((InExpression) expression).getLeft();
+      Expression right = ((InExpression) expression).getRight();
+      if (left instanceof ColumnExpression && right instanceof ListExpression) {
+        String column = ((ColumnExpression) left).getColumnName();
+        if (indexedColumn.contains(column)) {
+          List<Object> values = new ArrayList<Object>(right.getChildren().size());
+          for (Expression child : right.getChildren()) {
+            // null in the list is not indexed, the blocklets can not be pruned then
+            if (!(child instanceof LiteralExpression)
+                || null == ((LiteralExpression) child).getLiteralExpValue()) {
+              return queryModels;
+            }
+            values.add(((LiteralExpression) child).getLiteralExpValue());
+          }
+          queryModels.add(
+              new BloomQueryModel(column, ((ColumnExpression) left).getDataType(), values));
+        }
+        return queryModels;
+      }
     }
 
     for (Expression child : expression.getChildren()) {
@@ -187,12 +222,16 @@ public class BloomCoarseGrainDataMap extends CoarseGrainDataMap {
   static class BloomQueryModel {
     private String columnName;
     private DataType dataType;
-    private Object filterValue;
+    private List<Object> filterValues;
 
     private BloomQueryModel(String columnName, DataType dataType, Object filterValue) {
+      this(columnName, dataType, Collections.singletonList(filterValue));
+    }
+
+    private BloomQueryModel(String columnName, DataType dataType, List<Object> filterValues) {
       this.columnName = columnName;
       this.dataType = dataType;
-      this.filterValue = filterValue;
+      this.filterValues = filterValues;
     }
 
     @Override
@@ -200,7 +239,7 @@ public class BloomCoarseGrainDataMap extends CoarseGrainDataMap {
       final StringBuilder sb = new StringBuilder("BloomQueryModel{");
       sb.append("columnName='").append(columnName).append('\'');
       sb.append(", dataType=").append(dataType);
-      sb.append(", filterValue=").append(filterValue);
+      sb.append(", filterValues=").append(filterValues);
       sb.append('}');
       return sb.toString();
     }
@@ -23,19 +23,26 @@ import org.apache.carbondata.common.annotations.InterfaceAudience;
 import com.google.common.hash.BloomFilter;
 
 /**
- * This class holds a bloom filter for one blocklet
+ * This class holds a bloom filter for one blocklet. Index files written by older versions hold
+ * java serialized guava bloom filters, the current ones hold blocked bloom filters.
  */
 @InterfaceAudience.Internal
 public class BloomDMModel implements Serializable {
   private static final long serialVersionUID = 7281578747306832771L;
   private int blockletNo;
   private BloomFilter<byte[]> bloomFilter;
+  private transient BlockedBloomFilter blockedBloomFilter;
 
   public BloomDMModel(int blockletNo, BloomFilter<byte[]> bloomFilter) {
     this.blockletNo = blockletNo;
     this.bloomFilter = bloomFilter;
   }
 
+  public BloomDMModel(int blockletNo, BlockedBloomFilter blockedBloomFilter) {
+    this.blockletNo = blockletNo;
+    this.blockedBloomFilter = blockedBloomFilter;
+  }
+
   public int getBlockletNo() {
     return blockletNo;
   }
@@ -44,10 +51,33 @@ public class BloomDMModel implements Serializable {
     return bloomFilter;
   }
 
+  public BlockedBloomFilter getBlockedBloomFilter() {
+    return blockedBloomFilter;
+  }
+
+  /**
+   * Returns true if any of the values might be in this blocklet
+   *
+   * @param values values to probe
+   * @param hashes hashes of the values computed by {@link BlockedBloomFilter#hash(byte[])}
+   */
+  public boolean mightContainAny(byte[][] values, long[] hashes) {
+    if (null != blockedBloomFilter) {
+      return blockedBloomFilter.mightContainAny(hashes);
+    }
+    for (byte[] value : values) {
+      if (bloomFilter.mightContain(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   @Override public String toString() {
     final StringBuilder sb = new StringBuilder("BloomDMModel{");
     sb.append(", blockletNo=").append(blockletNo);
-    sb.append(", bloomFilter=").append(bloomFilter);
+    sb.append(", bloomFilter=")
+        .append(null != blockedBloomFilter ? blockedBloomFilter : bloomFilter);
     sb.append('}');
     return sb.toString();
   }
@@ -20,7 +20,10 @@ import java.io.DataInputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.io.RandomAccessFile;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -46,7 +49,8 @@ import com.google.common.cache.RemovalNotification;
  * The cache is implemented using guava cache and is a singleton which will be shared by all the
  * bloomfilter datamaps.
  * As for the cache, the key is a bloomindex file for a shard and the value is the bloomfilters
- * for the blocklets in this shard.
+ * for the blocklets in this shard. The blocked bloom filters are kept in the memory mapped or
+ * direct buffer of the index file, out of the java heap.
  * The size of cache can be configurable through CarbonProperties and the cache will be expired if
  * no one access it in the past 2 hours.
  */
@@ -132,6 +136,79 @@ public class BloomDataMapCache implements Serializable {
    * load datamap from bloomindex file
    */
   private List<BloomDMModel> loadBloomDataMapModel(CacheKey cacheKey) {
+    String indexFile = getIndexFileFromCacheKey(cacheKey);
+    ByteBuffer buffer;
+    try {
+      buffer = readIndexFile(indexFile);
+    } catch (IOException e) {
+      clear(cacheKey);
+      LOGGER.error(e, "Error occurs while reading bloom index");
+      throw new RuntimeException("Error occurs while reading bloom index", e);
+    }
+    if (buffer.remaining() < 4
+        || buffer.getInt(0) != BloomCoarseGrainDataMap.BLOOM_INDEX_MAGIC_NUMBER) {
+      return loadLegacyBloomDataMapModel(cacheKey);
+    }
+    List<BloomDMModel> bloomDMModels = new ArrayList<BloomDMModel>();
+    try {
+      buffer.position(4);
+      while (buffer.hasRemaining()) {
+        int blockletNo = buffer.getInt();
+        bloomDMModels.add(new BloomDMModel(blockletNo, BlockedBloomFilter.readFrom(buffer)));
+      }
+    } catch (RuntimeException e) {
+      clear(cacheKey);
+      LOGGER.error(e, "Error occurs while reading bloom index");
+      throw new RuntimeException("Error occurs while reading bloom index " + indexFile, e);
+    }
+    LOGGER.info(String.format("Read %d bloom indices from %s", bloomDMModels.size(), indexFile));
+    this.bloomDMCache.put(cacheKey, bloomDMModels);
+    return bloomDMModels;
+  }
+
+  /**
+   * Reads the whole index file out of the heap, the filters are used from the buffer without
+   * copying. Local files are memory mapped.
+   */
+  private static ByteBuffer readIndexFile(String indexFile) throws IOException {
+    FileFactory.FileType fileType = FileFactory.getFileType(indexFile);
+    if (FileFactory.FileType.LOCAL == fileType) {
+      RandomAccessFile file =
+          new RandomAccessFile(FileFactory.getUpdatedFilePath(indexFile, fileType), "r");
+      try {
+        FileChannel channel = file.getChannel();
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      } finally {
+        file.close();
+      }
+    }
+    long size = FileFactory.getCarbonFile(indexFile, fileType).getSize();
+    if (size > Integer.MAX_VALUE) {
+      throw new IOException("Bloom index file is too large: " + indexFile);
+    }
+    ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+    DataInputStream dataInStream = FileFactory.getDataInputStream(indexFile, fileType);
+    try {
+      byte[] chunk = new byte[CarbonCommonConstants.BYTEBUFFER_SIZE];
+      while (buffer.hasRemaining()) {
+        int read = dataInStream.read(chunk, 0, Math.min(chunk.length, buffer.remaining()));
+        if (read < 0) {
+          throw new EOFException("Unexpected end of bloom index file " + indexFile);
+        }
+        buffer.put(chunk, 0, read);
+      }
+    } finally {
+      CarbonUtil.closeStreams(dataInStream);
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  /**
+   * load datamap from bloomindex file written by older versions, which holds java serialized
+   * guava bloom filters
+   */
+  private List<BloomDMModel> loadLegacyBloomDataMapModel(CacheKey cacheKey) {
     DataInputStream dataInStream = null;
     ObjectInputStream objectInStream = null;
     List<BloomDMModel> bloomDMModels = new ArrayList<BloomDMModel>();
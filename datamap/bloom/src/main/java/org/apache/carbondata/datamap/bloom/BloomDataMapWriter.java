@@ -18,7 +18,6 @@ package org.apache.carbondata.datamap.bloom;
 
 import java.io.DataOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,15 +33,14 @@ import org.apache.carbondata.core.metadata.datatype.DataTypes;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
 import org.apache.carbondata.core.util.CarbonUtil;
 
-import com.google.common.hash.BloomFilter;
-import com.google.common.hash.Funnels;
-
 /**
  * BloomDataMap is constructed in CG level (blocklet level).
  * For each indexed column, a bloom filter is constructed to indicate whether a value
  * belongs to this blocklet. Bloom filter of blocklet that belongs to same block will
  * be written to one index file suffixed with .bloomindex. So the number
  * of bloom index file will be equal to that of the blocks.
+ * The index file starts with a magic number, followed by the blocklet number and the
+ * blocked bloom filter of each blocklet.
  */
 @InterfaceAudience.Internal
 public class BloomDataMapWriter extends DataMapWriter {
@@ -53,8 +51,7 @@ public class BloomDataMapWriter extends DataMapWriter {
   protected int currentBlockletId;
   private List<String> currentDMFiles;
   private List<DataOutputStream> currentDataOutStreams;
-  private List<ObjectOutputStream> currentObjectOutStreams;
-  protected List<BloomFilter<byte[]>> indexBloomFilters;
+  protected List<BlockedBloomFilter> indexBloomFilters;
 
   BloomDataMapWriter(String tablePath, String dataMapName, List<CarbonColumn> indexColumns,
       Segment segment, String shardName, int bloomFilterSize, double bloomFilterFpp)
@@ -65,8 +62,7 @@ public class BloomDataMapWriter extends DataMapWriter {
 
     currentDMFiles = new ArrayList<String>(indexColumns.size());
     currentDataOutStreams = new ArrayList<DataOutputStream>(indexColumns.size());
-    currentObjectOutStreams = new ArrayList<ObjectOutputStream>(indexColumns.size());
-    indexBloomFilters = new ArrayList<BloomFilter<byte[]>>(indexColumns.size());
+    indexBloomFilters = new ArrayList<BlockedBloomFilter>(indexColumns.size());
     initDataMapFile();
     resetBloomFilters();
   }
@@ -87,8 +83,7 @@ public class BloomDataMapWriter extends DataMapWriter {
     indexBloomFilters.clear();
     List<CarbonColumn> indexColumns = getIndexColumns();
     for (int i = 0; i < indexColumns.size(); i++) {
-      indexBloomFilters.add(BloomFilter.create(Funnels.byteArrayFunnel(),
-          bloomFilterSize, bloomFilterFpp));
+      indexBloomFilters.add(BlockedBloomFilter.create(bloomFilterSize, bloomFilterFpp));
     }
   }
 
@@ -140,20 +135,18 @@ public class BloomDataMapWriter extends DataMapWriter {
       String dmFile = BloomCoarseGrainDataMap.getBloomIndexFile(dataMapPath,
           indexColumns.get(indexColId).getColName());
       DataOutputStream dataOutStream = null;
-      ObjectOutputStream objectOutStream = null;
       try {
         FileFactory.createNewFile(dmFile, FileFactory.getFileType(dmFile));
         dataOutStream = FileFactory.getDataOutputStream(dmFile,
             FileFactory.getFileType(dmFile));
-        objectOutStream = new ObjectOutputStream(dataOutStream);
+        dataOutStream.writeInt(BloomCoarseGrainDataMap.BLOOM_INDEX_MAGIC_NUMBER);
       } catch (IOException e) {
-        CarbonUtil.closeStreams(objectOutStream, dataOutStream);
+        CarbonUtil.closeStreams(dataOutStream);
         throw new IOException(e);
       }
 
       this.currentDMFiles.add(dmFile);
       this.currentDataOutStreams.add(dataOutStream);
-      this.currentObjectOutStreams.add(objectOutStream);
     }
   }
 
@@ -161,18 +154,12 @@ public class BloomDataMapWriter extends DataMapWriter {
     List<CarbonColumn> indexColumns = getIndexColumns();
     try {
       for (int indexColId = 0; indexColId < indexColumns.size(); indexColId++) {
-        BloomDMModel model =
-            new BloomDMModel(this.currentBlockletId, indexBloomFilters.get(indexColId));
-        // only in higher version of guava-bloom-filter, it provides readFrom/writeTo interface.
-        // In lower version, we use default java serializer to write bloomfilter.
-        this.currentObjectOutStreams.get(indexColId).writeObject(model);
-        this.currentObjectOutStreams.get(indexColId).flush();
-        this.currentDataOutStreams.get(indexColId).flush();
+        DataOutputStream dataOutStream = this.currentDataOutStreams.get(indexColId);
+        dataOutStream.writeInt(this.currentBlockletId);
+        indexBloomFilters.get(indexColId).writeTo(dataOutStream);
+        dataOutStream.flush();
       }
     } catch (Exception e) {
-      for (ObjectOutputStream objectOutputStream : currentObjectOutStreams) {
-        CarbonUtil.closeStreams(objectOutputStream);
-      }
       for (DataOutputStream dataOutputStream : currentDataOutStreams) {
         CarbonUtil.closeStreams(dataOutputStream);
       }
@@ -193,8 +180,7 @@ public class BloomDataMapWriter extends DataMapWriter {
   protected void releaseResouce() {
     List<CarbonColumn> indexColumns = getIndexColumns();
     for (int indexColId = 0; indexColId < indexColumns.size(); indexColId++) {
-      CarbonUtil.closeStreams(
-          currentDataOutStreams.get(indexColId), currentObjectOutStreams.get(indexColId));
+      CarbonUtil.closeStreams(currentDataOutStreams.get(indexColId));
     }
   }
 
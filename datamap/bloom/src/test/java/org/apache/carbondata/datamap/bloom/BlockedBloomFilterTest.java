@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.datamap.bloom;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BlockedBloomFilterTest {
+
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+
+  @Test public void testNoFalseNegatives() {
+    BlockedBloomFilter filter = BlockedBloomFilter.create(10000, 0.01);
+    for (int i = 0; i < 10000; i++) {
+      filter.put(("value" + i).getBytes(UTF8));
+    }
+    for (int i = 0; i < 10000; i++) {
+      Assert.assertTrue(filter.mightContain(("value" + i).getBytes(UTF8)));
+    }
+  }
+
+  @Test public void testFalsePositiveRate() {
+    BlockedBloomFilter filter = BlockedBloomFilter.create(10000, 0.01);
+    for (int i = 0; i < 10000; i++) {
+      filter.put(("value" + i).getBytes(UTF8));
+    }
+    int falsePositives = 0;
+    for (int i = 0; i < 100000; i++) {
+      if (filter.mightContain(("other" + i).getBytes(UTF8))) {
+        falsePositives++;
+      }
+    }
+    Assert.assertTrue("false positives: " + falsePositives, falsePositives < 1500);
+  }
+
+  @Test public void testWriteAndReadFromBuffer() throws IOException {
+    BlockedBloomFilter first = BlockedBloomFilter.create(100, 0.01);
+    BlockedBloomFilter second = BlockedBloomFilter.create(1000, 0.001);
+    first.put("a".getBytes(UTF8));
+    second.put("b".getBytes(UTF8));
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream output = new DataOutputStream(bytes);
+    first.writeTo(output);
+    second.writeTo(output);
+    output.close();
+    Assert.assertEquals(first.getSerializedSize() + second.getSerializedSize(), bytes.size());
+
+    ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.size());
+    buffer.put(bytes.toByteArray());
+    buffer.flip();
+    BlockedBloomFilter readFirst = BlockedBloomFilter.readFrom(buffer);
+    BlockedBloomFilter readSecond = BlockedBloomFilter.readFrom(buffer);
+    Assert.assertFalse(buffer.hasRemaining());
+    Assert.assertTrue(readFirst.mightContain("a".getBytes(UTF8)));
+    Assert.assertTrue(readSecond.mightContain("b".getBytes(UTF8)));
+    Assert.assertEquals(second.getSerializedSize(), readSecond.getSerializedSize());
+  }
+
+  @Test public void testMightContainAny() {
+    BlockedBloomFilter filter = BlockedBloomFilter.create(100, 0.001);
+    filter.put("x".getBytes(UTF8));
+    long[] hashes = new long[] { BlockedBloomFilter.hash("y".getBytes(UTF8)),
+        BlockedBloomFilter.hash("x".getBytes(UTF8)) };
+    Assert.assertTrue(filter.mightContainAny(hashes));
+    Assert.assertFalse(filter.mightContainAny(new long[0]));
+  }
+
+  @Test public void testHashUsesAllBytes() {
+    // keys differing only in the tail bytes of a 16 byte chunk must hash differently
+    byte[] key = new byte[31];
+    long hash = BlockedBloomFilter.hash(key);
+    for (int i = 0; i < key.length; i++) {
+      key[i] = 1;
+      Assert.assertNotEquals(hash, BlockedBloomFilter.hash(key));
+      key[i] = 0;
+    }
+  }
+}
@@ -19,7 +19,14 @@ package org.apache.carbondata.datamap.lucene;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.carbondata.common.annotations.InterfaceAudience;
 import org.apache.carbondata.common.logging.LogService;
@@ -33,6 +40,7 @@ import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
 import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonThreadFactory;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
@@ -48,12 +56,12 @@ import org.apache.lucene.document.FloatPoint;
 import org.apache.lucene.document.IntPoint;
 import org.apache.lucene.document.IntRangeField;
 import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.TextField;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.store.Directory;
-import org.apache.lucene.store.RAMDirectory;
 import org.apache.solr.store.hdfs.HdfsDirectory;
 
 /**
@@ -84,6 +92,34 @@ public class LuceneDataMapWriter extends DataMapWriter {
 
   public static final String ROWID_NAME = "rowId";
 
+  /**
+   * threads which add the documents of the pages to the index writer. The load has no abort
+   * notification for the datamap writers, so the threads are daemon threads which end when idle,
+   * in case the load fails before finish is called.
+   */
+  private ThreadPoolExecutor indexBuildService;
+
+  /**
+   * bounds the number of pages waiting to be indexed, onPageAdded waits when all the permits
+   * are used so that the documents of the pending pages do not use unbounded memory
+   */
+  private Semaphore pendingPages;
+
+  /**
+   * first failure of the index build threads, reported to the load
+   */
+  private AtomicReference<Throwable> indexBuildFailure = new AtomicReference<>();
+
+  private AtomicLong numberOfIndexedRows = new AtomicLong();
+
+  private AtomicLong indexBuildTimeInNanos = new AtomicLong();
+
+  private long numberOfPages;
+
+  private long startTime;
+
+  private static final long INDEX_BUILD_THREAD_KEEP_ALIVE_SECONDS = 60;
+
   LuceneDataMapWriter(String tablePath, String dataMapName, List<CarbonColumn> indexColumns,
       Segment segment, String shardName, boolean isFineGrain) {
     super(tablePath, dataMapName, indexColumns, segment, shardName);
@@ -131,7 +167,31 @@ public class LuceneDataMapWriter extends DataMapWriter {
           .setCodec(new Lucene62Codec(Lucene50StoredFieldsFormat.Mode.BEST_COMPRESSION));
     }
 
-    indexWriter = new IndexWriter(indexDir, new IndexWriterConfig(analyzer));
+    indexWriter = new IndexWriter(indexDir, indexWriterConfig);
+
+    int numberOfThreads = getIndexBuildThreads();
+    indexBuildService = new ThreadPoolExecutor(numberOfThreads, numberOfThreads,
+        INDEX_BUILD_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<Runnable>(),
+        new CarbonThreadFactory("LuceneIndexBuildPool:" + dataMapPath, true));
+    indexBuildService.allowCoreThreadTimeOut(true);
+    pendingPages = new Semaphore(numberOfThreads * 2);
+    startTime = System.nanoTime();
+  }
+
+  private static int getIndexBuildThreads() {
+    int numberOfThreads;
+    try {
+      numberOfThreads = Integer.parseInt(CarbonProperties.getInstance()
+          .getProperty(CarbonCommonConstants.CARBON_LUCENE_INDEX_BUILD_THREADS,
+              CarbonCommonConstants.CARBON_LUCENE_INDEX_BUILD_THREADS_DEFAULT));
+    } catch (NumberFormatException e) {
+      LOGGER.warn("The lucene index build threads is invalid. Using the default value "
+          + CarbonCommonConstants.CARBON_LUCENE_INDEX_BUILD_THREADS_DEFAULT);
+      numberOfThreads =
+          Integer.parseInt(CarbonCommonConstants.CARBON_LUCENE_INDEX_BUILD_THREADS_DEFAULT);
+    }
+    return Math.max(numberOfThreads, 1);
   }
 
   /**
@@ -141,30 +201,18 @@ public class LuceneDataMapWriter extends DataMapWriter {
 
   }
 
-  private RAMDirectory ramDir;
-  private IndexWriter ramIndexWriter;
-
   /**
    * Start of new blocklet notification.
    */
   public void onBlockletStart(int blockletId) throws IOException {
-    // save index data into ram, write into disk after one page finished
-    ramDir = new RAMDirectory();
-    ramIndexWriter = new IndexWriter(ramDir, new IndexWriterConfig(analyzer));
+    // the documents carry the blocklet id, they are added to the block level index directly
   }
 
   /**
    * End of blocklet notification
    */
   public void onBlockletEnd(int blockletId) throws IOException {
-    // close ram writer
-    ramIndexWriter.close();
-
-    // add ram index data into disk
-    indexWriter.addIndexes(ramDir);
-
-    // delete this ram data
-    ramDir.close();
+    checkIndexBuildFailure();
   }
 
   /**
@@ -175,25 +223,29 @@ public class LuceneDataMapWriter extends DataMapWriter {
    */
   public void onPageAdded(int blockletId, int pageId, int pageSize, ColumnPage[] pages)
       throws IOException {
+    checkIndexBuildFailure();
+    // the documents are created here as they copy the content of the pages, the analysis and
+    // the inversion of the documents are done by the index build threads
+    final List<Document> documents = new ArrayList<>(pageSize);
     for (int rowId = 0; rowId < pageSize; rowId++) {
       // create a new document
       Document doc = new Document();
       // add blocklet Id
       doc.add(new IntPoint(BLOCKLETID_NAME, blockletId));
       doc.add(new StoredField(BLOCKLETID_NAME, blockletId));
-      //doc.add(new NumericDocValuesField(BLOCKLETID_NAME,blockletId));
+      doc.add(new NumericDocValuesField(BLOCKLETID_NAME, blockletId));
 
       // add page id and row id in Fine Grain data map
       if (isFineGrain) {
         // add page Id
         doc.add(new IntPoint(PAGEID_NAME, pageId));
         doc.add(new StoredField(PAGEID_NAME, pageId));
-        //doc.add(new NumericDocValuesField(PAGEID_NAME,pageId));
+        doc.add(new NumericDocValuesField(PAGEID_NAME, pageId));
 
         // add row id
         doc.add(new IntPoint(ROWID_NAME, rowId));
         doc.add(new StoredField(ROWID_NAME, rowId));
-        //doc.add(new NumericDocValuesField(ROWID_NAME,rowId));
+        doc.add(new NumericDocValuesField(ROWID_NAME, rowId));
       }
 
       // add indexed columns value into the document
@@ -205,10 +257,60 @@ public class LuceneDataMapWriter extends DataMapWriter {
         }
       }
 
-      // add this document
-      ramIndexWriter.addDocument(doc);
+      documents.add(doc);
+    }
+
+    try {
+      pendingPages.acquire();
+    } catch (InterruptedException e) {
+      throw new IOException(e);
+    }
+    numberOfPages++;
+    final IndexWriter writer = indexWriter;
+    indexBuildService.execute(new Runnable() {
+      @Override public void run() {
+        long pageStartTime = System.nanoTime();
+        try {
+          if (indexBuildFailure.get() == null) {
+            writer.addDocuments(documents);
+            numberOfIndexedRows.addAndGet(documents.size());
+          }
+        } catch (Throwable e) {
+          indexBuildFailure.compareAndSet(null, e);
+        } finally {
+          indexBuildTimeInNanos.addAndGet(System.nanoTime() - pageStartTime);
+          pendingPages.release();
+        }
+      }
+    });
+  }
+
+  /**
+   * Throws the failure of the index build threads. The load fails on it without finishing the
+   * writer, so the writer is aborted first.
+   */
+  private void checkIndexBuildFailure() throws IOException {
+    Throwable failure = indexBuildFailure.get();
+    if (failure != null) {
+      abort();
+      throw new IOException("Failed to build lucene index for datamap " + dataMapPath, failure);
     }
+  }
 
+  /**
+   * Stops the index build threads and discards the index
+   */
+  private void abort() {
+    if (indexWriter == null) {
+      return;
+    }
+    indexBuildService.shutdownNow();
+    try {
+      indexWriter.rollback();
+    } catch (IOException e) {
+      LOGGER.error(e, "Failed to rollback lucene index writer of datamap " + dataMapPath);
+    }
+    indexWriter = null;
   }
 
   private boolean addField(Document doc, Object data, CarbonColumn column, Field.Store store) {
@@ -307,7 +409,29 @@ public class LuceneDataMapWriter extends DataMapWriter {
   public void finish() throws IOException {
     // finished a file , close this index writer
     if (indexWriter != null) {
-      indexWriter.close();
+      try {
+        // wait for the pending pages to be indexed
+        indexBuildService.shutdown();
+        indexBuildService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+      } catch (InterruptedException e) {
+        abort();
+        throw new IOException(e);
+      }
+      checkIndexBuildFailure();
+      try {
+        indexWriter.close();
+      } catch (IOException | RuntimeException e) {
+        abort();
+        throw e;
+      }
+      indexWriter = null;
+      long totalTime = System.nanoTime() - startTime;
+      long rows = numberOfIndexedRows.get();
+      LOGGER.info(String.format("Lucene index of datamap %s is built for %d rows of %d pages "
+              + "in %d ms, %d rows/s, index build threads busy for %d ms", dataMapPath, rows,
+          numberOfPages, TimeUnit.NANOSECONDS.toMillis(totalTime),
+          totalTime == 0 ? 0 : rows * TimeUnit.SECONDS.toNanos(1) / totalTime,
+          TimeUnit.NANOSECONDS.toMillis(indexBuildTimeInNanos.get())));
     }
   }
 
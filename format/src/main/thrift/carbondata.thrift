@@ -82,6 +82,8 @@ struct ChunkCompressionMeta{
     2: required i64 total_uncompressed_size;
     /** Total byte size of all compressed pages in this column chunk (including the headers) **/
     3: required i64 total_compressed_size;
+    /** The name of the compressor used, if not set, compression_codec is used **/
+    4: optional string compressor_name;
 }
 
 /**
@@ -211,6 +213,7 @@ struct FileHeader{
 	4: optional i64 time_stamp; // Timestamp to compare column schema against master schema
 	5: optional bool is_splitable; // Whether file is splitable or not
 	6: optional binary sync_marker; // 16 bytes sync marker
+	7: optional string compressor_name; // The compressor used for stream blocklets, snappy if not set
 }
 
 /**
@@ -27,6 +27,16 @@ public class CarbonTableCacheModel {
 
   public CarbonTable carbonTable;
 
+  /**
+   * last modified time of the schema file when the table was loaded
+   */
+  public long schemaLastModifiedTime;
+
+  /**
+   * time when the schema file was last checked against schemaLastModifiedTime
+   */
+  public volatile long lastValidatedTime;
+
   public boolean isValid() {
     return carbonTable != null;
   }
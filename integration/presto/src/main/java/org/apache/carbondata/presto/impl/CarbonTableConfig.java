@@ -19,6 +19,7 @@ package org.apache.carbondata.presto.impl;
 
 import io.airlift.configuration.Config;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
 /**
@@ -32,6 +33,8 @@ public class CarbonTableConfig {
   private String storePath;
   private String unsafeMemoryInMb;
   private String enableUnsafeInQueryExecution;
+  private long metadataCacheTtlSeconds = 60;
+  private long splitCacheMaxSplits = 10000;
 
   @NotNull public String getDbPath() {
     return dbPath;
@@ -79,4 +82,24 @@ public class CarbonTableConfig {
     this.enableUnsafeInQueryExecution = enableUnsafeInQueryExecution;
     return this;
   }
+
+  @Min(0) public long getMetadataCacheTtlSeconds() {
+    return metadataCacheTtlSeconds;
+  }
+
+  @Config("carbon.metadata.cache.ttl.seconds")
+  public CarbonTableConfig setMetadataCacheTtlSeconds(long metadataCacheTtlSeconds) {
+    this.metadataCacheTtlSeconds = metadataCacheTtlSeconds;
+    return this;
+  }
+
+  @Min(0) public long getSplitCacheMaxSplits() {
+    return splitCacheMaxSplits;
+  }
+
+  @Config("carbon.split.cache.max.splits")
+  public CarbonTableConfig setSplitCacheMaxSplits(long splitCacheMaxSplits) {
+    this.splitCacheMaxSplits = splitCacheMaxSplits;
+    return this;
+  }
 }
@@ -18,18 +18,22 @@
 package org.apache.carbondata.presto.impl;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Calendar;
-import java.util.Date;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.CRC32;
 
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
@@ -66,10 +70,12 @@ import com.facebook.presto.spi.SchemaTableName;
 import com.facebook.presto.spi.TableNotFoundException;
 import com.facebook.presto.spi.classloader.ThreadContextClassLoader;
 import com.facebook.presto.spi.predicate.TupleDomain;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
-import org.apache.commons.lang.time.DateUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.fs.PathFilter;
@@ -78,6 +84,8 @@ import org.apache.hadoop.mapreduce.InputSplit;
 import org.apache.hadoop.mapreduce.Job;
 import org.apache.thrift.TBase;
 
+import javax.annotation.PreDestroy;
+
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -110,12 +118,33 @@ public class CarbonTableReader {
   private CarbonFile carbonFileList;
   private FileFactory.FileType fileType;
   /**
-   * A cache for Carbon reader, with this cache,
-   * metadata of a table is only read from file system once.
+   * A cache for Carbon reader, with this cache, metadata of a table is only read from file
+   * system once. Cached tables are revalidated against their schema file in background, a
+   * lookup only checks the schema file itself when the entry was not validated within the TTL.
+   */
+  private final ConcurrentHashMap<SchemaTableName, CarbonTableCacheModel> carbonCache;
+
+  /**
+   * Pruned splits of a table, keyed by the version of the table and the pushed down filter,
+   * so that repeated queries do not prune the datamaps of the table again.
    */
-  private AtomicReference<HashMap<SchemaTableName, CarbonTableCacheModel>> carbonCache;
+  private final Cache<SplitCacheKey, List<CarbonLocalInputSplit>> splitCache;
 
-  private LoadMetadataDetails loadMetadataDetails[];
+  /**
+   * Last read version of the table status of each table, so that the load details are read
+   * and hashed only when the table status file or its log changed.
+   */
+  private final ConcurrentHashMap<SchemaTableName, TableStatusVersion> tableStatusVersions =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Revalidates the cached tables, null if the metadata cache TTL is 0.
+   */
+  private final ScheduledExecutorService refreshExecutor;
+
+  private final long metadataCacheTtlMillis;
+
+  private final CarbonTableReaderStats stats = new CarbonTableReaderStats();
 
   /**
    * Logger instance
@@ -130,8 +159,37 @@ public class CarbonTableReader {
 
   @Inject public CarbonTableReader(CarbonTableConfig config) {
     this.config = requireNonNull(config, "CarbonTableConfig is null");
-    this.carbonCache = new AtomicReference(new HashMap());
+    this.carbonCache = new ConcurrentHashMap<>();
     tableList = new ConcurrentSet<>();
+    this.splitCache = CacheBuilder.newBuilder()
+        .maximumWeight(config.getSplitCacheMaxSplits())
+        .weigher((SplitCacheKey key, List<CarbonLocalInputSplit> splits) -> splits.size())
+        .build();
+    this.metadataCacheTtlMillis = TimeUnit.SECONDS.toMillis(config.getMetadataCacheTtlSeconds());
+    if (metadataCacheTtlMillis > 0) {
+      // refresh twice per TTL so that a lookup normally finds its table already validated
+      long refreshIntervalMillis = Math.max(metadataCacheTtlMillis / 2, 1);
+      refreshExecutor = Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder().setDaemon(true).setNameFormat("carbon-metadata-refresh-%d")
+              .build());
+      refreshExecutor.scheduleWithFixedDelay(this::refreshCache, refreshIntervalMillis,
+          refreshIntervalMillis, TimeUnit.MILLISECONDS);
+    } else {
+      refreshExecutor = null;
+    }
+  }
+
+  @PreDestroy public void stop() {
+    if (refreshExecutor != null) {
+      refreshExecutor.shutdownNow();
+    }
+  }
+
+  /**
+   * Return the counters of the metadata and split caches.
+   */
+  public CarbonTableReaderStats getStats() {
+    return stats;
   }
 
   /**
@@ -141,38 +199,86 @@ public class CarbonTableReader {
    * @return
    */
   public CarbonTableCacheModel getCarbonCache(SchemaTableName table) {
+    CarbonTableCacheModel cache = carbonCache.get(table);
+    if (isValidated(cache)) {
+      stats.recordTableCacheHit();
+      return cache;
+    }
+    // if this table is not cached, try to read the metadata of the table and cache it.
+    try (ThreadContextClassLoader ignored = new ThreadContextClassLoader(
+        FileFactory.class.getClassLoader())) {
+      updateCarbonFile();
+    }
+    updateSchemaTables(table);
+    parseCarbonMetadata(table);
+    return carbonCache.get(table);
+  }
 
-    if (!carbonCache.get().containsKey(table) || carbonCache.get().get(table) == null) {
-      // if this table is not cached, try to read the metadata of the table and cache it.
+  /**
+   * Whether the cached table can be used without checking its schema file
+   */
+  private boolean isValidated(CarbonTableCacheModel cache) {
+    return cache != null && cache.isValid()
+        && System.currentTimeMillis() - cache.lastValidatedTime < metadataCacheTtlMillis;
+  }
+
+  private void removeTableFromCache(SchemaTableName table, CarbonTableCacheModel cache) {
+    // remove only if the entry was not already replaced by another thread
+    if (carbonCache.remove(table, cache)) {
+      DataMapStoreManager.getInstance()
+          .clearDataMaps(cache.carbonTable.getAbsoluteTableIdentifier());
+      splitCache.asMap().keySet().removeIf(key -> key.table.equals(table));
+      tableStatusVersions.remove(table);
+      stats.recordTableInvalidation();
+    }
+    tableList.remove(table);
+  }
+
+  /**
+   * Check the schema file of a cached table and remove the table from cache if the schema
+   * changed since the table was loaded.
+   *
+   * @return true if the cached table is still valid
+   * @throws TableNotFoundException if the table was dropped
+   */
+  private boolean validateCacheEntry(SchemaTableName table, CarbonTableCacheModel cache)
+      throws IOException {
+    String schemaFilePath = CarbonTablePath.getSchemaFilePath(cache.carbonTable.getTablePath());
+    if (!FileFactory.isFileExist(schemaFilePath, FileFactory.getFileType(schemaFilePath))) {
+      removeTableFromCache(table, cache);
+      throw new TableNotFoundException(table);
+    }
+    long latestTime = FileFactory.getCarbonFile(schemaFilePath).getLastModifiedTime();
+    if (latestTime != cache.schemaLastModifiedTime) {
+      removeTableFromCache(table, cache);
+      return false;
+    }
+    cache.lastValidatedTime = System.currentTimeMillis();
+    return true;
+  }
+
+  /**
+   * Revalidate all the cached tables and reload the ones whose schema changed, so that
+   * query planning does not have to access the schema files.
+   */
+  private void refreshCache() {
+    for (Map.Entry<SchemaTableName, CarbonTableCacheModel> entry : carbonCache.entrySet()) {
       try (ThreadContextClassLoader ignored = new ThreadContextClassLoader(
           FileFactory.class.getClassLoader())) {
-        if (carbonFileList == null) {
-          fileType = FileFactory.getFileType(config.getStorePath());
-          try {
-            carbonFileList = FileFactory.getCarbonFile(config.getStorePath(), fileType);
-          } catch (Exception ex) {
-            throw new RuntimeException(ex);
-          }
+        if (!validateCacheEntry(entry.getKey(), entry.getValue())) {
+          parseCarbonMetadata(entry.getKey());
         }
+      } catch (TableNotFoundException e) {
+        LOGGER.info("Removed dropped table " + entry.getKey() + " from cache");
+      } catch (Exception e) {
+        LOGGER.error(e, "Failed to refresh metadata of table " + entry.getKey());
       }
-      updateSchemaTables(table);
-      parseCarbonMetadata(table);
     }
-    if (carbonCache.get().containsKey(table)) {
-      return carbonCache.get().get(table);
-    } else {
-      return null;
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(stats.toString());
     }
   }
 
-  private void removeTableFromCache(SchemaTableName table) {
-    DataMapStoreManager.getInstance()
-        .clearDataMaps(carbonCache.get().get(table).carbonTable.getAbsoluteTableIdentifier());
-    carbonCache.get().remove(table);
-    tableList.remove(table);
-
-  }
-
   /**
    * Return the schema names under a schema store path (this.carbonFileList).
    *
@@ -208,15 +314,15 @@ public class CarbonTableReader {
   private List<String> updateSchemaList() {
     updateCarbonFile();
     if (carbonFileList != null) {
-      Stream.of(carbonFileList.listFiles()).forEach(this::getName);
+      // build a new list, callers may still be iterating the previous one
+      schemaNames = Stream.of(carbonFileList.listFiles()).map(CarbonFile::getName)
+          .filter(this::isSchemaName).collect(Collectors.toList());
       return schemaNames;
     } else return ImmutableList.of();
   }
 
-  private void getName(CarbonFile carbonFile){
-  if(!carbonFile.getName().equalsIgnoreCase("_system") && !carbonFile.getName().equalsIgnoreCase(".ds_store")){
-    schemaNames.add(carbonFile.getName());
-  }
+  private boolean isSchemaName(String name) {
+    return !name.equalsIgnoreCase("_system") && !name.equalsIgnoreCase(".ds_store");
   }
 
   /**
@@ -253,6 +359,11 @@ public class CarbonTableReader {
    * @return
    */
   public CarbonTable getTable(SchemaTableName schemaTableName) {
+    CarbonTableCacheModel cache = carbonCache.get(schemaTableName);
+    if (isValidated(cache)) {
+      stats.recordTableCacheHit();
+      return cache.carbonTable;
+    }
     try {
       updateSchemaTables(schemaTableName);
     } catch (Exception e) {
@@ -267,38 +378,19 @@ public class CarbonTableReader {
    * Find all the tables under the schema store path (this.carbonFileList)
    * and cache all the table names in this.tableList. Notice that whenever this method
    * is called, it clears this.tableList and populate the list by reading the files.
+   * A cached table is revalidated against its schema file.
    */
   private void updateSchemaTables(SchemaTableName schemaTableName) {
-    // update logic determine later
-    boolean isKeyExists = carbonCache.get().containsKey(schemaTableName);
+    CarbonTableCacheModel cache = carbonCache.get(schemaTableName);
 
     if (carbonFileList == null) {
       updateSchemaList();
     }
-    try {
-      if (isKeyExists
-          && !FileFactory.isFileExist(
-          CarbonTablePath.getSchemaFilePath(
-              carbonCache.get().get(schemaTableName).carbonTable.getTablePath()), fileType)) {
-        removeTableFromCache(schemaTableName);
-        throw new TableNotFoundException(schemaTableName);
-      }
-    } catch (IOException e) {
-      throw new RuntimeException();
-    }
-
-    if (isKeyExists) {
-      CarbonTableCacheModel carbonTableCacheModel = carbonCache.get().get(schemaTableName);
-      if(carbonTableCacheModel != null && carbonTableCacheModel.carbonTable.getTableInfo() != null) {
-        Long latestTime = FileFactory.getCarbonFile(
-            CarbonTablePath.getSchemaFilePath(
-                carbonCache.get().get(schemaTableName).carbonTable.getTablePath())
-        ).getLastModifiedTime();
-        Long oldTime = carbonTableCacheModel.carbonTable.getTableInfo().getLastUpdatedTime();
-        if (DateUtils.truncate(new Date(latestTime), Calendar.MINUTE)
-            .after(DateUtils.truncate(new Date(oldTime), Calendar.MINUTE))) {
-          removeTableFromCache(schemaTableName);
-        }
+    if (cache != null && cache.isValid()) {
+      try {
+        validateCacheEntry(schemaTableName, cache);
+      } catch (IOException e) {
+        throw new RuntimeException(e);
       }
     }
     if (!tableList.contains(schemaTableName)) {
@@ -336,14 +428,19 @@ public class CarbonTableReader {
    * @return the CarbonTable instance which contains all the needed metadata for a table.
    */
   private CarbonTable parseCarbonMetadata(SchemaTableName table) {
-    CarbonTable result = null;
-    try {
-      CarbonTableCacheModel cache = carbonCache.get().get(table);
-      if (cache == null) {
-        cache = new CarbonTableCacheModel();
-      }
-      if (cache.isValid()) return cache.carbonTable;
+    // concurrent lookups of a table which is not cached read its schema only once
+    return carbonCache.computeIfAbsent(table, this::readCarbonMetadata).carbonTable;
+  }
 
+  /**
+   * Read the metadata of the given table from its schema file.
+   *
+   * @param table name of the given table.
+   * @return the cache entry of the table
+   */
+  private CarbonTableCacheModel readCarbonMetadata(SchemaTableName table) {
+    try {
+      CarbonTableCacheModel cache = new CarbonTableCacheModel();
       // If table is not previously cached, then:
 
       // Step 1: get store path of the table and cache it.
@@ -354,6 +451,10 @@ public class CarbonTableReader {
       String storePath = config.getStorePath();
       String tablePath = storePath + "/" + carbonTableIdentifier.getDatabaseName() + "/"
           + carbonTableIdentifier.getTableName();
+      // take the modified time before reading, a concurrent change is caught by the refresh
+      cache.schemaLastModifiedTime =
+          FileFactory.getCarbonFile(CarbonTablePath.getSchemaFilePath(tablePath))
+              .getLastModifiedTime();
 
       //Step 2: read the metadata (tableInfo) of the table.
       ThriftReader.TBaseCreator createTBase = new ThriftReader.TBaseCreator() {
@@ -384,20 +485,95 @@ public class CarbonTableReader {
 
       cache.carbonTable = CarbonMetadata.getInstance().getCarbonTable(
           table.getSchemaName(), table.getTableName());
-
-      // cache the table
-      carbonCache.get().put(table, cache);
-
-      result = cache.carbonTable;
+      cache.lastValidatedTime = System.currentTimeMillis();
+      stats.recordTableCacheMiss();
+      return cache;
     } catch (Exception ex) {
       throw new RuntimeException(ex);
     }
-
-    return result;
   }
 
+  /**
+   * Return the splits of the table for the given filter. The pruned splits are cached against
+   * the load details of the table status, so they are reused until a load, compaction, update
+   * or delete changes the segments of the table.
+   */
   public List<CarbonLocalInputSplit> getInputSplits2(CarbonTableCacheModel tableCacheModel,
       Expression filters, TupleDomain<ColumnHandle> constraints) throws IOException {
+    SplitCacheKey key = null;
+    if (config.getSplitCacheMaxSplits() > 0) {
+      String tableStatusPath =
+          CarbonTablePath.getTableStatusFilePath(tableCacheModel.carbonTable.getTablePath());
+      if (FileFactory.isFileExist(tableStatusPath, FileFactory.getFileType(tableStatusPath))) {
+        TableStatusVersion version = getTableStatusVersion(tableCacheModel, tableStatusPath);
+        key = new SplitCacheKey(tableCacheModel, version.loadDetailsChecksum,
+            filters == null ? null : filters.getString(), constraints);
+        List<CarbonLocalInputSplit> splits = splitCache.getIfPresent(key);
+        if (splits != null) {
+          stats.recordSplitCacheHit();
+          return splits;
+        }
+      }
+    }
+    long startTime = System.currentTimeMillis();
+    List<CarbonLocalInputSplit> splits =
+        ImmutableList.copyOf(createInputSplits(tableCacheModel, filters, constraints));
+    long planningTime = System.currentTimeMillis() - startTime;
+    stats.recordSplitCacheMiss(planningTime);
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Pruned " + splits.size() + " splits of table "
+          + tableCacheModel.carbonTable.getTableUniqueName() + " in " + planningTime + " ms");
+    }
+    if (key != null) {
+      splitCache.put(key, splits);
+    }
+    return splits;
+  }
+
+  /**
+   * Version of the table status of the table. Only the modified time and length of the table
+   * status file and of its incremental log are checked per query, the load details are read
+   * and hashed again only when one of them changed, or when the files were modified within the
+   * time granularity of the file system before the last read, as a rewrite in the same interval
+   * may not change the modified time.
+   */
+  private TableStatusVersion getTableStatusVersion(CarbonTableCacheModel tableCacheModel,
+      String tableStatusPath) throws IOException {
+    CarbonTable carbonTable = tableCacheModel.carbonTable;
+    SchemaTableName table =
+        new SchemaTableName(carbonTable.getDatabaseName(), carbonTable.getTableName());
+    CarbonFile tableStatusFile = FileFactory.getCarbonFile(tableStatusPath);
+    long lastModifiedTime = tableStatusFile.getLastModifiedTime();
+    long length = tableStatusFile.getSize();
+    long logLastModifiedTime = 0L;
+    long logLength = 0L;
+    String logPath = SegmentStatusManager.getTableStatusLogPath(tableStatusPath);
+    if (FileFactory.isFileExist(logPath, FileFactory.getFileType(logPath))) {
+      CarbonFile logFile = FileFactory.getCarbonFile(logPath);
+      logLastModifiedTime = logFile.getLastModifiedTime();
+      logLength = logFile.getSize();
+    }
+    TableStatusVersion version = tableStatusVersions.get(table);
+    if (version != null && version.isSettled() && version.lastModifiedTime == lastModifiedTime
+        && version.length == length && version.logLastModifiedTime == logLastModifiedTime
+        && version.logLength == logLength) {
+      return version;
+    }
+    long readTime = System.currentTimeMillis();
+    LoadMetadataDetails[] loadMetadataDetails =
+        SegmentStatusManager.readTableStatusFile(tableStatusPath);
+    CRC32 checksum = new CRC32();
+    checksum.update(new Gson().toJson(loadMetadataDetails)
+        .getBytes(Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET)));
+    stats.recordTableStatusRead();
+    version = new TableStatusVersion(lastModifiedTime, length, logLastModifiedTime, logLength,
+        readTime, checksum.getValue());
+    tableStatusVersions.put(table, version);
+    return version;
+  }
+
+  private List<CarbonLocalInputSplit> createInputSplits(CarbonTableCacheModel tableCacheModel,
+      Expression filters, TupleDomain<ColumnHandle> constraints) throws IOException {
     List<CarbonLocalInputSplit> result = new ArrayList<>();
     if(config.getUnsafeMemoryInMb() != null) {
       CarbonProperties.getInstance().addProperty(
@@ -424,6 +600,7 @@ public class CarbonTableReader {
     PartitionInfo partitionInfo = carbonTable.getPartitionInfo(carbonTable.getTableName());
 
     if(partitionInfo!=null && partitionInfo.getPartitionType()== PartitionType.NATIVE_HIVE) {
+      LoadMetadataDetails[] loadMetadataDetails;
       try {
         loadMetadataDetails= SegmentStatusManager
             .readTableStatusFile(CarbonTablePath.getTableStatusFilePath(carbonTable.getTablePath()));
@@ -506,5 +683,93 @@ public class CarbonTableReader {
     return format;
   }
 
+  /**
+   * Version of the table status of a table, the checksum of the load details read after the
+   * table status file and its log had the given modified times and lengths.
+   */
+  private static final class TableStatusVersion {
 
-}
\ No newline at end of file
+    /**
+     * the coarsest modification time granularity of the supported file systems is a second,
+     * twice that allows for a small difference between the clocks of the file system and this JVM
+     */
+    private static final long MODIFIED_TIME_GRANULARITY_MILLIS = 2000L;
+
+    private final long lastModifiedTime;
+
+    private final long length;
+
+    private final long logLastModifiedTime;
+
+    private final long logLength;
+
+    private final long readTime;
+
+    private final long loadDetailsChecksum;
+
+    private TableStatusVersion(long lastModifiedTime, long length, long logLastModifiedTime,
+        long logLength, long readTime, long loadDetailsChecksum) {
+      this.lastModifiedTime = lastModifiedTime;
+      this.length = length;
+      this.logLastModifiedTime = logLastModifiedTime;
+      this.logLength = logLength;
+      this.readTime = readTime;
+      this.loadDetailsChecksum = loadDetailsChecksum;
+    }
+
+    /**
+     * Whether a later change of the files gets a different modified time than the one read
+     */
+    private boolean isSettled() {
+      return readTime - Math.max(lastModifiedTime, logLastModifiedTime)
+          >= MODIFIED_TIME_GRANULARITY_MILLIS;
+    }
+  }
+
+  /**
+   * Key of the split cache. Splits are pruned from the segments listed in the table status,
+   * so the checksum of its load details together with the schema identify the version of the
+   * table.
+   */
+  private static final class SplitCacheKey {
+
+    private final SchemaTableName table;
+
+    private final long schemaLastModifiedTime;
+
+    private final long loadDetailsChecksum;
+
+    private final String filter;
+
+    private final TupleDomain<ColumnHandle> constraints;
+
+    private SplitCacheKey(CarbonTableCacheModel tableCacheModel, long loadDetailsChecksum,
+        String filter, TupleDomain<ColumnHandle> constraints) {
+      CarbonTable carbonTable = tableCacheModel.carbonTable;
+      this.table = new SchemaTableName(carbonTable.getDatabaseName(), carbonTable.getTableName());
+      this.schemaLastModifiedTime = tableCacheModel.schemaLastModifiedTime;
+      this.loadDetailsChecksum = loadDetailsChecksum;
+      this.filter = filter;
+      this.constraints = constraints;
+    }
+
+    @Override public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof SplitCacheKey)) {
+        return false;
+      }
+      SplitCacheKey other = (SplitCacheKey) obj;
+      return schemaLastModifiedTime == other.schemaLastModifiedTime
+          && loadDetailsChecksum == other.loadDetailsChecksum
+          && table.equals(other.table) && Objects.equals(filter, other.filter)
+          && Objects.equals(constraints, other.constraints);
+    }
+
+    @Override public int hashCode() {
+      return Objects.hash(table, schemaLastModifiedTime, loadDetailsChecksum, filter,
+          constraints);
+    }
+  }
+}
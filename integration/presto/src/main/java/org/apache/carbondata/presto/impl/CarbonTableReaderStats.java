@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.presto.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of the coordinator side metadata and split caches of CarbonTableReader,
+ * used to monitor how much of the query planning is served from cache.
+ */
+public class CarbonTableReaderStats {
+
+  private final AtomicLong tableCacheHits = new AtomicLong();
+
+  private final AtomicLong tableCacheMisses = new AtomicLong();
+
+  private final AtomicLong tableInvalidations = new AtomicLong();
+
+  private final AtomicLong splitCacheHits = new AtomicLong();
+
+  private final AtomicLong splitCacheMisses = new AtomicLong();
+
+  private final AtomicLong splitPlanningTimeMillis = new AtomicLong();
+
+  private final AtomicLong tableStatusReads = new AtomicLong();
+
+  void recordTableCacheHit() {
+    tableCacheHits.incrementAndGet();
+  }
+
+  void recordTableCacheMiss() {
+    tableCacheMisses.incrementAndGet();
+  }
+
+  void recordTableInvalidation() {
+    tableInvalidations.incrementAndGet();
+  }
+
+  void recordSplitCacheHit() {
+    splitCacheHits.incrementAndGet();
+  }
+
+  void recordSplitCacheMiss(long planningTimeMillis) {
+    splitCacheMisses.incrementAndGet();
+    splitPlanningTimeMillis.addAndGet(planningTimeMillis);
+  }
+
+  void recordTableStatusRead() {
+    tableStatusReads.incrementAndGet();
+  }
+
+  /**
+   * number of table lookups served from the metadata cache without reading the schema file
+   */
+  public long getTableCacheHits() {
+    return tableCacheHits.get();
+  }
+
+  /**
+   * number of times the schema of a table was read from the file system
+   */
+  public long getTableCacheMisses() {
+    return tableCacheMisses.get();
+  }
+
+  /**
+   * number of cached tables dropped because the table was dropped or its schema changed
+   */
+  public long getTableInvalidations() {
+    return tableInvalidations.get();
+  }
+
+  /**
+   * number of split requests served from the split cache
+   */
+  public long getSplitCacheHits() {
+    return splitCacheHits.get();
+  }
+
+  /**
+   * number of split requests which had to prune the datamaps of the table
+   */
+  public long getSplitCacheMisses() {
+    return splitCacheMisses.get();
+  }
+
+  /**
+   * total time spent in pruning for the split requests which missed the split cache
+   */
+  public long getSplitPlanningTimeMillis() {
+    return splitPlanningTimeMillis.get();
+  }
+
+  /**
+   * number of times the load details of a table were read to check the cached splits
+   */
+  public long getTableStatusReads() {
+    return tableStatusReads.get();
+  }
+
+  @Override public String toString() {
+    return "CarbonTableReaderStats{tableCacheHits=" + getTableCacheHits()
+        + ", tableCacheMisses=" + getTableCacheMisses()
+        + ", tableInvalidations=" + getTableInvalidations()
+        + ", splitCacheHits=" + getSplitCacheHits()
+        + ", splitCacheMisses=" + getSplitCacheMisses()
+        + ", splitPlanningTimeMillis=" + getSplitPlanningTimeMillis()
+        + ", tableStatusReads=" + getTableStatusReads() + '}';
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.presto.impl
+
+import java.io.File
+import java.nio.file.Files
+
+import com.facebook.presto.spi.SchemaTableName
+import com.facebook.presto.spi.predicate.TupleDomain
+import org.scalatest.{BeforeAndAfterAll, FunSuiteLike}
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.statusmanager.{LoadMetadataDetails, SegmentStatus, SegmentStatusManager}
+import org.apache.carbondata.core.util.CarbonProperties
+import org.apache.carbondata.core.util.path.CarbonTablePath
+import org.apache.carbondata.presto.util.CarbonDataStoreCreator
+
+class CarbonTableReaderSplitCacheTest extends FunSuiteLike with BeforeAndAfterAll {
+
+  private val rootPath = new File(this.getClass.getResource("/").getPath
+                                  + "../../../..").getCanonicalPath
+  private val storePath = s"$rootPath/integration/presto/target/splitcachestore"
+  private val tablePath = s"$storePath/testdb/testtable"
+  private val tableStatusPath = CarbonTablePath.getTableStatusFilePath(tablePath)
+
+  private var reader: CarbonTableReader = _
+  private var initialSplits = 0
+
+  override def beforeAll: Unit = {
+    CarbonDataStoreCreator
+      .createCarbonStore(storePath,
+        s"$rootPath/integration/presto/src/test/resources/alldatatype.csv")
+    reader = new CarbonTableReader(new CarbonTableConfig().setStorePath(storePath))
+  }
+
+  override def afterAll(): Unit = {
+    reader.stop()
+    CarbonProperties.getInstance().addProperty(
+      CarbonCommonConstants.ENABLE_INCREMENTAL_TABLE_STATUS,
+      CarbonCommonConstants.ENABLE_INCREMENTAL_TABLE_STATUS_DEFAULT)
+  }
+
+  test("repeated query reuses the cached splits") {
+    initialSplits = getSplits
+    val hits = reader.getStats.getSplitCacheHits
+    assert(getSplits == initialSplits)
+    assert(reader.getStats.getSplitCacheHits == hits + 1)
+  }
+
+  test("unchanged table status is not read again") {
+    new File(tableStatusPath).setLastModified(System.currentTimeMillis() - 10000)
+    assert(getSplits == initialSplits)
+    val reads = reader.getStats.getTableStatusReads
+    val hits = reader.getStats.getSplitCacheHits
+    assert(getSplits == initialSplits)
+    assert(getSplits == initialSplits)
+    assert(reader.getStats.getTableStatusReads == reads)
+    assert(reader.getStats.getSplitCacheHits == hits + 2)
+  }
+
+  test("table status rewritten with the same load details reuses the cached splits") {
+    val reads = reader.getStats.getTableStatusReads
+    val hits = reader.getStats.getSplitCacheHits
+    new File(tableStatusPath).setLastModified(System.currentTimeMillis() - 5000)
+    assert(getSplits == initialSplits)
+    assert(reader.getStats.getTableStatusReads == reads + 1)
+    assert(reader.getStats.getSplitCacheHits == hits + 1)
+  }
+
+  test("load invalidates the cached splits even if the modified time does not change") {
+    val segment0 = new File(CarbonTablePath.getSegmentPath(tablePath, "0"))
+    val segment1 = new File(CarbonTablePath.getSegmentPath(tablePath, "1"))
+    segment1.mkdirs()
+    segment0.listFiles().foreach { file =>
+      Files.copy(file.toPath, new File(segment1, file.getName).toPath)
+    }
+    updateTableStatus { details =>
+      val load = new LoadMetadataDetails
+      load.setLoadName("1")
+      load.setSegmentStatus(SegmentStatus.SUCCESS)
+      load.setLoadStartTime(System.currentTimeMillis())
+      load.setLoadEndTime(System.currentTimeMillis())
+      details :+ load
+    }
+    assertMiss(initialSplits * 2)
+  }
+
+  test("segment delete invalidates the cached splits even if the modified time does not change") {
+    updateTableStatus { details =>
+      details.find(_.getLoadName == "1").get.setSegmentStatus(SegmentStatus.MARKED_FOR_DELETE)
+      details
+    }
+    assertMiss(initialSplits)
+  }
+
+  test("change appended to the incremental table status invalidates the cached splits") {
+    CarbonProperties.getInstance().addProperty(
+      CarbonCommonConstants.ENABLE_INCREMENTAL_TABLE_STATUS, "true")
+    updateTableStatus { details =>
+      details.find(_.getLoadName == "1").get.setSegmentStatus(SegmentStatus.SUCCESS)
+      details
+    }
+    assertMiss(initialSplits * 2)
+  }
+
+  private def getSplits: Int = {
+    val cache = reader.getCarbonCache(new SchemaTableName("testdb", "testtable"))
+    reader.getInputSplits2(cache, null, TupleDomain.all()).size()
+  }
+
+  private def assertMiss(expectedSplits: Int): Unit = {
+    val misses = reader.getStats.getSplitCacheMisses
+    assert(getSplits == expectedSplits)
+    assert(reader.getStats.getSplitCacheMisses == misses + 1)
+  }
+
+  /**
+   * Rewrites the table status and restores its modified time, as a change within the time
+   * granularity of the file system would leave it
+   */
+  private def updateTableStatus(
+      update: Array[LoadMetadataDetails] => Array[LoadMetadataDetails]): Unit = {
+    val tableStatusFile = new File(tableStatusPath)
+    val lastModifiedTime = tableStatusFile.lastModified()
+    SegmentStatusManager.writeLoadDetailsIntoFile(tableStatusPath,
+      update(SegmentStatusManager.readTableStatusFile(tableStatusPath)))
+    tableStatusFile.setLastModified(lastModifiedTime)
+  }
+}
@@ -17,10 +17,17 @@
 
 package org.apache.carbondata.datamap.lucene
 
-import java.io.{File, PrintWriter}
+import java.io.{File, IOException, PrintWriter}
+import java.nio.file.Files
+import java.util
+import java.util.concurrent.ExecutorService
 
+import scala.collection.JavaConverters._
 import scala.util.Random
 
+import org.apache.commons.io.FileUtils
+import org.apache.lucene.index.IndexWriter
+import org.apache.lucene.store.AlreadyClosedException
 import org.apache.spark.SparkException
 import org.apache.spark.sql.{CarbonEnv, Row}
 import org.apache.spark.sql.test.util.QueryTest
@@ -29,7 +36,9 @@ import org.scalatest.BeforeAndAfterAll
 import org.apache.carbondata.common.exceptions.sql.{MalformedCarbonCommandException, MalformedDataMapCommandException}
 import org.apache.carbondata.core.constants.CarbonCommonConstants
 import org.apache.carbondata.core.util.CarbonProperties
-import org.apache.carbondata.core.datamap.DataMapStoreManager
+import org.apache.carbondata.core.datamap.{DataMapStoreManager, Segment}
+import org.apache.carbondata.core.datastore.page.ColumnPage
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn
 import org.apache.carbondata.core.datamap.status.DataMapStatusManager
 
 class LuceneFineGrainDataMapSuite extends QueryTest with BeforeAndAfterAll {
@@ -731,6 +740,80 @@ class LuceneFineGrainDataMapSuite extends QueryTest with BeforeAndAfterAll {
     sql("DROP TABLE table1")
   }
 
+  test("test lucene fine grain data map with multiple index build threads") {
+    val file = resourcesPath + "/datamap_threads_input.csv"
+    // more than one page, so that the pages are indexed by different threads
+    LuceneFineGrainDataMapSuite.createFile(file, 100000)
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.CARBON_LUCENE_INDEX_BUILD_THREADS, "4")
+    try {
+      sql("DROP TABLE IF EXISTS datamap_test8")
+      sql(
+        """
+          | CREATE TABLE datamap_test8(id INT, name STRING, city STRING, age INT)
+          | STORED BY 'carbondata'
+          | TBLPROPERTIES('SORT_COLUMNS'='city,name', 'SORT_SCOPE'='LOCAL_SORT')
+        """.stripMargin)
+      sql(
+        s"""
+           | CREATE DATAMAP dm8 ON TABLE datamap_test8
+           | USING 'lucene'
+           | DMProperties('INDEX_COLUMNS'='name , city')
+        """.stripMargin)
+      sql(s"LOAD DATA LOCAL INPATH '$file' INTO TABLE datamap_test8 OPTIONS('header'='false')")
+      checkAnswer(sql("SELECT * FROM datamap_test8 WHERE TEXT_MATCH('name:n99999')"),
+        sql(s"SELECT * FROM datamap_test8 WHERE name='n99999'"))
+      checkAnswer(sql("SELECT count(*) FROM datamap_test8 WHERE TEXT_MATCH('city:c0*')"),
+        Seq(Row(100000)))
+    } finally {
+      CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_LUCENE_INDEX_BUILD_THREADS,
+          CarbonCommonConstants.CARBON_LUCENE_INDEX_BUILD_THREADS_DEFAULT)
+      sql("DROP TABLE IF EXISTS datamap_test8")
+      LuceneFineGrainDataMapSuite.deleteFile(file)
+    }
+  }
+
+  test("test lucene datamap writer uses daemon index build threads") {
+    val tablePath = Files.createTempDirectory("lucene_writer").toString
+    try {
+      val writer = new LuceneDataMapWriter(tablePath, "dm", new util.ArrayList[CarbonColumn](),
+        new Segment("0"), "shard", true)
+      writer.onBlockStart("block")
+      writer.onPageAdded(0, 0, 0, Array.empty[ColumnPage])
+      val indexBuildThreads = Thread.getAllStackTraces.keySet.asScala
+        .filter(_.getName.startsWith("LuceneIndexBuildPool:" + tablePath))
+      assert(indexBuildThreads.nonEmpty)
+      assert(indexBuildThreads.forall(_.isDaemon))
+      writer.finish()
+      assert(LuceneFineGrainDataMapSuite.getField(writer, "indexBuildService")
+        .asInstanceOf[ExecutorService].isTerminated)
+    } finally {
+      FileUtils.deleteDirectory(new File(tablePath))
+    }
+  }
+
+  test("test lucene datamap writer reports the failure of an index build thread") {
+    val tablePath = Files.createTempDirectory("lucene_writer").toString
+    try {
+      val writer = new LuceneDataMapWriter(tablePath, "dm", new util.ArrayList[CarbonColumn](),
+        new Segment("0"), "shard", true)
+      writer.onBlockStart("block")
+      // adding the documents fails in the index build thread once the index writer is closed
+      LuceneFineGrainDataMapSuite.getField(writer, "indexWriter").asInstanceOf[IndexWriter]
+        .rollback()
+      writer.onPageAdded(0, 0, 0, Array.empty[ColumnPage])
+      val indexBuildService = LuceneFineGrainDataMapSuite.getField(writer, "indexBuildService")
+        .asInstanceOf[ExecutorService]
+      val exception = intercept[IOException](writer.finish())
+      assert(exception.getCause.isInstanceOf[AlreadyClosedException])
+      assert(indexBuildService.isTerminated)
+      assert(LuceneFineGrainDataMapSuite.getField(writer, "indexWriter") == null)
+    } finally {
+      FileUtils.deleteDirectory(new File(tablePath))
+    }
+  }
+
   override protected def afterAll(): Unit = {
     LuceneFineGrainDataMapSuite.deleteFile(file2)
     sql("DROP TABLE IF EXISTS normal_test")
@@ -744,6 +827,7 @@ class LuceneFineGrainDataMapSuite extends QueryTest with BeforeAndAfterAll {
     sql("DROP TABLE IF EXISTS datamap_test4")
     sql("DROP TABLE IF EXISTS datamap_test5")
     sql("DROP TABLE IF EXISTS datamap_test7")
+    sql("DROP TABLE IF EXISTS datamap_test8")
     sql("DROP TABLE IF EXISTS datamap_main")
     sql("use default")
     sql("drop database if exists lucene cascade")
@@ -762,6 +846,12 @@ object LuceneFineGrainDataMapSuite {
     write.close()
   }
 
+  def getField(writer: LuceneDataMapWriter, name: String): AnyRef = {
+    val field = classOf[LuceneDataMapWriter].getDeclaredField(name)
+    field.setAccessible(true)
+    field.get(writer)
+  }
+
   def deleteFile(fileName: String): Unit = {
       val file = new File(fileName)
       if (file.exists()) {
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.spark.testsuite.datacompaction
+
+import java.io.{File, RandomAccessFile}
+
+import org.apache.spark.sql.Row
+import org.apache.spark.sql.test.util.QueryTest
+import org.scalatest.BeforeAndAfterAll
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.metadata.CarbonMetadata
+import org.apache.carbondata.core.reader.CarbonFooterReaderV3
+import org.apache.carbondata.core.util.CarbonProperties
+import org.apache.carbondata.core.util.path.CarbonTablePath
+
+/**
+ * FT for compaction which copies the encoded blocklets of the segments. The copy keeps every
+ * blocklet of the merged segments, while the row merge flow writes the rows of the small
+ * segments into a single blocklet, so the number of blocklets tells which flow is used.
+ */
+class CompactionCopyEncodedBlockletsTest extends QueryTest with BeforeAndAfterAll {
+
+  private val csvFilePath1 = s"$resourcesPath/compaction/compaction1.csv"
+  private val csvFilePath2 = s"$resourcesPath/compaction/compaction2.csv"
+  // the cardinality of ID crosses the byte boundary after loading this file
+  private val csvFilePath3 = s"$resourcesPath/compaction/compactioncard2.csv"
+
+  override def beforeAll {
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.CARBON_TIMESTAMP_FORMAT, "mm/dd/yyyy")
+    dropTables()
+  }
+
+  override def afterAll {
+    dropTables()
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.CARBON_TIMESTAMP_FORMAT,
+        CarbonCommonConstants.CARBON_TIMESTAMP_DEFAULT_FORMAT)
+    setCopyEncodedBlocklets(CarbonCommonConstants.CARBON_COMPACTION_COPY_ENCODED_BLOCKLETS_DEFAULT)
+  }
+
+  private def dropTables(): Unit = {
+    sql("drop table if exists copy_nosort")
+    sql("drop table if exists merge_nosort")
+    sql("drop table if exists copy_sorted")
+    sql("drop table if exists copy_cardinality")
+    sql("drop table if exists copy_restructured")
+  }
+
+  private def setCopyEncodedBlocklets(value: String): Unit = {
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.CARBON_COMPACTION_COPY_ENCODED_BLOCKLETS, value)
+  }
+
+  private def createTable(tableName: String, tableProperties: String): Unit = {
+    sql(
+      s"""
+         | CREATE TABLE $tableName (ID Int, date Timestamp, country String, name String,
+         | phonetype String, serialname String, salary Int)
+         | STORED BY 'org.apache.carbondata.format'
+         | TBLPROPERTIES($tableProperties)
+      """.stripMargin)
+  }
+
+  private def load(tableName: String, csvFilePath: String): Unit = {
+    sql(s"LOAD DATA LOCAL INPATH '$csvFilePath' INTO TABLE $tableName " +
+        "OPTIONS('DELIMITER'= ',', 'QUOTECHAR'= '\"')")
+  }
+
+  /**
+   * compacts the loaded segments and checks the rows are not changed by the compaction
+   */
+  private def compact(tableName: String, copyEncodedBlocklets: Boolean,
+      columns: String = "*"): Unit = {
+    val rowsBefore = sql(s"select $columns from $tableName").collect()
+    setCopyEncodedBlocklets(copyEncodedBlocklets.toString)
+    try {
+      sql(s"alter table $tableName compact 'major'")
+    } finally {
+      setCopyEncodedBlocklets(
+        CarbonCommonConstants.CARBON_COMPACTION_COPY_ENCODED_BLOCKLETS_DEFAULT)
+    }
+    assert(sql(s"show segments for table $tableName").collect()
+      .exists(row => row.getString(0) == "0.1" && row.getString(1) == "Success"))
+    checkAnswer(sql(s"select $columns from $tableName"), rowsBefore)
+  }
+
+  /**
+   * number of blocklets in the carbondata files of the segment
+   */
+  private def numberOfBlocklets(tableName: String, segmentId: String): Int = {
+    val carbonTable = CarbonMetadata.getInstance().getCarbonTable("default", tableName)
+    val segmentPath = CarbonTablePath.getSegmentPath(carbonTable.getTablePath, segmentId)
+    new File(segmentPath).listFiles()
+      .filter(_.getName.endsWith(CarbonCommonConstants.FACT_FILE_EXT))
+      .map { file =>
+        // the offset of the footer is written at the end of the file
+        val dataFile = new RandomAccessFile(file, "r")
+        val footerOffset = try {
+          dataFile.seek(dataFile.length() - 8)
+          dataFile.readLong()
+        } finally {
+          dataFile.close()
+        }
+        new CarbonFooterReaderV3(file.getAbsolutePath, footerOffset).readFooterVersion3()
+          .getBlocklet_info_list3.size()
+      }.sum
+  }
+
+  test("copy encoded blocklets of a no sort table") {
+    createTable("copy_nosort", "'SORT_COLUMNS'=''")
+    createTable("merge_nosort", "'SORT_COLUMNS'=''")
+    Seq(csvFilePath1, csvFilePath2).foreach { csvFilePath =>
+      load("copy_nosort", csvFilePath)
+      load("merge_nosort", csvFilePath)
+    }
+    val blocklets = numberOfBlocklets("copy_nosort", "0") + numberOfBlocklets("copy_nosort", "1")
+    compact("copy_nosort", copyEncodedBlocklets = true)
+    compact("merge_nosort", copyEncodedBlocklets = false)
+    assertResult(blocklets)(numberOfBlocklets("copy_nosort", "0.1"))
+    // the feature is turned off, so the rows are merged
+    assertResult(1)(numberOfBlocklets("merge_nosort", "0.1"))
+    checkAnswer(sql("select count(*) from copy_nosort"), Seq(Row(10)))
+    checkAnswer(sql("select * from copy_nosort"), sql("select * from merge_nosort"))
+    checkAnswer(sql("select name, salary from copy_nosort where country = 'china'"),
+      sql("select name, salary from merge_nosort where country = 'china'"))
+  }
+
+  test("rows of a table with sort columns are merged") {
+    createTable("copy_sorted", "'SORT_COLUMNS'='country'")
+    load("copy_sorted", csvFilePath1)
+    load("copy_sorted", csvFilePath2)
+    compact("copy_sorted", copyEncodedBlocklets = true)
+    assertResult(1)(numberOfBlocklets("copy_sorted", "0.1"))
+  }
+
+  test("rows of segments with different dictionary key size are merged") {
+    // the dictionary keys of a table without sort columns are always written in 4 bytes, so the
+    // key size changes only when the table has sort columns
+    createTable("copy_cardinality",
+      "'SORT_COLUMNS'='country', 'SORT_SCOPE'='NO_SORT', 'DICTIONARY_INCLUDE'='ID'")
+    load("copy_cardinality", csvFilePath1)
+    load("copy_cardinality", csvFilePath3)
+    // only the flow is checked for ID, the row merge flow does not keep the dictionary values of
+    // the segment with the smaller key size yet
+    compact("copy_cardinality", copyEncodedBlocklets = true,
+      "date, country, name, phonetype, serialname, salary")
+    assertResult(1)(numberOfBlocklets("copy_cardinality", "0.1"))
+  }
+
+  test("rows of segments written before a schema change are merged") {
+    createTable("copy_restructured", "'SORT_COLUMNS'=''")
+    load("copy_restructured", csvFilePath1)
+    // the file still has the dropped column, which is skipped by the load
+    sql("alter table copy_restructured drop columns(phonetype)")
+    load("copy_restructured", csvFilePath2)
+    compact("copy_restructured", copyEncodedBlocklets = true)
+    assertResult(1)(numberOfBlocklets("copy_restructured", "0.1"))
+  }
+}
@@ -17,6 +17,7 @@
 package org.apache.carbondata.spark.dictionary.client;
 
 import java.nio.charset.Charset;
+import java.util.List;
 
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
@@ -107,6 +108,16 @@ public class SecureDictionaryClient implements DictionaryClient {
     return dictionaryClientHandler.getDictionary(key, this.client);
   }
 
+  /**
+   * for client batch request
+   *
+   * @param keys
+   * @return
+   */
+  @Override public List<DictionaryMessage> getDictionaries(List<DictionaryMessage> keys) {
+    return dictionaryClientHandler.getDictionaries(keys, this.client);
+  }
+
   /**
    * shutdown dictionary client
    */
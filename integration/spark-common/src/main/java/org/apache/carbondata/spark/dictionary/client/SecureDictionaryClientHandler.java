@@ -17,12 +17,16 @@
 package org.apache.carbondata.spark.dictionary.client;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.dictionary.generator.key.DictionaryMessage;
+import org.apache.carbondata.core.util.CarbonProperties;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
@@ -43,6 +47,9 @@ public class SecureDictionaryClientHandler extends RpcHandler {
 
   private final BlockingQueue<DictionaryMessage> responseMsgQueue = new LinkedBlockingQueue<>();
 
+  private final int maxInFlightRequests =
+      CarbonProperties.getInstance().getDictionaryClientMaxInFlightRequests();
+
   /**
    * client send request to server
    *
@@ -79,6 +86,68 @@ public class SecureDictionaryClientHandler extends RpcHandler {
     }
   }
 
+  /**
+   * client send batch requests to server, at most maxInFlightRequests requests are sent
+   * without waiting for their response
+   *
+   * @param keys batch DictionaryMessages
+   * @return response DictionaryMessages in the order of keys
+   */
+  public List<DictionaryMessage> getDictionaries(List<DictionaryMessage> keys,
+      TransportClient client) {
+    BlockingQueue<Object> batchResponseQueue = new LinkedBlockingQueue<>();
+    DictionaryMessage[] responses = new DictionaryMessage[keys.size()];
+    int numberOfRequestsSent = 0;
+    try {
+      while (numberOfRequestsSent < keys.size() && numberOfRequestsSent < maxInFlightRequests) {
+        sendBatchRequest(keys.get(numberOfRequestsSent), numberOfRequestsSent, client,
+            batchResponseQueue);
+        numberOfRequestsSent++;
+      }
+      for (int i = 0; i < responses.length; i++) {
+        Object response = batchResponseQueue.poll(100, TimeUnit.SECONDS);
+        if (response == null) {
+          throw new RuntimeException("Request timed out for batch of column : "
+              + keys.get(0).getColumnName());
+        } else if (response instanceof Throwable) {
+          throw new RuntimeException((Throwable) response);
+        }
+        DictionaryMessage responseMessage = (DictionaryMessage) response;
+        // request id of the secure client is the index of the request
+        responses[responseMessage.getRequestId()] = responseMessage;
+        if (numberOfRequestsSent < keys.size()) {
+          sendBatchRequest(keys.get(numberOfRequestsSent), numberOfRequestsSent, client,
+              batchResponseQueue);
+          numberOfRequestsSent++;
+        }
+      }
+      return Arrays.asList(responses);
+    } catch (Exception e) {
+      LOGGER.error(e);
+      throw new RuntimeException(e);
+    }
+  }
+
+  private void sendBatchRequest(DictionaryMessage key, int index, TransportClient client,
+      final BlockingQueue<Object> batchResponseQueue) {
+    key.setRequestId(index);
+    ByteBuf buffer = ByteBufAllocator.DEFAULT.heapBuffer();
+    key.writeData(buffer);
+    client.sendRpc(buffer.nioBuffer(), new RpcResponseCallback() {
+      @Override public void onSuccess(ByteBuffer response) {
+        DictionaryMessage responseMessage = new DictionaryMessage();
+        ByteBuf data = Unpooled.wrappedBuffer(response);
+        responseMessage.readFullLength(data);
+        data.release();
+        batchResponseQueue.add(responseMessage);
+      }
+
+      @Override public void onFailure(Throwable e) {
+        batchResponseQueue.add(e);
+      }
+    });
+  }
+
   @Override public void receive(TransportClient transportClient, ByteBuffer byteBuffer,
       RpcResponseCallback rpcResponseCallback) {
     try {
@@ -22,6 +22,7 @@ import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.dictionary.generator.ServerDictionaryGenerator;
 import org.apache.carbondata.core.dictionary.generator.key.DictionaryMessage;
+import org.apache.carbondata.core.dictionary.generator.key.DictionaryMessageType;
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
 
 import io.netty.buffer.ByteBuf;
@@ -47,6 +48,16 @@ import org.apache.spark.network.server.StreamManager;
    */
   private ServerDictionaryGenerator generatorForServer = new ServerDictionaryGenerator();
 
+  /**
+   * process batch message, generate the dictionary values of all the values in the message
+   *
+   * @param key
+   * @return dictionary values in the order of values in the message
+   */
+  public int[] processBatchMessage(DictionaryMessage key) {
+    return generatorForServer.generateKeys(key);
+  }
+
   /**
    * process message by message type
    *
@@ -77,8 +88,12 @@ import org.apache.spark.network.server.StreamManager;
       DictionaryMessage key = new DictionaryMessage();
       key.readFullLength(data);
       data.release();
-      int outPut = processMessage(key);
-      key.setDictionaryValue(outPut);
+      if (key.getType() == DictionaryMessageType.DICT_GENERATION_BATCH) {
+        key.setBatchDictionaryValues(processBatchMessage(key));
+      } else {
+        int outPut = processMessage(key);
+        key.setDictionaryValue(outPut);
+      }
       // Send back the response
       ByteBuf buff = ByteBufAllocator.DEFAULT.buffer();
       key.writeData(buff);
@@ -171,34 +171,54 @@ class CarbonMergerRDD[K, V](
             dataFileMetadataSegMapping,
             carbonTable.getTableLastUpdatedTime)
         LOGGER.info(s"Restructured block exists: $restructuredBlockExists")
-        DataTypeUtil.setDataTypeConverter(new SparkDataTypeConverterImpl)
-        exec = new CarbonCompactionExecutor(segmentMapping, segmentProperties,
-          carbonTable, dataFileMetadataSegMapping, restructuredBlockExists,
-          new SparkDataTypeConverterImpl)
-
+        val copyEncodedBlocklets = EncodedBlockletMergerProcessor.canCopyEncodedBlocklets(
+          carbonTable,
+          segmentProperties,
+          tableBlockInfoList,
+          dataFileMetadataSegMapping,
+          carbonMergerMapping.campactionType,
+          restructuredBlockExists)
         // add task completion listener to clean up the resources
         context.addTaskCompletionListener { _ =>
           close()
         }
-        try {
-          // fire a query and get the results.
-          rawResultIteratorList = exec.processTableBlocks()
-        } catch {
-          case e: Throwable =>
-            LOGGER.error(e)
-            if (null != e.getMessage) {
-              CarbonException.analysisException(
-                s"Exception occurred in query execution :: ${ e.getMessage }")
-            } else {
-              CarbonException.analysisException(
-                "Exception occurred in query execution.Please check logs.")
-            }
+        if (!copyEncodedBlocklets) {
+          DataTypeUtil.setDataTypeConverter(new SparkDataTypeConverterImpl)
+          exec = new CarbonCompactionExecutor(segmentMapping, segmentProperties,
+            carbonTable, dataFileMetadataSegMapping, restructuredBlockExists,
+            new SparkDataTypeConverterImpl)
+          try {
+            // fire a query and get the results.
+            rawResultIteratorList = exec.processTableBlocks()
+          } catch {
+            case e: Throwable =>
+              LOGGER.error(e)
+              if (null != e.getMessage) {
+                CarbonException.analysisException(
+                  s"Exception occurred in query execution :: ${ e.getMessage }")
+              } else {
+                CarbonException.analysisException(
+                  "Exception occurred in query execution.Please check logs.")
+              }
+          }
         }
 
         val tempStoreLoc = CarbonDataProcessorUtil.getLocalDataFolderLocation(
           databaseName, factTableName, carbonLoadModel.getTaskNo, mergeNumber, true, false)
 
-        if (restructuredBlockExists) {
+        if (copyEncodedBlocklets) {
+          LOGGER.info("EncodedBlockletMergerProcessor flow is selected")
+          processor =
+            new EncodedBlockletMergerProcessor(
+              databaseName,
+              factTableName,
+              segmentProperties,
+              tempStoreLoc,
+              carbonLoadModel,
+              carbonMergerMapping.campactionType,
+              partitionSpec,
+              tableBlockInfoList)
+        } else if (restructuredBlockExists) {
           LOGGER.info("CompactionResultSortProcessor flow is selected")
           processor = new CompactionResultSortProcessor(
             carbonLoadModel,
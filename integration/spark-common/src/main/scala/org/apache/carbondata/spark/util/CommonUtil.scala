@@ -40,6 +40,7 @@ import org.apache.spark.util.FileUtils
 import org.apache.carbondata.common.exceptions.sql.MalformedCarbonCommandException
 import org.apache.carbondata.common.logging.LogServiceFactory
 import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.datastore.compression.CompressorFactory
 import org.apache.carbondata.core.datastore.impl.FileFactory
 import org.apache.carbondata.core.memory.{UnsafeMemoryManager, UnsafeSortMemoryManager}
 import org.apache.carbondata.core.metadata.{AbsoluteTableIdentifier, CarbonMetadata}
@@ -616,6 +617,24 @@ object CommonUtil {
     }
   }
 
+  /**
+   * This method will validate the column compressor specified by the user
+   *
+   * @param tableProperties
+   */
+  def validateColumnCompressor(tableProperties: Map[String, String]): Unit = {
+    val compressor = tableProperties.get(CarbonCommonConstants.COMPRESSOR)
+    if (compressor.isDefined) {
+      if (!CompressorFactory.getInstance().isSupported(compressor.get)) {
+        val supported = CompressorFactory.SupportedCompressor.values().map(_.getName)
+        throw new MalformedCarbonCommandException(
+          s"Invalid ${ CarbonCommonConstants.COMPRESSOR } value found: ${ compressor.get }, " +
+          s"only ${ supported.mkString(",") } are supported.")
+      }
+      tableProperties.put(CarbonCommonConstants.COMPRESSOR, compressor.get.toLowerCase)
+    }
+  }
+
   /**
    * This method will parse the configure string from 'XX MB/M' to 'XX'
    *
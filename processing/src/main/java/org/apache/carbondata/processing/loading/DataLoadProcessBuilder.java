@@ -102,7 +102,7 @@ public final class DataLoadProcessBuilder {
     AbstractDataLoadProcessorStep converterProcessorStep =
         new DataConverterProcessorStepImpl(configuration, inputProcessorStep);
     // 3. Writes the sorted data in carbondata format.
-    return new CarbonRowDataWriterProcessorStepImpl(configuration, converterProcessorStep);
+    return new CarbonRowDataWriterProcessorStepImpl(configuration, converterProcessorStep, true);
   }
 
   /**
@@ -20,6 +20,7 @@ import java.io.IOException;
 
 import org.apache.carbondata.core.datastore.row.CarbonRow;
 import org.apache.carbondata.processing.loading.exception.CarbonDataLoadingException;
+import org.apache.carbondata.processing.loading.row.CarbonRowBatch;
 
 /**
  * convert the row
@@ -30,6 +31,11 @@ public interface RowConverter extends DictionaryCardinalityFinder {
 
   CarbonRow convert(CarbonRow row) throws CarbonDataLoadingException;
 
+  /**
+   * generate the dictionary keys of the new values in the batch before converting its rows
+   */
+  void generateDictionaryKeys(CarbonRowBatch rowBatch) throws CarbonDataLoadingException;
+
   RowConverter createCopyForNewThread();
   FieldConverter[] getFieldConverters();
   void finish();
@@ -18,8 +18,10 @@
 package org.apache.carbondata.processing.loading.converter.impl;
 
 import java.io.IOException;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
@@ -44,6 +46,7 @@ import org.apache.carbondata.processing.loading.converter.BadRecordLogHolder;
 import org.apache.carbondata.processing.loading.dictionary.DictionaryServerClientDictionary;
 import org.apache.carbondata.processing.loading.dictionary.PreCreatedDictionary;
 import org.apache.carbondata.processing.loading.exception.CarbonDataLoadingException;
+import org.apache.carbondata.processing.loading.row.CarbonRowBatch;
 import org.apache.carbondata.processing.util.CarbonDataProcessorUtil;
 
 public class DictionaryFieldConverterImpl extends AbstractDictionaryFieldConverterImpl {
@@ -127,6 +130,31 @@ public class DictionaryFieldConverterImpl extends AbstractDictionaryFieldConvert
     }
   }
 
+  /**
+   * Generate the dictionary keys of all the new values of this column in the batch using batch
+   * requests to the dictionary server, instead of one request per new value during convert.
+   * Only applicable for one pass load
+   *
+   * @param rowBatch rows before conversion, it is rewound after reading
+   */
+  public void generateKeys(CarbonRowBatch rowBatch) {
+    if (!(dictionaryGenerator instanceof DictionaryServerClientDictionary)) {
+      return;
+    }
+    Set<String> values = new LinkedHashSet<>();
+    while (rowBatch.hasNext()) {
+      String dimensionValue = rowBatch.next().getString(index);
+      if (dimensionValue != null && !dimensionValue.equals(nullFormat)) {
+        String parsedValue = DataTypeUtil.parseValue(dimensionValue, carbonDimension);
+        if (null != parsedValue) {
+          values.add(parsedValue);
+        }
+      }
+    }
+    rowBatch.rewind();
+    ((DictionaryServerClientDictionary) dictionaryGenerator).generateKeys(values);
+  }
+
   /**
    * Method to clear out the dictionary cache.
    */
@@ -43,6 +43,7 @@ import org.apache.carbondata.processing.loading.converter.FieldConverter;
 import org.apache.carbondata.processing.loading.converter.RowConverter;
 import org.apache.carbondata.processing.loading.exception.BadRecordFoundException;
 import org.apache.carbondata.processing.loading.exception.CarbonDataLoadingException;
+import org.apache.carbondata.processing.loading.row.CarbonRowBatch;
 
 /**
  * It converts the complete row if necessary, dictionary columns are encoded with dictionary values
@@ -172,6 +173,18 @@ public class RowConverterImpl implements RowConverter {
     return row;
   }
 
+  @Override
+  public void generateDictionaryKeys(CarbonRowBatch rowBatch) throws CarbonDataLoadingException {
+    if (!configuration.getUseOnePass()) {
+      return;
+    }
+    for (FieldConverter fieldConverter : fieldConverters) {
+      if (fieldConverter instanceof DictionaryFieldConverterImpl) {
+        ((DictionaryFieldConverterImpl) fieldConverter).generateKeys(rowBatch);
+      }
+    }
+  }
+
   @Override
   public void finish() {
     // Clear up dictionary cache access count.
@@ -16,6 +16,9 @@
  */
 package org.apache.carbondata.processing.loading.dictionary;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.carbondata.core.cache.dictionary.Dictionary;
@@ -64,6 +67,38 @@ public class DictionaryServerClientDictionary implements BiDictionary<Integer, O
     return key;
   }
 
+  /**
+   * Below method will be used to generate the dictionary keys of all the values which are not
+   * present in the dictionary and local cache using batch requests, so that next
+   * getOrGenerateKey calls for these values are served from local cache
+   *
+   * @param values distinct values of the column
+   */
+  public void generateKeys(Collection<String> values) {
+    List<String> newValues = new ArrayList<>();
+    for (String value : values) {
+      if (getKey(value) == null) {
+        newValues.add(value);
+      }
+    }
+    if (newValues.isEmpty()) {
+      return;
+    }
+    List<DictionaryMessage> requests = DictionaryMessage
+        .createBatchMessages(dictionaryMessage.getTableUniqueId(),
+            dictionaryMessage.getColumnName(), newValues);
+    List<DictionaryMessage> responses = client.getDictionaries(requests);
+    synchronized (localCache) {
+      for (int i = 0; i < requests.size(); i++) {
+        List<String> requestValues = requests.get(i).getBatchData();
+        int[] keys = responses.get(i).getBatchDictionaryValues();
+        for (int j = 0; j < keys.length; j++) {
+          localCache.put(requestValues.get(j), keys[j]);
+        }
+      }
+    }
+  }
+
   @Override public Integer getKey(Object value) {
     Integer key = -1;
     if (dictionary != null) {
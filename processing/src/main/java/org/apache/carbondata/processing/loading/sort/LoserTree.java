@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tournament tree (loser tree) used by the final sort merge to pick the smallest head among
+ * the sorted sources.
+ *
+ * Every internal node keeps the loser of the match played below it and the overall winner is
+ * kept at the root, so advancing the winning source replays only its path to the root. That is
+ * log2(k) comparisons per row against roughly twice as many for a poll and add on a binary heap.
+ * Exhausted sources stay in the tree as empty leaves that lose every match, ties are resolved by
+ * source index so the merge is deterministic.
+ */
+public final class LoserTree<T extends Comparable<T>> {
+
+  /**
+   * current head of every source, null once the source is exhausted
+   */
+  private final List<T> leaves;
+
+  /**
+   * tree[0] is the index of the winner, tree[1..k-1] are the losers of the internal nodes. Leaf i
+   * is the node k + i, so the parent of leaf i is (k + i) / 2
+   */
+  private final int[] tree;
+
+  private int size;
+
+  public LoserTree(List<T> sources) {
+    this.leaves = new ArrayList<>(sources);
+    int k = leaves.size();
+    this.tree = new int[Math.max(k, 1)];
+    for (T source : leaves) {
+      if (null != source) {
+        size++;
+      }
+    }
+    if (k > 0) {
+      build(k);
+    }
+  }
+
+  private void build(int k) {
+    // winners of the sub trees, only needed while building
+    int[] winners = new int[2 * k];
+    for (int i = 0; i < k; i++) {
+      winners[k + i] = i;
+    }
+    for (int node = k - 1; node > 0; node--) {
+      int left = winners[2 * node];
+      int right = winners[2 * node + 1];
+      if (beats(left, right)) {
+        winners[node] = left;
+        tree[node] = right;
+      } else {
+        winners[node] = right;
+        tree[node] = left;
+      }
+    }
+    tree[0] = winners[1];
+  }
+
+  /**
+   * @return true if the head of source a must be returned before the head of source b
+   */
+  private boolean beats(int a, int b) {
+    T first = leaves.get(a);
+    T second = leaves.get(b);
+    if (null == first) {
+      return false;
+    }
+    if (null == second) {
+      return true;
+    }
+    int diff = first.compareTo(second);
+    return diff < 0 || (diff == 0 && a < b);
+  }
+
+  /**
+   * replay the matches from the winning leaf up to the root
+   */
+  private void replayWinner() {
+    int k = leaves.size();
+    int winner = tree[0];
+    for (int node = (k + winner) >> 1; node > 0; node >>= 1) {
+      if (beats(tree[node], winner)) {
+        int loser = winner;
+        winner = tree[node];
+        tree[node] = loser;
+      }
+    }
+    tree[0] = winner;
+  }
+
+  /**
+   * @return the source with the smallest head, or null if all sources are exhausted
+   */
+  public T peek() {
+    return size == 0 ? null : leaves.get(tree[0]);
+  }
+
+  /**
+   * Must be called after the source returned by {@link #peek()} has moved to its next row
+   */
+  public void adjustTop() {
+    replayWinner();
+  }
+
+  /**
+   * Removes the source returned by {@link #peek()} from the merge
+   */
+  public void removeTop() {
+    leaves.set(tree[0], null);
+    size--;
+    replayWinner();
+  }
+
+  /**
+   * @return number of sources which are not exhausted
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return the sources which are not exhausted yet
+   */
+  public List<T> getRemaining() {
+    List<T> remaining = new ArrayList<>(size);
+    for (T source : leaves) {
+      if (null != source) {
+        remaining.add(source);
+      }
+    }
+    return remaining;
+  }
+}
@@ -18,6 +18,9 @@ package org.apache.carbondata.processing.loading.sort.impl;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -26,6 +29,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import org.apache.carbondata.common.CarbonIterator;
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonLoadOptionConstants;
 import org.apache.carbondata.core.datastore.exception.CarbonDataWriterException;
 import org.apache.carbondata.core.datastore.row.CarbonRow;
 import org.apache.carbondata.core.util.CarbonProperties;
@@ -33,9 +37,11 @@ import org.apache.carbondata.core.util.CarbonThreadFactory;
 import org.apache.carbondata.core.util.CarbonTimeStatisticsFactory;
 import org.apache.carbondata.processing.loading.exception.CarbonDataLoadingException;
 import org.apache.carbondata.processing.loading.row.CarbonRowBatch;
+import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
 import org.apache.carbondata.processing.loading.sort.AbstractMergeSorter;
 import org.apache.carbondata.processing.loading.sort.unsafe.UnsafeCarbonRowPage;
 import org.apache.carbondata.processing.loading.sort.unsafe.UnsafeSortDataRows;
+import org.apache.carbondata.processing.loading.sort.unsafe.merger.UnsafeFinalMergeRangePartitioner;
 import org.apache.carbondata.processing.loading.sort.unsafe.merger.UnsafeIntermediateMerger;
 import org.apache.carbondata.processing.loading.sort.unsafe.merger.UnsafeSingleThreadFinalSortFilesMerger;
 import org.apache.carbondata.processing.sort.exception.CarbonSortKeyAndGroupByException;
@@ -51,6 +57,16 @@ public class UnsafeParallelReadMergeSorterImpl extends AbstractMergeSorter {
   private static final LogService LOGGER =
       LogServiceFactory.getLogService(UnsafeParallelReadMergeSorterImpl.class.getName());
 
+  /**
+   * number of merged batches of one sort key range which can wait for the data writer
+   */
+  private static final int MERGED_BATCH_QUEUE_SIZE = 4;
+
+  /**
+   * marks the end of the merged batches of one sort key range
+   */
+  private static final CarbonRowBatch END_OF_RANGE = new CarbonRowBatch(0);
+
   private SortParameters sortParameters;
 
   private UnsafeIntermediateMerger unsafeIntermediateFileMerger;
@@ -61,6 +77,17 @@ public class UnsafeParallelReadMergeSorterImpl extends AbstractMergeSorter {
 
   private ExecutorService executorService;
 
+  /**
+   * whether the final merge is split into sort key ranges
+   */
+  private boolean parallelFinalMerge;
+
+  private UnsafeFinalMergeRangePartitioner rangePartitioner;
+
+  private UnsafeSingleThreadFinalSortFilesMerger[] rangeMergers;
+
+  private ExecutorService finalMergeExecutorService;
+
   public UnsafeParallelReadMergeSorterImpl(AtomicLong rowCounter) {
     this.rowCounter = rowCounter;
   }
@@ -71,6 +98,12 @@ public class UnsafeParallelReadMergeSorterImpl extends AbstractMergeSorter {
 
     finalMerger = new UnsafeSingleThreadFinalSortFilesMerger(sortParameters,
         sortParameters.getTempFileLocation());
+    parallelFinalMerge = Boolean.parseBoolean(CarbonProperties.getInstance().getProperty(
+        CarbonLoadOptionConstants.CARBON_LOAD_SORT_PARALLEL_FINAL_MERGE,
+        CarbonLoadOptionConstants.CARBON_LOAD_SORT_PARALLEL_FINAL_MERGE_DEFAULT));
+    if (parallelFinalMerge && sortParameters.getNumberOfCores() > 1) {
+      unsafeIntermediateFileMerger.enableSortKeySampling();
+    }
   }
 
   @Override public Iterator<CarbonRowBatch>[] sort(Iterator<CarbonRowBatch>[] iterators)
@@ -107,6 +140,12 @@ public class UnsafeParallelReadMergeSorterImpl extends AbstractMergeSorter {
     try {
       unsafeIntermediateFileMerger.finish();
       List<UnsafeCarbonRowPage> rowPages = unsafeIntermediateFileMerger.getRowPages();
+      IntermediateSortTempRow[] boundaries =
+          unsafeIntermediateFileMerger.getSortKeyBoundaries(sortParameters.getNumberOfCores());
+      if (boundaries.length > 0) {
+        return startParallelFinalMerge(
+            rowPages.toArray(new UnsafeCarbonRowPage[rowPages.size()]), boundaries, batchSize);
+      }
       finalMerger.startFinalMerge(rowPages.toArray(new UnsafeCarbonRowPage[rowPages.size()]),
           unsafeIntermediateFileMerger.getMergedPages());
     } catch (CarbonDataWriterException e) {
@@ -135,10 +174,49 @@ public class UnsafeParallelReadMergeSorterImpl extends AbstractMergeSorter {
     return new Iterator[] { batchIterator };
   }
 
+  /**
+   * Splits the final merge into sort key ranges. Every range is merged by its own thread and
+   * returned as a separate iterator, so that it is written by its own data writer.
+   */
+  private Iterator<CarbonRowBatch>[] startParallelFinalMerge(UnsafeCarbonRowPage[] rowPages,
+      IntermediateSortTempRow[] boundaries, int batchSize) {
+    rangePartitioner = new UnsafeFinalMergeRangePartitioner(sortParameters, rowPages,
+        unsafeIntermediateFileMerger.getMergedPages(), boundaries);
+    int numberOfRanges = rangePartitioner.getNumberOfRanges();
+    LOGGER.info("Final merge is split into " + numberOfRanges + " sort key ranges");
+    finalMergeExecutorService = Executors.newFixedThreadPool(numberOfRanges,
+        new CarbonThreadFactory("UnsafeFinalMergePool:" + sortParameters.getTableName()));
+    rangeMergers = new UnsafeSingleThreadFinalSortFilesMerger[numberOfRanges];
+    Iterator<CarbonRowBatch>[] batchIterators = new Iterator[numberOfRanges];
+    for (int i = 0; i < numberOfRanges; i++) {
+      rangeMergers[i] = new UnsafeSingleThreadFinalSortFilesMerger(sortParameters,
+          sortParameters.getTempFileLocation());
+      RangeMergeIterator rangeMergeIterator =
+          new RangeMergeIterator(rangeMergers[i], i, batchSize);
+      finalMergeExecutorService.execute(rangeMergeIterator);
+      batchIterators[i] = rangeMergeIterator;
+    }
+    finalMergeExecutorService.shutdown();
+    return batchIterators;
+  }
+
   @Override public void close() {
     if (null != executorService && !executorService.isShutdown()) {
       executorService.shutdownNow();
     }
+    if (null != finalMergeExecutorService) {
+      finalMergeExecutorService.shutdownNow();
+      try {
+        // the memory of the pages can be freed only after the merge threads stopped reading it
+        finalMergeExecutorService.awaitTermination(2, TimeUnit.DAYS);
+      } catch (InterruptedException e) {
+        LOGGER.error(e);
+      }
+      for (UnsafeSingleThreadFinalSortFilesMerger rangeMerger : rangeMergers) {
+        rangeMerger.clear();
+      }
+      rangePartitioner.close();
+    }
     unsafeIntermediateFileMerger.close();
     finalMerger.clear();
   }
@@ -172,6 +250,85 @@ public class UnsafeParallelReadMergeSorterImpl extends AbstractMergeSorter {
     }
   }
 
+  /**
+   * Merges one sort key range in its own thread and hands the merged rows to the data writer in
+   * batches through a bounded queue
+   */
+  private final class RangeMergeIterator extends CarbonIterator<CarbonRowBatch>
+      implements Runnable {
+
+    private UnsafeSingleThreadFinalSortFilesMerger merger;
+
+    private int rangeIndex;
+
+    private int batchSize;
+
+    private BlockingQueue<CarbonRowBatch> queue;
+
+    private CarbonRowBatch currentBatch;
+
+    private volatile Throwable failure;
+
+    private RangeMergeIterator(UnsafeSingleThreadFinalSortFilesMerger merger, int rangeIndex,
+        int batchSize) {
+      this.merger = merger;
+      this.rangeIndex = rangeIndex;
+      this.batchSize = batchSize;
+      this.queue = new ArrayBlockingQueue<>(MERGED_BATCH_QUEUE_SIZE);
+    }
+
+    @Override public void run() {
+      try {
+        merger.startFinalMerge(rangePartitioner, rangeIndex);
+        while (merger.hasNext()) {
+          int counter = 0;
+          CarbonRowBatch rowBatch = new CarbonRowBatch(batchSize);
+          while (merger.hasNext() && counter < batchSize) {
+            rowBatch.addRow(new CarbonRow(merger.next()));
+            counter++;
+          }
+          queue.put(rowBatch);
+        }
+        queue.put(END_OF_RANGE);
+      } catch (Throwable e) {
+        LOGGER.error(e, "Problem while merging sort key range " + rangeIndex);
+        failure = e;
+        // the merged batches are not needed anymore, make space for the end marker
+        queue.clear();
+        if (!queue.offer(END_OF_RANGE)) {
+          LOGGER.error("Could not signal the end of sort key range " + rangeIndex);
+        }
+      }
+    }
+
+    @Override public boolean hasNext() {
+      if (null == currentBatch) {
+        try {
+          currentBatch = queue.take();
+        } catch (InterruptedException e) {
+          throw new CarbonDataLoadingException(e);
+        }
+      }
+      if (currentBatch == END_OF_RANGE) {
+        if (null != failure) {
+          throw new CarbonDataLoadingException(
+              "Problem while merging sort key range " + rangeIndex, failure);
+        }
+        return false;
+      }
+      return true;
+    }
+
+    @Override public CarbonRowBatch next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException("no more batches in sort key range " + rangeIndex);
+      }
+      CarbonRowBatch rowBatch = currentBatch;
+      currentBatch = null;
+      return rowBatch;
+    }
+  }
+
   /**
    * This thread iterates the iterator and adds the rows
    */
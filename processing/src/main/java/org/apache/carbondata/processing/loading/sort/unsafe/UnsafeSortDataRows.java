@@ -21,19 +21,24 @@ import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Comparator;
+import java.util.Queue;
 import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.memory.CarbonUnsafe;
-import org.apache.carbondata.core.memory.IntPointerBuffer;
 import org.apache.carbondata.core.memory.MemoryBlock;
+import org.apache.carbondata.core.memory.MemoryConsumer;
 import org.apache.carbondata.core.memory.MemoryException;
 import org.apache.carbondata.core.memory.UnsafeMemoryManager;
 import org.apache.carbondata.core.memory.UnsafeSortMemoryManager;
@@ -45,8 +50,7 @@ import org.apache.carbondata.processing.loading.sort.unsafe.comparator.UnsafeRow
 import org.apache.carbondata.processing.loading.sort.unsafe.comparator.UnsafeRowComparatorForNormalDims;
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeCarbonRow;
 import org.apache.carbondata.processing.loading.sort.unsafe.merger.UnsafeIntermediateMerger;
-import org.apache.carbondata.processing.loading.sort.unsafe.sort.TimSort;
-import org.apache.carbondata.processing.loading.sort.unsafe.sort.UnsafeIntSortDataFormat;
+import org.apache.carbondata.processing.loading.sort.unsafe.sort.UnsafeRadixSorter;
 import org.apache.carbondata.processing.sort.exception.CarbonSortKeyAndGroupByException;
 import org.apache.carbondata.processing.sort.sortdata.SortParameters;
 import org.apache.carbondata.processing.sort.sortdata.TableFieldStat;
@@ -94,6 +98,48 @@ public class UnsafeSortDataRows {
 
   private final long taskId;
 
+  /**
+   * pages handed to the sort writer threads which are not picked up yet, they still hold
+   * working memory of the task
+   */
+  private final Queue<DataSorterAndWriter> pendingWriters = new ConcurrentLinkedQueue<>();
+
+  /**
+   * releases working memory of the task when it is exhausted, pages which are waiting for a
+   * sort writer thread are sorted and written to disk by the requesting thread
+   */
+  private final MemoryConsumer memoryConsumer = new MemoryConsumer() {
+    @Override public boolean spill(long required) {
+      long usedBefore = UnsafeMemoryManager.INSTANCE.getTaskMemoryUsed(taskId);
+      long released = 0;
+      DataSorterAndWriter writer;
+      while (released < required && (writer = pendingWriters.poll()) != null) {
+        if (!writer.claim()) {
+          continue;
+        }
+        long pageSize = writer.page.getDataBlock().size();
+        try {
+          if (!writer.page.isSaveToDisk()) {
+            // the page will not be copied to sort memory, so give back its reservation
+            UnsafeSortMemoryManager.INSTANCE.freeDummyMemory(pageSize);
+          }
+          writer.sortAndWrite(true);
+          released += pageSize;
+        } catch (Throwable e) {
+          try {
+            threadStatusObserver.notifyFailed(e);
+          } catch (CarbonSortKeyAndGroupByException ex) {
+            LOGGER.error(e, "Failed to spill row page of table " + parameters.getTableName());
+          }
+          break;
+        } finally {
+          writer.spilled.countDown();
+        }
+      }
+      return UnsafeMemoryManager.INSTANCE.getTaskMemoryUsed(taskId) < usedBefore;
+    }
+  };
+
   public UnsafeSortDataRows(SortParameters parameters,
       UnsafeIntermediateMerger unsafeInMemoryIntermediateFileMerger, int inMemoryChunkSize) {
     this.parameters = parameters;
@@ -129,6 +175,7 @@ public class UnsafeSortDataRows {
    * This method will be used to initialize
    */
   public void initialize() throws MemoryException, CarbonSortKeyAndGroupByException {
+    UnsafeMemoryManager.INSTANCE.registerMemoryConsumer(taskId, memoryConsumer);
     this.rowPage = createUnsafeRowPage();
     // Delete if any older file exists in sort temp folder
     deleteSortLocationIfExists();
@@ -239,6 +286,7 @@ public class UnsafeSortDataRows {
    */
   public void startSorting() throws CarbonSortKeyAndGroupByException, InterruptedException {
     LOGGER.info("Unsafe based sorting will be used");
+    UnsafeMemoryManager.INSTANCE.unregisterMemoryConsumer(taskId, memoryConsumer);
     if (this.rowPage.getUsedSize() > 0) {
       handlePreviousPage();
     } else {
@@ -259,7 +307,9 @@ public class UnsafeSortDataRows {
     }
     unsafeInMemoryIntermediateFileMerger.startFileMergingIfPossible();
     semaphore.acquire();
-    dataSorterAndWriterExecutorService.submit(new DataSorterAndWriter(rowPage));
+    DataSorterAndWriter writer = new DataSorterAndWriter(rowPage);
+    pendingWriters.add(writer);
+    dataSorterAndWriterExecutorService.submit(writer);
   }
 
   /**
@@ -335,61 +385,34 @@ public class UnsafeSortDataRows {
   private class DataSorterAndWriter implements Runnable {
     private UnsafeCarbonRowPage page;
 
+    /**
+     * set by the thread which sorts and writes the page, either the sort writer thread or a
+     * thread spilling working memory
+     */
+    private final AtomicBoolean claimed = new AtomicBoolean();
+
+    /**
+     * released when a spilling thread finished writing the page, the sort writer thread waits
+     * for it so that all pages are written once the executor is terminated
+     */
+    private final CountDownLatch spilled = new CountDownLatch(1);
+
     public DataSorterAndWriter(UnsafeCarbonRowPage rowPage) {
       this.page = rowPage;
     }
 
+    private boolean claim() {
+      return claimed.compareAndSet(false, true);
+    }
+
     @Override
     public void run() {
       try {
-        long startTime = System.currentTimeMillis();
-        TimSort<UnsafeCarbonRow, IntPointerBuffer> timSort = new TimSort<>(
-            new UnsafeIntSortDataFormat(page));
-        // if sort_columns is not none, sort by sort_columns
-        if (parameters.getNumberOfNoDictSortColumns() > 0) {
-          timSort.sort(page.getBuffer(), 0, page.getBuffer().getActualSize(),
-              new UnsafeRowComparator(page));
+        if (claim()) {
+          pendingWriters.remove(this);
+          sortAndWrite(page.isSaveToDisk());
         } else {
-          timSort.sort(page.getBuffer(), 0, page.getBuffer().getActualSize(),
-              new UnsafeRowComparatorForNormalDims(page));
-        }
-        if (page.isSaveToDisk()) {
-          // create a new file every time
-          // create a new file and pick a temp directory randomly every time
-          String tmpDir = parameters.getTempFileLocation()[
-              new Random().nextInt(parameters.getTempFileLocation().length)];
-          File sortTempFile = new File(tmpDir + File.separator + parameters.getTableName()
-              + '_' + parameters.getRangeId() + '_' + System.nanoTime()
-              + CarbonCommonConstants.SORT_TEMP_FILE_EXT);
-          writeDataToFile(page, sortTempFile);
-          LOGGER.info("Time taken to sort row page with size" + page.getBuffer().getActualSize()
-              + " and write is: " + (System.currentTimeMillis() - startTime) + ": location:"
-              + sortTempFile + ", sort temp file size in MB is "
-              + sortTempFile.length() * 0.1 * 10 / 1024 / 1024);
-          page.freeMemory();
-          // add sort temp filename to and arrayList. When the list size reaches 20 then
-          // intermediate merging of sort temp files will be triggered
-          unsafeInMemoryIntermediateFileMerger.addFileToMerge(sortTempFile);
-        } else {
-          // creating a new memory block as size is already allocated
-          // so calling lazy memory allocator
-          MemoryBlock newMemoryBlock = UnsafeSortMemoryManager.INSTANCE
-              .allocateMemoryLazy(taskId, page.getDataBlock().size());
-          // copying data from working memory manager to sortmemory manager
-          CarbonUnsafe.getUnsafe()
-              .copyMemory(page.getDataBlock().getBaseObject(), page.getDataBlock().getBaseOffset(),
-                  newMemoryBlock.getBaseObject(), newMemoryBlock.getBaseOffset(),
-                  page.getDataBlock().size());
-          // free unsafememory manager
-          page.freeMemory();
-          page.setNewDataBlock(newMemoryBlock);
-          // add sort temp filename to and arrayList. When the list size reaches 20 then
-          // intermediate merging of sort temp files will be triggered
-          page.getBuffer().loadToUnsafe();
-          unsafeInMemoryIntermediateFileMerger.addDataChunkToMerge(page);
-          LOGGER.info(
-              "Time taken to sort row page with size: " + page.getBuffer().getActualSize() + "is: "
-                  + (System.currentTimeMillis() - startTime));
+          spilled.await();
         }
       } catch (Throwable e) {
         try {
@@ -401,6 +424,62 @@ public class UnsafeSortDataRows {
         semaphore.release();
       }
     }
+
+    /**
+     * sort the page and write it to a sort temp file or move it to sort memory, the working
+     * memory of the page is freed in both cases
+     */
+    private void sortAndWrite(boolean saveToDisk) throws CarbonSortKeyAndGroupByException {
+      long startTime = System.currentTimeMillis();
+      Comparator<UnsafeCarbonRow> comparator;
+      // if sort_columns is not none, sort by sort_columns
+      if (parameters.getNumberOfNoDictSortColumns() > 0) {
+        comparator = new UnsafeRowComparator(page);
+      } else {
+        comparator = new UnsafeRowComparatorForNormalDims(page);
+      }
+      new UnsafeRadixSorter(page).sort(page.getBuffer(), page.getBuffer().getActualSize(),
+          comparator);
+      unsafeInMemoryIntermediateFileMerger.addSortKeySamples(page);
+      if (saveToDisk) {
+        // create a new file every time
+        // create a new file and pick a temp directory randomly every time
+        String tmpDir = parameters.getTempFileLocation()[
+            new Random().nextInt(parameters.getTempFileLocation().length)];
+        File sortTempFile = new File(tmpDir + File.separator + parameters.getTableName()
+            + '_' + parameters.getRangeId() + '_' + System.nanoTime()
+            + CarbonCommonConstants.SORT_TEMP_FILE_EXT);
+        writeDataToFile(page, sortTempFile);
+        LOGGER.info("Time taken to sort row page with size" + page.getBuffer().getActualSize()
+            + " and write is: " + (System.currentTimeMillis() - startTime) + ": location:"
+            + sortTempFile + ", sort temp file size in MB is "
+            + sortTempFile.length() * 0.1 * 10 / 1024 / 1024);
+        page.freeMemory();
+        // add sort temp filename to and arrayList. When the list size reaches 20 then
+        // intermediate merging of sort temp files will be triggered
+        unsafeInMemoryIntermediateFileMerger.addFileToMerge(sortTempFile);
+      } else {
+        // creating a new memory block as size is already allocated
+        // so calling lazy memory allocator
+        MemoryBlock newMemoryBlock = UnsafeSortMemoryManager.INSTANCE
+            .allocateMemoryLazy(taskId, page.getDataBlock().size());
+        // copying data from working memory manager to sortmemory manager
+        CarbonUnsafe.getUnsafe()
+            .copyMemory(page.getDataBlock().getBaseObject(), page.getDataBlock().getBaseOffset(),
+                newMemoryBlock.getBaseObject(), newMemoryBlock.getBaseOffset(),
+                page.getDataBlock().size());
+        // free unsafememory manager
+        page.freeMemory();
+        page.setNewDataBlock(newMemoryBlock);
+        // add sort temp filename to and arrayList. When the list size reaches 20 then
+        // intermediate merging of sort temp files will be triggered
+        page.getBuffer().loadToUnsafe();
+        unsafeInMemoryIntermediateFileMerger.addDataChunkToMerge(page);
+        LOGGER.info(
+            "Time taken to sort row page with size: " + page.getBuffer().getActualSize() + "is: "
+                + (System.currentTimeMillis() - startTime));
+      }
+    }
   }
 }
 
@@ -58,25 +58,19 @@ public class UnsafeRowComparator implements Comparator<UnsafeCarbonRow> {
     int sizeInNonDictPartB = 0;
     for (boolean isNoDictionary : tableFieldStat.getIsSortColNoDictFlags()) {
       if (isNoDictionary) {
+        // compare the bytes in place to avoid copying them to new arrays for every comparison
         short lengthA = CarbonUnsafe.getUnsafe().getShort(baseObjectL,
             rowA + dictSizeInMemory + sizeInNonDictPartA);
-        byte[] byteArr1 = new byte[lengthA];
         sizeInNonDictPartA += 2;
-        CarbonUnsafe.getUnsafe()
-            .copyMemory(baseObjectL, rowA + dictSizeInMemory + sizeInNonDictPartA,
-                byteArr1, CarbonUnsafe.BYTE_ARRAY_OFFSET, lengthA);
-        sizeInNonDictPartA += lengthA;
-
         short lengthB = CarbonUnsafe.getUnsafe().getShort(baseObjectR,
             rowB + dictSizeInMemory + sizeInNonDictPartB);
-        byte[] byteArr2 = new byte[lengthB];
         sizeInNonDictPartB += 2;
-        CarbonUnsafe.getUnsafe()
-            .copyMemory(baseObjectR, rowB + dictSizeInMemory + sizeInNonDictPartB,
-                byteArr2, CarbonUnsafe.BYTE_ARRAY_OFFSET, lengthB);
-        sizeInNonDictPartB += lengthB;
 
-        int difference = UnsafeComparer.INSTANCE.compareTo(byteArr1, byteArr2);
+        int difference = UnsafeComparer.INSTANCE.compareUnsafe(
+            baseObjectL, rowA + dictSizeInMemory + sizeInNonDictPartA, lengthA,
+            baseObjectR, rowB + dictSizeInMemory + sizeInNonDictPartB, lengthB);
+        sizeInNonDictPartA += lengthA;
+        sizeInNonDictPartB += lengthB;
         if (difference != 0) {
           return difference;
         }
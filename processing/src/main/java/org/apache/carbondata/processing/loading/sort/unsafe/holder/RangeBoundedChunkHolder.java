@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort.unsafe.holder;
+
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
+import org.apache.carbondata.processing.sort.exception.CarbonSortKeyAndGroupByException;
+
+/**
+ * Holder which returns only the rows of another holder that fall in the sort key range
+ * [lowerBound, upperBound). It is used when the final merge is split by sort key range, null
+ * bounds mean the range is open on that side.
+ *
+ * The holder reads one row ahead to know whether the range has more rows. In memory sources are
+ * shared by all the ranges, so the wrapped holder is closed only by the last range releasing it.
+ */
+public class RangeBoundedChunkHolder implements SortTempChunkHolder {
+
+  private SortTempChunkHolder holder;
+
+  private Comparator<IntermediateSortTempRow> comparator;
+
+  private IntermediateSortTempRow upperBound;
+
+  private AtomicInteger references;
+
+  private IntermediateSortTempRow currentRow;
+
+  private IntermediateSortTempRow nextRow;
+
+  public RangeBoundedChunkHolder(SortTempChunkHolder holder,
+      Comparator<IntermediateSortTempRow> comparator, IntermediateSortTempRow lowerBound,
+      IntermediateSortTempRow upperBound, AtomicInteger references)
+      throws CarbonSortKeyAndGroupByException {
+    this.holder = holder;
+    this.comparator = comparator;
+    this.upperBound = upperBound;
+    this.references = references;
+    // skip the rows before the range
+    do {
+      nextRow = fetchRow();
+    } while (null != nextRow && null != lowerBound && comparator.compare(nextRow, lowerBound) < 0);
+  }
+
+  /**
+   * @return next row of the wrapped holder, or null if it is exhausted or the row is not smaller
+   * than the upper bound
+   */
+  private IntermediateSortTempRow fetchRow() throws CarbonSortKeyAndGroupByException {
+    if (!holder.hasNext()) {
+      return null;
+    }
+    holder.readRow();
+    IntermediateSortTempRow row = holder.getRow();
+    if (null != upperBound && comparator.compare(row, upperBound) >= 0) {
+      return null;
+    }
+    return row;
+  }
+
+  @Override public boolean hasNext() {
+    return null != nextRow;
+  }
+
+  @Override public void readRow() throws CarbonSortKeyAndGroupByException {
+    currentRow = nextRow;
+    nextRow = fetchRow();
+  }
+
+  @Override public IntermediateSortTempRow getRow() {
+    return currentRow;
+  }
+
+  @Override public int numberOfRows() {
+    return holder.numberOfRows();
+  }
+
+  @Override public void close() {
+    if (references.decrementAndGet() == 0) {
+      holder.close();
+    }
+  }
+
+  @Override public int compareTo(SortTempChunkHolder other) {
+    return comparator.compare(currentRow, other.getRow());
+  }
+
+  @Override public boolean equals(Object obj) {
+    return this == obj;
+  }
+
+  @Override public int hashCode() {
+    return super.hashCode();
+  }
+}
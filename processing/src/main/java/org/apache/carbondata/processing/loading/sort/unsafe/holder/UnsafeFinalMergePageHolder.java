@@ -69,6 +69,25 @@ public class UnsafeFinalMergePageHolder implements SortTempChunkHolder {
     return currentRow;
   }
 
+  /**
+   * Moves the holder to the first row which is not smaller than the given row. The merged
+   * addresses are already sorted, so the row is found by binary search.
+   */
+  public void skipTo(IntermediateSortTempRow row) {
+    int low = counter;
+    int high = actualSize;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      IntermediateSortTempRow midRow = rowPages[rowPageIndexes[mid]].getRow(mergedAddresses[mid]);
+      if (comparator.compare(midRow, row) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    counter = low;
+  }
+
   @Override public int compareTo(SortTempChunkHolder o) {
     return comparator.compare(currentRow, o.getRow());
   }
@@ -65,6 +65,26 @@ public class UnsafeInmemoryHolder implements SortTempChunkHolder {
     return currentRow;
   }
 
+  /**
+   * Moves the holder to the first row which is not smaller than the given row. The page is
+   * already sorted, so the row is found by binary search.
+   */
+  public void skipTo(IntermediateSortTempRow row) {
+    int low = counter;
+    int high = actualSize;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      IntermediateSortTempRow midRow = rowPage.getRow(
+          rowPage.getBuffer().get(mid) + rowPage.getDataBlock().getBaseOffset());
+      if (comparator.compare(midRow, row) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    counter = low;
+  }
+
   @Override public int compareTo(SortTempChunkHolder o) {
     return comparator.compare(currentRow, o.getRow());
   }
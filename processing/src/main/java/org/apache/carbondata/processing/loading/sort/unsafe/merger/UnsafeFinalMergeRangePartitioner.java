@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort.unsafe.merger;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
+import org.apache.carbondata.processing.loading.sort.unsafe.UnsafeCarbonRowPage;
+import org.apache.carbondata.processing.loading.sort.unsafe.holder.RangeBoundedChunkHolder;
+import org.apache.carbondata.processing.loading.sort.unsafe.holder.SortTempChunkHolder;
+import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeFinalMergePageHolder;
+import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeInmemoryHolder;
+import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeSortTempFileChunkHolder;
+import org.apache.carbondata.processing.sort.exception.CarbonSortKeyAndGroupByException;
+import org.apache.carbondata.processing.sort.sortdata.IntermediateSortTempRowComparator;
+import org.apache.carbondata.processing.sort.sortdata.SortParameters;
+
+/**
+ * Splits the final merge of the sorted pages and sort temp files into disjoint sort key ranges,
+ * so that every range can be merged by its own thread and written by its own fact writer.
+ *
+ * In memory pages are shared by all the ranges, every range finds its first row by binary search
+ * and the page is freed by the last range that finishes it. Sort temp files can not be positioned,
+ * so every range opens the file again and skips the rows before the range.
+ */
+public class UnsafeFinalMergeRangePartitioner {
+
+  private SortParameters parameters;
+
+  private UnsafeCarbonRowPage[] rowPages;
+
+  private List<UnsafeInMemoryIntermediateDataMerger> merges;
+
+  private IntermediateSortTempRow[] boundaries;
+
+  private IntermediateSortTempRowComparator comparator;
+
+  /**
+   * number of ranges still using every row page
+   */
+  private AtomicInteger[] rowPageReferences;
+
+  /**
+   * number of ranges still using every in memory merge result
+   */
+  private AtomicInteger[] mergeReferences;
+
+  /**
+   * @param boundaries sorted sort key boundaries, range i holds the rows in
+   *                   [boundaries[i - 1], boundaries[i])
+   */
+  public UnsafeFinalMergeRangePartitioner(SortParameters parameters,
+      UnsafeCarbonRowPage[] rowPages, List<UnsafeInMemoryIntermediateDataMerger> merges,
+      IntermediateSortTempRow[] boundaries) {
+    this.parameters = parameters;
+    this.rowPages = rowPages;
+    this.merges = UnsafeSingleThreadFinalSortFilesMerger.removeSpilledMerges(merges);
+    this.boundaries = boundaries;
+    this.comparator = new IntermediateSortTempRowComparator(parameters.getNoDictionarySortColumn());
+    this.rowPageReferences = createReferences(rowPages.length);
+    this.mergeReferences = createReferences(this.merges.size());
+  }
+
+  private AtomicInteger[] createReferences(int size) {
+    AtomicInteger[] references = new AtomicInteger[size];
+    for (int i = 0; i < size; i++) {
+      references[i] = new AtomicInteger(getNumberOfRanges());
+    }
+    return references;
+  }
+
+  public int getNumberOfRanges() {
+    return boundaries.length + 1;
+  }
+
+  /**
+   * Creates the holders which return only the rows of the given range
+   *
+   * @param rangeIndex index of the range
+   * @param files sort temp files of the sort step
+   */
+  List<SortTempChunkHolder> createHolders(int rangeIndex, List<File> files)
+      throws CarbonSortKeyAndGroupByException {
+    IntermediateSortTempRow lowerBound = rangeIndex == 0 ? null : boundaries[rangeIndex - 1];
+    IntermediateSortTempRow upperBound =
+        rangeIndex == boundaries.length ? null : boundaries[rangeIndex];
+    List<SortTempChunkHolder> holders =
+        new ArrayList<>(rowPages.length + merges.size() + files.size());
+    for (int i = 0; i < rowPages.length; i++) {
+      UnsafeInmemoryHolder holder = new UnsafeInmemoryHolder(rowPages[i]);
+      if (null != lowerBound) {
+        holder.skipTo(lowerBound);
+      }
+      holders.add(new RangeBoundedChunkHolder(holder, comparator, lowerBound, upperBound,
+          rowPageReferences[i]));
+    }
+    for (int i = 0; i < merges.size(); i++) {
+      UnsafeFinalMergePageHolder holder =
+          new UnsafeFinalMergePageHolder(merges.get(i), parameters.getNoDictionarySortColumn());
+      if (null != lowerBound) {
+        holder.skipTo(lowerBound);
+      }
+      holders.add(new RangeBoundedChunkHolder(holder, comparator, lowerBound, upperBound,
+          mergeReferences[i]));
+    }
+    for (File file : files) {
+      holders.add(new RangeBoundedChunkHolder(new UnsafeSortTempFileChunkHolder(file, parameters),
+          comparator, lowerBound, upperBound, new AtomicInteger(1)));
+    }
+    return holders;
+  }
+
+  /**
+   * Frees the memory of all the in memory sources, the ranges may not have finished them in case
+   * of failure
+   */
+  public void close() {
+    for (UnsafeCarbonRowPage rowPage : rowPages) {
+      rowPage.freeMemory();
+    }
+    for (UnsafeInMemoryIntermediateDataMerger merge : merges) {
+      merge.close();
+    }
+  }
+}
@@ -18,6 +18,8 @@ package org.apache.carbondata.processing.loading.sort.unsafe.merger;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
@@ -34,8 +36,10 @@ import org.apache.carbondata.core.constants.CarbonLoadOptionConstants;
 import org.apache.carbondata.core.memory.UnsafeSortMemoryManager;
 import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.CarbonThreadFactory;
+import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
 import org.apache.carbondata.processing.loading.sort.unsafe.UnsafeCarbonRowPage;
 import org.apache.carbondata.processing.sort.exception.CarbonSortKeyAndGroupByException;
+import org.apache.carbondata.processing.sort.sortdata.IntermediateSortTempRowComparator;
 import org.apache.carbondata.processing.sort.sortdata.SortParameters;
 
 /**
@@ -46,6 +50,11 @@ public class UnsafeIntermediateMerger {
   private static final LogService LOGGER =
       LogServiceFactory.getLogService(UnsafeIntermediateMerger.class.getName());
 
+  /**
+   * number of sort keys sampled from every sorted page
+   */
+  private static final int SORT_KEY_SAMPLES_PER_PAGE = 64;
+
   /**
    * executorService
    */
@@ -69,6 +78,11 @@ public class UnsafeIntermediateMerger {
    */
   private long spillSizeInSortMemory;
 
+  /**
+   * sort keys sampled from the sorted pages, null if sampling is not enabled
+   */
+  private List<IntermediateSortTempRow> sortKeySamples;
+
   public UnsafeIntermediateMerger(SortParameters parameters) {
     this.parameters = parameters;
     // processed file list
@@ -102,6 +116,66 @@ public class UnsafeIntermediateMerger {
     }
   }
 
+  /**
+   * Enables sampling of the sort keys of every sorted page, the samples are used to split the
+   * final merge into sort key ranges
+   */
+  public void enableSortKeySampling() {
+    this.sortKeySamples = new ArrayList<>();
+  }
+
+  /**
+   * Takes evenly spaced rows of the given sorted page as samples of the sort key distribution.
+   * It must be called before the page is written to file or freed.
+   */
+  public void addSortKeySamples(UnsafeCarbonRowPage rowPage) {
+    if (null == sortKeySamples) {
+      return;
+    }
+    int rowCount = rowPage.getBuffer().getActualSize();
+    int sampleCount = Math.min(rowCount, SORT_KEY_SAMPLES_PER_PAGE);
+    long baseOffset = rowPage.getDataBlock().getBaseOffset();
+    List<IntermediateSortTempRow> pageSamples = new ArrayList<>(sampleCount);
+    for (int i = 0; i < sampleCount; i++) {
+      // take the middle row of every stride
+      int rowId = (int) (((2L * i + 1) * rowCount) / (2L * sampleCount));
+      pageSamples.add(rowPage.getRow(rowPage.getBuffer().get(rowId) + baseOffset));
+    }
+    synchronized (lockObject) {
+      sortKeySamples.addAll(pageSamples);
+    }
+  }
+
+  /**
+   * Computes the sort key boundaries which split the sampled rows into the given number of ranges
+   * of about the same size. Duplicate boundaries are removed, so fewer ranges may be returned.
+   *
+   * @param numberOfRanges expected number of ranges
+   * @return sorted boundaries, range i holds the rows in [boundaries[i - 1], boundaries[i]).
+   * Empty if sampling is not enabled or there are not enough samples.
+   */
+  public IntermediateSortTempRow[] getSortKeyBoundaries(int numberOfRanges) {
+    if (null == sortKeySamples || numberOfRanges < 2 || sortKeySamples.size() < numberOfRanges) {
+      return new IntermediateSortTempRow[0];
+    }
+    Comparator<IntermediateSortTempRow> comparator =
+        new IntermediateSortTempRowComparator(parameters.getNoDictionarySortColumn());
+    List<IntermediateSortTempRow> samples;
+    synchronized (lockObject) {
+      samples = new ArrayList<>(sortKeySamples);
+    }
+    Collections.sort(samples, comparator);
+    List<IntermediateSortTempRow> boundaries = new ArrayList<>(numberOfRanges - 1);
+    for (int i = 1; i < numberOfRanges; i++) {
+      IntermediateSortTempRow boundary = samples.get(i * samples.size() / numberOfRanges);
+      if (boundaries.isEmpty()
+          || comparator.compare(boundaries.get(boundaries.size() - 1), boundary) < 0) {
+        boundaries.add(boundary);
+      }
+    }
+    return boundaries.toArray(new IntermediateSortTempRow[boundaries.size()]);
+  }
+
   public void addFileToMerge(File sortTempFile) {
     // add sort temp filename to and arrayList. When the list size reaches 20 then
     // intermediate merging of sort temp files will be triggered
@@ -19,24 +19,24 @@ package org.apache.carbondata.processing.loading.sort.unsafe.merger;
 
 import java.io.File;
 import java.io.FileFilter;
-import java.util.AbstractQueue;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
-import java.util.PriorityQueue;
 
 import org.apache.carbondata.common.CarbonIterator;
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.datastore.exception.CarbonDataWriterException;
 import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
+import org.apache.carbondata.processing.loading.sort.LoserTree;
 import org.apache.carbondata.processing.loading.sort.SortStepRowHandler;
 import org.apache.carbondata.processing.loading.sort.unsafe.UnsafeCarbonRowPage;
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.SortTempChunkHolder;
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeFinalMergePageHolder;
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeInmemoryHolder;
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeSortTempFileChunkHolder;
+import org.apache.carbondata.processing.sort.exception.CarbonSortKeyAndGroupByException;
 import org.apache.carbondata.processing.sort.sortdata.SortParameters;
 
 public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Object[]> {
@@ -52,9 +52,9 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
   private int fileCounter;
 
   /**
-   * recordHolderHeap
+   * tree of the record holders, its root is the holder with the smallest row
    */
-  private AbstractQueue<SortTempChunkHolder> recordHolderHeapLocal;
+  private LoserTree<SortTempChunkHolder> recordHolderTree;
 
   private SortParameters parameters;
   private SortStepRowHandler sortStepRowHandler;
@@ -81,7 +81,31 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
    */
   public void startFinalMerge(UnsafeCarbonRowPage[] rowPages,
       List<UnsafeInMemoryIntermediateDataMerger> merges) throws CarbonDataWriterException {
-    // remove the spilled pages
+    startSorting(rowPages, removeSpilledMerges(merges));
+  }
+
+  /**
+   * This method will be used to merge only the rows of one sort key range, the other ranges are
+   * merged by other mergers using the same partitioner
+   */
+  public void startFinalMerge(UnsafeFinalMergeRangePartitioner partitioner, int rangeIndex)
+      throws CarbonDataWriterException {
+    try {
+      List<File> filesToMergeSort = getFilesToMergeSort();
+      LOGGER.info(String.format("Starting final merge of range %d of %d, sort temp files: %d",
+          rangeIndex, partitioner.getNumberOfRanges(), filesToMergeSort.size()));
+      createRecordHolderTree(partitioner.createHolders(rangeIndex, filesToMergeSort));
+    } catch (Exception e) {
+      LOGGER.error(e);
+      throw new CarbonDataWriterException(e);
+    }
+  }
+
+  /**
+   * remove the spilled pages
+   */
+  static List<UnsafeInMemoryIntermediateDataMerger> removeSpilledMerges(
+      List<UnsafeInMemoryIntermediateDataMerger> merges) {
     for (Iterator<UnsafeInMemoryIntermediateDataMerger> iter = merges.iterator();
          iter.hasNext(); ) {
       UnsafeInMemoryIntermediateDataMerger merger = iter.next();
@@ -90,14 +114,14 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
         iter.remove();
       }
     }
-    startSorting(rowPages, merges);
+    return merges;
   }
 
   /**
    * Below method will be used to start storing process This method will get
    * all the temp files present in sort temp folder then it will create the
-   * record holder heap and then it will read first record from each file and
-   * initialize the heap
+   * record holder tree and then it will read first record from each file and
+   * initialize the tree
    *
    */
   private void startSorting(UnsafeCarbonRowPage[] rowPages,
@@ -113,44 +137,24 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
           + ", sort temp files: %d, intermediate merges: %d",
           this.fileCounter, rowPages.length, filesToMergeSort.size(), merges.size()));
 
-      // create record holder heap
-      createRecordHolderQueue();
-
-      // iterate over file list and create chunk holder and add to heap
+      // iterate over file list and create chunk holder
       LOGGER.info("Started adding first record from each page");
+      List<SortTempChunkHolder> holders = new ArrayList<>(fileCounter);
       for (final UnsafeCarbonRowPage rowPage : rowPages) {
-
-        SortTempChunkHolder sortTempFileChunkHolder = new UnsafeInmemoryHolder(rowPage);
-
-        // initialize
-        sortTempFileChunkHolder.readRow();
-
-        recordHolderHeapLocal.add(sortTempFileChunkHolder);
+        holders.add(new UnsafeInmemoryHolder(rowPage));
       }
 
       for (final UnsafeInMemoryIntermediateDataMerger merger : merges) {
-
-        SortTempChunkHolder sortTempFileChunkHolder =
-            new UnsafeFinalMergePageHolder(merger, parameters.getNoDictionarySortColumn());
-
-        // initialize
-        sortTempFileChunkHolder.readRow();
-
-        recordHolderHeapLocal.add(sortTempFileChunkHolder);
+        holders.add(
+            new UnsafeFinalMergePageHolder(merger, parameters.getNoDictionarySortColumn()));
       }
 
       for (final File file : filesToMergeSort) {
-
-        SortTempChunkHolder sortTempFileChunkHolder =
-            new UnsafeSortTempFileChunkHolder(file, parameters);
-
-        // initialize
-        sortTempFileChunkHolder.readRow();
-
-        recordHolderHeapLocal.add(sortTempFileChunkHolder);
+        holders.add(new UnsafeSortTempFileChunkHolder(file, parameters));
       }
 
-      LOGGER.info("Heap Size: " + this.recordHolderHeapLocal.size());
+      // create record holder tree
+      createRecordHolderTree(holders);
     } catch (Exception e) {
       LOGGER.error(e);
       throw new CarbonDataWriterException(e);
@@ -180,12 +184,24 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
   }
 
   /**
-   * This method will be used to create the heap which will be used to hold
-   * the chunk of data
+   * This method will read the first record of every holder and create the tree
+   * which will be used to hold the chunk of data
    */
-  private void createRecordHolderQueue() {
-    // creating record holder heap
-    this.recordHolderHeapLocal = new PriorityQueue<SortTempChunkHolder>(fileCounter);
+  private void createRecordHolderTree(List<SortTempChunkHolder> holders)
+      throws CarbonSortKeyAndGroupByException {
+    List<SortTempChunkHolder> nonEmptyHolders = new ArrayList<>(holders.size());
+    for (SortTempChunkHolder holder : holders) {
+      if (holder.hasNext()) {
+        // initialize
+        holder.readRow();
+        nonEmptyHolders.add(holder);
+      } else {
+        holder.close();
+      }
+    }
+    this.recordHolderTree = new LoserTree<>(nonEmptyHolders);
+    this.fileCounter = nonEmptyHolders.size();
+    LOGGER.info("Number of holders in final merge: " + this.fileCounter);
   }
 
   /**
@@ -207,12 +223,9 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
   private IntermediateSortTempRow getSortedRecordFromFile() throws CarbonDataWriterException {
     IntermediateSortTempRow row = null;
 
-    // poll the top object from heap
-    // heap maintains binary tree which is based on heap condition that will
-    // be based on comparator we are passing the heap
-    // when will call poll it will always delete root of the tree and then
-    // it does trickel down operation complexity is log(n)
-    SortTempChunkHolder poll = this.recordHolderHeapLocal.poll();
+    // get the top object from tree, after it moves to its next row only
+    // its path to the root is replayed, complexity is log(n)
+    SortTempChunkHolder poll = this.recordHolderTree.peek();
 
     // get the row from chunk
     row = poll.getRow();
@@ -221,6 +234,7 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
     if (!poll.hasNext()) {
       // if chunk is empty then close the stream
       poll.close();
+      this.recordHolderTree.removeTop();
 
       // change the file counter
       --this.fileCounter;
@@ -236,8 +250,8 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
       throw new CarbonDataWriterException(e.getMessage(), e);
     }
 
-    // add to heap
-    this.recordHolderHeapLocal.add(poll);
+    // adjust the tree
+    this.recordHolderTree.adjustTop();
 
     // return row
     return row;
@@ -254,11 +268,11 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
   }
 
   public void clear() {
-    if (null != recordHolderHeapLocal) {
-      for (SortTempChunkHolder pageHolder : recordHolderHeapLocal) {
+    if (null != recordHolderTree) {
+      for (SortTempChunkHolder pageHolder : recordHolderTree.getRemaining()) {
         pageHolder.close();
       }
-      recordHolderHeapLocal = null;
+      recordHolderTree = null;
     }
   }
 
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort.unsafe.sort;
+
+import java.util.Comparator;
+
+import org.apache.carbondata.core.memory.CarbonUnsafe;
+import org.apache.carbondata.core.memory.IntPointerBuffer;
+import org.apache.carbondata.processing.loading.sort.unsafe.UnsafeCarbonRowPage;
+import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeCarbonRow;
+
+/**
+ * Sorts the rows of an unsafe row page by a normalized key, which is an 8 byte order
+ * preserving prefix of the sort columns computed once per row. Dictionary columns contribute
+ * their surrogate key in 4 bytes and the first no dictionary column contributes its leading
+ * bytes padded with zero, columns after it are not part of the key.
+ *
+ * The rows are sorted by an LSD radix sort over the key bytes, skipping the bytes which are
+ * the same for all the rows. The radix sort is stable, and the rows with equal keys are sorted
+ * by the row comparator afterwards, so the result is the same as sorting all the rows by the
+ * row comparator, but most of the comparisons of the row bytes in unsafe memory are avoided.
+ */
+public class UnsafeRadixSorter {
+
+  private static final int KEY_BYTES = 8;
+
+  private static final int RADIX = 256;
+
+  private final UnsafeCarbonRowPage page;
+
+  private final boolean[] isSortColNoDictFlags;
+
+  private final int dictSizeInMemory;
+
+  /**
+   * true if the key holds all the sort columns completely, then equal keys mean equal rows
+   */
+  private final boolean isKeyComplete;
+
+  public UnsafeRadixSorter(UnsafeCarbonRowPage page) {
+    this(page, page.getTableFieldStat().getIsSortColNoDictFlags(),
+        page.getTableFieldStat().getDictSortDimCnt());
+  }
+
+  UnsafeRadixSorter(UnsafeCarbonRowPage page, boolean[] isSortColNoDictFlags,
+      int dictSortDimCnt) {
+    this.page = page;
+    this.isSortColNoDictFlags = isSortColNoDictFlags;
+    this.dictSizeInMemory = dictSortDimCnt * 4;
+    int keyBytes = 0;
+    boolean complete = true;
+    for (boolean isNoDictionary : isSortColNoDictFlags) {
+      keyBytes += 4;
+      if (isNoDictionary || keyBytes > KEY_BYTES) {
+        complete = false;
+        break;
+      }
+    }
+    this.isKeyComplete = complete;
+  }
+
+  /**
+   * Sorts the first size pointers of the buffer
+   *
+   * @param comparator row comparator which defines the order, used for the rows with equal keys
+   */
+  public void sort(IntPointerBuffer buffer, int size, Comparator<UnsafeCarbonRow> comparator) {
+    if (size < 2) {
+      return;
+    }
+    int[] pointers = buffer.getPointerBlock();
+    long[] keys = new long[size];
+    Object baseObject = page.getDataBlock().getBaseObject();
+    long baseOffset = page.getDataBlock().getBaseOffset();
+    for (int i = 0; i < size; i++) {
+      keys[i] = getNormalizedKey(baseObject, baseOffset + pointers[i]);
+    }
+    radixSort(keys, pointers, size);
+    if (!isKeyComplete) {
+      TimSort<UnsafeCarbonRow, IntPointerBuffer> timSort =
+          new TimSort<>(new UnsafeIntSortDataFormat(page));
+      int start = 0;
+      while (start < size) {
+        int end = start + 1;
+        while (end < size && keys[end] == keys[start]) {
+          end++;
+        }
+        if (end - start > 1) {
+          timSort.sort(buffer, start, end, comparator);
+        }
+        start = end;
+      }
+    }
+  }
+
+  /**
+   * Computes the key of the row, comparing the keys as unsigned longs gives the same order as
+   * the row comparator unless the keys are equal
+   */
+  long getNormalizedKey(Object baseObject, long rowAddress) {
+    long key = 0;
+    int filledBytes = 0;
+    int dictOffset = 0;
+    for (boolean isNoDictionary : isSortColNoDictFlags) {
+      if (isNoDictionary) {
+        int length = CarbonUnsafe.getUnsafe().getShort(baseObject, rowAddress + dictSizeInMemory);
+        long dataAddress = rowAddress + dictSizeInMemory + 2;
+        int bytesToCopy = Math.min(length, KEY_BYTES - filledBytes);
+        for (int i = 0; i < bytesToCopy; i++) {
+          int data = CarbonUnsafe.getUnsafe().getByte(baseObject, dataAddress + i) & 0xff;
+          key = (key << 8) | data;
+        }
+        filledBytes += bytesToCopy;
+        break;
+      }
+      // flip the sign bit, so that the unsigned order of the bytes is the signed order
+      long surrogate = (CarbonUnsafe.getUnsafe().getInt(baseObject, rowAddress + dictOffset)
+          ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+      dictOffset += 4;
+      int bytesToCopy = Math.min(4, KEY_BYTES - filledBytes);
+      key = (key << (bytesToCopy * 8)) | (surrogate >>> ((4 - bytesToCopy) * 8));
+      filledBytes += bytesToCopy;
+      if (filledBytes == KEY_BYTES) {
+        break;
+      }
+    }
+    // pad with zero, which is less than any byte
+    return filledBytes == KEY_BYTES ? key : key << ((KEY_BYTES - filledBytes) * 8);
+  }
+
+  /**
+   * Stable LSD radix sort of the keys and pointers as unsigned longs
+   */
+  static void radixSort(long[] keys, int[] pointers, int size) {
+    int[][] counts = new int[KEY_BYTES][RADIX];
+    for (int i = 0; i < size; i++) {
+      long key = keys[i];
+      for (int b = 0; b < KEY_BYTES; b++) {
+        counts[b][(int) (key >>> (b * 8)) & 0xff]++;
+      }
+    }
+    long[] sourceKeys = keys;
+    int[] sourcePointers = pointers;
+    long[] targetKeys = null;
+    int[] targetPointers = null;
+    for (int b = 0; b < KEY_BYTES; b++) {
+      int[] count = counts[b];
+      // all the keys have the same byte, nothing to do in this pass
+      if (count[(int) (sourceKeys[0] >>> (b * 8)) & 0xff] == size) {
+        continue;
+      }
+      if (null == targetKeys) {
+        targetKeys = new long[size];
+        targetPointers = new int[size];
+      }
+      int offset = 0;
+      for (int i = 0; i < RADIX; i++) {
+        int bucketSize = count[i];
+        count[i] = offset;
+        offset += bucketSize;
+      }
+      for (int i = 0; i < size; i++) {
+        long key = sourceKeys[i];
+        int target = count[(int) (key >>> (b * 8)) & 0xff]++;
+        targetKeys[target] = key;
+        targetPointers[target] = sourcePointers[i];
+      }
+      long[] tempKeys = sourceKeys;
+      sourceKeys = targetKeys;
+      targetKeys = tempKeys;
+      int[] tempPointers = sourcePointers;
+      sourcePointers = targetPointers;
+      targetPointers = tempPointers;
+    }
+    if (sourceKeys != keys) {
+      System.arraycopy(sourceKeys, 0, keys, 0, size);
+      System.arraycopy(sourcePointers, 0, pointers, 0, size);
+    }
+  }
+}
@@ -24,12 +24,14 @@ import java.util.concurrent.Future;
 
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.exception.CarbonDataWriterException;
 import org.apache.carbondata.core.datastore.row.CarbonRow;
 import org.apache.carbondata.core.datastore.row.WriteStepRowUtil;
 import org.apache.carbondata.core.keygenerator.KeyGenException;
 import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
 import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.CarbonThreadFactory;
 import org.apache.carbondata.core.util.CarbonTimeStatisticsFactory;
 import org.apache.carbondata.core.util.path.CarbonTablePath;
@@ -75,9 +77,27 @@ public class CarbonRowDataWriterProcessorStepImpl extends AbstractDataLoadProces
 
   private String tableName;
 
+  /**
+   * whether the input is the no sort load of the converter step, this step also writes the
+   * global sort load and the load without converter step
+   */
+  private final boolean isNoSortLoad;
+
+  /**
+   * whether the converted rows are added to the fact handler as they are, to be kept
+   * column by column, instead of converting each of them to the write step row
+   */
+  private boolean isColumnarLoad;
+
   public CarbonRowDataWriterProcessorStepImpl(CarbonDataLoadConfiguration configuration,
       AbstractDataLoadProcessorStep child) {
+    this(configuration, child, false);
+  }
+
+  public CarbonRowDataWriterProcessorStepImpl(CarbonDataLoadConfiguration configuration,
+      AbstractDataLoadProcessorStep child, boolean isNoSortLoad) {
     super(configuration, child);
+    this.isNoSortLoad = isNoSortLoad;
   }
 
   @Override public DataField[] getOutput() {
@@ -118,6 +138,9 @@ public class CarbonRowDataWriterProcessorStepImpl extends AbstractDataLoadProces
       measureDataType = configuration.getMeasureDataType();
       measureCount = configuration.getMeasureCount();
       outputLength = measureCount + (this.noDictWithComplextCount > 0 ? 1 : 0) + 1;
+      isColumnarLoad = isNoSortLoad && Boolean.parseBoolean(CarbonProperties.getInstance()
+          .getProperty(CarbonCommonConstants.CARBON_LOAD_COLUMNAR_NO_SORT,
+              CarbonCommonConstants.CARBON_LOAD_COLUMNAR_NO_SORT_DEFAULT));
       CarbonTimeStatisticsFactory.getLoadStatisticsInstance()
           .recordDictionaryValue2MdkAdd2FileTime(CarbonTablePath.DEPRECATED_PATITION_ID,
               System.currentTimeMillis());
@@ -276,8 +299,11 @@ public class CarbonRowDataWriterProcessorStepImpl extends AbstractDataLoadProces
     try {
       while (batch.hasNext()) {
         CarbonRow row = batch.next();
-        CarbonRow converted = convertRow(row);
-        dataHandler.addDataToStore(converted);
+        if (isColumnarLoad) {
+          dataHandler.addConvertedRowToStore(row);
+        } else {
+          dataHandler.addDataToStore(convertRow(row));
+        }
         readCounter[iteratorIndex]++;
       }
       writeCounter[iteratorIndex] += batch.getSize();
@@ -190,6 +190,7 @@ public class DataConverterProcessorStepImpl extends AbstractDataLoadProcessorSte
    * @return processed row.
    */
   protected CarbonRowBatch processRowBatch(CarbonRowBatch rowBatch, RowConverter localConverter) {
+    localConverter.generateDictionaryKeys(rowBatch);
     while (rowBatch.hasNext()) {
       CarbonRow convertRow = localConverter.convert(rowBatch.next());
       if (isSortColumnRangeEnabled || isBucketColumnEnabled) {
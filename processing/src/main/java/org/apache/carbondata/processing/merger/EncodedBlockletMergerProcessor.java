@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.merger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datamap.DataMapStoreManager;
+import org.apache.carbondata.core.datamap.TableDataMap;
+import org.apache.carbondata.core.datastore.FileReader;
+import org.apache.carbondata.core.datastore.block.SegmentProperties;
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.datastore.exception.CarbonDataWriterException;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.indexstore.PartitionSpec;
+import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
+import org.apache.carbondata.core.metadata.SegmentFileStore;
+import org.apache.carbondata.core.metadata.blocklet.DataFileFooter;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.reader.CarbonFooterReaderV3;
+import org.apache.carbondata.core.scan.result.iterator.RawResultIterator;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.format.BlockletIndex;
+import org.apache.carbondata.format.BlockletInfo3;
+import org.apache.carbondata.format.FileFooter3;
+import org.apache.carbondata.processing.loading.model.CarbonLoadModel;
+import org.apache.carbondata.processing.loading.sort.SortScopeOptions;
+import org.apache.carbondata.processing.store.CarbonFactDataHandlerModel;
+import org.apache.carbondata.processing.store.writer.v3.CarbonFactDataWriterImplV3;
+import org.apache.carbondata.processing.util.CarbonDataProcessorUtil;
+
+/**
+ * Merger which copies the encoded blocklets of the segments to be merged as is to the carbondata
+ * files of the merged segment. Only the blocklet offsets, footers and index files are rewritten,
+ * so no page is decoded or encoded again. It can be used only when the merged rows need not be
+ * re-sorted, there is no deleted row to apply and the encoding of all the blocks is same as the
+ * merged segment, refer {@link #canCopyEncodedBlocklets}
+ */
+public class EncodedBlockletMergerProcessor extends AbstractResultProcessor {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(EncodedBlockletMergerProcessor.class.getName());
+
+  private CarbonFactDataHandlerModel carbonFactDataHandlerModel;
+  private CarbonFactDataWriterImplV3 dataWriter;
+  private List<TableBlockInfo> tableBlockInfoList;
+  private CarbonLoadModel loadModel;
+  private PartitionSpec partitionSpec;
+
+  public EncodedBlockletMergerProcessor(String databaseName, String tableName,
+      SegmentProperties segProp, String[] tempStoreLocation, CarbonLoadModel loadModel,
+      CompactionType compactionType, PartitionSpec partitionSpec,
+      List<TableBlockInfo> tableBlockInfoList) {
+    this.loadModel = loadModel;
+    this.partitionSpec = partitionSpec;
+    this.tableBlockInfoList = tableBlockInfoList;
+    CarbonDataProcessorUtil.createLocations(tempStoreLocation);
+    CarbonTable carbonTable = loadModel.getCarbonDataLoadSchema().getCarbonTable();
+    String carbonStoreLocation;
+    if (partitionSpec != null) {
+      carbonStoreLocation =
+          partitionSpec.getLocation().toString() + CarbonCommonConstants.FILE_SEPARATOR + loadModel
+              .getFactTimeStamp() + ".tmp";
+    } else {
+      carbonStoreLocation = CarbonDataProcessorUtil.createCarbonStoreLocation(
+          databaseName, tableName, loadModel.getSegmentId());
+    }
+    carbonFactDataHandlerModel = CarbonFactDataHandlerModel
+        .getCarbonFactDataHandlerModel(loadModel, carbonTable, segProp, tableName,
+            tempStoreLocation, carbonStoreLocation);
+    setDataFileAttributesInModel(loadModel, compactionType, carbonFactDataHandlerModel);
+    carbonFactDataHandlerModel.setCompactionFlow(true);
+  }
+
+  /**
+   * Below method will be used to check whether the blocks can be merged by copying the encoded
+   * blocklets. It returns false if any of the blocks has to go through the query and row merge
+   * flow
+   *
+   * @param carbonTable               table being compacted
+   * @param segmentProperties         segment properties of the merged segment
+   * @param tableBlockInfoList        blocks to be merged
+   * @param dataFileMetadataSegMapping footers of the blocks for each segment
+   * @param compactionType            type of compaction
+   * @param restructuredBlockExists   whether any block is written before a schema change
+   * @return true if encoded blocklets can be copied
+   */
+  public static boolean canCopyEncodedBlocklets(CarbonTable carbonTable,
+      SegmentProperties segmentProperties, List<TableBlockInfo> tableBlockInfoList,
+      Map<String, List<DataFileFooter>> dataFileMetadataSegMapping,
+      CompactionType compactionType, boolean restructuredBlockExists) throws IOException {
+    boolean isEnabled = Boolean.parseBoolean(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_COMPACTION_COPY_ENCODED_BLOCKLETS,
+            CarbonCommonConstants.CARBON_COMPACTION_COPY_ENCODED_BLOCKLETS_DEFAULT));
+    if (!isEnabled || restructuredBlockExists || compactionType == CompactionType.IUD_UPDDEL_DELTA
+        || CarbonProperties.getInstance().getFormatVersion() != ColumnarFormatVersion.V3) {
+      return false;
+    }
+    // rows of different blocks are merged in sort order, so the blocklets can be appended
+    // only if the table does not keep its data sorted
+    String sortScope =
+        carbonTable.getTableInfo().getFactTable().getTableProperties().get("sort_scope");
+    if (carbonTable.getNumberOfSortColumns() > 0 && (sortScope == null
+        || CarbonDataProcessorUtil.getSortScope(sortScope) != SortScopeOptions.SortScope.NO_SORT)) {
+      return false;
+    }
+    // datamaps are built from the decoded pages while writing the merged segment
+    List<TableDataMap> tableDataMaps = DataMapStoreManager.getInstance().getAllDataMap(carbonTable);
+    if (tableDataMaps != null) {
+      for (TableDataMap tableDataMap : tableDataMaps) {
+        if (!tableDataMap.getDataMapSchema().isLazy()) {
+          return false;
+        }
+      }
+    }
+    for (TableBlockInfo blockInfo : tableBlockInfoList) {
+      if (blockInfo.getVersion() != ColumnarFormatVersion.V3 || (
+          blockInfo.getDeletedDeltaFilePath() != null
+              && blockInfo.getDeletedDeltaFilePath().length > 0)) {
+        return false;
+      }
+    }
+    // the key size of the dictionary columns depends on their cardinality, so the pages can be
+    // copied only if they are encoded with the same key size as the merged segment
+    for (List<DataFileFooter> dataFileFooters : dataFileMetadataSegMapping.values()) {
+      for (DataFileFooter dataFileFooter : dataFileFooters) {
+        SegmentProperties blockSegmentProperties = new SegmentProperties(
+            dataFileFooter.getColumnInTable(),
+            dataFileFooter.getSegmentInfo().getColumnCardinality());
+        if (!Arrays.equals(blockSegmentProperties.getEachDimColumnValueSize(),
+            segmentProperties.getEachDimColumnValueSize()) || !Arrays.equals(
+            blockSegmentProperties.getEachComplexDimColumnValueSize(),
+            segmentProperties.getEachComplexDimColumnValueSize())) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Copy all the blocklets of the blocks to the merged segment. The result iterators are not
+   * used as the blocks are not queried
+   */
+  @Override
+  public boolean execute(List<RawResultIterator> resultIteratorList) throws Exception {
+    // a block may be split into more than one blocklet split, copy each file only once
+    Map<String, TableBlockInfo> blocks = new LinkedHashMap<>();
+    for (TableBlockInfo blockInfo : tableBlockInfoList) {
+      if (!blocks.containsKey(blockInfo.getFilePath())) {
+        blocks.put(blockInfo.getFilePath(), blockInfo);
+      }
+    }
+    boolean mergeStatus = false;
+    FileReader fileReader = null;
+    try {
+      for (TableBlockInfo blockInfo : blocks.values()) {
+        FileFooter3 footer = new CarbonFooterReaderV3(blockInfo.getFilePath(),
+            blockInfo.getBlockOffset()).readFooterVersion3();
+        List<BlockletInfo3> blockletInfoList = footer.getBlocklet_info_list3();
+        List<BlockletIndex> blockletIndexList = footer.getBlocklet_index_list();
+        if (blockletInfoList.isEmpty()) {
+          continue;
+        }
+        if (null == dataWriter) {
+          dataWriter = new CarbonFactDataWriterImplV3(carbonFactDataHandlerModel);
+          dataWriter.initializeWriter();
+          fileReader = FileFactory.getFileHolder(FileFactory.getFileType(blockInfo.getFilePath()));
+        }
+        for (int i = 0; i < blockletInfoList.size(); i++) {
+          BlockletInfo3 blockletInfo = blockletInfoList.get(i);
+          // data of a blocklet is contiguous from the first dimension chunk to the end of
+          // the last measure chunk
+          long blockletStart = blockletInfo.getColumn_data_chunks_offsets().get(0);
+          ByteBuffer blockletData = fileReader.readByteBuffer(blockInfo.getFilePath(),
+              blockletStart, (int) (blockletInfo.getMeasure_offsets() - blockletStart));
+          dataWriter.writeEncodedBlocklet(blockletData, blockletInfo, blockletIndexList.get(i));
+        }
+        LOGGER.info("Copied " + blockletInfoList.size() + " encoded blocklets of block "
+            + blockInfo.getFilePath());
+      }
+      if (null != dataWriter) {
+        dataWriter.writeFooterToFile();
+        dataWriter.closeWriter();
+        dataWriter = null;
+      }
+      mergeStatus = true;
+    } finally {
+      try {
+        if (null != fileReader) {
+          fileReader.finish();
+        }
+        if (partitionSpec != null) {
+          SegmentFileStore.writeSegmentFile(loadModel.getTablePath(), loadModel.getTaskNo(),
+              partitionSpec.getLocation().toString(), loadModel.getFactTimeStamp() + "",
+              partitionSpec.getPartitions());
+        }
+      } catch (CarbonDataWriterException | IOException e) {
+        mergeStatus = false;
+        throw e;
+      }
+    }
+    return mergeStatus;
+  }
+
+  @Override
+  public void close() {
+    // writer is left open only if the copy failed in between
+    if (null != dataWriter) {
+      try {
+        dataWriter.closeWriter();
+      } catch (CarbonDataWriterException e) {
+        LOGGER.error(e, "Problem while closing the data writer");
+      }
+      dataWriter = null;
+    }
+  }
+}
@@ -19,11 +19,9 @@ package org.apache.carbondata.processing.sort.sortdata;
 
 import java.io.File;
 import java.io.FileFilter;
-import java.util.AbstractQueue;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.PriorityQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -38,6 +36,7 @@ import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.exception.CarbonDataWriterException;
 import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
+import org.apache.carbondata.processing.loading.sort.LoserTree;
 import org.apache.carbondata.processing.loading.sort.SortStepRowHandler;
 import org.apache.carbondata.processing.sort.exception.CarbonSortKeyAndGroupByException;
 import org.apache.carbondata.processing.util.CarbonDataProcessorUtil;
@@ -65,9 +64,14 @@ public class SingleThreadFinalSortFilesMerger extends CarbonIterator<Object[]> {
   private int fileBufferSize;
 
   /**
-   * recordHolderHeap
+   * record holders read by the reader threads, the tree is created from them
    */
-  private AbstractQueue<SortTempFileChunkHolder> recordHolderHeapLocal;
+  private List<SortTempFileChunkHolder> recordHolders;
+
+  /**
+   * tree of the record holders, its root is the holder with the smallest row
+   */
+  private LoserTree<SortTempFileChunkHolder> recordHolderTree;
 
   /**
    * tableName
@@ -141,8 +145,8 @@ public class SingleThreadFinalSortFilesMerger extends CarbonIterator<Object[]> {
   /**
    * Below method will be used to start storing process This method will get
    * all the temp files present in sort temp folder then it will create the
-   * record holder heap and then it will read first record from each file and
-   * initialize the heap
+   * record holder tree and then it will read first record from each file and
+   * initialize the tree
    *
    * @throws CarbonSortKeyAndGroupByException
    */
@@ -162,10 +166,9 @@ public class SingleThreadFinalSortFilesMerger extends CarbonIterator<Object[]> {
 
     LOGGER.info("File Buffer Size: " + this.fileBufferSize);
 
-    // create record holder heap
-    createRecordHolderQueue();
+    this.recordHolders = new ArrayList<>(fileCounter);
 
-    // iterate over file list and create chunk holder and add to heap
+    // iterate over file list and create chunk holder and add to list
     LOGGER.info("Started adding first record from each file");
     this.executorService = Executors.newFixedThreadPool(maxThreadForSorting);
 
@@ -185,7 +188,7 @@ public class SingleThreadFinalSortFilesMerger extends CarbonIterator<Object[]> {
             notifyFailure(ex);
           }
           synchronized (LOCKOBJECT) {
-            recordHolderHeapLocal.add(sortTempFileChunkHolder);
+            recordHolders.add(sortTempFileChunkHolder);
           }
           return null;
         }
@@ -199,7 +202,9 @@ public class SingleThreadFinalSortFilesMerger extends CarbonIterator<Object[]> {
       throw new CarbonDataWriterException(e.getMessage(), e);
     }
     checkFailure();
-    LOGGER.info("final merger Heap Size" + this.recordHolderHeapLocal.size());
+    // create record holder tree
+    this.recordHolderTree = new LoserTree<>(recordHolders);
+    LOGGER.info("final merger Heap Size" + this.recordHolderTree.size());
   }
 
   private void checkFailure() {
@@ -212,15 +217,6 @@ public class SingleThreadFinalSortFilesMerger extends CarbonIterator<Object[]> {
     }
   }
 
-  /**
-   * This method will be used to create the heap which will be used to hold
-   * the chunk of data
-   */
-  private void createRecordHolderQueue() {
-    // creating record holder heap
-    this.recordHolderHeapLocal = new PriorityQueue<SortTempFileChunkHolder>(fileCounter);
-  }
-
   private synchronized void notifyFailure(Throwable throwable) {
     close();
     LOGGER.error(throwable);
@@ -246,12 +242,9 @@ public class SingleThreadFinalSortFilesMerger extends CarbonIterator<Object[]> {
   private IntermediateSortTempRow getSortedRecordFromFile() throws CarbonDataWriterException {
     IntermediateSortTempRow row = null;
 
-    // poll the top object from heap
-    // heap maintains binary tree which is based on heap condition that will
-    // be based on comparator we are passing the heap
-    // when will call poll it will always delete root of the tree and then
-    // it does trickel down operation complexity is log(n)
-    SortTempFileChunkHolder poll = this.recordHolderHeapLocal.poll();
+    // get the top object from tree, after it moves to its next row only
+    // its path to the root is replayed, complexity is log(n)
+    SortTempFileChunkHolder poll = this.recordHolderTree.peek();
 
     // get the row from chunk
     row = poll.getRow();
@@ -260,6 +253,7 @@ public class SingleThreadFinalSortFilesMerger extends CarbonIterator<Object[]> {
     if (!poll.hasNext()) {
       // if chunk is empty then close the stream
       poll.closeStream();
+      this.recordHolderTree.removeTop();
 
       // change the file counter
       --this.fileCounter;
@@ -276,8 +270,8 @@ public class SingleThreadFinalSortFilesMerger extends CarbonIterator<Object[]> {
       throw new CarbonDataWriterException(e.getMessage(), e);
     }
 
-    // add to heap
-    this.recordHolderHeapLocal.add(poll);
+    // adjust the tree
+    this.recordHolderTree.adjustTop();
 
     // return row
     return row;
@@ -297,11 +291,14 @@ public class SingleThreadFinalSortFilesMerger extends CarbonIterator<Object[]> {
     if (null != executorService && !executorService.isShutdown()) {
       executorService.shutdownNow();
     }
-    if (null != recordHolderHeapLocal) {
-      SortTempFileChunkHolder sortTempFileChunkHolder;
-      while (!recordHolderHeapLocal.isEmpty()) {
-        sortTempFileChunkHolder = recordHolderHeapLocal.poll();
-        if (null != sortTempFileChunkHolder) {
+    if (null != recordHolderTree) {
+      for (SortTempFileChunkHolder sortTempFileChunkHolder : recordHolderTree.getRemaining()) {
+        sortTempFileChunkHolder.closeStream();
+      }
+      recordHolderTree = null;
+    } else if (null != recordHolders) {
+      synchronized (LOCKOBJECT) {
+        for (SortTempFileChunkHolder sortTempFileChunkHolder : recordHolders) {
           sortTempFileChunkHolder.closeStream();
         }
       }
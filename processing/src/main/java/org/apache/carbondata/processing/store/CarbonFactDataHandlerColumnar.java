@@ -87,6 +87,10 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
   private ExecutorService consumerExecutorService;
   private List<Future<Void>> consumerExecutorServiceTaskList;
   private List<CarbonRow> dataRows;
+  /**
+   * rows added by addConvertedRowToStore, used instead of dataRows
+   */
+  private TablePageBuffer pageBuffer;
   private ColumnGroupModel colGrpModel;
   /**
    * semaphore which will used for managing node holder objects
@@ -222,27 +226,61 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
     // if entry count reaches to leaf node size then we are ready to write
     // this to leaf node file and update the intermediate files
     if (this.entryCount == this.pageSize) {
-      try {
-        semaphore.acquire();
-
-        producerExecutorServiceTaskList.add(
-            producerExecutorService.submit(
-                new Producer(tablePageList, dataRows, ++writerTaskSequenceCounter, false)
-            )
-        );
-        blockletProcessingCount.incrementAndGet();
-        // set the entry count to zero
-        processedDataCount += entryCount;
-        LOGGER.info("Total Number Of records added to store: " + processedDataCount);
+      submitPage();
+    }
+  }
+
+  /**
+   * below method will be used to add row in the converter step layout to store, the values
+   * are kept column by column until the page is full
+   *
+   * @param row
+   * @throws CarbonDataWriterException
+   */
+  public void addConvertedRowToStore(CarbonRow row) throws CarbonDataWriterException {
+    if (pageBuffer == null) {
+      pageBuffer = new TablePageBuffer(model, pageSize);
+    }
+    pageBuffer.addRow(row);
+    this.entryCount++;
+    if (this.entryCount == this.pageSize) {
+      submitPage();
+    }
+  }
+
+  /**
+   * submit the rows added so far to the producer to create a table page
+   */
+  private void submitPage() throws CarbonDataWriterException {
+    try {
+      semaphore.acquire();
+
+      producerExecutorServiceTaskList.add(
+          producerExecutorService.submit(newProducer(false))
+      );
+      blockletProcessingCount.incrementAndGet();
+      // set the entry count to zero
+      processedDataCount += entryCount;
+      LOGGER.info("Total Number Of records added to store: " + processedDataCount);
+      if (pageBuffer != null) {
+        pageBuffer = new TablePageBuffer(model, pageSize);
+      } else {
         dataRows = new ArrayList<>(this.pageSize);
-        this.entryCount = 0;
-      } catch (InterruptedException e) {
-        LOGGER.error(e, e.getMessage());
-        throw new CarbonDataWriterException(e.getMessage(), e);
       }
+      this.entryCount = 0;
+    } catch (InterruptedException e) {
+      LOGGER.error(e, e.getMessage());
+      throw new CarbonDataWriterException(e.getMessage(), e);
     }
   }
 
+  private Producer newProducer(boolean isLastPage) {
+    if (pageBuffer != null) {
+      return new Producer(tablePageList, pageBuffer, ++writerTaskSequenceCounter, isLastPage);
+    }
+    return new Producer(tablePageList, dataRows, ++writerTaskSequenceCounter, isLastPage);
+  }
+
   /**
    * generate the EncodedTablePage from the input rows (one page in case of V3 format)
    */
@@ -265,6 +303,21 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
     return tablePage;
   }
 
+  /**
+   * generate the EncodedTablePage from the rows buffered column by column
+   */
+  private TablePage processPageBuffer(TablePageBuffer pageBuffer)
+      throws CarbonDataWriterException, KeyGenException, MemoryException, IOException {
+    TablePage tablePage = new TablePage(model, pageBuffer.getRowCount());
+    if (pageBuffer.getRowCount() > 0) {
+      tablePage.addColumns(pageBuffer);
+    }
+    tablePage.encode();
+
+    LOGGER.info("Number Of records processed: " + pageBuffer.getRowCount());
+    return tablePage;
+  }
+
   /**
    * below method will be used to finish the data handler
    *
@@ -282,8 +335,7 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
     LOGGER.info("Started Finish Operation");
     try {
       semaphore.acquire();
-      producerExecutorServiceTaskList.add(producerExecutorService
-          .submit(new Producer(tablePageList, dataRows, ++writerTaskSequenceCounter, true)));
+      producerExecutorServiceTaskList.add(producerExecutorService.submit(newProducer(true)));
       blockletProcessingCount.incrementAndGet();
       processedDataCount += entryCount;
       LOGGER.info("Total Number Of records added to store: " + processedDataCount);
@@ -540,6 +592,7 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
 
     private TablePageList tablePageList;
     private List<CarbonRow> dataRows;
+    private TablePageBuffer pageBuffer;
     private int pageId;
     private boolean isLastPage;
 
@@ -551,6 +604,14 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
       this.isLastPage = isLastPage;
     }
 
+    private Producer(TablePageList tablePageList, TablePageBuffer pageBuffer,
+        int pageId, boolean isLastPage) {
+      this.tablePageList = tablePageList;
+      this.pageBuffer = pageBuffer;
+      this.pageId = pageId;
+      this.isLastPage = isLastPage;
+    }
+
     /**
      * Computes a result, or throws an exception if unable to do so.
      *
@@ -559,8 +620,10 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
      */
     @Override public Void call() throws Exception {
       try {
-        TablePage tablePage = processDataRows(dataRows);
+        TablePage tablePage =
+            pageBuffer != null ? processPageBuffer(pageBuffer) : processDataRows(dataRows);
         dataRows = null;
+        pageBuffer = null;
         tablePage.setIsLastPage(isLastPage);
         // insert the object in array according to sequence number
         int indexInNodeHolderArray = (pageId - 1) % numberOfCores;
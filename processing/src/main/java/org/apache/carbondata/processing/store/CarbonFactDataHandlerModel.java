@@ -163,6 +163,14 @@ public class CarbonFactDataHandlerModel {
 
   private short writingCoresCount;
 
+  // name of the compressor used to compress the column pages
+  private String columnCompressor;
+
+  /**
+   * whether each non complex dimension in the converted row is a no dictionary column
+   */
+  private boolean[] isNoDictionaryDimensionColumn;
+
   /**
    * Create the model using @{@link CarbonDataLoadConfiguration}
    */
@@ -256,7 +264,11 @@ public class CarbonFactDataHandlerModel {
     carbonFactDataHandlerModel.segmentId = configuration.getSegmentId();
     carbonFactDataHandlerModel.taskExtension = taskExtension;
     carbonFactDataHandlerModel.tableSpec = configuration.getTableSpec();
+    carbonFactDataHandlerModel.columnCompressor =
+        configuration.getTableSpec().getCarbonTable().getColumnCompressor();
     carbonFactDataHandlerModel.sortScope = CarbonDataProcessorUtil.getSortScope(configuration);
+    carbonFactDataHandlerModel.isNoDictionaryDimensionColumn =
+        CarbonDataProcessorUtil.getNoDictionaryMapping(configuration.getDataFields());
 
     DataMapWriterListener listener = new DataMapWriterListener();
     listener.registerAllWriter(
@@ -327,6 +339,7 @@ public class CarbonFactDataHandlerModel {
 
     carbonFactDataHandlerModel.tableSpec =
         new TableSpec(loadModel.getCarbonDataLoadSchema().getCarbonTable());
+    carbonFactDataHandlerModel.columnCompressor = carbonTable.getColumnCompressor();
     DataMapWriterListener listener = new DataMapWriterListener();
     listener.registerAllWriter(
         loadModel.getCarbonDataLoadSchema().getCarbonTable(),
@@ -619,5 +632,13 @@ public class CarbonFactDataHandlerModel {
     return dataMapWriterlistener;
   }
 
+  public boolean[] getIsNoDictionaryDimensionColumn() {
+    return isNoDictionaryDimensionColumn;
+  }
+
+  public String getColumnCompressor() {
+    return columnCompressor;
+  }
+
 }
 
@@ -25,6 +25,12 @@ public interface CarbonFactHandler {
 
   void addDataToStore(CarbonRow row) throws CarbonDataWriterException;
 
+  /**
+   * Add a row in the layout produced by the converter step: dimensions in schema order, then
+   * complex columns, then measures. Must not be mixed with addDataToStore on the same handler.
+   */
+  void addConvertedRowToStore(CarbonRow row) throws CarbonDataWriterException;
+
   void finish() throws CarbonDataWriterException;
 
   void closeHandler() throws CarbonDataWriterException;
@@ -44,6 +44,8 @@ import org.apache.carbondata.core.datastore.page.statistics.PrimitivePageStatsCo
 import org.apache.carbondata.core.datastore.row.CarbonRow;
 import org.apache.carbondata.core.datastore.row.WriteStepRowUtil;
 import org.apache.carbondata.core.keygenerator.KeyGenException;
+import org.apache.carbondata.core.keygenerator.KeyGenerator;
+import org.apache.carbondata.core.keygenerator.columnar.ColumnarSplitter;
 import org.apache.carbondata.core.memory.MemoryException;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
@@ -93,6 +95,7 @@ public class TablePage {
       TableSpec.DimensionSpec spec = tableSpec.getDimensionSpec(i);
       ColumnPage page = ColumnPage.newPage(spec, DataTypes.BYTE_ARRAY, pageSize);
       page.setStatsCollector(KeyPageStatsCollector.newInstance(DataTypes.BYTE_ARRAY));
+      page.setColumnCompressorName(model.getColumnCompressor());
       dictDimensionPages[i] = page;
     }
     noDictDimensionPages = new ColumnPage[model.getNoDictionaryCount()];
@@ -100,6 +103,7 @@ public class TablePage {
       TableSpec.DimensionSpec spec = tableSpec.getDimensionSpec(i + numDictDimension);
       ColumnPage page = ColumnPage.newPage(spec, DataTypes.STRING, pageSize);
       page.setStatsCollector(LVStringStatsCollector.newInstance());
+      page.setColumnCompressorName(model.getColumnCompressor());
       noDictDimensionPages[i] = page;
     }
     complexDimensionPages = new ComplexColumnPage[model.getComplexColumnCount()];
@@ -120,6 +124,7 @@ public class TablePage {
       }
       page.setStatsCollector(
           PrimitivePageStatsCollector.newInstance(dataTypes[i]));
+      page.setColumnCompressorName(model.getColumnCompressor());
       measurePages[i] = page;
     }
     boolean hasNoDictionary = noDictDimensionPages.length > 0;
@@ -146,6 +151,68 @@ public class TablePage {
     key.update(rowId, row, mdk);
   }
 
+  /**
+   * Add all the rows of the buffer, filling the pages column by column
+   *
+   * @param buffer rows of this page in the converter step layout
+   */
+  void addColumns(TablePageBuffer buffer) throws KeyGenException {
+    int rowCount = buffer.getRowCount();
+    // 1. dictionary columns, the mdk of each row is split into the keys of the columns
+    KeyGenerator keyGenerator = model.getMDKeyGenerator();
+    ColumnarSplitter splitter = model.getSegmentProperties().getFixedLengthKeySplitter();
+    int[] dictKeys = new int[buffer.getDictDimensionCount()];
+    byte[] firstMdk;
+    byte[] lastMdk;
+    if (dictKeys.length == 0) {
+      // without dictionary columns all the rows have the same empty mdk
+      firstMdk = lastMdk = keyGenerator.generateKey(dictKeys);
+    } else {
+      firstMdk = lastMdk = null;
+      for (int rowId = 0; rowId < rowCount; rowId++) {
+        for (int i = 0; i < dictKeys.length; i++) {
+          dictKeys[i] = buffer.getDictDimension(i, rowId);
+        }
+        byte[] mdk = keyGenerator.generateKey(dictKeys);
+        byte[][] keys = splitter.splitKey(mdk);
+        for (int i = 0; i < dictDimensionPages.length; i++) {
+          dictDimensionPages[i].putData(rowId, keys[i]);
+        }
+        if (rowId == 0) {
+          firstMdk = mdk;
+        }
+        lastMdk = mdk;
+      }
+    }
+
+    // 2. noDictionary columns and complex columns
+    for (int i = 0; i < noDictDimensionPages.length; i++) {
+      ColumnPage page = noDictDimensionPages[i];
+      for (int rowId = 0; rowId < rowCount; rowId++) {
+        page.putData(rowId, addLengthToByteArray(buffer.getNoDictOrComplexDimension(i, rowId)));
+      }
+    }
+    for (int i = 0; i < complexDimensionPages.length; i++) {
+      int column = noDictDimensionPages.length + i;
+      for (int rowId = 0; rowId < rowCount; rowId++) {
+        addComplexColumn(i, rowId, buffer.getNoDictOrComplexDimension(column, rowId));
+      }
+    }
+
+    // 3. measure columns
+    for (int i = 0; i < measurePages.length; i++) {
+      ColumnPage page = measurePages[i];
+      for (int rowId = 0; rowId < rowCount; rowId++) {
+        page.putData(rowId, buffer.getMeasure(i, rowId));
+      }
+    }
+
+    key.update(0, buffer.getNoDictAndComplexDimensions(0), firstMdk);
+    if (rowCount > 1) {
+      key.update(rowCount - 1, buffer.getNoDictAndComplexDimensions(rowCount - 1), lastMdk);
+    }
+  }
+
   // convert the input row object to columnar data and add to column pages
   private void convertToColumnarAndAddToPages(int rowId, CarbonRow row, byte[] mdk)
       throws KeyGenException {
@@ -317,7 +384,7 @@ public class TablePage {
           break;
         case COMPLEX:
           EncodedColumnPage[] encodedPages = ColumnPageEncoder.encodeComplexColumn(
-              complexDimensionPages[complexDimIndex++]);
+              complexDimensionPages[complexDimIndex++], model.getColumnCompressor());
           encodedComplexDimenions.addAll(Arrays.asList(encodedPages));
           break;
         default:
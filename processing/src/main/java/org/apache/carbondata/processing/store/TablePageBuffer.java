@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.store;
+
+import org.apache.carbondata.core.datastore.row.CarbonRow;
+
+/**
+ * Holds the rows of one page as produced by the converter step, column by column, until they
+ * are added to a {@link TablePage}. Used by no sort load so that the rows are not packed into
+ * the write step row format and transposed again row by row.
+ *
+ * Input row layout: dictionary and no dictionary dimensions in schema order, then complex
+ * columns, then measures.
+ */
+class TablePageBuffer {
+
+  private boolean[] isNoDictionaryDimensionColumn;
+
+  // surrogate keys of dictionary dimensions, [column][rowId]
+  private int[][] dictDimensions;
+
+  // no dictionary dimensions followed by complex columns, [column][rowId]
+  private byte[][][] noDictAndComplexDimensions;
+
+  // [column][rowId]
+  private Object[][] measures;
+
+  private int rowCount;
+
+  TablePageBuffer(CarbonFactDataHandlerModel model, int capacity) {
+    this.isNoDictionaryDimensionColumn = model.getIsNoDictionaryDimensionColumn();
+    int noDictionaryCount = 0;
+    for (boolean isNoDictionary : isNoDictionaryDimensionColumn) {
+      if (isNoDictionary) {
+        noDictionaryCount++;
+      }
+    }
+    dictDimensions = new int[isNoDictionaryDimensionColumn.length - noDictionaryCount][capacity];
+    noDictAndComplexDimensions =
+        new byte[noDictionaryCount + model.getComplexColumnCount()][capacity][];
+    measures = new Object[model.getMeasureCount()][capacity];
+  }
+
+  /**
+   * Append the row after the rows already added
+   */
+  void addRow(CarbonRow row) {
+    Object[] data = row.getData();
+    int dictIndex = 0;
+    int noDictIndex = 0;
+    int columnIndex = 0;
+    for (; columnIndex < isNoDictionaryDimensionColumn.length; columnIndex++) {
+      if (isNoDictionaryDimensionColumn[columnIndex]) {
+        noDictAndComplexDimensions[noDictIndex++][rowCount] = (byte[]) data[columnIndex];
+      } else {
+        dictDimensions[dictIndex++][rowCount] = (int) data[columnIndex];
+      }
+    }
+    for (; noDictIndex < noDictAndComplexDimensions.length; noDictIndex++) {
+      noDictAndComplexDimensions[noDictIndex][rowCount] = (byte[]) data[columnIndex++];
+    }
+    for (int i = 0; i < measures.length; i++) {
+      measures[i][rowCount] = data[columnIndex++];
+    }
+    rowCount++;
+  }
+
+  int getRowCount() {
+    return rowCount;
+  }
+
+  int getDictDimensionCount() {
+    return dictDimensions.length;
+  }
+
+  int getDictDimension(int column, int rowId) {
+    return dictDimensions[column][rowId];
+  }
+
+  byte[] getNoDictOrComplexDimension(int column, int rowId) {
+    return noDictAndComplexDimensions[column][rowId];
+  }
+
+  /**
+   * Return the no dictionary and complex columns of the row, in the write step row layout
+   */
+  byte[][] getNoDictAndComplexDimensions(int rowId) {
+    byte[][] row = new byte[noDictAndComplexDimensions.length][];
+    for (int i = 0; i < row.length; i++) {
+      row[i] = noDictAndComplexDimensions[i][rowId];
+    }
+    return row;
+  }
+
+  Object getMeasure(int column, int rowId) {
+    return measures[column][rowId];
+  }
+}
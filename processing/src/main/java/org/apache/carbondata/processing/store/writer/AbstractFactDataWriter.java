@@ -30,6 +30,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.carbondata.common.logging.LogService;
@@ -152,6 +153,21 @@ public abstract class AbstractFactDataWriter implements CarbonFactDataWriter {
    */
   private boolean enableDirectlyWriteData2Hdfs = false;
 
+  /**
+   * executor which writes the buffered fact data to hdfs when writing directly to hdfs
+   */
+  private ExecutorService uploadExecutorService;
+
+  /**
+   * bounds the fact data buffered but not yet written to hdfs, shared by all files
+   */
+  private Semaphore inFlightBytes;
+
+  /**
+   * size of one buffer of the pipelined hdfs write
+   */
+  private int uploadBufferSize;
+
   public AbstractFactDataWriter(CarbonFactDataHandlerModel model) {
     this.model = model;
     blockIndexInfoList = new ArrayList<>();
@@ -177,13 +193,34 @@ public abstract class AbstractFactDataWriter implements CarbonFactDataWriter {
         CarbonLoadOptionConstants.ENABLE_CARBON_LOAD_DIRECT_WRITE_HDFS_DEFAULT);
     this.enableDirectlyWriteData2Hdfs = "TRUE".equalsIgnoreCase(directlyWriteData2Hdfs);
 
+    int numberOfCompleteThreads = 1;
     if (enableDirectlyWriteData2Hdfs) {
       LOGGER.info("Carbondata will directly write fact data to HDFS.");
+      numberOfCompleteThreads = getPositiveIntProperty(
+          CarbonLoadOptionConstants.CARBON_LOAD_DIRECT_WRITE_THREADS,
+          CarbonLoadOptionConstants.CARBON_LOAD_DIRECT_WRITE_THREADS_DEFAULT);
+      int maxInFlightBytes = (int) Math.min(Integer.MAX_VALUE, (long) getPositiveIntProperty(
+          CarbonLoadOptionConstants.CARBON_LOAD_DIRECT_WRITE_MAX_INFLIGHT_SIZE_IN_MB,
+          CarbonLoadOptionConstants.CARBON_LOAD_DIRECT_WRITE_MAX_INFLIGHT_SIZE_IN_MB_DEFAULT)
+          * CarbonCommonConstants.BYTE_TO_KB_CONVERSION_FACTOR
+          * CarbonCommonConstants.BYTE_TO_KB_CONVERSION_FACTOR);
+      // one buffer can never be more than the inflight limit, else the writer waits forever
+      this.uploadBufferSize = (int) Math.min(maxInFlightBytes, (long) getPositiveIntProperty(
+          CarbonLoadOptionConstants.CARBON_LOAD_DIRECT_WRITE_BUFFER_SIZE_IN_MB,
+          CarbonLoadOptionConstants.CARBON_LOAD_DIRECT_WRITE_BUFFER_SIZE_IN_MB_DEFAULT)
+          * CarbonCommonConstants.BYTE_TO_KB_CONVERSION_FACTOR
+          * CarbonCommonConstants.BYTE_TO_KB_CONVERSION_FACTOR);
+      this.inFlightBytes = new Semaphore(maxInFlightBytes);
+      this.uploadExecutorService = Executors.newFixedThreadPool(numberOfCompleteThreads,
+          new CarbonThreadFactory("FactDataUploadPool:" + this.model.getTableName()));
+      LOGGER.info("Fact data will be written to HDFS in buffers of " + uploadBufferSize
+          + " bytes, with at most " + maxInFlightBytes + " bytes in flight and "
+          + numberOfCompleteThreads + " files in parallel");
     } else {
       LOGGER.info("Carbondata will write temporary fact data to local disk.");
     }
 
-    this.executorService = Executors.newFixedThreadPool(1,
+    this.executorService = Executors.newFixedThreadPool(numberOfCompleteThreads,
         new CarbonThreadFactory("CompleteHDFSBackendPool:" + this.model.getTableName()));
     executorServiceSubmitList = new ArrayList<>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
     // in case of compaction we will pass the cardinality.
@@ -215,6 +252,21 @@ public abstract class AbstractFactDataWriter implements CarbonFactDataWriter {
     listener = this.model.getDataMapWriterlistener();
   }
 
+  private static int getPositiveIntProperty(String property, String defaultValue) {
+    String value = CarbonProperties.getInstance().getProperty(property, defaultValue);
+    try {
+      int intValue = Integer.parseInt(value.trim());
+      if (intValue > 0) {
+        return intValue;
+      }
+    } catch (NumberFormatException e) {
+      // fall through to use the default value
+    }
+    LOGGER.warn("The value \"" + value + "\" configured for " + property
+        + " is invalid. Using the default value \"" + defaultValue + "\"");
+    return Integer.parseInt(defaultValue);
+  }
+
   /**
    * This method will be used to update the file channel with new file if exceeding block size
    * threshold, new file will be created once existing file reached the file size limit This
@@ -274,15 +326,29 @@ public abstract class AbstractFactDataWriter implements CarbonFactDataWriter {
    */
   protected void commitCurrentFile(boolean copyInCurrentThread) {
     notifyDataMapBlockEnd();
-    CarbonUtil.closeStreams(this.fileOutputStream, this.fileChannel);
-    if (!enableDirectlyWriteData2Hdfs) {
+    if (enableDirectlyWriteData2Hdfs) {
+      // closing the channel waits for the pending uploads of this file, so let it run in
+      // background and start encoding the next file
       if (copyInCurrentThread) {
-        CarbonUtil.copyCarbonDataFileToCarbonStorePath(carbonDataFileTempPath,
-            model.getCarbonDataDirectoryPath(), fileSizeInBytes);
+        try {
+          this.fileChannel.close();
+        } catch (IOException e) {
+          throw new CarbonDataWriterException(
+              "Problem while writing the carbondata file: " + carbonDataFileHdfsPath, e);
+        }
       } else {
         executorServiceSubmitList.add(executorService.submit(
-            new CompleteHdfsBackendThread(carbonDataFileTempPath)));
+            new CloseChannelThread(this.fileChannel)));
       }
+      return;
+    }
+    CarbonUtil.closeStreams(this.fileOutputStream, this.fileChannel);
+    if (copyInCurrentThread) {
+      CarbonUtil.copyCarbonDataFileToCarbonStorePath(carbonDataFileTempPath,
+          model.getCarbonDataDirectoryPath(), fileSizeInBytes);
+    } else {
+      executorServiceSubmitList.add(executorService.submit(
+          new CompleteHdfsBackendThread(carbonDataFileTempPath)));
     }
   }
 
@@ -318,7 +384,12 @@ public abstract class AbstractFactDataWriter implements CarbonFactDataWriter {
 
       this.fileCount++;
       // open channel for new data file
-      this.fileChannel = Channels.newChannel(fileOutputStream);
+      if (enableDirectlyWriteData2Hdfs) {
+        this.fileChannel = new PipelinedFileChannel(fileOutputStream, uploadExecutorService,
+            inFlightBytes, uploadBufferSize);
+      } else {
+        this.fileChannel = Channels.newChannel(fileOutputStream);
+      }
       this.currentOffsetInFile = 0;
     } catch (IOException ex) {
       throw new CarbonDataWriterException(
@@ -430,6 +501,10 @@ public abstract class AbstractFactDataWriter implements CarbonFactDataWriter {
       }
     } catch (InterruptedException | ExecutionException | IOException e) {
       throw new CarbonDataWriterException(e);
+    } finally {
+      if (null != uploadExecutorService) {
+        uploadExecutorService.shutdownNow();
+      }
     }
   }
 
@@ -465,4 +540,23 @@ public abstract class AbstractFactDataWriter implements CarbonFactDataWriter {
       return null;
     }
   }
+
+  /**
+   * This method will wait for the pending asynchronous writes of a carbon data file which is
+   * written directly to hdfs and close it.
+   */
+  private static final class CloseChannelThread implements Callable<Void> {
+
+    private WritableByteChannel channel;
+
+    private CloseChannelThread(WritableByteChannel channel) {
+      this.channel = channel;
+    }
+
+    @Override
+    public Void call() throws Exception {
+      channel.close();
+      return null;
+    }
+  }
 }
@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.store.writer;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Channel which pipelines the writing of a carbondata file to the target file system.
+ * Written bytes are collected in fixed size buffers, and every full buffer is handed over to
+ * an upload executor while the caller continues encoding the next blocklet. Buffers of one
+ * file are always written in order, but buffers of different files may be written
+ * concurrently. The number of bytes waiting for upload is bounded by a semaphore which is
+ * shared by all the files of one writer, so a slow file system throttles the producer instead
+ * of exhausting the memory.
+ */
+public class PipelinedFileChannel implements WritableByteChannel {
+
+  private final OutputStream outputStream;
+
+  private final Executor uploadExecutor;
+
+  /**
+   * bounds the bytes buffered but not yet written to the output stream
+   */
+  private final Semaphore inFlightBytes;
+
+  private final int bufferSize;
+
+  /**
+   * buffers whose content is written already, reused for next data
+   */
+  private final Queue<byte[]> freeBuffers = new ConcurrentLinkedQueue<>();
+
+  /**
+   * pending upload tasks of this file, executed one after another
+   */
+  private final Queue<Runnable> uploadTasks = new ArrayDeque<>();
+
+  private boolean uploadRunning;
+
+  private int pendingUploads;
+
+  private volatile IOException uploadException;
+
+  private byte[] currentBuffer;
+
+  private int currentPosition;
+
+  private boolean closed;
+
+  /**
+   * @param outputStream   stream of the target file, it will be closed with this channel
+   * @param uploadExecutor executor which writes the buffers to the output stream
+   * @param inFlightBytes  permits in bytes, shared by all channels of one writer
+   * @param bufferSize     size of each buffer, it can not be more than the permits
+   */
+  public PipelinedFileChannel(OutputStream outputStream, Executor uploadExecutor,
+      Semaphore inFlightBytes, int bufferSize) {
+    this.outputStream = outputStream;
+    this.uploadExecutor = uploadExecutor;
+    this.inFlightBytes = inFlightBytes;
+    this.bufferSize = bufferSize;
+  }
+
+  @Override public int write(ByteBuffer src) throws IOException {
+    if (closed) {
+      throw new ClosedChannelException();
+    }
+    checkUploadException();
+    int written = src.remaining();
+    while (src.hasRemaining()) {
+      if (null == currentBuffer) {
+        currentBuffer = acquireBuffer();
+        currentPosition = 0;
+      }
+      int length = Math.min(src.remaining(), bufferSize - currentPosition);
+      src.get(currentBuffer, currentPosition, length);
+      currentPosition += length;
+      if (currentPosition == bufferSize) {
+        submitCurrentBuffer();
+      }
+    }
+    return written;
+  }
+
+  @Override public boolean isOpen() {
+    return !closed;
+  }
+
+  /**
+   * Writes the remaining buffer, waits till all the buffers of this file are written and
+   * closes the output stream. Any failure of the asynchronous upload is thrown here.
+   */
+  @Override public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      if (null != currentBuffer) {
+        if (currentPosition > 0) {
+          submitCurrentBuffer();
+        } else {
+          releaseBuffer(currentBuffer);
+          currentBuffer = null;
+        }
+      }
+      synchronized (uploadTasks) {
+        while (pendingUploads > 0) {
+          uploadTasks.wait();
+        }
+      }
+    } catch (InterruptedException e) {
+      throw new InterruptedIOException("Interrupted while waiting for the file upload");
+    } finally {
+      outputStream.close();
+      freeBuffers.clear();
+    }
+    checkUploadException();
+  }
+
+  private byte[] acquireBuffer() throws IOException {
+    try {
+      inFlightBytes.acquire(bufferSize);
+    } catch (InterruptedException e) {
+      throw new InterruptedIOException("Interrupted while waiting for the file upload");
+    }
+    byte[] buffer = freeBuffers.poll();
+    return null == buffer ? new byte[bufferSize] : buffer;
+  }
+
+  private void releaseBuffer(byte[] buffer) {
+    freeBuffers.offer(buffer);
+    inFlightBytes.release(bufferSize);
+  }
+
+  private void submitCurrentBuffer() {
+    final byte[] buffer = currentBuffer;
+    final int length = currentPosition;
+    currentBuffer = null;
+    currentPosition = 0;
+    synchronized (uploadTasks) {
+      pendingUploads++;
+      uploadTasks.offer(new Runnable() {
+        @Override public void run() {
+          try {
+            // once an upload failed the rest of the file is useless, only free the buffers
+            if (null == uploadException) {
+              outputStream.write(buffer, 0, length);
+            }
+          } catch (IOException e) {
+            uploadException = e;
+          } finally {
+            releaseBuffer(buffer);
+          }
+        }
+      });
+      if (!uploadRunning) {
+        scheduleNextUpload();
+      }
+    }
+  }
+
+  /**
+   * Schedules the head of the upload queue, must be called while holding the queue lock
+   */
+  private void scheduleNextUpload() {
+    final Runnable task = uploadTasks.poll();
+    if (null == task) {
+      uploadRunning = false;
+      return;
+    }
+    uploadRunning = true;
+    try {
+      uploadExecutor.execute(new Runnable() {
+        @Override public void run() {
+          try {
+            task.run();
+          } finally {
+            synchronized (uploadTasks) {
+              pendingUploads--;
+              uploadTasks.notifyAll();
+              scheduleNextUpload();
+            }
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      uploadException = new IOException("File upload executor is already shut down", e);
+      // the failure is recorded already, so the remaining tasks only free their buffers
+      Runnable pending = task;
+      while (null != pending) {
+        pending.run();
+        pendingUploads--;
+        pending = uploadTasks.poll();
+      }
+      uploadRunning = false;
+      uploadTasks.notifyAll();
+    }
+  }
+
+  private void checkUploadException() throws IOException {
+    IOException exception = uploadException;
+    if (null != exception) {
+      throw new IOException("Problem while writing the file asynchronously", exception);
+    }
+  }
+}
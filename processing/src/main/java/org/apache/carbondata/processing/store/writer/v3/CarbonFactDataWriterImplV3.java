@@ -302,6 +302,46 @@ public class CarbonFactDataWriterImplV3 extends AbstractFactDataWriter {
     blockletMetadata.add(blockletInfo3);
   }
 
+  /**
+   * Below method will be used to append an already encoded blocklet, read as is from
+   * another carbondata file, to the current file. Only the chunk offsets in the blocklet
+   * info are rebased to the position in the new file, page data and data chunk headers are
+   * copied byte for byte.
+   *
+   * @param blockletData  encoded blocklet data starting at the first column data chunk
+   * @param sourceInfo    blocklet info of the blocklet in the source file
+   * @param sourceIndex   min/max and start/end key index of the blocklet in the source file
+   */
+  public void writeEncodedBlocklet(ByteBuffer blockletData, BlockletInfo3 sourceInfo,
+      org.apache.carbondata.format.BlockletIndex sourceIndex) throws CarbonDataWriterException {
+    createNewFileIfReachThreshold(blockletData.remaining());
+    try {
+      if (currentOffsetInFile == 0) {
+        // write the header if file is empty
+        writeHeaderToFile();
+      }
+      long delta = currentOffsetInFile - sourceInfo.getColumn_data_chunks_offsets().get(0);
+      while (blockletData.hasRemaining()) {
+        currentOffsetInFile += fileChannel.write(blockletData);
+      }
+      List<Long> dataChunksOffset =
+          new ArrayList<>(sourceInfo.getColumn_data_chunks_offsets().size());
+      for (Long chunkOffset : sourceInfo.getColumn_data_chunks_offsets()) {
+        dataChunksOffset.add(chunkOffset + delta);
+      }
+      BlockletInfo3 blockletInfo3 = new BlockletInfo3(sourceInfo.getNum_rows(), dataChunksOffset,
+          new ArrayList<>(sourceInfo.getColumn_data_chunks_length()),
+          sourceInfo.getDimension_offsets() + delta, sourceInfo.getMeasure_offsets() + delta,
+          sourceInfo.getNumber_number_of_pages());
+      blockletIndex.add(sourceIndex);
+      blockletMetadata.add(blockletInfo3);
+      blockletId++;
+    } catch (IOException e) {
+      LOGGER.error(e, "Problem while writing file");
+      throw new CarbonDataWriterException("Problem while writing file", e);
+    }
+  }
+
   /**
    * Below method will be used to fill the block info details
    *
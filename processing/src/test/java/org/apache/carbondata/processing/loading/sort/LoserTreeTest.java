@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
+import org.apache.carbondata.processing.loading.sort.unsafe.holder.RangeBoundedChunkHolder;
+import org.apache.carbondata.processing.loading.sort.unsafe.holder.SortTempChunkHolder;
+import org.apache.carbondata.processing.sort.exception.CarbonSortKeyAndGroupByException;
+import org.apache.carbondata.processing.sort.sortdata.IntermediateSortTempRowComparator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LoserTreeTest {
+
+  private static final IntermediateSortTempRowComparator COMPARATOR =
+      new IntermediateSortTempRowComparator(new boolean[] { false });
+
+  @Test public void testMergeOfSortedSources() throws Exception {
+    Random random = new Random(3);
+    for (int numSources : new int[] { 1, 2, 3, 5, 8, 13 }) {
+      List<Integer> expected = new ArrayList<>();
+      List<SortTempChunkHolder> holders = new ArrayList<>();
+      for (int i = 0; i < numSources; i++) {
+        int[] values = new int[random.nextInt(50) + 1];
+        for (int j = 0; j < values.length; j++) {
+          values[j] = random.nextInt(20);
+          expected.add(values[j]);
+        }
+        holders.add(new ListChunkHolder(values));
+      }
+      Collections.sort(expected);
+      Assert.assertEquals(expected, merge(holders));
+    }
+  }
+
+  @Test public void testEmptyTree() {
+    LoserTree<SortTempChunkHolder> tree =
+        new LoserTree<>(Collections.<SortTempChunkHolder>emptyList());
+    Assert.assertEquals(0, tree.size());
+    Assert.assertNull(tree.peek());
+  }
+
+  @Test public void testTiesAreReturnedInSourceOrder() {
+    List<SortTempChunkHolder> holders = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      holders.add(new ListChunkHolder(new int[] { 1 }));
+    }
+    LoserTree<SortTempChunkHolder> tree = new LoserTree<>(readFirstRows(holders));
+    for (int i = 0; i < 4; i++) {
+      Assert.assertSame(holders.get(i), tree.peek());
+      tree.removeTop();
+    }
+    Assert.assertEquals(0, tree.size());
+  }
+
+  @Test public void testRangesPartitionTheMerge() throws Exception {
+    int[][] sources = { { 1, 2, 2, 5, 9 }, { 0, 2, 3, 3, 7, 8 }, { 5, 5, 5 }, { 10 } };
+    IntermediateSortTempRow[] boundaries = { createRow(2), createRow(5), createRow(6) };
+    List<Integer> merged = new ArrayList<>();
+    List<AtomicInteger> references = new ArrayList<>();
+    for (int i = 0; i < sources.length; i++) {
+      references.add(new AtomicInteger(boundaries.length + 1));
+    }
+    for (int range = 0; range <= boundaries.length; range++) {
+      IntermediateSortTempRow lower = range == 0 ? null : boundaries[range - 1];
+      IntermediateSortTempRow upper = range == boundaries.length ? null : boundaries[range];
+      List<SortTempChunkHolder> holders = new ArrayList<>();
+      for (int i = 0; i < sources.length; i++) {
+        holders.add(new RangeBoundedChunkHolder(new ListChunkHolder(sources[i]), COMPARATOR,
+            lower, upper, references.get(i)));
+      }
+      List<Integer> rangeRows = merge(holders);
+      for (int value : rangeRows) {
+        Assert.assertTrue(null == lower || value >= lower.getDictSortDims()[0]);
+        Assert.assertTrue(null == upper || value < upper.getDictSortDims()[0]);
+      }
+      merged.addAll(rangeRows);
+    }
+    Assert.assertEquals(
+        Arrays.asList(0, 1, 2, 2, 2, 3, 3, 5, 5, 5, 5, 7, 8, 9, 10), merged);
+    for (AtomicInteger reference : references) {
+      Assert.assertEquals(0, reference.get());
+    }
+  }
+
+  private static List<SortTempChunkHolder> readFirstRows(List<SortTempChunkHolder> holders) {
+    List<SortTempChunkHolder> nonEmptyHolders = new ArrayList<>();
+    for (SortTempChunkHolder holder : holders) {
+      if (holder.hasNext()) {
+        try {
+          holder.readRow();
+        } catch (CarbonSortKeyAndGroupByException e) {
+          throw new RuntimeException(e);
+        }
+        nonEmptyHolders.add(holder);
+      } else {
+        holder.close();
+      }
+    }
+    return nonEmptyHolders;
+  }
+
+  private static List<Integer> merge(List<SortTempChunkHolder> holders) throws Exception {
+    LoserTree<SortTempChunkHolder> tree = new LoserTree<>(readFirstRows(holders));
+    List<Integer> result = new ArrayList<>();
+    while (tree.size() > 0) {
+      SortTempChunkHolder holder = tree.peek();
+      result.add(holder.getRow().getDictSortDims()[0]);
+      if (holder.hasNext()) {
+        holder.readRow();
+        tree.adjustTop();
+      } else {
+        holder.close();
+        tree.removeTop();
+      }
+    }
+    return result;
+  }
+
+  private static IntermediateSortTempRow createRow(int value) {
+    return new IntermediateSortTempRow(new int[] { value }, new byte[0][], new byte[0]);
+  }
+
+  /**
+   * holder over sorted values of one dictionary sort column
+   */
+  private static class ListChunkHolder implements SortTempChunkHolder {
+
+    private int[] values;
+
+    private int counter;
+
+    private IntermediateSortTempRow currentRow;
+
+    private ListChunkHolder(int[] values) {
+      this.values = values.clone();
+      Arrays.sort(this.values);
+    }
+
+    @Override public boolean hasNext() {
+      return counter < values.length;
+    }
+
+    @Override public void readRow() {
+      currentRow = createRow(values[counter++]);
+    }
+
+    @Override public IntermediateSortTempRow getRow() {
+      return currentRow;
+    }
+
+    @Override public int numberOfRows() {
+      return values.length;
+    }
+
+    @Override public void close() {
+    }
+
+    @Override public int compareTo(SortTempChunkHolder other) {
+      return COMPARATOR.compare(currentRow, other.getRow());
+    }
+  }
+}
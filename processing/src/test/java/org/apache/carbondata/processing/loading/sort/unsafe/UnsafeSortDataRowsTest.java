@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort.unsafe;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.memory.MemoryBlock;
+import org.apache.carbondata.core.memory.MemoryConsumer;
+import org.apache.carbondata.core.memory.UnsafeMemoryManager;
+import org.apache.carbondata.core.memory.UnsafeSortMemoryManager;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.util.CarbonTaskInfo;
+import org.apache.carbondata.core.util.ThreadLocalTaskInfo;
+import org.apache.carbondata.processing.loading.sort.unsafe.merger.UnsafeIntermediateMerger;
+import org.apache.carbondata.processing.sort.sortdata.SortObserver;
+import org.apache.carbondata.processing.sort.sortdata.SortParameters;
+
+import mockit.Deencapsulation;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class UnsafeSortDataRowsTest {
+
+  /**
+   * size of a row page in MB
+   */
+  private static final int PAGE_SIZE_IN_MB = 1;
+
+  private File tempDir;
+
+  @Before public void setUp() throws IOException {
+    tempDir = File.createTempFile("unsafesort", "");
+    Assert.assertTrue(tempDir.delete());
+    Assert.assertTrue(tempDir.mkdirs());
+  }
+
+  @After public void tearDown() {
+    File[] files = tempDir.listFiles();
+    if (null != files) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    tempDir.delete();
+  }
+
+  @Test public void testBlockedAllocationIsUnblockedBySpill() throws Exception {
+    long taskId = 2001L;
+    setTaskId(taskId);
+    SortParameters parameters = createSortParameters();
+    UnsafeIntermediateMerger merger = new UnsafeIntermediateMerger(parameters);
+    UnsafeSortDataRows sortDataRows = new UnsafeSortDataRows(parameters, merger, PAGE_SIZE_IN_MB);
+    UnsafeMemoryManager manager = UnsafeMemoryManager.INSTANCE;
+    final CountDownLatch writerBlocked = new CountDownLatch(1);
+    MemoryBlock filler = null;
+    try {
+      sortDataRows.initialize();
+      long pageSize = manager.getTaskMemoryUsed(taskId);
+      // keep the sort writer thread busy so that the filled page waits for it
+      ExecutorService executor =
+          Deencapsulation.getField(sortDataRows, "dataSorterAndWriterExecutorService");
+      executor.shutdownNow();
+      ExecutorService busyExecutor = Executors.newSingleThreadExecutor();
+      busyExecutor.submit(new Runnable() {
+        @Override public void run() {
+          try {
+            writerBlocked.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      });
+      Deencapsulation.setField(sortDataRows, "dataSorterAndWriterExecutorService", busyExecutor);
+      // take all the remaining working memory, so the next page can only be allocated after
+      // the filled page is spilled
+      filler = UnsafeMemoryManager
+          .allocateMemoryWithRetry(taskId, manager.getUsableMemory() - manager.getMemoryUsed());
+
+      // every row takes 8 bytes, so the rows fill more than one page but less than two
+      int rowCount = (int) (pageSize / 8);
+      for (int i = 0; i < rowCount; i++) {
+        sortDataRows.addRow(new Object[] { rowCount - i });
+      }
+      Assert.assertEquals(1, listSortTempFiles().length);
+      Assert.assertEquals(filler.size() + pageSize, manager.getTaskMemoryUsed(taskId));
+
+      manager.freeMemory(taskId, filler);
+      writerBlocked.countDown();
+      sortDataRows.startSorting();
+      Assert.assertFalse(parameters.getObserver().isFailed());
+      Assert.assertEquals(0, manager.getTaskMemoryUsed(taskId));
+    } finally {
+      writerBlocked.countDown();
+      merger.close();
+      manager.freeMemoryAll(taskId);
+      UnsafeSortMemoryManager.INSTANCE.freeMemoryAll(taskId);
+    }
+  }
+
+  @Test public void testSpillWithoutPendingPagesReportsNoProgress() throws Exception {
+    long taskId = 2002L;
+    setTaskId(taskId);
+    SortParameters parameters = createSortParameters();
+    UnsafeIntermediateMerger merger = new UnsafeIntermediateMerger(parameters);
+    UnsafeSortDataRows sortDataRows = new UnsafeSortDataRows(parameters, merger, PAGE_SIZE_IN_MB);
+    UnsafeMemoryManager manager = UnsafeMemoryManager.INSTANCE;
+    try {
+      sortDataRows.initialize();
+      long pageSize = manager.getTaskMemoryUsed(taskId);
+      MemoryConsumer consumer = Deencapsulation.getField(sortDataRows, "memoryConsumer");
+      // the page being filled can not be released
+      Assert.assertFalse(consumer.spill(pageSize));
+      Assert.assertEquals(pageSize, manager.getTaskMemoryUsed(taskId));
+      Assert.assertEquals(0, listSortTempFiles().length);
+      sortDataRows.startSorting();
+    } finally {
+      merger.close();
+      manager.freeMemoryAll(taskId);
+      UnsafeSortMemoryManager.INSTANCE.freeMemoryAll(taskId);
+    }
+  }
+
+  private static void setTaskId(long taskId) {
+    CarbonTaskInfo carbonTaskInfo = new CarbonTaskInfo();
+    carbonTaskInfo.setTaskId(taskId);
+    ThreadLocalTaskInfo.setCarbonTaskInfo(carbonTaskInfo);
+  }
+
+  /**
+   * parameters of a table with one dictionary sort column and no measure
+   */
+  private SortParameters createSortParameters() {
+    SortParameters parameters = new SortParameters();
+    parameters.setTempFileLocation(new String[] { tempDir.getAbsolutePath() });
+    parameters.setTableName("spill_test");
+    parameters.setDatabaseName("default");
+    parameters.setDimColCount(1);
+    parameters.setNoDictionaryCount(0);
+    parameters.setComplexDimColCount(0);
+    parameters.setMeasureColCount(0);
+    parameters.setMeasureDataType(new DataType[0]);
+    parameters.setNoDictionaryDimnesionColumn(new boolean[] { false });
+    parameters.setNoDictionarySortColumn(new boolean[] { false });
+    parameters.setNumberOfSortColumns(1);
+    parameters.setNumberOfNoDictSortColumns(0);
+    parameters.setNumberOfCores(1);
+    parameters.setNumberOfIntermediateFileToBeMerged(20);
+    parameters.setFileWriteBufferSize(16 * 1024);
+    parameters.setSortTempCompressorName("");
+    parameters.setObserver(new SortObserver());
+    return parameters;
+  }
+
+  private File[] listSortTempFiles() {
+    File[] files = tempDir.listFiles();
+    int count = 0;
+    for (File file : files) {
+      if (file.getName().endsWith(CarbonCommonConstants.SORT_TEMP_FILE_EXT)) {
+        files[count++] = file;
+      }
+    }
+    File[] sortTempFiles = new File[count];
+    System.arraycopy(files, 0, sortTempFiles, 0, count);
+    return sortTempFiles;
+  }
+}
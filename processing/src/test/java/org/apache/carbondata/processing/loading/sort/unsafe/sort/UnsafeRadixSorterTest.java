@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort.unsafe.sort;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.Random;
+
+import org.apache.carbondata.core.memory.CarbonUnsafe;
+import org.apache.carbondata.core.util.ByteUtil.UnsafeComparer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class UnsafeRadixSorterTest {
+
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+
+  @Test public void testRadixSortIsStableAndUnsigned() {
+    long[] keys = { 5L, -1L, 0L, 5L, Long.MIN_VALUE, 1L << 40, 5L };
+    int[] pointers = { 0, 1, 2, 3, 4, 5, 6 };
+    UnsafeRadixSorter.radixSort(keys, pointers, keys.length);
+    Assert.assertArrayEquals(
+        new long[] { 0L, 5L, 5L, 5L, 1L << 40, Long.MIN_VALUE, -1L }, keys);
+    Assert.assertArrayEquals(new int[] { 2, 0, 3, 6, 5, 4, 1 }, pointers);
+  }
+
+  @Test public void testKeyOrderMatchesRowOrder() {
+    // sort columns: dictionary, no dictionary, dictionary
+    boolean[] noDictFlags = { false, true, false };
+    UnsafeRadixSorter sorter = new UnsafeRadixSorter(null, noDictFlags, 2);
+    Random random = new Random(7);
+    String[] strings = { "", "a", "ab", "ab\u0000", "abc", "abcdefgh", "b", "\u00ff" };
+    int numRows = 200;
+    byte[][] rows = new byte[numRows][];
+    for (int i = 0; i < numRows; i++) {
+      rows[i] = createRow(random.nextInt(3) + 1, strings[random.nextInt(strings.length)],
+          random.nextInt(3) + 1);
+    }
+    for (byte[] left : rows) {
+      for (byte[] right : rows) {
+        long leftKey = sorter.getNormalizedKey(left, CarbonUnsafe.BYTE_ARRAY_OFFSET);
+        long rightKey = sorter.getNormalizedKey(right, CarbonUnsafe.BYTE_ARRAY_OFFSET);
+        if (leftKey != rightKey) {
+          int keyOrder = (leftKey ^ Long.MIN_VALUE) < (rightKey ^ Long.MIN_VALUE) ? -1 : 1;
+          Assert.assertEquals(keyOrder, Integer.signum(compareRows(left, right)));
+        }
+      }
+    }
+  }
+
+  @Test public void testKeyOfDictionaryColumnsIsComplete() {
+    UnsafeRadixSorter sorter = new UnsafeRadixSorter(null, new boolean[] { false, false }, 2);
+    byte[] row = ByteBuffer.allocate(8).order(ByteOrder.nativeOrder()).putInt(3).putInt(9)
+        .array();
+    Assert.assertEquals(((3L | 0x80000000L) << 32) | (9L | 0x80000000L),
+        sorter.getNormalizedKey(row, CarbonUnsafe.BYTE_ARRAY_OFFSET));
+  }
+
+  /**
+   * row layout of the unsafe sort page: dictionary sort columns followed by the length value
+   * encoded no dictionary sort columns
+   */
+  private static byte[] createRow(int firstDict, String noDict, int secondDict) {
+    byte[] value = noDict.getBytes(UTF8);
+    ByteBuffer row = ByteBuffer.allocate(8 + 2 + value.length).order(ByteOrder.nativeOrder());
+    row.putInt(firstDict).putInt(secondDict).putShort((short) value.length).put(value);
+    return row.array();
+  }
+
+  private static int compareRows(byte[] left, byte[] right) {
+    ByteBuffer leftBuffer = ByteBuffer.wrap(left).order(ByteOrder.nativeOrder());
+    ByteBuffer rightBuffer = ByteBuffer.wrap(right).order(ByteOrder.nativeOrder());
+    int diff = leftBuffer.getInt(0) - rightBuffer.getInt(0);
+    if (diff != 0) {
+      return diff;
+    }
+    diff = UnsafeComparer.INSTANCE.compareTo(left, 10, leftBuffer.getShort(8), right, 10,
+        rightBuffer.getShort(8));
+    if (diff != 0) {
+      return diff;
+    }
+    return leftBuffer.getInt(4) - rightBuffer.getInt(4);
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.store.writer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PipelinedFileChannelTest {
+
+  private ExecutorService executorService;
+
+  @Before public void setUp() {
+    executorService = Executors.newFixedThreadPool(2);
+  }
+
+  @After public void tearDown() {
+    executorService.shutdownNow();
+  }
+
+  @Test public void testWriteKeepsOrderAcrossBuffers() throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    Semaphore inFlightBytes = new Semaphore(16);
+    PipelinedFileChannel channel =
+        new PipelinedFileChannel(outputStream, executorService, inFlightBytes, 8);
+    byte[] expected = new byte[100];
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = (byte) i;
+    }
+    int written = 0;
+    for (int i = 0; i < expected.length; i += 7) {
+      int length = Math.min(7, expected.length - i);
+      written += channel.write(ByteBuffer.wrap(expected, i, length));
+    }
+    channel.close();
+    Assert.assertEquals(expected.length, written);
+    Assert.assertArrayEquals(expected, outputStream.toByteArray());
+    Assert.assertEquals(16, inFlightBytes.availablePermits());
+    Assert.assertFalse(channel.isOpen());
+  }
+
+  @Test public void testUploadFailureIsThrownOnClose() throws IOException {
+    OutputStream failingStream = new OutputStream() {
+      @Override public void write(int b) throws IOException {
+        throw new IOException("disk full");
+      }
+    };
+    Semaphore inFlightBytes = new Semaphore(8);
+    PipelinedFileChannel channel =
+        new PipelinedFileChannel(failingStream, executorService, inFlightBytes, 4);
+    channel.write(ByteBuffer.wrap(new byte[10]));
+    try {
+      channel.close();
+      Assert.fail("upload failure should be thrown");
+    } catch (IOException e) {
+      Assert.assertEquals("disk full", e.getCause().getMessage());
+    }
+    Assert.assertEquals(8, inFlightBytes.availablePermits());
+  }
+}
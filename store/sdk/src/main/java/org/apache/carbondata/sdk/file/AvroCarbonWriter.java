@@ -77,15 +77,19 @@ public class AvroCarbonWriter extends CarbonWriter {
     List<Schema.Field> fields = avroSchema.getFields();
     List<Object> csvFields = new ArrayList<>();
     for (int i = 0; i < fields.size(); i++) {
-      Object field = avroFieldToObject(fields.get(i), avroRecord.get(i));
-      if (field != null) {
-        csvFields.add(field);
+      // fields of NULL type are not in the carbon schema, null values of other fields are
+      // kept so that the values stay in the order of the schema
+      if (fields.get(i).schema().getType() != Schema.Type.NULL) {
+        csvFields.add(avroFieldToObject(fields.get(i), avroRecord.get(i)));
       }
     }
     return csvFields.toArray();
   }
 
   private Object avroFieldToObject(Schema.Field avroField, Object fieldValue) {
+    if (fieldValue == null) {
+      return null;
+    }
     Object out;
     Schema.Type type = avroField.schema().getType();
     switch (type) {
@@ -18,66 +18,237 @@
 package org.apache.carbondata.sdk.file;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.carbondata.common.annotations.InterfaceAudience;
 import org.apache.carbondata.common.annotations.InterfaceStability;
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.metadata.converter.SchemaConverter;
 import org.apache.carbondata.core.metadata.converter.ThriftWrapperSchemaConverterImpl;
 import org.apache.carbondata.core.metadata.schema.table.TableInfo;
 import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
 import org.apache.carbondata.core.reader.CarbonHeaderReader;
+import org.apache.carbondata.core.util.CarbonTaskInfo;
+import org.apache.carbondata.core.util.CarbonThreadFactory;
 import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.core.util.ThreadLocalTaskInfo;
 
+import org.apache.hadoop.mapreduce.InputSplit;
 import org.apache.hadoop.mapreduce.RecordReader;
 
 /**
- * Reader for carbondata file
+ * Reader for carbondata file.
+ *
+ * The record reader of a split is created only when the reader reaches that split and is closed
+ * when it is exhausted. With more than one read thread the splits are read concurrently and the
+ * values are handed over through a bounded queue, in which case the order of the values across
+ * splits is not preserved.
  */
 @InterfaceAudience.User
 @InterfaceStability.Evolving
 public class CarbonReader<T> {
 
-  private List<RecordReader<Void, T>> readers;
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(CarbonReader.class.getName());
+
+  private List<InputSplit> splits;
+
+  private RecordReaderFactory<T> readerFactory;
 
   private RecordReader<Void, T> currentReader;
 
+  /**
+   * task id of the split read by the current reader
+   */
+  private CarbonTaskInfo currentTaskInfo;
+
   private int index;
 
+  private int numThreads;
+
   /**
-   * Call {@link #builder(String)} to construct an instance
+   * number of values read by a thread before they are handed over to the queue
    */
-  CarbonReader(List<RecordReader<Void, T>> readers) {
-    if (readers.size() == 0) {
+  private int chunkSize;
+
+  private ExecutorService executorService;
+
+  /**
+   * chunks of values read by the read threads, bounded so that the threads do not run too far
+   * ahead of the consumer
+   */
+  private BlockingQueue<List<T>> prefetchQueue;
+
+  private AtomicInteger nextSplit;
+
+  private AtomicInteger finishedThreads;
+
+  private AtomicReference<Throwable> failure;
+
+  private List<T> currentChunk;
+
+  private int chunkIndex;
+
+  /**
+   * Call {@link #builder(String, String)} to construct an instance
+   */
+  CarbonReader(List<InputSplit> splits, RecordReaderFactory<T> readerFactory, int numThreads,
+      int prefetchSize, int chunkSize) {
+    if (splits.size() == 0) {
       throw new IllegalArgumentException("no reader");
     }
-    this.readers = readers;
+    this.splits = splits;
+    this.readerFactory = readerFactory;
     this.index = 0;
-    this.currentReader = readers.get(0);
+    this.numThreads = Math.min(numThreads, splits.size());
+    this.chunkSize = chunkSize;
+    if (this.numThreads > 1) {
+      startReadThreads(prefetchSize);
+    }
+  }
+
+  private void startReadThreads(int prefetchSize) {
+    prefetchQueue = new ArrayBlockingQueue<>(prefetchSize);
+    nextSplit = new AtomicInteger(0);
+    finishedThreads = new AtomicInteger(0);
+    failure = new AtomicReference<>();
+    executorService =
+        Executors.newFixedThreadPool(numThreads, new CarbonThreadFactory("CarbonReaderPool"));
+    for (int i = 0; i < numThreads; i++) {
+      executorService.submit(new Runnable() {
+        @Override public void run() {
+          try {
+            while (failure.get() == null) {
+              int splitIndex = nextSplit.getAndIncrement();
+              if (splitIndex >= splits.size()) {
+                break;
+              }
+              readSplit(splits.get(splitIndex));
+            }
+          } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+          } finally {
+            finishedThreads.incrementAndGet();
+          }
+        }
+      });
+    }
+    // let the threads exit once all the splits are read
+    executorService.shutdown();
+  }
+
+  /**
+   * Read all the values of the split into the prefetch queue, called in a read thread
+   */
+  private void readSplit(InputSplit split) throws IOException, InterruptedException {
+    ThreadLocalTaskInfo.setCarbonTaskInfo(newTaskInfo());
+    RecordReader<Void, T> reader = readerFactory.createReader(split);
+    try {
+      List<T> chunk = new ArrayList<>(chunkSize);
+      while (reader.nextKeyValue()) {
+        chunk.add(reader.getCurrentValue());
+        if (chunk.size() == chunkSize) {
+          prefetchQueue.put(chunk);
+          chunk = new ArrayList<>(chunkSize);
+        }
+      }
+      if (chunk.size() > 0) {
+        prefetchQueue.put(chunk);
+      }
+    } finally {
+      reader.close();
+    }
+  }
+
+  /**
+   * The unsafe memory of a query is released by task id when its reader is closed, so every
+   * split needs its own task id rather than the one of the calling thread, which also holds
+   * the memory of the datamaps loaded while building the reader
+   */
+  private static CarbonTaskInfo newTaskInfo() {
+    CarbonTaskInfo carbonTaskInfo = new CarbonTaskInfo();
+    carbonTaskInfo.setTaskId(System.nanoTime());
+    return carbonTaskInfo;
   }
 
   /**
    * Return true if has next row
    */
   public boolean hasNext() throws IOException, InterruptedException {
-    if (currentReader.nextKeyValue()) {
+    if (executorService != null) {
+      return hasNextInQueue();
+    }
+    CarbonTaskInfo callerTaskInfo = ThreadLocalTaskInfo.getCarbonTaskInfo();
+    try {
+      while (true) {
+        if (currentReader != null) {
+          ThreadLocalTaskInfo.setCarbonTaskInfo(currentTaskInfo);
+          if (currentReader.nextKeyValue()) {
+            return true;
+          }
+          currentReader.close();
+          currentReader = null;
+        }
+        if (index == splits.size()) {
+          // no more readers
+          return false;
+        }
+        currentTaskInfo = newTaskInfo();
+        ThreadLocalTaskInfo.setCarbonTaskInfo(currentTaskInfo);
+        currentReader = readerFactory.createReader(splits.get(index));
+        index++;
+      }
+    } finally {
+      ThreadLocalTaskInfo.setCarbonTaskInfo(callerTaskInfo);
+    }
+  }
+
+  private boolean hasNextInQueue() throws IOException, InterruptedException {
+    if (currentChunk != null && chunkIndex < currentChunk.size()) {
       return true;
-    } else {
-      if (index == readers.size() - 1) {
-        // no more readers
+    }
+    currentChunk = null;
+    while (true) {
+      checkFailure();
+      List<T> chunk = prefetchQueue.poll(10, TimeUnit.MILLISECONDS);
+      if (chunk != null) {
+        currentChunk = chunk;
+        chunkIndex = 0;
+        return true;
+      }
+      // a thread puts its last chunk before it is counted as finished
+      if (finishedThreads.get() == numThreads && prefetchQueue.isEmpty()) {
+        checkFailure();
         return false;
-      } else {
-        index++;
-        currentReader = readers.get(index);
-        return currentReader.nextKeyValue();
       }
     }
   }
 
+  private void checkFailure() throws IOException {
+    Throwable e = failure.get();
+    if (e instanceof IOException) {
+      throw (IOException) e;
+    } else if (e != null) {
+      throw new IOException(e);
+    }
+  }
+
   /**
    * Read and return next row object
    */
   public T readNextRow() throws IOException, InterruptedException {
+    if (executorService != null) {
+      return currentChunk.get(chunkIndex++);
+    }
     return currentReader.getCurrentValue();
   }
 
@@ -111,6 +282,27 @@ public class CarbonReader<T> {
    * @throws IOException
    */
   public void close() throws IOException {
-    this.currentReader.close();
+    if (executorService != null) {
+      // interrupt the threads waiting on the full queue, they close their readers on exit
+      executorService.shutdownNow();
+      try {
+        if (!executorService.awaitTermination(1, TimeUnit.MINUTES)) {
+          LOGGER.warn("Timed out waiting for the read threads of carbon reader to finish");
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      prefetchQueue.clear();
+      currentChunk = null;
+    } else if (currentReader != null) {
+      CarbonTaskInfo callerTaskInfo = ThreadLocalTaskInfo.getCarbonTaskInfo();
+      ThreadLocalTaskInfo.setCarbonTaskInfo(currentTaskInfo);
+      try {
+        currentReader.close();
+      } finally {
+        ThreadLocalTaskInfo.setCarbonTaskInfo(callerTaskInfo);
+      }
+      currentReader = null;
+    }
   }
 }
@@ -18,15 +18,18 @@
 package org.apache.carbondata.sdk.file;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
 import org.apache.carbondata.common.annotations.InterfaceAudience;
 import org.apache.carbondata.common.annotations.InterfaceStability;
+import org.apache.carbondata.core.datamap.DataMapStoreManager;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
 import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnarBatch;
 import org.apache.carbondata.hadoop.CarbonProjection;
 import org.apache.carbondata.hadoop.api.CarbonFileInputFormat;
 
@@ -44,11 +47,18 @@ import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
 @InterfaceStability.Evolving
 public class CarbonReaderBuilder {
 
+  /**
+   * number of rows a read thread collects before handing them over to the reader
+   */
+  private static final int ROWS_PER_CHUNK = 1024;
+
   private String tablePath;
   private String[] projectionColumns;
   private Expression filterExpression;
   private String tableName;
   private boolean isTransactionalTable = true;
+  private int numThreads = 1;
+  private int prefetchSize = 0;
 
   CarbonReaderBuilder(String tablePath, String tableName) {
     this.tablePath = tablePath;
@@ -140,11 +150,114 @@ public class CarbonReaderBuilder {
     return this;
   }
 
+  /**
+   * To set the number of threads reading the carbondata files concurrently.
+   * With more than one thread the order of rows across the files is not preserved.
+   * @param numThreads number of read threads
+   * default value is 1, which reads the files one after another
+   * @return updated CarbonReaderBuilder
+   */
+  public CarbonReaderBuilder withReadThreads(int numThreads) {
+    if (numThreads <= 0) {
+      throw new IllegalArgumentException("numThreads should be greater than zero");
+    }
+    this.numThreads = numThreads;
+    return this;
+  }
+
+  /**
+   * To set how far the read threads may read ahead of the caller
+   * @param prefetchSize number of row chunks or batches held for the caller
+   * default value is twice the number of read threads
+   * @return updated CarbonReaderBuilder
+   */
+  public CarbonReaderBuilder withPrefetchSize(int prefetchSize) {
+    if (prefetchSize <= 0) {
+      throw new IllegalArgumentException("prefetchSize should be greater than zero");
+    }
+    this.prefetchSize = prefetchSize;
+    return this;
+  }
+
+  /**
+   * Build a {@link CarbonReader} which returns the rows as Object[]
+   */
   public <T> CarbonReader<T> build() throws IOException, InterruptedException {
     CarbonTable table = CarbonTable.buildFromTablePath(tableName, tablePath, isTransactionalTable);
+    final Job job = new Job(new Configuration());
+    final CarbonFileInputFormat format = createInputFormat(table, job);
+    final List<InputSplit> splits = getSplits(table, format, job);
 
-    final CarbonFileInputFormat format = new CarbonFileInputFormat();
+    RecordReaderFactory<T> readerFactory = new RecordReaderFactory<T>() {
+      @Override public RecordReader<Void, T> createReader(InputSplit split)
+          throws IOException, InterruptedException {
+        TaskAttemptContextImpl attempt =
+            new TaskAttemptContextImpl(job.getConfiguration(), new TaskAttemptID());
+        RecordReader reader = format.createRecordReader(split, attempt);
+        reader.initialize(split, attempt);
+        return reader;
+      }
+    };
+    return new CarbonReader<>(splits, readerFactory, numThreads, getPrefetchSize(),
+        ROWS_PER_CHUNK);
+  }
+
+  /**
+   * Build a {@link CarbonReader} which returns the projected columns in batches of rows,
+   * each call of {@link CarbonReader#readNextRow()} returns the next batch.
+   * With a single read thread the same batch object is refilled on every call.
+   * Complex columns are not supported.
+   */
+  public CarbonReader<CarbonColumnarBatch> buildBatchReader()
+      throws IOException, InterruptedException {
+    CarbonTable table = CarbonTable.buildFromTablePath(tableName, tablePath, isTransactionalTable);
+    for (CarbonColumn column : table.getCreateOrderColumn(table.getTableName())) {
+      if (column.isComplex() && (projectionColumns == null
+          || Arrays.asList(projectionColumns).contains(column.getColName()))) {
+        throw new UnsupportedOperationException(
+            "complex column is not supported by batch reader: " + column.getColName());
+      }
+    }
     final Job job = new Job(new Configuration());
+    final CarbonFileInputFormat format = createInputFormat(table, job);
+    final List<InputSplit> splits = getSplits(table, format, job);
+
+    // batches handed over to the caller by the read threads can not be refilled
+    final boolean reuseBatch = numThreads == 1;
+    RecordReaderFactory<CarbonColumnarBatch> readerFactory =
+        new RecordReaderFactory<CarbonColumnarBatch>() {
+          @Override public RecordReader<Void, CarbonColumnarBatch> createReader(InputSplit split)
+              throws IOException, InterruptedException {
+            TaskAttemptContextImpl attempt =
+                new TaskAttemptContextImpl(job.getConfiguration(), new TaskAttemptID());
+            CarbonVectorizedRecordReader reader =
+                new CarbonVectorizedRecordReader(format.createQueryModel(split, attempt),
+                    reuseBatch);
+            reader.initialize(split, attempt);
+            return reader;
+          }
+        };
+    return new CarbonReader<>(splits, readerFactory, numThreads, getPrefetchSize(), 1);
+  }
+
+  private List<InputSplit> getSplits(CarbonTable table, CarbonFileInputFormat format, Job job)
+      throws IOException {
+    try {
+      return format.getSplits(new JobContextImpl(job.getConfiguration(), new JobID()));
+    } finally {
+      // the splits carry all that the record readers need. The datamaps loaded for pruning are
+      // not kept, the next reader may read other files with the same table name
+      DataMapStoreManager.getInstance().clearDataMaps(table.getAbsoluteTableIdentifier());
+    }
+  }
+
+  private int getPrefetchSize() {
+    return prefetchSize > 0 ? prefetchSize : 2 * numThreads;
+  }
+
+  private CarbonFileInputFormat createInputFormat(CarbonTable table, Job job)
+      throws IOException {
+    CarbonFileInputFormat format = new CarbonFileInputFormat();
     format.setTableInfo(job.getConfiguration(), table.getTableInfo());
     format.setTablePath(job.getConfiguration(), table.getTablePath());
     format.setTableName(job.getConfiguration(), table.getTableName());
@@ -155,19 +268,6 @@ public class CarbonReaderBuilder {
     if (projectionColumns != null) {
       format.setColumnProjection(job.getConfiguration(), new CarbonProjection(projectionColumns));
     }
-
-    final List<InputSplit> splits =
-        format.getSplits(new JobContextImpl(job.getConfiguration(), new JobID()));
-
-    List<RecordReader<Void, T>> readers = new ArrayList<>(splits.size());
-    for (InputSplit split : splits) {
-      TaskAttemptContextImpl attempt =
-          new TaskAttemptContextImpl(job.getConfiguration(), new TaskAttemptID());
-      RecordReader reader = format.createRecordReader(split, attempt);
-      reader.initialize(split, attempt);
-      readers.add(reader);
-    }
-
-    return new CarbonReader<>(readers);
+    return format;
   }
 }
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryKeyGeneratorFactory;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.scan.executor.QueryExecutor;
+import org.apache.carbondata.core.scan.executor.QueryExecutorFactory;
+import org.apache.carbondata.core.scan.executor.exception.QueryExecutionException;
+import org.apache.carbondata.core.scan.model.ProjectionDimension;
+import org.apache.carbondata.core.scan.model.ProjectionMeasure;
+import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.scan.result.iterator.AbstractDetailQueryResultIterator;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnarBatch;
+import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl;
+import org.apache.carbondata.hadoop.AbstractRecordReader;
+import org.apache.carbondata.hadoop.CarbonInputSplit;
+import org.apache.carbondata.hadoop.CarbonMultiBlockSplit;
+
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+
+/**
+ * Record reader which fills the projected columns of a split into {@link CarbonColumnarBatch}
+ * backed by {@link CarbonColumnVectorImpl}, one batch per {@link #nextKeyValue()}.
+ *
+ * Values are filled in the vector as the scanner decodes them: DATE columns as days since epoch
+ * in an INT vector, TIMESTAMP columns as microseconds since epoch in a LONG vector, STRING
+ * columns as UTF-8 bytes and FLOAT measures as DOUBLE.
+ */
+@InterfaceAudience.Internal
+class CarbonVectorizedRecordReader extends AbstractRecordReader<CarbonColumnarBatch> {
+
+  static final int DEFAULT_BATCH_SIZE = 4 * 1024;
+
+  private QueryModel queryModel;
+
+  private QueryExecutor queryExecutor;
+
+  private AbstractDetailQueryResultIterator iterator;
+
+  private DataType[] vectorTypes;
+
+  /**
+   * whether the same batch is refilled for every call of nextKeyValue, if false a new batch
+   * is allocated so that the caller can hold the previous ones
+   */
+  private boolean reuseBatch;
+
+  private CarbonColumnarBatch batch;
+
+  CarbonVectorizedRecordReader(QueryModel queryModel, boolean reuseBatch) {
+    this.queryModel = queryModel;
+    this.reuseBatch = reuseBatch;
+  }
+
+  @Override public void initialize(InputSplit inputSplit, TaskAttemptContext context)
+      throws IOException, InterruptedException {
+    List<CarbonInputSplit> splitList;
+    if (inputSplit instanceof CarbonInputSplit) {
+      splitList = new ArrayList<>(1);
+      splitList.add((CarbonInputSplit) inputSplit);
+    } else if (inputSplit instanceof CarbonMultiBlockSplit) {
+      splitList = ((CarbonMultiBlockSplit) inputSplit).getAllSplits();
+    } else {
+      throw new RuntimeException("unsupported input split type: " + inputSplit);
+    }
+    List<TableBlockInfo> tableBlockInfoList = CarbonInputSplit.createBlocks(splitList);
+    queryModel.setTableBlockInfos(tableBlockInfoList);
+    queryModel.setVectorReader(true);
+    vectorTypes = getVectorTypes(queryModel);
+    try {
+      queryExecutor = QueryExecutorFactory.getQueryExecutor(queryModel);
+      iterator = (AbstractDetailQueryResultIterator) queryExecutor.execute(queryModel);
+    } catch (QueryExecutionException e) {
+      throw new InterruptedException(e.getMessage());
+    }
+  }
+
+  /**
+   * Return the data type of the vector filled for each projected column, in projection order
+   */
+  static DataType[] getVectorTypes(QueryModel queryModel) {
+    List<ProjectionDimension> dimensions = queryModel.getProjectionDimensions();
+    List<ProjectionMeasure> measures = queryModel.getProjectionMeasures();
+    DataType[] types = new DataType[dimensions.size() + measures.size()];
+    for (ProjectionDimension projection : dimensions) {
+      CarbonDimension dimension = projection.getDimension();
+      if (dimension.isComplex()) {
+        throw new UnsupportedOperationException(
+            "complex column is not supported by batch reader: " + dimension.getColName());
+      }
+      DataType type;
+      if (dimension.hasEncoding(Encoding.DIRECT_DICTIONARY)) {
+        type = DirectDictionaryKeyGeneratorFactory
+            .getDirectDictionaryGenerator(dimension.getDataType()).getReturnType();
+      } else if (dimension.hasEncoding(Encoding.DICTIONARY)) {
+        // dictionary columns are filled with their surrogate key
+        type = DataTypes.INT;
+      } else {
+        type = dimension.getDataType();
+      }
+      types[projection.getOrdinal()] = type;
+    }
+    for (ProjectionMeasure projection : measures) {
+      DataType dataType = projection.getMeasure().getDataType();
+      if (dataType == DataTypes.BOOLEAN || dataType == DataTypes.SHORT
+          || dataType == DataTypes.INT || dataType == DataTypes.LONG
+          || DataTypes.isDecimal(dataType)) {
+        types[projection.getOrdinal()] = dataType;
+      } else {
+        types[projection.getOrdinal()] = DataTypes.DOUBLE;
+      }
+    }
+    return types;
+  }
+
+  private CarbonColumnarBatch allocateBatch() {
+    CarbonColumnVector[] vectors = new CarbonColumnVector[vectorTypes.length];
+    for (int i = 0; i < vectorTypes.length; i++) {
+      vectors[i] = new CarbonColumnVectorImpl(DEFAULT_BATCH_SIZE, vectorTypes[i]);
+    }
+    return new CarbonColumnarBatch(vectors, DEFAULT_BATCH_SIZE, new boolean[DEFAULT_BATCH_SIZE]);
+  }
+
+  @Override public boolean nextKeyValue() throws IOException, InterruptedException {
+    if (batch == null || !reuseBatch) {
+      batch = allocateBatch();
+    } else {
+      batch.reset();
+    }
+    while (iterator.hasNext()) {
+      iterator.processNextBatch(batch);
+      if (batch.getActualSize() > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override public Void getCurrentKey() throws IOException, InterruptedException {
+    return null;
+  }
+
+  @Override public CarbonColumnarBatch getCurrentValue() throws IOException, InterruptedException {
+    rowCount += batch.getActualSize();
+    return batch;
+  }
+
+  @Override public float getProgress() throws IOException, InterruptedException {
+    return 0;
+  }
+
+  @Override public void close() throws IOException {
+    logStatistics(rowCount, queryModel.getStatisticsRecorder());
+    batch = null;
+    if (queryExecutor != null) {
+      try {
+        queryExecutor.finish();
+      } catch (QueryExecutionException e) {
+        throw new IOException(e);
+      }
+    }
+  }
+}
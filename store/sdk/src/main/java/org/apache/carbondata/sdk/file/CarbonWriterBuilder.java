@@ -340,6 +340,24 @@ public class CarbonWriterBuilder {
     return new AvroCarbonWriter(loadModel);
   }
 
+  /**
+   * Build a {@link CarbonWriter}, which accepts row as Object[] of typed java values, one value
+   * for every field of the schema in the same order. The values are not converted to string and
+   * parsed again, so it is faster than the writer for CSV input.
+   * @return ObjectArrayCarbonWriter
+   * @throws IOException
+   * @throws InvalidLoadOptionException
+   */
+  public CarbonWriter buildWriterForObjectArrayInput()
+      throws IOException, InvalidLoadOptionException {
+    Objects.requireNonNull(schema, "schema should not be null");
+    Objects.requireNonNull(path, "path should not be null");
+    CarbonLoadModel loadModel = createLoadModel();
+    // values are converted to carbon internal representation by the writer itself
+    loadModel.setLoadWithoutConverterStep(true);
+    return new ObjectArrayCarbonWriter(loadModel);
+  }
+
   private void setCsvHeader(CarbonLoadModel model) {
     Field[] fields = schema.getFields();
     StringBuilder builder = new StringBuilder();
@@ -445,7 +463,6 @@ public class CarbonWriterBuilder {
             "column: " + sortColumn + " specified in sort columns does not exist in schema");
       }
     }
-    int i = 0;
     for (Field field : fields) {
       if (null != field) {
         int isSortColumn = sortColumnsList.indexOf(field.getFieldName());
@@ -483,11 +500,6 @@ public class CarbonWriterBuilder {
           if (isSortColumn > -1) {
             columnSchema.setSortColumn(true);
             sortColumnsSchemaList[isSortColumn] = columnSchema;
-          } else if (sortColumnsList.isEmpty() && columnSchema.isDimensionColumn()
-              && columnSchema.getNumberOfChild() < 1) {
-            columnSchema.setSortColumn(true);
-            sortColumnsSchemaList[i] = columnSchema;
-            i++;
           }
         }
       }
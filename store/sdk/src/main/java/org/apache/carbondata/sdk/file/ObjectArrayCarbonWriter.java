@@ -0,0 +1,369 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.Charset;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.UUID;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryGenerator;
+import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryKeyGeneratorFactory;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
+import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.core.util.DataTypeUtil;
+import org.apache.carbondata.hadoop.api.CarbonTableOutputFormat;
+import org.apache.carbondata.hadoop.internal.ObjectArrayWritable;
+import org.apache.carbondata.processing.loading.complexobjects.ArrayObject;
+import org.apache.carbondata.processing.loading.complexobjects.StructObject;
+import org.apache.carbondata.processing.loading.exception.CarbonDataLoadingException;
+import org.apache.carbondata.processing.loading.model.CarbonLoadModel;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.JobID;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.TaskID;
+import org.apache.hadoop.mapreduce.TaskType;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+
+/**
+ * Implementation to write rows of typed java objects to carbondata file. The values are
+ * converted to the carbon internal representation here and the load skips the converter step,
+ * so they are not formatted to string and parsed again like the rows of {@link CSVCarbonWriter}.
+ */
+@InterfaceAudience.Internal
+class ObjectArrayCarbonWriter extends CarbonWriter {
+
+  private RecordWriter<NullWritable, ObjectArrayWritable> recordWriter;
+  private TaskAttemptContext context;
+  private ObjectArrayWritable writable;
+
+  // columns in the order of the values of the input row
+  private CarbonColumn[] columns;
+
+  // generator of the surrogate key for date and timestamp columns, null for other columns
+  private DirectDictionaryGenerator[] directDictionaryGenerators;
+
+  // format of the date children of complex columns, they are parsed from string
+  private SimpleDateFormat childDateFormat;
+
+  // format of the timestamp columns without direct dictionary and the timestamp children of
+  // complex columns
+  private SimpleDateFormat timestampFormat;
+
+  ObjectArrayCarbonWriter(CarbonLoadModel loadModel) throws IOException {
+    Configuration hadoopConf = new Configuration();
+    CarbonTableOutputFormat.setLoadModel(hadoopConf, loadModel);
+    CarbonTableOutputFormat format = new CarbonTableOutputFormat();
+    JobID jobId = new JobID(UUID.randomUUID().toString(), 0);
+    Random random = new Random();
+    TaskID task = new TaskID(jobId, TaskType.MAP, random.nextInt());
+    TaskAttemptID attemptID = new TaskAttemptID(task, random.nextInt());
+    TaskAttemptContextImpl context = new TaskAttemptContextImpl(hadoopConf, attemptID);
+    this.recordWriter = format.getRecordWriter(context);
+    this.context = context;
+    this.writable = new ObjectArrayWritable();
+    initColumns(loadModel);
+  }
+
+  private void initColumns(CarbonLoadModel loadModel) {
+    CarbonTable table = loadModel.getCarbonDataLoadSchema().getCarbonTable();
+    List<String> header = new ArrayList<>();
+    for (String column : loadModel.getCsvHeaderColumns()) {
+      // header has nulls at the end if the schema has null fields
+      if (column != null) {
+        header.add(column);
+      }
+    }
+    childDateFormat = new SimpleDateFormat(getFormat(loadModel.getDateFormat(), DataTypes.DATE));
+    timestampFormat = new SimpleDateFormat(
+        getFormat(loadModel.getTimestampformat(), DataTypes.TIMESTAMP));
+    columns = new CarbonColumn[header.size()];
+    directDictionaryGenerators = new DirectDictionaryGenerator[header.size()];
+    for (int i = 0; i < columns.length; i++) {
+      columns[i] = table.getColumnByName(table.getTableName(), header.get(i));
+      if (columns[i].hasEncoding(Encoding.DIRECT_DICTIONARY)) {
+        DataType dataType = columns[i].getDataType();
+        String format = dataType == DataTypes.DATE ?
+            loadModel.getDateFormat() : loadModel.getTimestampformat();
+        directDictionaryGenerators[i] = DirectDictionaryKeyGeneratorFactory
+            .getDirectDictionaryGenerator(dataType, getFormat(format, dataType));
+      }
+    }
+  }
+
+  private static String getFormat(String format, DataType dataType) {
+    if (format != null && !format.isEmpty()) {
+      return format;
+    }
+    return CarbonUtil.getFormatFromProperty(dataType);
+  }
+
+  /**
+   * Write single row data, input row is of type Object[] with one value for every field of the
+   * schema in the same order. Supported values of the columns are
+   * a. boolean -- Boolean
+   * b. short, int, long, double, float -- any Number
+   * c. decimal -- BigDecimal or any Number
+   * d. string -- any object, its toString is written
+   * e. date, timestamp -- java.util.Date and its sub classes, Long as milliseconds since epoch
+   * f. struct -- Object[] or List of the values of the child fields
+   * g. array -- Object[] or List of the elements
+   * null is written as null for all types. For the primitive types a String is also accepted
+   * and parsed like the CSV input. Strings longer than
+   * {@link CarbonCommonConstants#MAX_CHARS_PER_COLUMN_DEFAULT} bytes fail the load like in the
+   * converter step.
+   * The children of struct and array fields accept the same values as the fields of their type.
+   * They are written as text by the complex type of the column, so date and timestamp children
+   * keep the precision of the configured date and timestamp format only.
+   */
+  @Override
+  public void write(Object object) throws IOException {
+    try {
+      writable.set(convertRow((Object[]) object));
+      recordWriter.write(NullWritable.get(), writable);
+    } catch (Exception e) {
+      throw new IOException(e);
+    }
+  }
+
+  private Object[] convertRow(Object[] row) {
+    if (row.length != columns.length) {
+      throw new IllegalArgumentException(
+          "Row has " + row.length + " values but schema has " + columns.length + " fields");
+    }
+    Object[] converted = new Object[row.length];
+    for (int i = 0; i < row.length; i++) {
+      if (directDictionaryGenerators[i] != null) {
+        converted[i] = toSurrogateKey(row[i], i);
+      } else if (row[i] != null) {
+        converted[i] = convertValue(row[i], columns[i].getDataType(), i);
+      }
+    }
+    return converted;
+  }
+
+  private int toSurrogateKey(Object value, int index) {
+    DirectDictionaryGenerator generator = directDictionaryGenerators[index];
+    if (value == null) {
+      return CarbonCommonConstants.MEMBER_DEFAULT_VAL_SURROGATE_KEY;
+    } else if (value instanceof Date) {
+      long time = ((Date) value).getTime();
+      if (columns[index].getDataType() == DataTypes.DATE) {
+        // dates are stored as days in GMT, keep the day of the value in local time zone
+        time += TimeZone.getDefault().getOffset(time);
+      }
+      return generator.generateKey(time);
+    } else if (value instanceof Long) {
+      return generator.generateKey((Long) value);
+    } else if (value instanceof String) {
+      return generator.generateDirectSurrogateKey((String) value);
+    }
+    throw unsupportedValue(value, index);
+  }
+
+  private Object convertValue(Object value, DataType dataType, int index) {
+    if (dataType == DataTypes.STRING) {
+      return toLimitedString(value);
+    } else if (dataType == DataTypes.BOOLEAN) {
+      if (value instanceof Boolean) {
+        return value;
+      } else if (value instanceof String) {
+        return Boolean.valueOf((String) value);
+      }
+    } else if (dataType == DataTypes.SHORT) {
+      return value instanceof String ?
+          Short.parseShort((String) value) : toNumber(value, index).shortValue();
+    } else if (dataType == DataTypes.INT) {
+      return value instanceof String ?
+          Integer.parseInt((String) value) : toNumber(value, index).intValue();
+    } else if (dataType == DataTypes.LONG) {
+      return value instanceof String ?
+          Long.parseLong((String) value) : toNumber(value, index).longValue();
+    } else if (dataType == DataTypes.DOUBLE || dataType == DataTypes.FLOAT) {
+      double doubleValue = value instanceof String ?
+          Double.parseDouble((String) value) : toNumber(value, index).doubleValue();
+      // same as the converter step, infinite and NaN values are written as null
+      return Double.isInfinite(doubleValue) || Double.isNaN(doubleValue) ? null : doubleValue;
+    } else if (dataType == DataTypes.TIMESTAMP) {
+      // timestamp columns without direct dictionary keep the milliseconds since epoch
+      if (value instanceof String) {
+        return DataTypeUtil.getDataDataTypeForNoDictionaryColumn((String) value, dataType,
+            timestampFormat.toPattern());
+      }
+      Date date = toDate(value);
+      if (date != null) {
+        return date.getTime();
+      }
+    } else if (DataTypes.isDecimal(dataType)) {
+      return toDecimal(value, index);
+    } else if (DataTypes.isStructType(dataType) || DataTypes.isArrayType(dataType)) {
+      return toComplexObject(value, (CarbonDimension) columns[index], index);
+    }
+    throw unsupportedValue(value, index);
+  }
+
+  private Number toNumber(Object value, int index) {
+    if (value instanceof Number) {
+      return (Number) value;
+    }
+    throw unsupportedValue(value, index);
+  }
+
+  private String toLimitedString(Object value) {
+    String string = value.toString();
+    // same limit in bytes as the converter step, a char takes at most 3 bytes in UTF-8
+    if (string.length() > CarbonCommonConstants.MAX_CHARS_PER_COLUMN_DEFAULT / 3
+        && string.getBytes(Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET)).length
+        > CarbonCommonConstants.MAX_CHARS_PER_COLUMN_DEFAULT) {
+      throw new CarbonDataLoadingException("Dataload failed, String size cannot exceed "
+          + CarbonCommonConstants.MAX_CHARS_PER_COLUMN_DEFAULT + " bytes");
+    }
+    return string;
+  }
+
+  private BigDecimal toDecimal(Object value, int index) {
+    BigDecimal decimal = toBigDecimal(value, index);
+    CarbonMeasure measure = (CarbonMeasure) columns[index];
+    decimal = decimal.setScale(measure.getScale(), RoundingMode.HALF_UP);
+    // values which do not fit in the precision of the column are written as null
+    return decimal.precision() > measure.getPrecision() ? null : decimal;
+  }
+
+  private BigDecimal toBigDecimal(Object value, int index) {
+    if (value instanceof BigDecimal) {
+      return (BigDecimal) value;
+    } else if (value instanceof String) {
+      return new BigDecimal((String) value);
+    }
+    return new BigDecimal(toNumber(value, index).toString());
+  }
+
+  private Object toComplexObject(Object value, CarbonDimension dimension, int index) {
+    Object[] values;
+    if (value instanceof Object[]) {
+      values = (Object[]) value;
+    } else if (value instanceof List) {
+      values = ((List) value).toArray();
+    } else {
+      throw unsupportedValue(value, index);
+    }
+    // the data type of the complex column does not carry the children, the child dimensions do
+    List<CarbonDimension> childDimensions = dimension.getListOfChildDimensions();
+    Object[] children = new Object[values.length];
+    if (DataTypes.isStructType(dimension.getDataType())) {
+      if (values.length != childDimensions.size()) {
+        throw new IllegalArgumentException("Struct value has " + values.length
+            + " values but " + dimension.getColName() + " has " + childDimensions.size()
+            + " fields in column " + columns[index].getColName());
+      }
+      for (int i = 0; i < values.length; i++) {
+        children[i] = toChildObject(values[i], childDimensions.get(i), index);
+      }
+      return new StructObject(children);
+    } else {
+      CarbonDimension elementDimension = childDimensions.get(0);
+      for (int i = 0; i < values.length; i++) {
+        children[i] = toChildObject(values[i], elementDimension, index);
+      }
+      return new ArrayObject(children);
+    }
+  }
+
+  private Object toChildObject(Object value, CarbonDimension dimension, int index) {
+    DataType dataType = dimension.getDataType();
+    if (value == null) {
+      return null;
+    } else if (DataTypes.isStructType(dataType) || DataTypes.isArrayType(dataType)) {
+      return toComplexObject(value, dimension, index);
+    } else if (dataType == DataTypes.STRING) {
+      return toLimitedString(value);
+    } else if (value instanceof String) {
+      // parsed by the complex type of the column like the CSV input
+      return value;
+    } else if (dataType == DataTypes.DATE || dataType == DataTypes.TIMESTAMP) {
+      Date date = toDate(value);
+      if (date == null) {
+        throw unsupportedChildValue(value, dataType, index);
+      }
+      return dataType == DataTypes.DATE ?
+          childDateFormat.format(date) : timestampFormat.format(date);
+    } else if (DataTypes.isDecimal(dataType)) {
+      // scale and precision of the child are applied while parsing
+      return toBigDecimal(value, index).toPlainString();
+    } else if (dataType == DataTypes.BOOLEAN || dataType == DataTypes.SHORT
+        || dataType == DataTypes.INT || dataType == DataTypes.LONG
+        || dataType == DataTypes.DOUBLE || dataType == DataTypes.FLOAT) {
+      return convertValue(value, dataType, index);
+    }
+    throw unsupportedChildValue(value, dataType, index);
+  }
+
+  private Date toDate(Object value) {
+    if (value instanceof Date) {
+      return (Date) value;
+    } else if (value instanceof Long) {
+      return new Date((Long) value);
+    }
+    return null;
+  }
+
+  private IllegalArgumentException unsupportedChildValue(Object value, DataType dataType,
+      int index) {
+    return new IllegalArgumentException(
+        "Value of type " + value.getClass().getName() + " is not supported for child of type "
+            + dataType + " in column " + columns[index].getColName() + " of type "
+            + columns[index].getDataType());
+  }
+
+  private IllegalArgumentException unsupportedValue(Object value, int index) {
+    return new IllegalArgumentException(
+        "Value of type " + value.getClass().getName() + " is not supported for column "
+            + columns[index].getColName() + " of type " + columns[index].getDataType());
+  }
+
+  /**
+   * Flush and close the writer
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      recordWriter.close(context);
+    } catch (InterruptedException e) {
+      throw new IOException(e);
+    }
+  }
+}
@@ -24,6 +24,7 @@ import java.io.IOException;
 import org.apache.carbondata.common.exceptions.sql.InvalidLoadOptionException;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.path.CarbonTablePath;
 
 import org.apache.commons.io.FileUtils;
@@ -305,4 +306,69 @@ public class CSVCarbonWriterTest {
     }
   }
 
+
+  @Test
+  public void testNoSortColumnarLoadSameAsRowLoad() throws Exception {
+    String rowPath = "./testWriteFilesRow";
+    String columnarPath = "./testWriteFilesColumnar";
+    FileUtils.deleteDirectory(new File(rowPath));
+    FileUtils.deleteDirectory(new File(columnarPath));
+
+    // more rows than one page, so that the last page is partially filled
+    int rows = 40000;
+    try {
+      CarbonProperties.getInstance()
+          .addProperty(CarbonCommonConstants.CARBON_LOAD_COLUMNAR_NO_SORT, "false");
+      writeNoSortFiles(rowPath, rows);
+      CarbonProperties.getInstance()
+          .addProperty(CarbonCommonConstants.CARBON_LOAD_COLUMNAR_NO_SORT, "true");
+      writeNoSortFiles(columnarPath, rows);
+
+      String[] projection = new String[]{"name", "age", "time", "height"};
+      CarbonReader rowReader =
+          CarbonReader.builder(rowPath, "_temp").projection(projection).build();
+      CarbonReader columnarReader =
+          CarbonReader.builder(columnarPath, "_temp").projection(projection).build();
+      int count = 0;
+      while (rowReader.hasNext()) {
+        Assert.assertTrue(columnarReader.hasNext());
+        Assert.assertArrayEquals((Object[]) rowReader.readNextRow(),
+            (Object[]) columnarReader.readNextRow());
+        count++;
+      }
+      Assert.assertFalse(columnarReader.hasNext());
+      Assert.assertEquals(rows, count);
+      rowReader.close();
+      columnarReader.close();
+    } finally {
+      CarbonProperties.getInstance().addProperty(CarbonCommonConstants.CARBON_LOAD_COLUMNAR_NO_SORT,
+          CarbonCommonConstants.CARBON_LOAD_COLUMNAR_NO_SORT_DEFAULT);
+      FileUtils.deleteDirectory(new File(rowPath));
+      FileUtils.deleteDirectory(new File(columnarPath));
+    }
+  }
+
+  private void writeNoSortFiles(String path, int rows) throws Exception {
+    Field[] fields = new Field[4];
+    fields[0] = new Field("name", DataTypes.STRING);
+    fields[1] = new Field("age", DataTypes.INT);
+    fields[2] = new Field("time", DataTypes.TIMESTAMP);
+    fields[3] = new Field("height", DataTypes.DOUBLE);
+
+    CarbonWriter writer = CarbonWriter.builder()
+        .withSchema(new Schema(fields))
+        .sortBy(new String[0])
+        .isTransactionalTable(true)
+        .persistSchemaFile(true)
+        .outputPath(path)
+        .buildWriterForCSVInput();
+    for (int i = 0; i < rows; i++) {
+      writer.write(new String[]{
+          i % 7 == 0 ? null : "robot" + (i % 10),
+          i % 11 == 0 ? null : String.valueOf(i),
+          "2018-01-" + (10 + i % 20) + " 10:" + (10 + i % 50) + ":00",
+          String.valueOf((double) i / 2)});
+    }
+    writer.close();
+  }
 }
@@ -20,11 +20,16 @@ package org.apache.carbondata.sdk.file;
 import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
 import org.apache.carbondata.core.metadata.schema.table.TableInfo;
 import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnarBatch;
+import org.apache.carbondata.core.util.CarbonProperties;
 
 import org.apache.commons.io.FileUtils;
 import org.junit.After;
@@ -177,4 +182,122 @@ public class CarbonReaderTest {
     reader.close();
     FileUtils.deleteDirectory(new File(path));
   }
+
+  @Test
+  public void testReadFilesInParallel() throws IOException, InterruptedException {
+    String path = "./testWriteFiles";
+    FileUtils.deleteDirectory(new File(path));
+    writeNonTransactionalFiles(path, 4);
+
+    CarbonReader reader = CarbonReader.builder(path, "_temp")
+        .projection(new String[]{"name", "age"})
+        .isTransactionalTable(false)
+        .withReadThreads(3)
+        .withPrefetchSize(2)
+        .build();
+
+    // rows of different files are interleaved, so only count them
+    int[] ageCount = new int[100];
+    int i = 0;
+    while (reader.hasNext()) {
+      Object[] row = (Object[]) reader.readNextRow();
+      int age = (Integer) row[1];
+      Assert.assertEquals("robot" + (age % 10), row[0]);
+      ageCount[age]++;
+      i++;
+    }
+    Assert.assertEquals(400, i);
+    for (int count : ageCount) {
+      Assert.assertEquals(4, count);
+    }
+    reader.close();
+    FileUtils.deleteDirectory(new File(path));
+  }
+
+  @Test
+  public void testReadBatches() throws IOException, InterruptedException {
+    String path = "./testWriteFiles";
+    FileUtils.deleteDirectory(new File(path));
+    writeNonTransactionalFiles(path, 4);
+
+    for (int numThreads = 1; numThreads <= 2; numThreads++) {
+      CarbonReader<CarbonColumnarBatch> reader = CarbonReader.builder(path, "_temp")
+          .projection(new String[]{"name", "age"})
+          .isTransactionalTable(false)
+          .withReadThreads(numThreads)
+          .buildBatchReader();
+
+      int[] ageCount = new int[100];
+      int rows = 0;
+      while (reader.hasNext()) {
+        CarbonColumnarBatch batch = reader.readNextRow();
+        for (int rowId = 0; rowId < batch.getActualSize(); rowId++) {
+          int age = (Integer) batch.columnVectors[1].getData(rowId);
+          String name =
+              new String((byte[]) batch.columnVectors[0].getData(rowId), StandardCharsets.UTF_8);
+          Assert.assertEquals("robot" + (age % 10), name);
+          ageCount[age]++;
+        }
+        rows += batch.getActualSize();
+      }
+      Assert.assertEquals(400, rows);
+      for (int count : ageCount) {
+        Assert.assertEquals(4, count);
+      }
+      reader.close();
+    }
+    FileUtils.deleteDirectory(new File(path));
+  }
+
+  @Test
+  public void testReadWithReadAheadMatchesReadWithoutReadAhead()
+      throws IOException, InterruptedException {
+    String path = "./testWriteFiles";
+    FileUtils.deleteDirectory(new File(path));
+
+    Field[] fields = new Field[3];
+    fields[0] = new Field("name", DataTypes.STRING);
+    fields[1] = new Field("age", DataTypes.INT);
+    fields[2] = new Field("height", DataTypes.DOUBLE);
+    // small blocklets, so that the upcoming blocklets are read ahead
+    TestUtil.writeFilesAndVerify(1000000, new Schema(fields), path, null, true, 1, -1, true);
+
+    List<Object[]> expectedRows = readAllRows(path);
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_QUERY_READ_AHEAD_ENABLE, "true");
+    List<Object[]> actualRows;
+    try {
+      actualRows = readAllRows(path);
+    } finally {
+      CarbonProperties.getInstance().addProperty(
+          CarbonCommonConstants.CARBON_QUERY_READ_AHEAD_ENABLE,
+          CarbonCommonConstants.CARBON_QUERY_READ_AHEAD_ENABLE_DEFAULT);
+    }
+    Assert.assertEquals(1000000, expectedRows.size());
+    Assert.assertEquals(expectedRows.size(), actualRows.size());
+    for (int i = 0; i < expectedRows.size(); i++) {
+      Assert.assertArrayEquals(expectedRows.get(i), actualRows.get(i));
+    }
+    FileUtils.deleteDirectory(new File(path));
+  }
+
+  private List<Object[]> readAllRows(String path) throws IOException, InterruptedException {
+    CarbonReader reader = CarbonReader.builder(path, "_temp")
+        .projection(new String[]{"name", "age", "height"}).build();
+    List<Object[]> rows = new ArrayList<>();
+    while (reader.hasNext()) {
+      rows.add((Object[]) reader.readNextRow());
+    }
+    reader.close();
+    return rows;
+  }
+
+  private void writeNonTransactionalFiles(String path, int numFiles) {
+    Field[] fields = new Field[2];
+    fields[0] = new Field("name", DataTypes.STRING);
+    fields[1] = new Field("age", DataTypes.INT);
+    for (int i = 0; i < numFiles; i++) {
+      TestUtil.writeFilesAndVerify(new Schema(fields), path, false, false);
+    }
+  }
 }
@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.datatype.StructField;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test suite for {@link ObjectArrayCarbonWriter}
+ */
+public class ObjectArrayCarbonWriterTest {
+
+  private static final String[] COLUMNS = new String[]{"stringField", "intField", "shortField",
+      "longField", "doubleField", "boolField", "dateField", "timeField", "decimalField"};
+
+  private static final String[] COMPLEX_COLUMNS =
+      new String[]{"stringField", "structField", "timeArrayField", "longArrayField"};
+
+  @Before
+  public void cleanFile() {
+    assert (TestUtil.cleanMdtFile());
+  }
+
+  @After
+  public void verifyDMFile() {
+    assert (!TestUtil.verifyMdtFile());
+  }
+
+  @Test
+  public void testWriteSameAsCSVInput() throws Exception {
+    String csvPath = "./testObjectArrayWriterCSV";
+    String objectPath = "./testObjectArrayWriterObject";
+    FileUtils.deleteDirectory(new File(csvPath));
+    FileUtils.deleteDirectory(new File(objectPath));
+
+    CarbonWriter csvWriter = newBuilder(csvPath).buildWriterForCSVInput();
+    CarbonWriter objectWriter = newBuilder(objectPath).buildWriterForObjectArrayInput();
+    for (int i = 0; i < 100; i++) {
+      csvWriter.write(new String[]{
+          "robot" + (i % 10),
+          i % 7 == 0 ? null : String.valueOf(i),
+          String.valueOf(i),
+          String.valueOf(Long.MAX_VALUE - i),
+          String.valueOf((double) i / 2),
+          String.valueOf(i % 2 == 0),
+          "2019-03-" + (10 + i % 10),
+          "2019-02-12 03:" + (10 + i / 50) + ":" + (10 + i % 50),
+          i + ".125"
+      });
+      objectWriter.write(new Object[]{
+          "robot" + (i % 10),
+          i % 7 == 0 ? null : i,
+          (short) i,
+          Long.MAX_VALUE - i,
+          (double) i / 2,
+          i % 2 == 0,
+          Date.valueOf("2019-03-" + (10 + i % 10)),
+          Timestamp.valueOf("2019-02-12 03:" + (10 + i / 50) + ":" + (10 + i % 50)),
+          new BigDecimal(i + ".125")
+      });
+    }
+    csvWriter.close();
+    objectWriter.close();
+
+    List<Object[]> csvRows = readRows(csvPath, COLUMNS);
+    List<Object[]> objectRows = readRows(objectPath, COLUMNS);
+    Assert.assertEquals(100, csvRows.size());
+    Assert.assertEquals(csvRows.size(), objectRows.size());
+    for (int i = 0; i < csvRows.size(); i++) {
+      Assert.assertArrayEquals(csvRows.get(i), objectRows.get(i));
+    }
+
+    FileUtils.deleteDirectory(new File(csvPath));
+    FileUtils.deleteDirectory(new File(objectPath));
+  }
+
+  @Test(expected = IOException.class)
+  public void testWriteUnsupportedValue() throws Exception {
+    String path = "./testObjectArrayWriterInvalid";
+    FileUtils.deleteDirectory(new File(path));
+    CarbonWriter writer = newBuilder(path).buildWriterForObjectArrayInput();
+    try {
+      writer.write(new Object[]{"robot", new Object(), (short) 1, 1L, 1.0, true,
+          Date.valueOf("2019-03-02"), Timestamp.valueOf("2019-02-12 03:03:34"),
+          BigDecimal.ONE});
+    } finally {
+      writer.close();
+      FileUtils.deleteDirectory(new File(path));
+    }
+  }
+
+  @Test
+  public void testWriteComplexSameAsCSVInput() throws Exception {
+    String csvPath = "./testObjectArrayWriterComplexCSV";
+    String objectPath = "./testObjectArrayWriterComplexObject";
+    FileUtils.deleteDirectory(new File(csvPath));
+    FileUtils.deleteDirectory(new File(objectPath));
+
+    CarbonWriter csvWriter = newComplexBuilder(csvPath).buildWriterForCSVInput();
+    CarbonWriter objectWriter = newComplexBuilder(objectPath).buildWriterForObjectArrayInput();
+    for (int i = 0; i < 10; i++) {
+      String date = "2019-03-" + (10 + i);
+      String time = "2019-02-12 03:10:" + (10 + i);
+      csvWriter.write(new String[]{
+          "robot" + i,
+          date + "$" + time + "$" + i + "$" + ((double) i / 2) + "$" + i + ".125",
+          time + "$" + "2019-02-13 04:20:" + (10 + i),
+          i + "$" + (Long.MAX_VALUE - i)
+      });
+      objectWriter.write(new Object[]{
+          "robot" + i,
+          new Object[]{Date.valueOf(date), Timestamp.valueOf(time), i, (double) i / 2,
+              new BigDecimal(i + ".125")},
+          Arrays.asList(Timestamp.valueOf(time),
+              Timestamp.valueOf("2019-02-13 04:20:" + (10 + i)).getTime()),
+          new Object[]{(long) i, Long.MAX_VALUE - i}
+      });
+    }
+    csvWriter.close();
+    objectWriter.close();
+
+    List<Object[]> csvRows = readRows(csvPath, COMPLEX_COLUMNS);
+    List<Object[]> objectRows = readRows(objectPath, COMPLEX_COLUMNS);
+    Assert.assertEquals(10, csvRows.size());
+    Assert.assertEquals(csvRows.size(), objectRows.size());
+    for (int i = 0; i < csvRows.size(); i++) {
+      Object[] struct = (Object[]) objectRows.get(i)[1];
+      Assert.assertEquals(5, struct.length);
+      for (Object child : struct) {
+        Assert.assertNotNull(child);
+      }
+      for (Object element : (Object[]) objectRows.get(i)[2]) {
+        Assert.assertNotNull(element);
+      }
+      Assert.assertArrayEquals(csvRows.get(i), objectRows.get(i));
+    }
+
+    FileUtils.deleteDirectory(new File(csvPath));
+    FileUtils.deleteDirectory(new File(objectPath));
+  }
+
+  @Test(expected = IOException.class)
+  public void testWriteUnsupportedChildValue() throws Exception {
+    String path = "./testObjectArrayWriterInvalidChild";
+    FileUtils.deleteDirectory(new File(path));
+    CarbonWriter writer = newComplexBuilder(path).buildWriterForObjectArrayInput();
+    try {
+      writer.write(new Object[]{"robot",
+          new Object[]{new Object(), Timestamp.valueOf("2019-02-12 03:03:34"), 1, 1.0,
+              BigDecimal.ONE},
+          new Object[0], new Object[0]});
+    } finally {
+      writer.close();
+      FileUtils.deleteDirectory(new File(path));
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testWriteStringExceedingLimit() throws Exception {
+    String path = "./testObjectArrayWriterLongString";
+    FileUtils.deleteDirectory(new File(path));
+    CarbonWriter writer = newBuilder(path).buildWriterForObjectArrayInput();
+    char[] chars = new char[CarbonCommonConstants.MAX_CHARS_PER_COLUMN_DEFAULT + 1];
+    Arrays.fill(chars, 'a');
+    try {
+      writer.write(new Object[]{new String(chars), 1, (short) 1, 1L, 1.0, true,
+          Date.valueOf("2019-03-02"), Timestamp.valueOf("2019-02-12 03:03:34"),
+          BigDecimal.ONE});
+    } finally {
+      writer.close();
+      FileUtils.deleteDirectory(new File(path));
+    }
+  }
+
+  private CarbonWriterBuilder newBuilder(String path) {
+    Field[] fields = new Field[9];
+    fields[0] = new Field(COLUMNS[0], DataTypes.STRING);
+    fields[1] = new Field(COLUMNS[1], DataTypes.INT);
+    fields[2] = new Field(COLUMNS[2], DataTypes.SHORT);
+    fields[3] = new Field(COLUMNS[3], DataTypes.LONG);
+    fields[4] = new Field(COLUMNS[4], DataTypes.DOUBLE);
+    fields[5] = new Field(COLUMNS[5], DataTypes.BOOLEAN);
+    fields[6] = new Field(COLUMNS[6], DataTypes.DATE);
+    fields[7] = new Field(COLUMNS[7], DataTypes.TIMESTAMP);
+    fields[8] = new Field(COLUMNS[8], DataTypes.createDecimalType(8, 3));
+    return CarbonWriter.builder()
+        .withSchema(new Schema(fields))
+        .isTransactionalTable(true)
+        .persistSchemaFile(true)
+        .outputPath(path);
+  }
+
+  private CarbonWriterBuilder newComplexBuilder(String path) {
+    Field[] fields = new Field[4];
+    fields[0] = new Field(COMPLEX_COLUMNS[0], DataTypes.STRING);
+    fields[1] = new Field(COMPLEX_COLUMNS[1], "struct", Arrays.asList(
+        new StructField("dateChild", DataTypes.DATE),
+        new StructField("timeChild", DataTypes.TIMESTAMP),
+        new StructField("intChild", DataTypes.INT),
+        new StructField("doubleChild", DataTypes.DOUBLE),
+        new StructField("decimalChild", DataTypes.createDecimalType(8, 3))));
+    fields[2] = new Field(COMPLEX_COLUMNS[2], "array",
+        Arrays.asList(new StructField("timeElement", DataTypes.TIMESTAMP)));
+    fields[3] = new Field(COMPLEX_COLUMNS[3], "array",
+        Arrays.asList(new StructField("longElement", DataTypes.LONG)));
+    return CarbonWriter.builder()
+        .withSchema(new Schema(fields))
+        .isTransactionalTable(true)
+        .persistSchemaFile(true)
+        .outputPath(path);
+  }
+
+  private List<Object[]> readRows(String path, String[] columns)
+      throws IOException, InterruptedException {
+    CarbonReader reader = CarbonReader.builder(path, "_temp").projection(columns).build();
+    List<Object[]> rows = new ArrayList<>();
+    while (reader.hasNext()) {
+      rows.add((Object[]) reader.readNextRow());
+    }
+    reader.close();
+    return rows;
+  }
+}
@@ -22,6 +22,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.carbondata.common.annotations.InterfaceAudience;
 import org.apache.carbondata.common.logging.LogService;
@@ -36,11 +37,14 @@ import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
 import org.apache.carbondata.core.metadata.schema.table.TableInfo;
 import org.apache.carbondata.core.readcommitter.LatestFilesReadCommittedScope;
 import org.apache.carbondata.core.scan.executor.impl.SearchModeDetailQueryExecutor;
+import org.apache.carbondata.core.scan.executor.impl.SearchModeScanScheduler;
+import org.apache.carbondata.core.scan.executor.impl.SearchModeScanScheduler.RequestClass;
 import org.apache.carbondata.core.scan.executor.impl.SearchModeVectorDetailQueryExecutor;
 import org.apache.carbondata.core.scan.expression.Expression;
 import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
 import org.apache.carbondata.core.scan.model.QueryModel;
 import org.apache.carbondata.core.scan.model.QueryModelBuilder;
+import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.CarbonTaskInfo;
 import org.apache.carbondata.core.util.ThreadLocalTaskInfo;
 import org.apache.carbondata.hadoop.CarbonInputSplit;
@@ -63,8 +67,23 @@ public class SearchRequestHandler {
       LogServiceFactory.getLogService(SearchRequestHandler.class.getName());
 
   public SearchResult handleSearch(SearchRequest request) {
+    long startTime = System.nanoTime();
+    RequestClass requestClass = getRequestClass(request);
+    // keep the scheduler of this request, getInstance in finally would fail if the worker is
+    // shut down while the request is running
+    SearchModeScanScheduler scheduler;
     try {
-      LOG.info(String.format("[SearchId:%d] receive search request", request.searchId()));
+      scheduler = SearchModeScanScheduler.getInstance();
+    } catch (IllegalStateException e) {
+      LOG.info(String.format("[SearchId:%d] sending failure response, worker is shut down",
+          request.searchId()));
+      return createFailureResponse(request, e);
+    }
+    // the scan tasks of the request are scheduled with the weight of its class
+    SearchModeScanScheduler.setRequestClass(requestClass);
+    try {
+      LOG.info(String.format("[SearchId:%d] receive %s search request", request.searchId(),
+          requestClass));
       List<CarbonRow> rows = handleRequest(request);
       LOG.info(String.format("[SearchId:%d] sending success response", request.searchId()));
       return createSuccessResponse(request, rows);
@@ -72,7 +91,25 @@ public class SearchRequestHandler {
       LOG.error(e);
       LOG.info(String.format("[SearchId:%d] sending failure response", request.searchId()));
       return createFailureResponse(request, e);
+    } finally {
+      SearchModeScanScheduler.clearRequestClass();
+      long latency = System.nanoTime() - startTime;
+      scheduler.recordLatency(requestClass, latency);
+      LOG.info(String.format("[SearchId:%d] %s search request completed in %d ms",
+          request.searchId(), requestClass, TimeUnit.NANOSECONDS.toMillis(latency)));
+    }
+  }
+
+  /**
+   * Requests scanning only a few blocks, like point lookups, are short requests and get a
+   * higher share of the scan threads than the requests scanning many blocks
+   */
+  private RequestClass getRequestClass(SearchRequest request) {
+    int numberOfBlocks = request.split().value().getAllSplits().size();
+    if (numberOfBlocks <= CarbonProperties.getSearchShortRequestMaxBlocks()) {
+      return RequestClass.SHORT;
     }
+    return RequestClass.LONG;
   }
 
   public ShutdownResponse handleShutdown(ShutdownRequest request) {
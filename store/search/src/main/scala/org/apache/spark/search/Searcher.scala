@@ -23,6 +23,7 @@ import org.apache.spark.rpc.{RpcCallContext, RpcEndpoint, RpcEnv}
 import org.apache.carbondata.common.logging.LogServiceFactory
 import org.apache.carbondata.core.datamap.dev.expr.DataMapExprWrapper
 import org.apache.carbondata.core.metadata.schema.table.TableInfo
+import org.apache.carbondata.core.scan.executor.impl.SearchModeScanScheduler
 import org.apache.carbondata.core.scan.expression.Expression
 import org.apache.carbondata.hadoop.CarbonMultiBlockSplit
 import org.apache.carbondata.store.worker.SearchRequestHandler
@@ -34,6 +35,7 @@ class Searcher(override val rpcEnv: RpcEnv) extends RpcEndpoint {
   private val LOG = LogServiceFactory.getLogService(this.getClass.getName)
 
   override def onStart(): Unit = {
+    SearchModeScanScheduler.startInstance()
     LOG.info("Searcher Endpoint started")
   }
 
@@ -52,6 +52,7 @@ import org.apache.carbondata.core.scan.filter.intf.RowImpl;
 import org.apache.carbondata.core.scan.filter.intf.RowIntf;
 import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
 import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.util.CarbonMetadataUtil;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.DataTypeUtil;
 import org.apache.carbondata.format.BlockletHeader;
@@ -124,6 +125,7 @@ public class CarbonStreamRecordReader extends RecordReader<Void, Object> {
   private Object[] filterValues;
   private RowIntf filterRow;
   private int[] filterMap;
+  private StreamBlockletPruner blockletPruner;
 
   // output
   private CarbonColumn[] projection;
@@ -250,6 +252,9 @@ public class CarbonStreamRecordReader extends RecordReader<Void, Object> {
     // for row filter, we need update column index
     FilterUtil.updateIndexOfColumnExpression(resolverIntf.getFilterExpression(),
         carbonTable.getDimensionOrdinalMax());
+    // skip the blocklets by the min/max in blocklet header
+    blockletPruner =
+        StreamBlockletPruner.create(resolverIntf.getFilterExpression(), storageColumns);
 
   }
 
@@ -257,11 +262,6 @@ public class CarbonStreamRecordReader extends RecordReader<Void, Object> {
     this.model = model;
   }
 
-  private byte[] getSyncMarker(String filePath) throws IOException {
-    CarbonHeaderReader headerReader = new CarbonHeaderReader(filePath);
-    FileHeader header = headerReader.readHeader();
-    return header.getSync_marker();
-  }
 
   public void setUseRawRow(boolean useRawRow) {
     this.useRawRow = useRawRow;
@@ -277,7 +277,9 @@ public class CarbonStreamRecordReader extends RecordReader<Void, Object> {
 
     Path file = fileSplit.getPath();
 
-    byte[] syncMarker = getSyncMarker(file.toString());
+    FileHeader header = new CarbonHeaderReader(file.toString()).readHeader();
+    byte[] syncMarker = header.getSync_marker();
+    String compressorName = CarbonMetadataUtil.getCompressorNameFromFileHeader(header);
 
     FileSystem fs = file.getFileSystem(hadoopConf);
 
@@ -287,7 +289,7 @@ public class CarbonStreamRecordReader extends RecordReader<Void, Object> {
     FSDataInputStream fileIn = fs.open(file, bufferSize);
     fileIn.seek(fileSplit.getStart());
     input = new StreamBlockletReader(syncMarker, fileIn, fileSplit.getLength(),
-        fileSplit.getStart() == 0);
+        fileSplit.getStart() == 0, compressorName);
 
     cacheProvider = CacheProvider.getInstance();
     cache = cacheProvider.createCache(CacheType.FORWARD_DICTIONARY);
@@ -413,10 +415,13 @@ public class CarbonStreamRecordReader extends RecordReader<Void, Object> {
   }
 
   private boolean isScanRequired(BlockletHeader header) {
-    // TODO require to implement min-max index
-    if (null == filter) {
+    if (null == filter || null == blockletPruner) {
       return true;
     }
+    if (header.isSetBlocklet_index() && header.getBlocklet_index().isSetMin_max_index()) {
+      return blockletPruner.isScanRequired(header.getBlocklet_index().getMin_max_index());
+    }
+    // blocklet written without min/max
     return true;
   }
 
@@ -33,7 +33,9 @@ import org.apache.carbondata.core.datastore.row.CarbonRow;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
 import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.reader.CarbonHeaderReader;
 import org.apache.carbondata.core.util.CarbonMetadataUtil;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.DataTypeUtil;
@@ -87,6 +89,7 @@ public class CarbonStreamRecordWriter extends RecordWriter<Void, Object> {
   private int measureCount;
   private DataType[] measureDataTypes;
   private StreamBlockletWriter output = null;
+  private StreamBlockletMinMaxCollector minMaxCollector;
 
   // data write
   private String segmentDir;
@@ -156,20 +159,31 @@ public class CarbonStreamRecordWriter extends RecordWriter<Void, Object> {
     nullBitSet = new BitSet(dataFields.length);
     int rowBufferSize = hadoopConf.getInt(CarbonStreamOutputFormat.CARBON_ENCODER_ROW_BUFFER_SIZE,
         CarbonStreamOutputFormat.CARBON_ENCODER_ROW_BUFFER_SIZE_DEFAULT);
-    output = new StreamBlockletWriter(maxCacheSize, maxRowNums, rowBufferSize);
 
     // initialize data writer
     String filePath = segmentDir + File.separator + fileName;
     FileFactory.FileType fileType = FileFactory.getFileType(filePath);
     CarbonFile carbonFile = FileFactory.getCarbonFile(filePath, fileType);
+    String compressorName;
     if (carbonFile.exists()) {
-      // if the file is existed, use the append api
+      // if the file is existed, use the append api, all the blocklets in one file
+      // should be compressed by the compressor recorded in the file header
+      compressorName = CarbonMetadataUtil.getCompressorNameFromFileHeader(
+          new CarbonHeaderReader(filePath).readHeader());
       outputStream = FileFactory.getDataOutputStreamUsingAppend(filePath, fileType);
     } else {
       // IF the file is not existed, use the create api
+      compressorName = carbonTable.getColumnCompressor();
       outputStream = FileFactory.getDataOutputStream(filePath, fileType);
-      writeFileHeader();
+      writeFileHeader(compressorName);
     }
+    CarbonColumn[] columns = new CarbonColumn[dataFields.length];
+    for (int i = 0; i < dataFields.length; i++) {
+      columns[i] = dataFields[i].getColumn();
+    }
+    minMaxCollector = new StreamBlockletMinMaxCollector(columns);
+    output = new StreamBlockletWriter(maxCacheSize, maxRowNums, rowBufferSize, compressorName,
+        minMaxCollector);
 
     isFirstRow = false;
   }
@@ -207,6 +221,10 @@ public class CarbonStreamRecordWriter extends RecordWriter<Void, Object> {
           byte[] col = (byte[]) columnValue;
           output.writeShort(col.length);
           output.writeBytes(col);
+          if (minMaxCollector.getStatisticsType(dimCount)
+              == StreamBlockletMinMaxCollector.TYPE_BYTES) {
+            minMaxCollector.update(dimCount, col);
+          }
         } else {
           output.writeInt((int) columnValue);
         }
@@ -231,17 +249,22 @@ public class CarbonStreamRecordWriter extends RecordWriter<Void, Object> {
           output.writeBoolean((boolean) columnValue);
         } else if (dataType == DataTypes.SHORT) {
           output.writeShort((short) columnValue);
+          minMaxCollector.update(dimCount + msrCount, (long) (short) columnValue);
         } else if (dataType == DataTypes.INT) {
           output.writeInt((int) columnValue);
+          minMaxCollector.update(dimCount + msrCount, (long) (int) columnValue);
         } else if (dataType == DataTypes.LONG) {
           output.writeLong((long) columnValue);
+          minMaxCollector.update(dimCount + msrCount, (long) columnValue);
         } else if (dataType == DataTypes.DOUBLE) {
           output.writeDouble((double) columnValue);
+          minMaxCollector.update(dimCount + msrCount, (double) columnValue);
         } else if (DataTypes.isDecimal(dataType)) {
           BigDecimal val = (BigDecimal) columnValue;
           byte[] bigDecimalInBytes = DataTypeUtil.bigDecimalToByte(val);
           output.writeShort(bigDecimalInBytes.length);
           output.writeBytes(bigDecimalInBytes);
+          minMaxCollector.update(dimCount + msrCount, val);
         } else {
           String msg =
               "unsupported data type:" + dataFields[dimCount + msrCount].getColumn().getDataType()
@@ -257,7 +280,7 @@ public class CarbonStreamRecordWriter extends RecordWriter<Void, Object> {
     }
   }
 
-  private void writeFileHeader() throws IOException {
+  private void writeFileHeader(String compressorName) throws IOException {
     List<ColumnSchema> wrapperColumnSchemaList = CarbonUtil
         .getColumnSchemaList(carbonTable.getDimensionByTableName(carbonTable.getTableName()),
             carbonTable.getMeasureByTableName(carbonTable.getTableName()));
@@ -276,6 +299,7 @@ public class CarbonStreamRecordWriter extends RecordWriter<Void, Object> {
     fileHeader.setIs_footer_present(false);
     fileHeader.setIs_splitable(true);
     fileHeader.setSync_marker(CarbonStreamOutputFormat.CARBON_SYNC_MARKER);
+    fileHeader.setCompressor_name(compressorName);
     outputStream.write(CarbonUtil.getByteArray(fileHeader));
   }
 
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.streaming;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.util.ByteUtil;
+import org.apache.carbondata.core.util.DataTypeUtil;
+import org.apache.carbondata.format.BlockletIndex;
+import org.apache.carbondata.format.BlockletMinMaxIndex;
+
+/**
+ * Collects min/max of the columns of a stream blocklet while rows are written. The min/max is
+ * written to the blocklet header, so that the reader can skip the blocklets which can not match
+ * the filter without decompressing them.
+ *
+ * Min/max is collected for no dictionary string dimensions and numeric measures. For other
+ * columns, and columns without any non null value in the blocklet, an empty value is written.
+ */
+class StreamBlockletMinMaxCollector {
+
+  static final byte TYPE_NONE = 0;
+  static final byte TYPE_BYTES = 1;
+  static final byte TYPE_LONG = 2;
+  static final byte TYPE_DOUBLE = 3;
+  static final byte TYPE_DECIMAL = 4;
+
+  private static final ByteBuffer EMPTY_VALUE = ByteBuffer.wrap(new byte[0]);
+
+  private final byte[] statisticsTypes;
+
+  private final boolean[] hasValue;
+
+  /**
+   * column has a value which can not be ordered, like NaN
+   */
+  private final boolean[] isInvalid;
+
+  private final byte[][] minBytes;
+  private final byte[][] maxBytes;
+  private final long[] minLong;
+  private final long[] maxLong;
+  private final double[] minDouble;
+  private final double[] maxDouble;
+  private final BigDecimal[] minDecimal;
+  private final BigDecimal[] maxDecimal;
+
+  /**
+   * @param columns columns in the storage order of stream file
+   */
+  StreamBlockletMinMaxCollector(CarbonColumn[] columns) {
+    int numColumns = columns.length;
+    statisticsTypes = new byte[numColumns];
+    for (int i = 0; i < numColumns; i++) {
+      statisticsTypes[i] = getStatisticsType(columns[i]);
+    }
+    hasValue = new boolean[numColumns];
+    isInvalid = new boolean[numColumns];
+    minBytes = new byte[numColumns][];
+    maxBytes = new byte[numColumns][];
+    minLong = new long[numColumns];
+    maxLong = new long[numColumns];
+    minDouble = new double[numColumns];
+    maxDouble = new double[numColumns];
+    minDecimal = new BigDecimal[numColumns];
+    maxDecimal = new BigDecimal[numColumns];
+  }
+
+  /**
+   * type of the min/max collected for the column, it is used by writer and reader
+   */
+  static byte getStatisticsType(CarbonColumn column) {
+    DataType dataType = column.getDataType();
+    if (column.isDimension()) {
+      if (!column.isComplex() && !column.hasEncoding(Encoding.DICTIONARY)
+          && dataType == DataTypes.STRING) {
+        return TYPE_BYTES;
+      }
+      return TYPE_NONE;
+    }
+    if (dataType == DataTypes.SHORT || dataType == DataTypes.INT || dataType == DataTypes.LONG) {
+      return TYPE_LONG;
+    } else if (dataType == DataTypes.DOUBLE) {
+      return TYPE_DOUBLE;
+    } else if (DataTypes.isDecimal(dataType)) {
+      return TYPE_DECIMAL;
+    }
+    return TYPE_NONE;
+  }
+
+  byte getStatisticsType(int columnIndex) {
+    return statisticsTypes[columnIndex];
+  }
+
+  void update(int columnIndex, byte[] value) {
+    if (!hasValue[columnIndex]) {
+      hasValue[columnIndex] = true;
+      minBytes[columnIndex] = value.clone();
+      maxBytes[columnIndex] = minBytes[columnIndex];
+    } else if (ByteUtil.UnsafeComparer.INSTANCE.compareTo(value, minBytes[columnIndex]) < 0) {
+      minBytes[columnIndex] = value.clone();
+    } else if (ByteUtil.UnsafeComparer.INSTANCE.compareTo(value, maxBytes[columnIndex]) > 0) {
+      maxBytes[columnIndex] = value.clone();
+    }
+  }
+
+  void update(int columnIndex, long value) {
+    if (!hasValue[columnIndex]) {
+      hasValue[columnIndex] = true;
+      minLong[columnIndex] = value;
+      maxLong[columnIndex] = value;
+    } else if (value < minLong[columnIndex]) {
+      minLong[columnIndex] = value;
+    } else if (value > maxLong[columnIndex]) {
+      maxLong[columnIndex] = value;
+    }
+  }
+
+  void update(int columnIndex, double value) {
+    if (Double.isNaN(value)) {
+      isInvalid[columnIndex] = true;
+    } else if (!hasValue[columnIndex]) {
+      hasValue[columnIndex] = true;
+      minDouble[columnIndex] = value;
+      maxDouble[columnIndex] = value;
+    } else if (value < minDouble[columnIndex]) {
+      minDouble[columnIndex] = value;
+    } else if (value > maxDouble[columnIndex]) {
+      maxDouble[columnIndex] = value;
+    }
+  }
+
+  void update(int columnIndex, BigDecimal value) {
+    if (!hasValue[columnIndex]) {
+      hasValue[columnIndex] = true;
+      minDecimal[columnIndex] = value;
+      maxDecimal[columnIndex] = value;
+    } else if (value.compareTo(minDecimal[columnIndex]) < 0) {
+      minDecimal[columnIndex] = value;
+    } else if (value.compareTo(maxDecimal[columnIndex]) > 0) {
+      maxDecimal[columnIndex] = value;
+    }
+  }
+
+  /**
+   * build the index of the rows collected after last reset
+   */
+  BlockletIndex build() {
+    int numColumns = statisticsTypes.length;
+    List<ByteBuffer> minValues = new ArrayList<>(numColumns);
+    List<ByteBuffer> maxValues = new ArrayList<>(numColumns);
+    for (int i = 0; i < numColumns; i++) {
+      if (!hasValue[i] || isInvalid[i]) {
+        minValues.add(EMPTY_VALUE);
+        maxValues.add(EMPTY_VALUE);
+        continue;
+      }
+      switch (statisticsTypes[i]) {
+        case TYPE_BYTES:
+          minValues.add(ByteBuffer.wrap(minBytes[i]));
+          maxValues.add(ByteBuffer.wrap(maxBytes[i]));
+          break;
+        case TYPE_LONG:
+          minValues.add(ByteBuffer.wrap(ByteUtil.toBytes(minLong[i])));
+          maxValues.add(ByteBuffer.wrap(ByteUtil.toBytes(maxLong[i])));
+          break;
+        case TYPE_DOUBLE:
+          minValues.add(ByteBuffer.wrap(ByteUtil.toBytes(minDouble[i])));
+          maxValues.add(ByteBuffer.wrap(ByteUtil.toBytes(maxDouble[i])));
+          break;
+        case TYPE_DECIMAL:
+          minValues.add(ByteBuffer.wrap(DataTypeUtil.bigDecimalToByte(minDecimal[i])));
+          maxValues.add(ByteBuffer.wrap(DataTypeUtil.bigDecimalToByte(maxDecimal[i])));
+          break;
+        default:
+          minValues.add(EMPTY_VALUE);
+          maxValues.add(EMPTY_VALUE);
+      }
+    }
+    BlockletIndex blockletIndex = new BlockletIndex();
+    blockletIndex.setMin_max_index(new BlockletMinMaxIndex(minValues, maxValues));
+    return blockletIndex;
+  }
+
+  void reset() {
+    for (int i = 0; i < statisticsTypes.length; i++) {
+      hasValue[i] = false;
+      isInvalid[i] = false;
+      minBytes[i] = null;
+      maxBytes[i] = null;
+      minDecimal[i] = null;
+      maxDecimal[i] = null;
+    }
+  }
+}
@@ -0,0 +1,412 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.streaming;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.ExpressionResult;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.conditional.EqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanEqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanExpression;
+import org.apache.carbondata.core.scan.expression.conditional.InExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanEqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanExpression;
+import org.apache.carbondata.core.scan.expression.conditional.ListExpression;
+import org.apache.carbondata.core.scan.expression.logical.AndExpression;
+import org.apache.carbondata.core.scan.expression.logical.FalseExpression;
+import org.apache.carbondata.core.scan.expression.logical.OrExpression;
+import org.apache.carbondata.core.scan.expression.logical.RangeExpression;
+import org.apache.carbondata.core.util.ByteUtil;
+import org.apache.carbondata.core.util.DataTypeUtil;
+import org.apache.carbondata.format.BlockletMinMaxIndex;
+
+/**
+ * Decides whether a stream blocklet needs to be scanned for the filter by the min/max written
+ * in the blocklet header by {@link StreamBlockletMinMaxCollector}.
+ *
+ * Comparisons and IN of columns with literals, combined with AND/OR, are checked against the
+ * min/max. Any other part of the filter is considered to match, so a blocklet is skipped only
+ * when no row of it can match the filter.
+ */
+class StreamBlockletPruner {
+
+  private static final int EQUALS = 0;
+  private static final int GREATER_THAN = 1;
+  private static final int GREATER_THAN_EQUALS = 2;
+  private static final int LESS_THAN = 3;
+  private static final int LESS_THAN_EQUALS = 4;
+
+  private final MinMaxCheck check;
+
+  private final int numColumns;
+
+  private StreamBlockletPruner(MinMaxCheck check, int numColumns) {
+    this.check = check;
+    this.numColumns = numColumns;
+  }
+
+  /**
+   * @param filter filter expression of the query
+   * @param storageColumns columns in the storage order of stream file
+   * @return pruner, or null if no part of the filter can be checked by min/max
+   */
+  static StreamBlockletPruner create(Expression filter, CarbonColumn[] storageColumns) {
+    MinMaxCheck check = compile(filter, storageColumns);
+    if (null == check) {
+      return null;
+    }
+    return new StreamBlockletPruner(check, storageColumns.length);
+  }
+
+  /**
+   * @return false if no row of the blocklet can match the filter
+   */
+  boolean isScanRequired(BlockletMinMaxIndex minMaxIndex) {
+    List<ByteBuffer> minValues = minMaxIndex.getMin_values();
+    List<ByteBuffer> maxValues = minMaxIndex.getMax_values();
+    if (null == minValues || null == maxValues || minValues.size() != numColumns
+        || maxValues.size() != numColumns) {
+      // blocklet is written with a different schema
+      return true;
+    }
+    return check.isScanRequired(minValues, maxValues);
+  }
+
+  private static MinMaxCheck compile(Expression exp, CarbonColumn[] storageColumns) {
+    if (exp instanceof AndExpression || exp instanceof RangeExpression) {
+      MinMaxCheck left = compile(exp.getChildren().get(0), storageColumns);
+      MinMaxCheck right = compile(exp.getChildren().get(1), storageColumns);
+      if (null == left) {
+        return right;
+      } else if (null == right) {
+        return left;
+      }
+      return new LogicalCheck(left, right, true);
+    } else if (exp instanceof OrExpression) {
+      MinMaxCheck left = compile(exp.getChildren().get(0), storageColumns);
+      MinMaxCheck right = compile(exp.getChildren().get(1), storageColumns);
+      if (null == left || null == right) {
+        return null;
+      }
+      return new LogicalCheck(left, right, false);
+    } else if (exp instanceof FalseExpression) {
+      return new ConstantCheck(false);
+    } else if (exp instanceof InExpression) {
+      return compileIn(exp, storageColumns);
+    }
+    int operator;
+    if (exp instanceof EqualToExpression) {
+      operator = EQUALS;
+    } else if (exp instanceof GreaterThanExpression) {
+      operator = GREATER_THAN;
+    } else if (exp instanceof GreaterThanEqualToExpression) {
+      operator = GREATER_THAN_EQUALS;
+    } else if (exp instanceof LessThanExpression) {
+      operator = LESS_THAN;
+    } else if (exp instanceof LessThanEqualToExpression) {
+      operator = LESS_THAN_EQUALS;
+    } else {
+      return null;
+    }
+    Expression left = exp.getChildren().get(0);
+    Expression right = exp.getChildren().get(1);
+    if (left instanceof LiteralExpression && right instanceof ColumnExpression) {
+      Expression temp = left;
+      left = right;
+      right = temp;
+      operator = swapOperands(operator);
+    }
+    if (!(left instanceof ColumnExpression) || !(right instanceof LiteralExpression)) {
+      return null;
+    }
+    return compileLiteralCompare((ColumnExpression) left,
+        ((LiteralExpression) right).getExpressionResult(), operator, storageColumns);
+  }
+
+  private static MinMaxCheck compileIn(Expression exp, CarbonColumn[] storageColumns) {
+    Expression left = exp.getChildren().get(0);
+    Expression right = exp.getChildren().get(1);
+    if (!(left instanceof ColumnExpression) || !(right instanceof ListExpression)) {
+      return null;
+    }
+    MinMaxCheck check = null;
+    for (Expression value : right.getChildren()) {
+      if (!(value instanceof LiteralExpression)) {
+        return null;
+      }
+      ExpressionResult literal = ((LiteralExpression) value).getExpressionResult();
+      if (literal.isNull()) {
+        // IN never matches null
+        continue;
+      }
+      MinMaxCheck valueCheck =
+          compileLiteralCompare((ColumnExpression) left, literal, EQUALS, storageColumns);
+      if (null == valueCheck) {
+        return null;
+      }
+      check = null == check ? valueCheck : new LogicalCheck(check, valueCheck, false);
+    }
+    return null == check ? new ConstantCheck(false) : check;
+  }
+
+  private static MinMaxCheck compileLiteralCompare(ColumnExpression column,
+      ExpressionResult literal, int operator, CarbonColumn[] storageColumns) {
+    int columnIndex = -1;
+    for (int i = 0; i < storageColumns.length; i++) {
+      if (storageColumns[i].getColName().equalsIgnoreCase(column.getColumnName())) {
+        columnIndex = i;
+        break;
+      }
+    }
+    if (columnIndex < 0 || literal.isNull()) {
+      return null;
+    }
+    DataType columnType = storageColumns[columnIndex].getDataType();
+    DataType literalType = literal.getDataType();
+    try {
+      switch (StreamBlockletMinMaxCollector.getStatisticsType(storageColumns[columnIndex])) {
+        case StreamBlockletMinMaxCollector.TYPE_BYTES:
+          // string order of row evaluation is not same as byte order, only check equality
+          if (operator != EQUALS || literalType != DataTypes.STRING) {
+            return null;
+          }
+          return new BytesEqualsCheck(columnIndex, ByteUtil.toBytes(literal.getString()));
+        case StreamBlockletMinMaxCollector.TYPE_LONG:
+          if (literalType == DataTypes.DOUBLE) {
+            return compileDoubleCompare(columnIndex, false, operator, literal.getDouble());
+          } else if (literalType == columnType) {
+            return new LongCompareCheck(columnIndex, operator, literal.getLong());
+          }
+          return null;
+        case StreamBlockletMinMaxCollector.TYPE_DOUBLE:
+          if (literalType == DataTypes.DOUBLE || literalType == DataTypes.SHORT
+              || literalType == DataTypes.INT || literalType == DataTypes.LONG) {
+            return compileDoubleCompare(columnIndex, true, operator, literal.getDouble());
+          }
+          return null;
+        case StreamBlockletMinMaxCollector.TYPE_DECIMAL:
+          if (DataTypes.isDecimal(literalType)) {
+            return new DecimalCompareCheck(columnIndex, operator, literal.getDecimal());
+          }
+          return null;
+        default:
+          return null;
+      }
+    } catch (Exception e) {
+      // literal can not be converted, row evaluation will handle it
+      return null;
+    }
+  }
+
+  private static MinMaxCheck compileDoubleCompare(int columnIndex, boolean isDoubleColumn,
+      int operator, double value) {
+    if (Double.isNaN(value)) {
+      return null;
+    }
+    return new DoubleCompareCheck(columnIndex, isDoubleColumn, operator, value);
+  }
+
+  private static int swapOperands(int operator) {
+    switch (operator) {
+      case GREATER_THAN:
+        return LESS_THAN;
+      case GREATER_THAN_EQUALS:
+        return LESS_THAN_EQUALS;
+      case LESS_THAN:
+        return GREATER_THAN;
+      case LESS_THAN_EQUALS:
+        return GREATER_THAN_EQUALS;
+      default:
+        return operator;
+    }
+  }
+
+  /**
+   * whether a column with values in [min, max] can have a value satisfying the operator with
+   * the literal, the comparison results are of min and max with the literal
+   */
+  private static boolean isInRange(int operator, int minCompare, int maxCompare) {
+    switch (operator) {
+      case EQUALS:
+        return minCompare <= 0 && maxCompare >= 0;
+      case GREATER_THAN:
+        return maxCompare > 0;
+      case GREATER_THAN_EQUALS:
+        return maxCompare >= 0;
+      case LESS_THAN:
+        return minCompare < 0;
+      default:
+        return minCompare <= 0;
+    }
+  }
+
+  private static byte[] toBytes(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return bytes;
+  }
+
+  private interface MinMaxCheck {
+    boolean isScanRequired(List<ByteBuffer> minValues, List<ByteBuffer> maxValues);
+  }
+
+  private static class ConstantCheck implements MinMaxCheck {
+
+    private boolean result;
+
+    ConstantCheck(boolean result) {
+      this.result = result;
+    }
+
+    @Override
+    public boolean isScanRequired(List<ByteBuffer> minValues, List<ByteBuffer> maxValues) {
+      return result;
+    }
+  }
+
+  private static class LogicalCheck implements MinMaxCheck {
+
+    private MinMaxCheck left;
+
+    private MinMaxCheck right;
+
+    private boolean isAnd;
+
+    LogicalCheck(MinMaxCheck left, MinMaxCheck right, boolean isAnd) {
+      this.left = left;
+      this.right = right;
+      this.isAnd = isAnd;
+    }
+
+    @Override
+    public boolean isScanRequired(List<ByteBuffer> minValues, List<ByteBuffer> maxValues) {
+      if (isAnd) {
+        return left.isScanRequired(minValues, maxValues)
+            && right.isScanRequired(minValues, maxValues);
+      }
+      return left.isScanRequired(minValues, maxValues)
+          || right.isScanRequired(minValues, maxValues);
+    }
+  }
+
+  /**
+   * base of the checks on one column, blocklet without min/max of the column is always scanned
+   */
+  private abstract static class ColumnCheck implements MinMaxCheck {
+
+    protected int columnIndex;
+
+    protected int operator;
+
+    ColumnCheck(int columnIndex, int operator) {
+      this.columnIndex = columnIndex;
+      this.operator = operator;
+    }
+
+    @Override
+    public boolean isScanRequired(List<ByteBuffer> minValues, List<ByteBuffer> maxValues) {
+      ByteBuffer min = minValues.get(columnIndex);
+      ByteBuffer max = maxValues.get(columnIndex);
+      if (null == min || null == max || !min.hasRemaining() || !max.hasRemaining()) {
+        return true;
+      }
+      return isInRange(operator, compareWithLiteral(min), compareWithLiteral(max));
+    }
+
+    /**
+     * compare the min/max value with the literal
+     */
+    abstract int compareWithLiteral(ByteBuffer value);
+  }
+
+  private static class BytesEqualsCheck extends ColumnCheck {
+
+    private byte[] literal;
+
+    BytesEqualsCheck(int columnIndex, byte[] literal) {
+      super(columnIndex, EQUALS);
+      this.literal = literal;
+    }
+
+    @Override int compareWithLiteral(ByteBuffer value) {
+      return ByteUtil.UnsafeComparer.INSTANCE.compareTo(toBytes(value), literal);
+    }
+  }
+
+  private static class LongCompareCheck extends ColumnCheck {
+
+    private long literal;
+
+    LongCompareCheck(int columnIndex, int operator, long literal) {
+      super(columnIndex, operator);
+      this.literal = literal;
+    }
+
+    @Override int compareWithLiteral(ByteBuffer value) {
+      long columnValue = ByteUtil.toLong(toBytes(value), 0, ByteUtil.SIZEOF_LONG);
+      return columnValue < literal ? -1 : (columnValue == literal ? 0 : 1);
+    }
+  }
+
+  private static class DoubleCompareCheck extends ColumnCheck {
+
+    /**
+     * min/max of long columns are compared as double
+     */
+    private boolean isDoubleColumn;
+
+    private double literal;
+
+    DoubleCompareCheck(int columnIndex, boolean isDoubleColumn, int operator, double literal) {
+      super(columnIndex, operator);
+      this.isDoubleColumn = isDoubleColumn;
+      this.literal = literal;
+    }
+
+    @Override int compareWithLiteral(ByteBuffer value) {
+      byte[] bytes = toBytes(value);
+      double columnValue = isDoubleColumn ?
+          ByteUtil.toDouble(bytes, 0, ByteUtil.SIZEOF_LONG) :
+          (double) ByteUtil.toLong(bytes, 0, ByteUtil.SIZEOF_LONG);
+      // 0.0 and -0.0 are equal here, so both of them are considered as in range
+      return columnValue < literal ? -1 : (columnValue == literal ? 0 : 1);
+    }
+  }
+
+  private static class DecimalCompareCheck extends ColumnCheck {
+
+    private BigDecimal literal;
+
+    DecimalCompareCheck(int columnIndex, int operator, BigDecimal literal) {
+      super(columnIndex, operator);
+      this.literal = literal;
+    }
+
+    @Override int compareWithLiteral(ByteBuffer value) {
+      return DataTypeUtil.byteToBigDecimal(toBytes(value)).compareTo(literal);
+    }
+  }
+}
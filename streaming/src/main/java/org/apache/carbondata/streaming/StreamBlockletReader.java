@@ -41,13 +41,15 @@ public class StreamBlockletReader {
   private final long limitStart;
   private final long limitEnd;
   private boolean isAlreadySync = false;
-  private Compressor compressor = CompressorFactory.getInstance().getCompressor();
+  private Compressor compressor;
   private int rowNums = 0;
   private int rowIndex = 0;
   private boolean isHeaderPresent;
 
-  StreamBlockletReader(byte[] syncMarker, InputStream in, long limit, boolean isHeaderPresent) {
+  StreamBlockletReader(byte[] syncMarker, InputStream in, long limit, boolean isHeaderPresent,
+      String compressorName) {
     this.syncMarker = syncMarker;
+    this.compressor = CompressorFactory.getInstance().getCompressor(compressorName);
     syncLen = syncMarker.length;
     syncBuffer = new byte[syncLen];
     this.in = in;
@@ -37,13 +37,17 @@ public class StreamBlockletWriter {
   private int rowSize;
   private int count = 0;
   private int rowIndex = -1;
-  private Compressor compressor = CompressorFactory.getInstance().getCompressor();
+  private Compressor compressor;
+  private StreamBlockletMinMaxCollector minMaxCollector;
 
-  StreamBlockletWriter(int maxSize, int maxRowNum, int rowSize) {
+  StreamBlockletWriter(int maxSize, int maxRowNum, int rowSize, String compressorName,
+      StreamBlockletMinMaxCollector minMaxCollector) {
     buffer = new byte[maxSize];
     this.maxSize = maxSize;
     this.maxRowNum = maxRowNum;
     this.rowSize = rowSize;
+    this.compressor = CompressorFactory.getInstance().getCompressor(compressorName);
+    this.minMaxCollector = minMaxCollector;
   }
 
   private void ensureCapacity(int space) {
@@ -58,6 +62,9 @@ public class StreamBlockletWriter {
   void reset() {
     count = 0;
     rowIndex = -1;
+    if (null != minMaxCollector) {
+      minMaxCollector.reset();
+    }
   }
 
   byte[] getBytes() {
@@ -138,6 +145,9 @@ public class StreamBlockletWriter {
     blockletHeader.setBlocklet_length(getCount());
     blockletHeader.setMutation(MutationType.INSERT);
     blockletHeader.setBlocklet_info(blockletInfo);
+    if (null != minMaxCollector) {
+      blockletHeader.setBlocklet_index(minMaxCollector.build());
+    }
     byte[] headerBytes = CarbonUtil.getByteArray(blockletHeader);
     outputStream.writeInt(headerBytes.length);
     outputStream.write(headerBytes);
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.streaming;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.conditional.EqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanExpression;
+import org.apache.carbondata.core.scan.expression.conditional.InExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanEqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.ListExpression;
+import org.apache.carbondata.core.scan.expression.conditional.NotEqualsExpression;
+import org.apache.carbondata.core.scan.expression.logical.AndExpression;
+import org.apache.carbondata.core.scan.expression.logical.OrExpression;
+import org.apache.carbondata.core.util.ByteUtil;
+import org.apache.carbondata.format.BlockletMinMaxIndex;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StreamBlockletPrunerTest {
+
+  private CarbonColumn[] columns;
+
+  private BlockletMinMaxIndex minMaxIndex;
+
+  @Before public void setUp() {
+    columns = new CarbonColumn[] {
+        new CarbonDimension(createColumn("name", DataTypes.STRING, true, false), 0, -1, -1, -1),
+        new CarbonDimension(createColumn("city", DataTypes.STRING, true, true), 1, 0, -1, -1),
+        new CarbonMeasure(createColumn("age", DataTypes.INT, false, false), 0),
+        new CarbonMeasure(createColumn("salary", DataTypes.DOUBLE, false, false), 1),
+        new CarbonMeasure(
+            createColumn("amount", DataTypes.createDefaultDecimalType(), false, false), 2) };
+    StreamBlockletMinMaxCollector collector = new StreamBlockletMinMaxCollector(columns);
+    Assert.assertEquals(StreamBlockletMinMaxCollector.TYPE_BYTES, collector.getStatisticsType(0));
+    Assert.assertEquals(StreamBlockletMinMaxCollector.TYPE_NONE, collector.getStatisticsType(1));
+    String[] names = { "david", "bob", "mike" };
+    for (int i = 0; i < names.length; i++) {
+      collector.update(0, ByteUtil.toBytes(names[i]));
+      collector.update(2, (long) (20 + i * 10));
+      collector.update(3, 1000.5 * (i + 1));
+      collector.update(4, new BigDecimal("10.25").multiply(new BigDecimal(i + 1)));
+    }
+    minMaxIndex = collector.build().getMin_max_index();
+  }
+
+  private static ColumnSchema createColumn(String name, DataType dataType, boolean isDimension,
+      boolean isDictionary) {
+    ColumnSchema columnSchema = new ColumnSchema();
+    columnSchema.setColumnName(name);
+    columnSchema.setDataType(dataType);
+    columnSchema.setDimensionColumn(isDimension);
+    List<Encoding> encodings = new ArrayList<>();
+    if (isDictionary) {
+      encodings.add(Encoding.DICTIONARY);
+    }
+    columnSchema.setEncodingList(encodings);
+    return columnSchema;
+  }
+
+  private static ColumnExpression column(String name, DataType dataType) {
+    return new ColumnExpression(name, dataType);
+  }
+
+  private boolean isScanRequired(Expression filter) {
+    StreamBlockletPruner pruner = StreamBlockletPruner.create(filter, columns);
+    return null == pruner || pruner.isScanRequired(minMaxIndex);
+  }
+
+  @Test public void testStringEquals() {
+    Assert.assertTrue(isScanRequired(new EqualToExpression(column("name", DataTypes.STRING),
+        new LiteralExpression("bob", DataTypes.STRING))));
+    Assert.assertTrue(isScanRequired(new EqualToExpression(column("name", DataTypes.STRING),
+        new LiteralExpression("carl", DataTypes.STRING))));
+    Assert.assertFalse(isScanRequired(new EqualToExpression(column("name", DataTypes.STRING),
+        new LiteralExpression("zoe", DataTypes.STRING))));
+    // min/max is not collected for dictionary columns
+    Assert.assertTrue(isScanRequired(new EqualToExpression(column("city", DataTypes.STRING),
+        new LiteralExpression("x", DataTypes.STRING))));
+  }
+
+  @Test public void testMeasureRange() {
+    Assert.assertFalse(isScanRequired(new GreaterThanExpression(column("age", DataTypes.INT),
+        new LiteralExpression(40, DataTypes.INT))));
+    Assert.assertTrue(isScanRequired(new GreaterThanExpression(column("age", DataTypes.INT),
+        new LiteralExpression(39, DataTypes.INT))));
+    // literal on left side
+    Assert.assertFalse(isScanRequired(new GreaterThanExpression(
+        new LiteralExpression(20, DataTypes.INT), column("age", DataTypes.INT))));
+    Assert.assertFalse(isScanRequired(new LessThanEqualToExpression(
+        column("salary", DataTypes.DOUBLE), new LiteralExpression(1000.0, DataTypes.DOUBLE))));
+    Assert.assertTrue(isScanRequired(new LessThanEqualToExpression(
+        column("salary", DataTypes.DOUBLE), new LiteralExpression(1000.5, DataTypes.DOUBLE))));
+    // int column compared with double literal
+    Assert.assertFalse(isScanRequired(new EqualToExpression(column("age", DataTypes.INT),
+        new LiteralExpression(45.5, DataTypes.DOUBLE))));
+    Assert.assertFalse(isScanRequired(new EqualToExpression(
+        column("amount", DataTypes.createDefaultDecimalType()),
+        new LiteralExpression(new BigDecimal("31"), DataTypes.createDefaultDecimalType()))));
+    Assert.assertTrue(isScanRequired(new EqualToExpression(
+        column("amount", DataTypes.createDefaultDecimalType()),
+        new LiteralExpression(new BigDecimal("30.750"), DataTypes.createDefaultDecimalType()))));
+  }
+
+  @Test public void testLogicalAndIn() {
+    Expression notMatch = new GreaterThanExpression(column("age", DataTypes.INT),
+        new LiteralExpression(100, DataTypes.INT));
+    Expression match = new EqualToExpression(column("name", DataTypes.STRING),
+        new LiteralExpression("mike", DataTypes.STRING));
+    Expression unsupported = new NotEqualsExpression(column("age", DataTypes.INT),
+        new LiteralExpression(30, DataTypes.INT));
+    Assert.assertFalse(isScanRequired(new AndExpression(match, notMatch)));
+    Assert.assertTrue(isScanRequired(new OrExpression(match, notMatch)));
+    Assert.assertFalse(isScanRequired(new AndExpression(unsupported, notMatch)));
+    Assert.assertTrue(isScanRequired(new OrExpression(unsupported, notMatch)));
+
+    Assert.assertFalse(isScanRequired(new InExpression(column("age", DataTypes.INT),
+        new ListExpression(Arrays.<Expression>asList(new LiteralExpression(10, DataTypes.INT),
+            new LiteralExpression(50, DataTypes.INT))))));
+    Assert.assertTrue(isScanRequired(new InExpression(column("age", DataTypes.INT),
+        new ListExpression(Arrays.<Expression>asList(new LiteralExpression(10, DataTypes.INT),
+            new LiteralExpression(30, DataTypes.INT))))));
+  }
+
+  @Test public void testBlockletWithoutValues() {
+    StreamBlockletMinMaxCollector collector = new StreamBlockletMinMaxCollector(columns);
+    collector.update(3, Double.NaN);
+    minMaxIndex = collector.build().getMin_max_index();
+    Assert.assertTrue(isScanRequired(new GreaterThanExpression(column("age", DataTypes.INT),
+        new LiteralExpression(100, DataTypes.INT))));
+    Assert.assertTrue(isScanRequired(new GreaterThanExpression(
+        column("salary", DataTypes.DOUBLE), new LiteralExpression(1e9, DataTypes.DOUBLE))));
+  }
+}